@@ -1,13 +1,26 @@
 package org.zalando.riptide.auth;
 
+import com.google.common.base.Ticker;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkElementIndex;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apiguardian.api.API.Status.INTERNAL;
 
 /**
  * A special {@link AuthorizationProvider authorization provider} built for Zalando's Platform IAM which provides
@@ -21,30 +34,97 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  *     <dd>Contains the actual secret, e.g. a Json Web Token (JWT)</dd>
  * </dl>
  *
+ * The assembled header is kept in memory. Once the refresh interval (one second by default) has passed, the next
+ * request compares the modification times of both files and reads them again if the token was rotated. Only the
+ * initial read fails if the files are missing or empty, later failures keep the previous token until the files
+ * can be read again.
+ *
  * @see <a href="https://kubernetes-on-aws.readthedocs.io/en/latest/user-guide/zalando-iam.html">Zalando Platform IAM Integration</a>
  */
 public final class PlatformCredentialsAuthorizationProvider implements AuthorizationProvider {
 
     private final Path type;
     private final Path secret;
+    private final long interval;
+    private final Ticker ticker;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final LongAdder refreshes = new LongAdder();
+
+    @Nullable
+    private volatile Credentials credentials;
+
+    /**
+     * The last time the credentials were known to be up-to-date.
+     */
+    private volatile long checked;
 
     public PlatformCredentialsAuthorizationProvider(final String name) {
         this(Paths.get("/meta/credentials"), name);
     }
 
     public PlatformCredentialsAuthorizationProvider(final Path directory, final String name) {
-        this(directory.resolve(name + "-token-type"),
-                directory.resolve(name + "-token-secret"));
+        this(directory, name, 1, SECONDS);
+    }
+
+    public PlatformCredentialsAuthorizationProvider(final Path directory, final String name,
+            final long refreshInterval, final TimeUnit unit) {
+        this(directory, name, refreshInterval, unit, Ticker.systemTicker());
     }
 
-    private PlatformCredentialsAuthorizationProvider(final Path type, final Path secret) {
-        this.type = type;
-        this.secret = secret;
+    @API(status = INTERNAL)
+    PlatformCredentialsAuthorizationProvider(final Path directory, final String name,
+            final long refreshInterval, final TimeUnit unit, final Ticker ticker) {
+        checkArgument(refreshInterval >= 0, "Refresh interval must not be negative");
+        this.type = directory.resolve(name + "-token-type");
+        this.secret = directory.resolve(name + "-token-secret");
+        this.interval = unit.toNanos(refreshInterval);
+        this.ticker = ticker;
+        this.checked = ticker.read();
     }
 
     @Override
     public String get() throws IOException {
-        return read(type) + " " + read(secret);
+        @Nullable final Credentials current = credentials;
+
+        if (current == null) {
+            // nothing to fall back to
+            return load().header;
+        }
+
+        if (ticker.read() - checked >= interval && refreshing.compareAndSet(false, true)) {
+            try {
+                return load().header;
+            } catch (final IOException | RuntimeException e) {
+                // files are either being rotated or gone, staleness will tell
+                return current.header;
+            } finally {
+                refreshing.set(false);
+            }
+        }
+
+        return current.header;
+    }
+
+    private Credentials load() throws IOException {
+        final long now = ticker.read();
+
+        // modification times need to be read before the contents, otherwise a concurrent rotation could be missed
+        final FileTime typeModified = Files.getLastModifiedTime(type);
+        final FileTime secretModified = Files.getLastModifiedTime(secret);
+
+        @Nullable final Credentials current = credentials;
+
+        if (current != null && current.isUnchanged(typeModified, secretModified)) {
+            checked = now;
+            return current;
+        }
+
+        final Credentials loaded = new Credentials(read(type) + " " + read(secret), typeModified, secretModified);
+        credentials = loaded;
+        checked = now;
+        refreshes.increment();
+        return loaded;
     }
 
     private String read(final Path path) throws IOException {
@@ -53,4 +133,33 @@ public final class PlatformCredentialsAuthorizationProvider implements Authoriza
         return lines.get(0);
     }
 
+    /**
+     * @return the number of times the token files were read
+     */
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    /**
+     * @param unit the desired unit
+     * @return the time since the credentials were last known to be up-to-date, or since this provider was created
+     *     if they were never read successfully
+     */
+    public long getStaleness(final TimeUnit unit) {
+        return unit.convert(ticker.read() - checked, NANOSECONDS);
+    }
+
+    @AllArgsConstructor
+    private static final class Credentials {
+
+        private final String header;
+        private final FileTime typeModified;
+        private final FileTime secretModified;
+
+        boolean isUnchanged(final FileTime typeModified, final FileTime secretModified) {
+            return this.typeModified.equals(typeModified) && this.secretModified.equals(secretModified);
+        }
+
+    }
+
 }
@@ -0,0 +1,66 @@
+package org.zalando.riptide.auth.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apiguardian.api.API;
+import org.zalando.riptide.auth.PlatformCredentialsAuthorizationProvider;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Refresh metrics of a {@link PlatformCredentialsAuthorizationProvider}. A growing staleness indicates that the
+ * mounted token files can't be read anymore and that an outdated token is being used.
+ */
+@API(status = EXPERIMENTAL)
+public final class PlatformCredentialsMetrics implements MeterBinder {
+
+    private final PlatformCredentialsAuthorizationProvider provider;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public PlatformCredentialsMetrics(final PlatformCredentialsAuthorizationProvider provider) {
+        this(provider, "http.client.credentials", ImmutableList.of());
+    }
+
+    @API(status = INTERNAL)
+    PlatformCredentialsMetrics(final PlatformCredentialsAuthorizationProvider provider,
+            final String metricName, final ImmutableList<Tag> defaultTags) {
+        this.provider = provider;
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+    }
+
+    public PlatformCredentialsMetrics withMetricName(final String metricName) {
+        return new PlatformCredentialsMetrics(provider, metricName, defaultTags);
+    }
+
+    public PlatformCredentialsMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(ImmutableList.copyOf(defaultTags));
+    }
+
+    public PlatformCredentialsMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new PlatformCredentialsMetrics(provider, metricName, ImmutableList.copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(metricName + ".refreshes", provider,
+                PlatformCredentialsAuthorizationProvider::getRefreshCount)
+                .tags(defaultTags)
+                .description("The number of times the token files were read")
+                .register(registry);
+
+        TimeGauge.builder(metricName + ".staleness", provider, MILLISECONDS,
+                credentials -> credentials.getStaleness(MILLISECONDS))
+                .tags(defaultTags)
+                .description("The time since the credentials were last known to be up-to-date")
+                .register(registry);
+    }
+
+}
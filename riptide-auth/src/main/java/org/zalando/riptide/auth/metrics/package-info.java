@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.auth.metrics;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -1,16 +1,38 @@
 package org.zalando.riptide.auth;
 
+import com.google.common.base.Ticker;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 final class PlatformCredentialsAuthorizationProviderTest {
 
+    private final AtomicLong now = new AtomicLong();
+
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return now.get();
+        }
+    };
+
+    @TempDir
+    Path directory;
+
     @Test
     void shouldSupplyOAuthToken() throws IOException {
         final AuthorizationProvider unit = new PlatformCredentialsAuthorizationProvider(
@@ -32,4 +54,122 @@ final class PlatformCredentialsAuthorizationProviderTest {
         assertThrows(IndexOutOfBoundsException.class, unit::get);
     }
 
+    @Test
+    void shouldRejectNegativeRefreshInterval() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new PlatformCredentialsAuthorizationProvider(directory, "example", -1, SECONDS));
+    }
+
+    @Test
+    void shouldCacheTokenUntilRefreshIntervalPassed() throws IOException {
+        final PlatformCredentialsAuthorizationProvider unit = provider(1);
+        write("type", "Bearer", 1);
+        write("secret", "first", 1);
+
+        assertEquals("Bearer first", unit.get());
+
+        write("secret", "second", 2);
+        now.addAndGet(MINUTES.toNanos(1) - 1);
+
+        assertEquals("Bearer first", unit.get());
+        assertEquals(1, unit.getRefreshCount());
+
+        now.incrementAndGet();
+
+        assertEquals("Bearer second", unit.get());
+        assertEquals(2, unit.getRefreshCount());
+        assertEquals(0, unit.getStaleness(NANOSECONDS));
+    }
+
+    @Test
+    void shouldNotReadUnmodifiedFilesAgain() throws IOException {
+        final PlatformCredentialsAuthorizationProvider unit = provider(0);
+        write("type", "Bearer", 1);
+        write("secret", "first", 1);
+
+        assertEquals("Bearer first", unit.get());
+        now.addAndGet(SECONDS.toNanos(5));
+
+        assertEquals("Bearer first", unit.get());
+        assertEquals(1, unit.getRefreshCount());
+        assertEquals(0, unit.getStaleness(SECONDS));
+    }
+
+    @Test
+    void shouldRefreshRotatedTokenType() throws IOException {
+        final PlatformCredentialsAuthorizationProvider unit = provider(0);
+        write("type", "Bearer", 1);
+        write("secret", "secret", 1);
+
+        assertEquals("Bearer secret", unit.get());
+
+        write("type", "Basic", 2);
+
+        assertEquals("Basic secret", unit.get());
+        assertEquals(2, unit.getRefreshCount());
+    }
+
+    @Test
+    void shouldKeepTokenIfFilesCanNotBeRead() throws IOException {
+        final PlatformCredentialsAuthorizationProvider unit = provider(0);
+        write("type", "Bearer", 1);
+        write("secret", "first", 1);
+
+        assertEquals("Bearer first", unit.get());
+
+        Files.delete(directory.resolve("example-token-secret"));
+        now.addAndGet(SECONDS.toNanos(5));
+
+        assertEquals("Bearer first", unit.get());
+        assertEquals(5, unit.getStaleness(SECONDS));
+
+        write("secret", "", 2);
+
+        assertEquals("Bearer first", unit.get());
+
+        write("secret", "second", 3);
+
+        assertEquals("Bearer second", unit.get());
+        assertEquals(0, unit.getStaleness(SECONDS));
+    }
+
+    @Test
+    void shouldServeCachedTokenWhileRefreshing() throws IOException {
+        final AtomicLong calls = new AtomicLong();
+        final PlatformCredentialsAuthorizationProvider[] unit = new PlatformCredentialsAuthorizationProvider[1];
+
+        // simulates a concurrent request while the files are being read
+        unit[0] = new PlatformCredentialsAuthorizationProvider(directory, "example", 0, SECONDS, new Ticker() {
+            @Override
+            public long read() {
+                if (calls.incrementAndGet() == 4) {
+                    try {
+                        assertEquals("Bearer first", unit[0].get());
+                    } catch (final IOException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+                return 0;
+            }
+        });
+
+        write("type", "Bearer", 1);
+        write("secret", "first", 1);
+        assertEquals("Bearer first", unit[0].get());
+
+        write("secret", "second", 2);
+        assertEquals("Bearer second", unit[0].get());
+        assertEquals(2, unit[0].getRefreshCount());
+    }
+
+    private PlatformCredentialsAuthorizationProvider provider(final long refreshInterval) {
+        return new PlatformCredentialsAuthorizationProvider(directory, "example", refreshInterval, MINUTES, ticker);
+    }
+
+    private void write(final String file, final String content, final long modified) throws IOException {
+        final Path path = directory.resolve("example-token-" + file);
+        Files.write(path, content.getBytes(UTF_8));
+        Files.setLastModifiedTime(path, FileTime.fromMillis(SECONDS.toMillis(modified)));
+    }
+
 }
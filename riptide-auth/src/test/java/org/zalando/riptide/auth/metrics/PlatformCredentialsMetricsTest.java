@@ -0,0 +1,54 @@
+package org.zalando.riptide.auth.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.auth.PlatformCredentialsAuthorizationProvider;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+final class PlatformCredentialsMetricsTest {
+
+    private final PlatformCredentialsAuthorizationProvider provider = new PlatformCredentialsAuthorizationProvider(
+            Paths.get("src/test/resources/meta/credentials"), "example");
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRecordRefreshesAndStaleness() throws IOException {
+        new PlatformCredentialsMetrics(provider)
+                .withMetricName("credentials")
+                .withDefaultTags(Tag.of("client", "example"))
+                .bindTo(registry);
+
+        provider.get();
+        provider.get();
+
+        final FunctionCounter refreshes = registry.find("credentials.refreshes")
+                .tag("client", "example").functionCounter();
+        final TimeGauge staleness = registry.find("credentials.staleness")
+                .tag("client", "example").timeGauge();
+
+        assertThat(refreshes.count(), is(1.0));
+        assertThat(staleness.value(MILLISECONDS), is(greaterThanOrEqualTo(0.0)));
+        assertThat(staleness.value(MILLISECONDS), is(lessThan(1000.0)));
+    }
+
+    @Test
+    void shouldUseDefaultMetricName() {
+        new PlatformCredentialsMetrics(provider).bindTo(registry);
+
+        assertThat(registry.find("http.client.credentials.refreshes").functionCounter().count(), is(0.0));
+    }
+
+}
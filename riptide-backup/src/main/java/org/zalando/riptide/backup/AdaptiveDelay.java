@@ -0,0 +1,89 @@
+package org.zalando.riptide.backup;
+
+import com.google.common.base.Ticker;
+import lombok.AllArgsConstructor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Derives the backup delay of a route, i.e. method and URI template (or host if there is none), from a percentile of
+ * its observed latencies. Latencies are collected in windows of a fixed length. Every completed window with enough
+ * samples to estimate the percentile replaces the current delay. Routes without enough samples use the fallback.
+ */
+final class AdaptiveDelay implements BackupDelay {
+
+    private final double percentile;
+    private final long fallback;
+    private final long window;
+    private final long minimumSamples;
+    private final Ticker ticker;
+
+    private final ConcurrentMap<String, RouteLatencies> routes = new ConcurrentHashMap<>();
+
+    AdaptiveDelay(final double percentile, final long fallback, final long window, final Ticker ticker) {
+        checkArgument(percentile > 0 && percentile < 1, "Percentile must be between 0 and 1 (exclusive)");
+        this.percentile = percentile;
+        this.fallback = fallback;
+        this.window = window;
+        // e.g. 20 for the 95th percentile, otherwise the highest sample would be the percentile
+        this.minimumSamples = (long) Math.ceil(1 / (1 - percentile));
+        this.ticker = ticker;
+    }
+
+    @Override
+    public long track(final RequestArguments arguments, final CompletableFuture<ClientHttpResponse> original) {
+        final RouteLatencies route = routes.computeIfAbsent(key(arguments), key -> new RouteLatencies());
+        final long start = ticker.read();
+
+        original.whenComplete((response, throwable) -> {
+            // cancelled requests were at least that slow, dropping them would hide the tail
+            if (throwable == null || throwable instanceof CancellationException) {
+                route.record(start);
+            }
+        });
+
+        return route.delay;
+    }
+
+    private static String key(final RequestArguments arguments) {
+        @Nullable final String template = arguments.getUriTemplate();
+        return arguments.getMethod() + " " +
+                (template == null ? arguments.getRequestUri().getRawAuthority() : template);
+    }
+
+    private final class RouteLatencies {
+
+        private final AtomicReference<Window> current = new AtomicReference<>(new Window(ticker.read()));
+        private volatile long delay = fallback;
+
+        void record(final long start) {
+            final Window window = current.get();
+            final long now = ticker.read();
+
+            window.histogram.record(now - start);
+
+            if (now - window.start >= AdaptiveDelay.this.window && current.compareAndSet(window, new Window(now))) {
+                if (window.histogram.getCount() >= minimumSamples) {
+                    delay = window.histogram.getPercentile(percentile);
+                }
+            }
+        }
+
+    }
+
+    @AllArgsConstructor
+    private static final class Window {
+        private final long start;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+    }
+
+}
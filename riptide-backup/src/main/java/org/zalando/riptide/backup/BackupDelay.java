@@ -0,0 +1,18 @@
+package org.zalando.riptide.backup;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+
+import java.util.concurrent.CompletableFuture;
+
+@FunctionalInterface
+interface BackupDelay {
+
+    /**
+     * @param arguments the arguments of the original request
+     * @param original the pending original request
+     * @return the delay in nanoseconds after which a backup request will be sent
+     */
+    long track(RequestArguments arguments, CompletableFuture<ClientHttpResponse> original);
+
+}
@@ -1,5 +1,6 @@
 package org.zalando.riptide.backup;
 
+import com.google.common.base.Ticker;
 import lombok.AllArgsConstructor;
 import org.apiguardian.api.API;
 import org.springframework.http.client.ClientHttpResponse;
@@ -10,20 +11,35 @@ import org.zalando.riptide.RequestArguments;
 import org.zalando.riptide.RequestExecution;
 import org.zalando.riptide.idempotency.IdempotencyPredicate;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static lombok.AccessLevel.PRIVATE;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.zalando.riptide.CancelableCompletableFuture.forwardTo;
 
+/**
+ * Sends a backup request if the original request didn't respond within a delay and uses whichever response arrives
+ * first. The delay is either fixed or, with {@link #withAdaptiveDelay(double) adaptive delays}, derived from a
+ * percentile of the latencies observed per route. {@link #withMaxExtraLoad(double) Extra load} caps the share of
+ * requests that are backed up, e.g. during an outage that slows down all requests.
+ *
+ * <pre>{@code
+ * new BackupRequestPlugin(scheduler, 100, MILLISECONDS)
+ *     .withAdaptiveDelay(0.95)
+ *     .withMaxExtraLoad(0.05);
+ * }</pre>
+ */
 @API(status = EXPERIMENTAL)
 @AllArgsConstructor(access = PRIVATE)
 public final class BackupRequestPlugin implements Plugin {
@@ -33,24 +49,67 @@ public final class BackupRequestPlugin implements Plugin {
     private final TimeUnit unit;
     private final Predicate<RequestArguments> predicate;
     private final Executor executor;
+    private final BackupDelay backupDelay;
+
+    @Nullable
+    private final TokenBucket budget;
 
     public BackupRequestPlugin(final ScheduledExecutorService scheduler, final long delay, final TimeUnit unit) {
-        this(scheduler, delay, unit, new IdempotencyPredicate(), Runnable::run);
+        this(scheduler, delay, unit, new IdempotencyPredicate(), Runnable::run, fixed(unit.toNanos(delay)), null);
+    }
+
+    private static BackupDelay fixed(final long delay) {
+        return (arguments, original) -> delay;
     }
 
     public BackupRequestPlugin withPredicate(final Predicate<RequestArguments> predicate) {
-        return new BackupRequestPlugin(scheduler, delay, unit, predicate, executor);
+        return new BackupRequestPlugin(scheduler, delay, unit, predicate, executor, backupDelay, budget);
     }
 
     public BackupRequestPlugin withExecutor(final Executor executor) {
-        return new BackupRequestPlugin(scheduler, delay, unit, predicate, executor);
+        return new BackupRequestPlugin(scheduler, delay, unit, predicate, executor, backupDelay, budget);
+    }
+
+    /**
+     * Derives the delay of each route, i.e. method and URI template, from a percentile of its latencies. Latencies
+     * are observed in windows of 10 seconds. The configured fixed delay is used until a window contained enough
+     * requests to estimate the percentile, e.g. 20 requests for the 95th percentile.
+     *
+     * @param percentile the percentile between 0 and 1 (exclusive), e.g. 0.95
+     * @return a new plugin with adaptive delays
+     */
+    public BackupRequestPlugin withAdaptiveDelay(final double percentile) {
+        return withAdaptiveDelay(percentile, Ticker.systemTicker());
+    }
+
+    @API(status = INTERNAL)
+    BackupRequestPlugin withAdaptiveDelay(final double percentile, final Ticker ticker) {
+        return new BackupRequestPlugin(scheduler, delay, unit, predicate, executor,
+                new AdaptiveDelay(percentile, unit.toNanos(delay), SECONDS.toNanos(10), ticker), budget);
+    }
+
+    /**
+     * Limits backup requests to a share of all requests that qualify for a backup. Delayed backup requests that
+     * exceed this limit are not sent.
+     *
+     * @param maxExtraLoad the share of additional requests between 0 and 1, e.g. 0.05
+     * @return a new plugin with a limited number of backup requests
+     */
+    public BackupRequestPlugin withMaxExtraLoad(final double maxExtraLoad) {
+        return new BackupRequestPlugin(scheduler, delay, unit, predicate, executor, backupDelay,
+                new TokenBucket(maxExtraLoad));
     }
 
     @Override
     public RequestExecution aroundAsync(final RequestExecution execution) {
         return arguments -> {
             if (predicate.test(arguments)) {
-                return withBackup(execution, arguments);
+                if (budget != null) {
+                    budget.deposit();
+                }
+
+                // the original request can't be backed up if the caller blocks on it
+                return withBackup(execution, arguments.withAttribute(CALLER_RUNS, false));
             }
 
             return execution.execute(arguments);
@@ -62,7 +121,8 @@ public final class BackupRequestPlugin implements Plugin {
         final CompletableFuture<ClientHttpResponse> original = execution.execute(arguments);
         final CompletableFuture<ClientHttpResponse> backup = new CompletableFuture<>();
 
-        final Future<?> scheduledBackup = delay(backup(execution, arguments, backup));
+        final Future<?> scheduledBackup = scheduler.schedule(backup(execution, arguments, backup),
+                backupDelay.track(arguments, original), NANOSECONDS);
 
         original.whenCompleteAsync(cancel(scheduledBackup), executor);
         backup.whenCompleteAsync(cancel(original), executor);
@@ -72,11 +132,11 @@ public final class BackupRequestPlugin implements Plugin {
 
     private ThrowingRunnable<IOException> backup(final RequestExecution execution,
             final RequestArguments arguments, final CompletableFuture<ClientHttpResponse> target) {
-        return () -> execution.execute(arguments).whenCompleteAsync(forwardTo(target), executor);
-    }
-
-    private ScheduledFuture<?> delay(final Runnable task) {
-        return scheduler.schedule(task, delay, unit);
+        return () -> {
+            if (budget == null || budget.tryWithdraw()) {
+                execution.execute(arguments).whenCompleteAsync(forwardTo(target), executor);
+            }
+        };
     }
 
     private <T> BiConsumer<T, Throwable> cancel(final Future<?> future) {
@@ -0,0 +1,66 @@
+package org.zalando.riptide.backup;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds. Buckets grow exponentially and each power of two is split into
+ * eight linear sub-buckets, i.e. values are recorded with a relative error of at most 12.5%. Values above 2^40
+ * nanoseconds (roughly 18 minutes) share the last bucket.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final long MAX_VALUE = 1L << 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(index(MAX_VALUE) + 1);
+    private final LongAdder count = new LongAdder();
+
+    void record(final long latency) {
+        // the bucket needs to be incremented first, percentile relies on it
+        counts.incrementAndGet(index(Math.max(0, Math.min(latency, MAX_VALUE))));
+        count.increment();
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 1
+     * @return the upper bound of the bucket that contains the given percentile
+     */
+    long getPercentile(final double percentile) {
+        final long rank = (long) Math.ceil(percentile * getCount());
+        long seen = 0;
+
+        // terminates early since the sum of all buckets is at least the count
+        for (int index = 0; ; index++) {
+            seen += counts.get(index);
+
+            if (seen >= rank) {
+                return lowerBound(index + 1) - 1;
+            }
+        }
+    }
+
+    static int index(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long lowerBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        final int shift = index / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    }
+
+}
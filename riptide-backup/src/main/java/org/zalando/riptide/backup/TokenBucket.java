@@ -0,0 +1,42 @@
+package org.zalando.riptide.backup;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Limits backup requests to a share of all requests. Every request deposits a fraction of a token, every backup
+ * request withdraws a whole one. The balance is capped at the deposits of 1000 requests, which bounds the number of
+ * backup requests during a sudden latency spike. The bucket starts empty.
+ */
+final class TokenBucket {
+
+    private static final long TOKEN = 1_000_000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance = new AtomicLong();
+
+    TokenBucket(final double maxExtraLoad) {
+        checkArgument(maxExtraLoad >= 0 && maxExtraLoad <= 1, "Max extra load must be between 0 and 1");
+        this.deposit = Math.round(maxExtraLoad * TOKEN);
+        this.capacity = Math.max(TOKEN, deposit * 1000);
+    }
+
+    void deposit() {
+        // may exceed the capacity by a few deposits under contention, which is negligible
+        if (balance.get() < capacity) {
+            balance.addAndGet(deposit);
+        }
+    }
+
+    boolean tryWithdraw() {
+        if (balance.addAndGet(-TOKEN) >= 0) {
+            return true;
+        }
+
+        balance.addAndGet(TOKEN);
+        return false;
+    }
+
+}
@@ -0,0 +1,167 @@
+package org.zalando.riptide.backup;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.HEAD;
+
+final class AdaptiveDelayTest {
+
+    private static final long FALLBACK = SECONDS.toNanos(1);
+    private static final long WINDOW = SECONDS.toNanos(10);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return now.get();
+        }
+    };
+
+    private final AdaptiveDelay unit = new AdaptiveDelay(0.5, FALLBACK, WINDOW, ticker);
+
+    private final RequestArguments foo = RequestArguments.create()
+            .withMethod(GET)
+            .withBaseUrl(URI.create("https://example.com"))
+            .withUriTemplate("/foo/{id}");
+
+    @Test
+    void shouldRejectInvalidPercentile() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveDelay(0, FALLBACK, WINDOW, ticker));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveDelay(1, FALLBACK, WINDOW, ticker));
+    }
+
+    @Test
+    void shouldUseFallbackWithoutObservations() {
+        assertThat(unit.track(foo, new CompletableFuture<>()), is(FALLBACK));
+    }
+
+    @Test
+    void shouldUseFallbackUntilWindowIsCompleted() {
+        record(foo, 10);
+        record(foo, 20);
+
+        assertThat(unit.track(foo, new CompletableFuture<>()), is(FALLBACK));
+    }
+
+    @Test
+    void shouldUseFallbackWithoutEnoughSamples() {
+        final AdaptiveDelay unit = new AdaptiveDelay(0.95, FALLBACK, WINDOW, ticker);
+
+        for (int i = 0; i < 18; i++) {
+            unit.track(foo, CompletableFuture.completedFuture(mock(ClientHttpResponse.class)));
+        }
+
+        now.addAndGet(WINDOW);
+        unit.track(foo, CompletableFuture.completedFuture(mock(ClientHttpResponse.class)));
+
+        // the completed window had 19 samples, but the 95th percentile needs 20
+        assertThat(unit.track(foo, new CompletableFuture<>()), is(FALLBACK));
+    }
+
+    @Test
+    void shouldUsePercentileOfCompletedWindow() {
+        record(foo, 10);
+        record(foo, 20);
+        record(foo, 30);
+        now.addAndGet(WINDOW);
+        record(foo, 500);
+
+        assertDelay(unit.track(foo, new CompletableFuture<>()), 20);
+    }
+
+    @Test
+    void shouldTrackRoutesIndividually() {
+        final RequestArguments head = foo.withMethod(HEAD);
+        final RequestArguments bar = foo.withUriTemplate(null).withUri(URI.create("https://example.org/bar/123"));
+
+        record(foo, 10);
+        record(foo, 10);
+        record(head, 100);
+        record(head, 100);
+        record(bar, 200);
+        record(bar, 200);
+        now.addAndGet(WINDOW);
+        record(foo, 10);
+        record(head, 100);
+        record(bar, 200);
+
+        assertDelay(unit.track(foo, new CompletableFuture<>()), 10);
+        assertDelay(unit.track(head, new CompletableFuture<>()), 100);
+        assertDelay(unit.track(bar, new CompletableFuture<>()), 200);
+    }
+
+    @Test
+    void shouldRecordCancelledButIgnoreFailedRequests() {
+        final CompletableFuture<ClientHttpResponse> cancelled = new CompletableFuture<>();
+        unit.track(foo, cancelled);
+        now.addAndGet(MILLISECONDS.toNanos(50));
+        cancelled.cancel(true);
+
+        final CompletableFuture<ClientHttpResponse> failed = new CompletableFuture<>();
+        unit.track(foo, failed);
+        now.addAndGet(MILLISECONDS.toNanos(1));
+        failed.completeExceptionally(new IOException());
+
+        record(foo, 50);
+        now.addAndGet(WINDOW);
+        record(foo, 1);
+
+        assertDelay(unit.track(foo, new CompletableFuture<>()), 50);
+    }
+
+    @Test
+    void shouldCompleteWindowOnlyOnce() {
+        final AtomicLong reads = new AtomicLong();
+        final AdaptiveDelay[] unit = new AdaptiveDelay[1];
+
+        // another request completes the window concurrently
+        unit[0] = new AdaptiveDelay(0.5, FALLBACK, WINDOW, new Ticker() {
+            @Override
+            public long read() {
+                if (reads.incrementAndGet() == 7) {
+                    unit[0].track(foo, CompletableFuture.completedFuture(mock(ClientHttpResponse.class)));
+                }
+                return now.get();
+            }
+        });
+
+        unit[0].track(foo, CompletableFuture.completedFuture(mock(ClientHttpResponse.class)));
+        unit[0].track(foo, CompletableFuture.completedFuture(mock(ClientHttpResponse.class)));
+        now.addAndGet(WINDOW);
+        unit[0].track(foo, CompletableFuture.completedFuture(mock(ClientHttpResponse.class)));
+
+        assertThat(unit[0].track(foo, new CompletableFuture<>()), is(0L));
+    }
+
+    private void record(final RequestArguments arguments, final long millis) {
+        final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+        unit.track(arguments, future);
+        now.addAndGet(MILLISECONDS.toNanos(millis));
+        future.complete(mock(ClientHttpResponse.class));
+    }
+
+    private static void assertDelay(final long delay, final long millis) {
+        final long nanos = MILLISECONDS.toNanos(millis);
+        assertThat(delay, is(both(greaterThanOrEqualTo(nanos)).and(lessThan(nanos + nanos / 8))));
+    }
+
+}
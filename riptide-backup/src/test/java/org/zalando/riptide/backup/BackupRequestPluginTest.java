@@ -2,6 +2,7 @@ package org.zalando.riptide.backup;
 
 import com.github.restdriver.clientdriver.ClientDriver;
 import com.github.restdriver.clientdriver.ClientDriverFactory;
+import com.google.common.base.Ticker;
 import com.google.common.collect.ImmutableMap;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
@@ -15,6 +16,7 @@ import java.io.IOException;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.github.restdriver.clientdriver.ClientDriverRequest.Method.POST;
 import static com.github.restdriver.clientdriver.ClientDriverRequest.Method.PUT;
@@ -23,7 +25,12 @@ import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
 import static java.util.Collections.emptyList;
 import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.http.HttpStatus.Series.SERVER_ERROR;
@@ -71,6 +78,19 @@ final class BackupRequestPluginTest {
                 .get(1500, TimeUnit.MILLISECONDS);
     }
 
+    @Test
+    void shouldUseBackupRequestWhenCallerBlocks() {
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse().after(2, SECONDS));
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse());
+
+        final long start = System.nanoTime();
+
+        unit.get("/bar")
+                .callSync(pass());
+
+        assertThat(NANOSECONDS.toMillis(System.nanoTime() - start), is(lessThan(1500L)));
+    }
+
     @Test
     void shouldUseOriginalRequest() throws Throwable {
         driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse().after(2, SECONDS));
@@ -150,6 +170,83 @@ final class BackupRequestPluginTest {
                 .get(1500, TimeUnit.MILLISECONDS);
     }
 
+    @Test
+    void shouldUseAdaptiveDelay() throws Throwable {
+        final AtomicLong offset = new AtomicLong();
+        final Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return System.nanoTime() + offset.get();
+            }
+        };
+
+        final Http unit = Http.builder()
+                .executor(executor)
+                .requestFactory(factory)
+                .baseUrl(driver.getBaseUrl())
+                .plugin(new BackupRequestPlugin(newSingleThreadScheduledExecutor(), 5, SECONDS)
+                        .withAdaptiveDelay(0.5, ticker)
+                        .withExecutor(executor))
+                .build();
+
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse());
+
+        unit.get("/bar").call(pass()).join();
+        unit.get("/bar").call(pass()).join();
+        offset.addAndGet(SECONDS.toNanos(10));
+        unit.get("/bar").call(pass()).join();
+
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse().after(2, SECONDS));
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse());
+
+        unit.get("/bar")
+                .call(pass())
+                .get(1500, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void shouldUseBackupRequestWithinMaxExtraLoad() throws Throwable {
+        final Http unit = Http.builder()
+                .executor(executor)
+                .requestFactory(factory)
+                .baseUrl(driver.getBaseUrl())
+                .plugin(new BackupRequestPlugin(newSingleThreadScheduledExecutor(), 1, SECONDS)
+                        .withMaxExtraLoad(1)
+                        .withExecutor(executor))
+                .build();
+
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse().after(2, SECONDS));
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse());
+
+        unit.get("/bar")
+                .call(pass())
+                .get(1500, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void shouldNotSendBackupRequestBeyondMaxExtraLoad() {
+        final Http unit = Http.builder()
+                .executor(executor)
+                .requestFactory(factory)
+                .baseUrl(driver.getBaseUrl())
+                .plugin(new BackupRequestPlugin(newSingleThreadScheduledExecutor(), 1, SECONDS)
+                        .withMaxExtraLoad(0)
+                        .withExecutor(executor))
+                .build();
+
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse().after(2, SECONDS));
+
+        final long start = System.nanoTime();
+
+        unit.get("/bar")
+                .call(pass())
+                .join();
+
+        assertThat(NANOSECONDS.toMillis(System.nanoTime() - start), is(greaterThanOrEqualTo(2000L)));
+    }
+
     @Test
     void shouldCancelRequests() throws InterruptedException {
         // TODO: support proper cancellations and remove this expectation
@@ -18,4 +18,9 @@ final class EnforceCoverageTest {
         new BackupRequestPlugin(mock(ScheduledExecutorService.class), 1, TimeUnit.SECONDS);
     }
 
+    @Test
+    void shouldUseSystemTicker() {
+        new BackupRequestPlugin(mock(ScheduledExecutorService.class), 1, TimeUnit.SECONDS).withAdaptiveDelay(0.95);
+    }
+
 }
@@ -0,0 +1,61 @@
+package org.zalando.riptide.backup;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+final class LatencyHistogramTest {
+
+    private final LatencyHistogram unit = new LatencyHistogram();
+
+    @Test
+    void shouldMapValuesToBuckets() {
+        for (long value = 0; value < 100_000; value++) {
+            final int index = LatencyHistogram.index(value);
+            assertThat(value, is(both(greaterThanOrEqualTo(LatencyHistogram.lowerBound(index)))
+                    .and(lessThan(LatencyHistogram.lowerBound(index + 1)))));
+        }
+    }
+
+    @Test
+    void shouldBeEmpty() {
+        assertThat(unit.getCount(), is(0L));
+        assertThat(unit.getPercentile(0.95), is(0L));
+    }
+
+    @Test
+    void shouldEstimatePercentiles() {
+        for (int i = 1; i <= 100; i++) {
+            unit.record(MILLISECONDS.toNanos(i));
+        }
+
+        assertThat(unit.getCount(), is(100L));
+        assertPercentile(0.5, 50);
+        assertPercentile(0.95, 95);
+        assertPercentile(0.99, 99);
+        assertPercentile(1, 100);
+    }
+
+    @Test
+    void shouldClampOutliers() {
+        unit.record(-1);
+        unit.record(HOURS.toNanos(1));
+
+        assertThat(unit.getPercentile(0.5), is(0L));
+        assertThat(unit.getPercentile(1), is(greaterThanOrEqualTo(1L << 40)));
+    }
+
+    private void assertPercentile(final double percentile, final long expected) {
+        final long nanos = MILLISECONDS.toNanos(expected);
+        // within the upper bound of the bucket, i.e. at most 12.5% more
+        assertThat(unit.getPercentile(percentile),
+                is(both(greaterThanOrEqualTo(nanos)).and(lessThan(nanos + nanos / 8))));
+    }
+
+}
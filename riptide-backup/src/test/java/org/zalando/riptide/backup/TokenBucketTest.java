@@ -0,0 +1,61 @@
+package org.zalando.riptide.backup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class TokenBucketTest {
+
+    @Test
+    void shouldRejectInvalidExtraLoad() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1.1));
+    }
+
+    @Test
+    void shouldStartEmpty() {
+        assertThat(new TokenBucket(1).tryWithdraw(), is(false));
+    }
+
+    @Test
+    void shouldAllowShareOfRequests() {
+        final TokenBucket unit = new TokenBucket(0.1);
+
+        for (int i = 0; i < 20; i++) {
+            unit.deposit();
+        }
+
+        assertThat(unit.tryWithdraw(), is(true));
+        assertThat(unit.tryWithdraw(), is(true));
+        assertThat(unit.tryWithdraw(), is(false));
+    }
+
+    @Test
+    void shouldCapBalance() {
+        final TokenBucket unit = new TokenBucket(0.5);
+
+        for (int i = 0; i < 10_000; i++) {
+            unit.deposit();
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(unit.tryWithdraw(), is(true));
+        }
+
+        assertThat(unit.tryWithdraw(), is(false));
+    }
+
+    @Test
+    void shouldNeverAllowWithoutExtraLoad() {
+        final TokenBucket unit = new TokenBucket(0);
+
+        for (int i = 0; i < 10_000; i++) {
+            unit.deposit();
+        }
+
+        assertThat(unit.tryWithdraw(), is(false));
+    }
+
+}
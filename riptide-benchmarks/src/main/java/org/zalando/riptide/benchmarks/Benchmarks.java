@@ -0,0 +1,74 @@
+package org.zalando.riptide.benchmarks;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+
+/**
+ * Runs every benchmark twice, once for throughput (ops/s) and once for latency percentiles (µs), both with the
+ * {@link GCProfiler GC profiler} enabled. Regular JMH command line options (e.g. {@code -p stack=FULL} or a benchmark
+ * regex) are honored and take precedence: an explicit mode ({@code -bm}) replaces both runs with a single one, an
+ * explicit time unit ({@code -tu}), result file ({@code -rff}) or result format ({@code -rf}) replaces the defaults.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+
+    }
+
+    public static void main(final String... args) throws CommandLineOptionException, RunnerException {
+        final CommandLineOptions options = new CommandLineOptions(args);
+
+        if (!options.getBenchModes().isEmpty()) {
+            run(new OptionsBuilder().parent(options), options);
+            return;
+        }
+
+        run(defaults(options, Throughput, SECONDS, "throughput.json"), options);
+        run(defaults(options, SampleTime, MICROSECONDS, "latency.json"), options);
+    }
+
+    private static ChainedOptionsBuilder defaults(final CommandLineOptions options, final Mode mode,
+            final TimeUnit timeUnit, final String result) {
+
+        final ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(options)
+                .mode(mode);
+
+        if (!options.getTimeUnit().hasValue()) {
+            builder.timeUnit(timeUnit);
+        }
+
+        if (!options.getResult().hasValue()) {
+            builder.result(result);
+        }
+
+        return builder;
+    }
+
+    private static void run(final ChainedOptionsBuilder builder, final CommandLineOptions options)
+            throws RunnerException {
+
+        if (!options.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+
+        new Runner(builder
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.zalando.riptide.benchmarks;
+
+import com.google.common.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.MessageReader;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.Route;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.Function;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.springframework.http.HttpMethod.GET;
+import static org.zalando.fauxpas.FauxPas.throwingFunction;
+import static org.zalando.riptide.PassRoute.pass;
+
+/**
+ * Compares composing the plugin chain for every single request, which is what Riptide does by default in order to
+ * capture the {@link Route route}, with a chain that is composed once and receives the route as part of the
+ * {@link RequestArguments arguments}, i.e. {@code Http.builder()...composePluginsOnce()}. Uses the {@link PluginStack#FULL full} plugin stack and no network at all.
+ */
+@State(Scope.Benchmark)
+public class ChainBenchmark {
+
+    private static final MessageReader READER = new MessageReader() {
+        @Override
+        public <I> I read(final TypeToken<I> type, final ClientHttpResponse response) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private final Route route = pass();
+
+    private ScheduledExecutorService scheduler;
+    private Plugin plugins;
+    private RequestExecution network;
+    private RequestExecution chain;
+    private RequestArguments arguments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.scheduler = new ScheduledThreadPoolExecutor(1);
+        final List<Plugin> stack = PluginStack.FULL.create(scheduler);
+        this.plugins = Plugin.composite(stack);
+
+        final StubClientHttpRequestFactory factory = new StubClientHttpRequestFactory();
+        this.network = arguments -> completedFuture(
+                factory.createRequest(arguments.getRequestUri(), arguments.getMethod()).execute());
+
+        this.chain = compose(Plugin.composite(new Dispatch(RequestArguments::getRoute), plugins), network);
+        this.arguments = RequestArguments.create()
+                .withMethod(GET)
+                .withUri(URI.create("http://localhost/orders/123"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public ClientHttpResponse composedPerCall() throws IOException {
+        final Plugin plugin = Plugin.composite(new Dispatch(arguments -> route), plugins);
+        return compose(plugin, network).execute(arguments).join();
+    }
+
+    @Benchmark
+    public ClientHttpResponse composedOnce() throws IOException {
+        return chain.execute(arguments.withRoute(route)).join();
+    }
+
+    private static RequestExecution compose(final Plugin plugin, final RequestExecution network) {
+        return plugin.aroundAsync(
+                plugin.aroundDispatch(
+                        plugin.aroundSerialization(
+                                plugin.aroundNetwork(
+                                        network))));
+    }
+
+    private static final class Dispatch implements Plugin {
+
+        private final Function<RequestArguments, Route> route;
+
+        private Dispatch(final Function<RequestArguments, Route> route) {
+            this.route = route;
+        }
+
+        @Override
+        public RequestExecution aroundDispatch(final RequestExecution execution) {
+            return arguments -> execution.execute(arguments)
+                    .thenApply(throwingFunction(response -> {
+                        route.apply(arguments).execute(response, READER);
+                        return response;
+                    }));
+        }
+
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.zalando.riptide.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.zalando.riptide.Http;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+@State(Scope.Benchmark)
+public class HttpState {
+
+    @Param({"NONE", "DEFAULT", "FULL"})
+    PluginStack stack;
+
+    /**
+     * Whether requests are handed over to a thread pool ({@code true}) or executed on the calling thread.
+     */
+    @Param({"false", "true"})
+    boolean pooled;
+
+    Http http;
+
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.scheduler = scheduler;
+        this.executor = pooled ? Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()) : null;
+
+        this.http = Http.builder()
+                .executor(pooled ? executor : Runnable::run)
+                .requestFactory(new StubClientHttpRequestFactory())
+                .baseUrl("http://localhost/")
+                .converter(new MappingJackson2HttpMessageConverter())
+                .plugins(stack.create(scheduler))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        scheduler.shutdownNow();
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.zalando.riptide.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.UrlResolution;
+import org.zalando.riptide.metrics.DefaultTagGenerator;
+import org.zalando.riptide.metrics.MetricsPlugin;
+import org.zalando.riptide.metrics.TagGenerator;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static com.google.common.collect.Iterables.concat;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.springframework.http.HttpMethod.GET;
+
+/**
+ * Compares building tags and looking up the timer in the registry for every request, which is what the
+ * {@link MetricsPlugin} used to do, with the plugin's cache of timers. Responses are completed immediately.
+ */
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    private RequestExecution lookup;
+    private RequestExecution cached;
+    private RequestArguments arguments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final ImmutableList<Tag> tags = ImmutableList.of(Tag.of("clientId", "example"));
+
+        this.arguments = RequestArguments.create()
+                .withMethod(GET)
+                .withBaseUrl(URI.create("http://localhost"))
+                .withUrlResolution(UrlResolution.RFC)
+                .withUriTemplate("/orders/{id}")
+                .replaceUriVariables(ImmutableList.of(123));
+
+        final ClientHttpResponse response = new StubClientHttpRequestFactory()
+                .createRequest(arguments.getRequestUri(), GET).execute();
+        final RequestExecution network = arguments -> completedFuture(response);
+
+        this.lookup = new LookupPerRequest(registry, tags).aroundNetwork(network);
+        this.cached = new MetricsPlugin(registry).withDefaultTags(tags).aroundNetwork(network);
+    }
+
+    @Benchmark
+    public ClientHttpResponse lookupPerRequest() throws IOException {
+        return lookup.execute(arguments).join();
+    }
+
+    @Benchmark
+    public ClientHttpResponse cachedTimer() throws IOException {
+        return cached.execute(arguments).join();
+    }
+
+    private static final class LookupPerRequest implements Plugin {
+
+        private final MeterRegistry registry;
+        private final ImmutableList<Tag> defaultTags;
+        private final TagGenerator generator = new DefaultTagGenerator();
+
+        private LookupPerRequest(final MeterRegistry registry, final ImmutableList<Tag> defaultTags) {
+            this.registry = registry;
+            this.defaultTags = defaultTags;
+        }
+
+        @Override
+        public RequestExecution aroundNetwork(final RequestExecution execution) {
+            return arguments -> {
+                final Timer.Sample sample = Timer.start(registry);
+
+                return execution.execute(arguments).whenComplete((response, throwable) ->
+                        sample.stop(registry.timer("http.client.requests",
+                                concat(defaultTags, generator.tags(arguments, response, throwable)))));
+            };
+        }
+
+    }
+
+}
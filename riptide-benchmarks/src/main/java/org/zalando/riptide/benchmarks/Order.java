@@ -0,0 +1,14 @@
+package org.zalando.riptide.benchmarks;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public final class Order {
+    private String id;
+    private String status;
+    private long amount;
+}
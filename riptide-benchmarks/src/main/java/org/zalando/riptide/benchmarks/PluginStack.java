@@ -0,0 +1,72 @@
+package org.zalando.riptide.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.jodah.failsafe.CircuitBreaker;
+import net.jodah.failsafe.RetryPolicy;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.OriginalStackTracePlugin;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.auth.AuthorizationPlugin;
+import org.zalando.riptide.auth.BasicAuthorizationProvider;
+import org.zalando.riptide.backup.BackupRequestPlugin;
+import org.zalando.riptide.failsafe.FailsafePlugin;
+import org.zalando.riptide.failsafe.RetryException;
+import org.zalando.riptide.faults.TransientFaultException;
+import org.zalando.riptide.faults.TransientFaultPlugin;
+import org.zalando.riptide.metrics.MetricsPlugin;
+import org.zalando.riptide.timeout.TimeoutPlugin;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Plugin stacks to benchmark. {@link #FULL} mirrors the order in which the Spring Boot auto configuration registers
+ * plugins, with every feature enabled.
+ */
+public enum PluginStack {
+
+    NONE {
+        @Override
+        List<Plugin> create(final ScheduledExecutorService scheduler) {
+            // an empty list would make the builder fall back to the plugins found by the ServiceLoader
+            return ImmutableList.of(new Plugin() {
+            });
+        }
+    },
+
+    DEFAULT {
+        @Override
+        List<Plugin> create(final ScheduledExecutorService scheduler) {
+            return ImmutableList.of(new OriginalStackTracePlugin());
+        }
+    },
+
+    FULL {
+        @Override
+        List<Plugin> create(final ScheduledExecutorService scheduler) {
+            return ImmutableList.of(
+                    new MetricsPlugin(new SimpleMeterRegistry()),
+                    new TransientFaultPlugin(),
+                    new FailsafePlugin(ImmutableList.of(
+                            new RetryPolicy<ClientHttpResponse>()
+                                    .handle(TransientFaultException.class)
+                                    .handle(RetryException.class)
+                                    .withMaxRetries(3),
+                            new CircuitBreaker<ClientHttpResponse>()
+                                    .withFailureThreshold(5)
+                                    .withDelay(Duration.ofSeconds(30))), scheduler),
+                    new BackupRequestPlugin(scheduler, 1, SECONDS),
+                    new AuthorizationPlugin(new BasicAuthorizationProvider("user", "secret")),
+                    new TimeoutPlugin(scheduler, 1, SECONDS),
+                    new OriginalStackTracePlugin()
+            );
+        }
+    };
+
+    abstract List<Plugin> create(ScheduledExecutorService scheduler);
+
+}
@@ -0,0 +1,104 @@
+package org.zalando.riptide.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.UrlResolution;
+import org.zalando.riptide.ratelimit.RateLimitPlugin;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.springframework.http.HttpMethod.GET;
+
+/**
+ * Compares the lock-free token bucket of the {@link RateLimitPlugin} with Guava's {@link RateLimiter}, which
+ * synchronizes every acquisition, under high contention. With a high rate every request is admitted, with a low rate
+ * almost every request is rejected right away. Responses are completed immediately.
+ */
+@State(Scope.Benchmark)
+public class RateLimitBenchmark {
+
+    @Param({"1000", "1000000000"})
+    double permitsPerSecond;
+
+    private ScheduledExecutorService scheduler;
+    private RequestExecution lockFree;
+    private RequestExecution synchronizing;
+    private RequestArguments arguments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.scheduler = new ScheduledThreadPoolExecutor(1);
+
+        this.arguments = RequestArguments.create()
+                .withMethod(GET)
+                .withBaseUrl(URI.create("http://localhost"))
+                .withUrlResolution(UrlResolution.RFC)
+                .withUriTemplate("/orders/{id}")
+                .replaceUriVariables(ImmutableList.of(123));
+
+        final ClientHttpResponse response = new StubClientHttpRequestFactory()
+                .createRequest(arguments.getRequestUri(), GET).execute();
+        final RequestExecution network = arguments -> completedFuture(response);
+
+        this.lockFree = new RateLimitPlugin(scheduler, permitsPerSecond).aroundAsync(network);
+        this.synchronizing = new Synchronizing(RateLimiter.create(permitsPerSecond)).aroundAsync(network);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public CompletableFuture<ClientHttpResponse> lockFree() throws IOException {
+        return lockFree.execute(arguments);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public CompletableFuture<ClientHttpResponse> synchronizing() throws IOException {
+        return synchronizing.execute(arguments);
+    }
+
+    private static final class Synchronizing implements Plugin {
+
+        private final RateLimiter limiter;
+
+        private Synchronizing(final RateLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public RequestExecution aroundAsync(final RequestExecution execution) {
+            return arguments -> {
+                if (limiter.tryAcquire()) {
+                    return execution.execute(arguments);
+                }
+
+                final CompletableFuture<ClientHttpResponse> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(new IllegalStateException("Rate limit exceeded"));
+                return rejected;
+            };
+        }
+
+    }
+
+}
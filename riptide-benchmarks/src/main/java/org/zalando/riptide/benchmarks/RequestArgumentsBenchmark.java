@@ -0,0 +1,62 @@
+package org.zalando.riptide.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.zalando.riptide.Attribute;
+import org.zalando.riptide.RequestArguments;
+
+import java.net.URI;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.springframework.http.HttpMethod.GET;
+
+/**
+ * Builds up the arguments of a typical request, i.e. eight headers, two query parameters and two attributes, and reads
+ * them back as the network phase would.
+ */
+@State(Scope.Benchmark)
+public class RequestArgumentsBenchmark {
+
+    private static final Attribute<String> FIRST = Attribute.generate();
+    private static final Attribute<Boolean> SECOND = Attribute.generate();
+
+    @Param({"persistent", "flat"})
+    String implementation;
+
+    private RequestArguments empty;
+
+    @Setup
+    public void setUp() {
+        this.empty = "flat".equals(implementation) ? RequestArguments.flat() : RequestArguments.create();
+    }
+
+    @Benchmark
+    public Map<String, ?> build() {
+        final RequestArguments arguments = empty
+                .withMethod(GET)
+                .withBaseUrl(URI.create("http://localhost"))
+                .withUriTemplate("/orders/{id}")
+                .replaceUriVariables(asList(123))
+                .withQueryParam("embed", "items")
+                .withQueryParam("fields", "id,status")
+                .withHeader("Accept", "application/json")
+                .withHeader("Accept-Encoding", "gzip")
+                .withHeader("Authorization", "Bearer secret")
+                .withHeader("User-Agent", "riptide")
+                .withHeader("X-Flow-ID", "e8b1c6f4")
+                .withHeader("X-Request-ID", "4f6c1b8e")
+                .withHeader("If-None-Match", "\"abc\"")
+                .withHeader("Content-Type", "application/json")
+                .withAttribute(FIRST, "value")
+                .withAttribute(SECOND, true);
+
+        arguments.getAttribute(FIRST);
+        arguments.getQueryParams();
+        return arguments.getHeaders();
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.zalando.riptide.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.UrlResolution;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.web.util.UriComponentsBuilder.fromUriString;
+import static org.springframework.web.util.UriUtils.encode;
+import static org.zalando.fauxpas.FauxPas.throwingBiConsumer;
+
+/**
+ * Compares how the request URI used to be built, i.e. by parsing the URI template with Spring on every request, with
+ * {@link RequestArguments#getRequestUri()} which uses pre-compiled templates.
+ */
+@State(Scope.Benchmark)
+public class RequestUriBenchmark {
+
+    private final RequestArguments arguments = RequestArguments.create()
+            .withMethod(GET)
+            .withBaseUrl(URI.create("https://api.example.com"))
+            .withUrlResolution(UrlResolution.RFC)
+            .withUriTemplate("/orders/{id}/items/{item}")
+            .replaceUriVariables(asList("4f6c1b8e", 42))
+            .withQueryParam("embed", "items")
+            .withQueryParam("fields", "id,status");
+
+    @Benchmark
+    public URI parsed() {
+        final URI unresolvedUri = fromUriString(arguments.getUriTemplate())
+                .buildAndExpand(arguments.getUriVariables().toArray())
+                .encode()
+                .toUri();
+
+        final URI resolvedUri = arguments.getBaseUrl().resolve(unresolvedUri);
+
+        final UriComponentsBuilder components = UriComponentsBuilder.newInstance();
+        final Map<String, List<String>> params = arguments.getQueryParams();
+        params.forEach(throwingBiConsumer((key, values) ->
+                values.forEach(value ->
+                        components.queryParam(key, encode(value, "UTF-8")))));
+
+        return components.uri(resolvedUri).build(true).normalize().toUri();
+    }
+
+    @Benchmark
+    public URI compiled() {
+        // a fresh copy, otherwise the request URI would be cached
+        return arguments.withUri(null).withMethod(null).getRequestUri();
+    }
+
+}
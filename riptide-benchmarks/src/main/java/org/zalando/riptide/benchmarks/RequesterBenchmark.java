@@ -0,0 +1,55 @@
+package org.zalando.riptide.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RoutingTree;
+
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+
+/**
+ * Measures a full round-trip through Riptide, i.e. URI building, plugins, serialization and routing, against an
+ * in-process request factory.
+ */
+public class RequesterBenchmark {
+
+    private static final Order ORDER = new Order("123", "open", 42);
+
+    @Benchmark
+    public ClientHttpResponse get(final HttpState state) {
+        return state.http.get("/orders/{id}", 123)
+                .header("X-Flow-ID", "e8b1c6f4")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+    }
+
+    @Benchmark
+    public ClientHttpResponse getSync(final HttpState state) {
+        return state.http.get("/orders/{id}", 123)
+                .header("X-Flow-ID", "e8b1c6f4")
+                .callSync(RoutingTree.dispatch(series(),
+                        on(SUCCESSFUL).call(pass())));
+    }
+
+    @Benchmark
+    public void dispatch(final HttpState state, final Blackhole blackhole) {
+        state.http.get("/orders/{id}", 123)
+                .queryParam("embed", "items")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(Order.class, blackhole::consume))
+                .join();
+    }
+
+    @Benchmark
+    public ClientHttpResponse post(final HttpState state) {
+        return state.http.post("/orders")
+                .body(ORDER)
+                .call(pass())
+                .join();
+    }
+
+}
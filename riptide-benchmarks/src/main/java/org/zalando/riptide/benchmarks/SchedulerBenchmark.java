@@ -0,0 +1,77 @@
+package org.zalando.riptide.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.zalando.riptide.HashedWheelTimer;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures the life cycle of a typical timeout, i.e. it's scheduled and then cancelled because the response arrived
+ * in time. {@code pending} timeouts are outstanding at any time, e.g. 50k timeouts/s with a timeout of one second.
+ */
+@State(Scope.Benchmark)
+public class SchedulerBenchmark {
+
+    private static final Runnable NOOP = () -> {
+    };
+
+    public enum Scheduler {
+
+        POOL(() -> {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }),
+
+        WHEEL(HashedWheelTimer::new);
+
+        private final Supplier<ScheduledExecutorService> factory;
+
+        Scheduler(final Supplier<ScheduledExecutorService> factory) {
+            this.factory = factory;
+        }
+
+    }
+
+    @Param({"POOL", "WHEEL"})
+    Scheduler scheduler;
+
+    @Param({"0", "50000"})
+    int pending;
+
+    private ScheduledExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = scheduler.factory.get();
+
+        // long enough to stay outstanding during the whole trial
+        for (int i = 0; i < pending; i++) {
+            executor.schedule(NOOP, 1, HOURS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean timeout() {
+        return executor.schedule(NOOP, 1, SECONDS).cancel(false);
+    }
+
+}
@@ -0,0 +1,126 @@
+package org.zalando.riptide.benchmarks;
+
+import com.google.common.io.ByteStreams;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An in-process {@link ClientHttpRequestFactory request factory} that answers every request with the same canned
+ * {@code 200 OK} JSON response. It allows to measure the overhead of Riptide itself, without any I/O involved.
+ */
+final class StubClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final byte[] body;
+    private final HttpHeaders headers;
+
+    StubClientHttpRequestFactory() {
+        this("{\"id\":\"123\",\"status\":\"open\",\"amount\":42}");
+    }
+
+    StubClientHttpRequestFactory(final String body) {
+        this.body = body.getBytes(UTF_8);
+        this.headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+        headers.setContentLength(this.body.length);
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(final URI uri, final HttpMethod method) {
+        return new StubClientHttpRequest(uri, method);
+    }
+
+    private final class StubClientHttpRequest implements ClientHttpRequest {
+
+        private final URI uri;
+        private final HttpMethod method;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private StubClientHttpRequest(final URI uri, final HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public ClientHttpResponse execute() {
+            return new StubClientHttpResponse();
+        }
+
+        @Nonnull
+        @Override
+        public OutputStream getBody() {
+            return ByteStreams.nullOutputStream();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return method.name();
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+    }
+
+    private final class StubClientHttpResponse implements ClientHttpResponse {
+
+        private final InputStream stream = new ByteArrayInputStream(body);
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Nonnull
+        @Override
+        public InputStream getBody() {
+            return stream;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+
+    }
+
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.benchmarks;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,129 @@
+package org.zalando.riptide.buffering;
+
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A pool of direct {@link ByteBuffer buffers} of equal size, i.e. chunks of memory outside of the heap. Chunks are
+ * allocated on demand, up to a maximum size, and reused once they are released. Beyond that size, chunks are allocated
+ * on the heap and left to the garbage collector. Chunks are small enough to never be humongous objects, no matter where
+ * they are allocated.
+ */
+@API(status = EXPERIMENTAL)
+public final class BufferPool {
+
+    private final Queue<ByteBuffer> idle = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong allocated = new AtomicLong();
+    private final LongAdder leased = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    private final int chunkSize;
+    private final long maxSize;
+
+    /**
+     * @param chunkSize the size of every chunk in bytes
+     * @param maxSize the maximum size of all direct chunks in bytes
+     */
+    public BufferPool(final int chunkSize, final long maxSize) {
+        checkArgument(chunkSize > 0, "Chunk size must be positive");
+        this.chunkSize = chunkSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return an empty chunk, either from the pool, a new direct one or, if the pool is exhausted, a new one on the heap
+     */
+    public ByteBuffer acquire() {
+        @Nullable final ByteBuffer pooled = idle.poll();
+
+        if (pooled != null) {
+            leased.add(chunkSize);
+            return pooled;
+        }
+
+        if (reserve()) {
+            leased.add(chunkSize);
+            return ByteBuffer.allocateDirect(chunkSize);
+        }
+
+        overflows.increment();
+        return ByteBuffer.allocate(chunkSize);
+    }
+
+    /**
+     * Returns the given chunk to the pool. Chunks on the heap are dropped.
+     *
+     * @param chunk a chunk that was {@link #acquire() acquired} from this pool and is not used anymore
+     */
+    public void release(final ByteBuffer chunk) {
+        if (!chunk.isDirect()) {
+            return;
+        }
+
+        chunk.clear();
+        leased.add(-chunkSize);
+        idle.offer(chunk);
+    }
+
+    private boolean reserve() {
+        while (true) {
+            final long current = allocated.get();
+            final long next = current + chunkSize;
+
+            if (next > maxSize) {
+                return false;
+            }
+
+            if (allocated.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the size of all direct chunks in bytes, leased and idle
+     */
+    public long getAllocated() {
+        return allocated.get();
+    }
+
+    /**
+     * @return the size of all direct chunks in bytes that currently hold a response body
+     */
+    public long getLeased() {
+        return leased.sum();
+    }
+
+    /**
+     * @return the size of all direct chunks in bytes that are ready to be reused
+     */
+    public long getIdle() {
+        return allocated.get() - leased.sum();
+    }
+
+    /**
+     * @return the number of chunks that were allocated on the heap, because the pool was exhausted
+     */
+    public long getOverflows() {
+        return overflows.sum();
+    }
+
+}
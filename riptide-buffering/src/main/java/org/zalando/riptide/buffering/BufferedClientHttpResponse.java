@@ -0,0 +1,192 @@
+package org.zalando.riptide.buffering;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A response whose body was read completely into {@link BufferPool pooled} chunks. The chunks are released as soon as
+ * they were read until their end or the response is closed, whatever happens first.
+ */
+final class BufferedClientHttpResponse implements ClientHttpResponse {
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private final int statusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final BufferPool pool;
+    private final List<ByteBuffer> chunks;
+    private final InputStream body = new ChunkInputStream();
+
+    private BufferedClientHttpResponse(final int statusCode, final String statusText, final HttpHeaders headers,
+            final BufferPool pool, final List<ByteBuffer> chunks) {
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.headers = headers;
+        this.pool = pool;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Reads the given response completely and closes it.
+     */
+    static BufferedClientHttpResponse buffer(final ClientHttpResponse response, final BufferPool pool)
+            throws IOException {
+
+        final List<ByteBuffer> chunks = new ArrayList<>();
+
+        try {
+            @Nullable final InputStream stream = response.getBody();
+
+            if (stream != null) {
+                read(Channels.newChannel(stream), pool, chunks);
+            }
+
+            final HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+
+            return new BufferedClientHttpResponse(response.getRawStatusCode(), response.getStatusText(), headers,
+                    pool, chunks);
+        } catch (final IOException | RuntimeException e) {
+            chunks.forEach(pool::release);
+            throw e;
+        } finally {
+            response.close();
+        }
+    }
+
+    private static void read(final ReadableByteChannel channel, final BufferPool pool,
+            final List<ByteBuffer> chunks) throws IOException {
+
+        ByteBuffer chunk = acquire(pool, chunks);
+
+        while (channel.read(chunk) != -1) {
+            if (!chunk.hasRemaining()) {
+                chunk.flip();
+                chunk = acquire(pool, chunks);
+            }
+        }
+
+        chunk.flip();
+    }
+
+    private static ByteBuffer acquire(final BufferPool pool, final List<ByteBuffer> chunks) {
+        final ByteBuffer chunk = pool.acquire();
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return HttpStatus.valueOf(statusCode);
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    private void release() {
+        if (released.compareAndSet(false, true)) {
+            chunks.forEach(pool::release);
+        }
+    }
+
+    private final class ChunkInputStream extends InputStream {
+
+        private int index;
+
+        @Override
+        public int read() throws IOException {
+            @Nullable final ByteBuffer chunk = current();
+            return chunk == null ? -1 : chunk.get() & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            @Nullable final ByteBuffer chunk = current();
+
+            if (chunk == null) {
+                return -1;
+            }
+
+            final int count = Math.min(length, chunk.remaining());
+            chunk.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            @Nullable final ByteBuffer chunk = current();
+            return chunk == null ? 0 : chunk.remaining();
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+
+        /**
+         * @return the next chunk with remaining bytes or null if the end of the body was reached
+         */
+        @Nullable
+        private ByteBuffer current() throws IOException {
+            if (released.get()) {
+                if (index < chunks.size()) {
+                    throw new IOException("Response body was already closed");
+                }
+                return null;
+            }
+
+            while (index < chunks.size()) {
+                final ByteBuffer chunk = chunks.get(index);
+
+                if (chunk.hasRemaining()) {
+                    return chunk;
+                }
+
+                index++;
+            }
+
+            release();
+            return null;
+        }
+
+    }
+
+}
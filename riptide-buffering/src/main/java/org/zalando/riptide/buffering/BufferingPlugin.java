@@ -0,0 +1,77 @@
+package org.zalando.riptide.buffering;
+
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.zalando.fauxpas.FauxPas.throwingFunction;
+
+/**
+ * Reads large response bodies into {@link BufferPool pooled}, direct buffers before they are routed, instead of
+ * letting converters copy them into large arrays on the heap. Routes read the body as usual, as an
+ * {@link java.io.InputStream}. The connection is released as soon as the body was buffered.
+ *
+ * <pre>{@code
+ * new BufferingPlugin(new BufferPool(64 * 1024, 64 * 1024 * 1024))
+ *     .withThreshold(1024 * 1024)
+ *     .withMaxLength(16 * 1024 * 1024);
+ * }</pre>
+ *
+ * Responses of unknown length, e.g. chunked ones, are passed through, since they may be endless streams. Chunks are
+ * returned to the pool once the body was read until its end or the response was closed, whatever happens first. Just
+ * like the connection it replaces, a buffered response that is neither read nor closed is leaked, i.e. its chunks are
+ * left to the garbage collector.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class BufferingPlugin implements Plugin {
+
+    private final BufferPool pool;
+    private final long threshold;
+    private final long maxLength;
+
+    public BufferingPlugin(final BufferPool pool) {
+        this(pool, 1024 * 1024, 16 * 1024 * 1024);
+    }
+
+    /**
+     * @param threshold the minimum {@code Content-Length} in bytes of responses that are buffered
+     * @return a new plugin that buffers responses of the given size or larger
+     */
+    public BufferingPlugin withThreshold(final long threshold) {
+        return new BufferingPlugin(pool, threshold, maxLength);
+    }
+
+    /**
+     * @param maxLength the maximum {@code Content-Length} in bytes of responses that are buffered
+     * @return a new plugin that doesn't buffer responses that are larger
+     */
+    public BufferingPlugin withMaxLength(final long maxLength) {
+        checkArgument(maxLength > 0, "Max length must be positive");
+        return new BufferingPlugin(pool, threshold, maxLength);
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> execution.execute(arguments)
+                .thenApply(throwingFunction(this::buffer));
+    }
+
+    private ClientHttpResponse buffer(final ClientHttpResponse response) throws IOException {
+        final long length = response.getHeaders().getContentLength();
+
+        if (length < 0 || length < threshold || length > maxLength) {
+            return response;
+        }
+
+        return BufferedClientHttpResponse.buffer(response, pool);
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.zalando.riptide.buffering.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apiguardian.api.API;
+import org.zalando.riptide.buffering.BufferPool;
+
+import java.util.function.ToDoubleFunction;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Reports the usage of a {@link BufferPool}: the bytes of {@code allocated}, {@code leased} and {@code idle} direct
+ * chunks as well as the pool's {@code max} size as gauges and the number of chunks that had to be allocated on the heap
+ * as the {@code overflows} counter.
+ */
+@API(status = EXPERIMENTAL)
+public final class BufferPoolMetrics implements MeterBinder {
+
+    private final BufferPool pool;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public BufferPoolMetrics(final BufferPool pool) {
+        this(pool, "http.client.buffers", ImmutableList.of());
+    }
+
+    @API(status = INTERNAL)
+    BufferPoolMetrics(final BufferPool pool, final String metricName, final ImmutableList<Tag> defaultTags) {
+        this.pool = pool;
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+    }
+
+    public BufferPoolMetrics withMetricName(final String metricName) {
+        return new BufferPoolMetrics(pool, metricName, defaultTags);
+    }
+
+    public BufferPoolMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(ImmutableList.copyOf(defaultTags));
+    }
+
+    public BufferPoolMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new BufferPoolMetrics(pool, metricName, ImmutableList.copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        gauge(registry, "allocated", BufferPool::getAllocated);
+        gauge(registry, "leased", BufferPool::getLeased);
+        gauge(registry, "idle", BufferPool::getIdle);
+        gauge(registry, "max", BufferPool::getMaxSize);
+
+        FunctionCounter.builder(metricName + ".overflows", pool, BufferPool::getOverflows)
+                .tags(defaultTags)
+                .register(registry);
+    }
+
+    private void gauge(final MeterRegistry registry, final String name, final ToDoubleFunction<BufferPool> value) {
+        Gauge.builder(metricName + "." + name, pool, value)
+                .tags(defaultTags)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+}
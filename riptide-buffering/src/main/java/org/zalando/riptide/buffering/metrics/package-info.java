@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.buffering.metrics;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.buffering;
+
+import javax.annotation.ParametersAreNonnullByDefault;
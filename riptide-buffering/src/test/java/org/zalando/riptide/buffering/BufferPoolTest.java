@@ -0,0 +1,65 @@
+package org.zalando.riptide.buffering;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class BufferPoolTest {
+
+    private final BufferPool unit = new BufferPool(16, 32);
+
+    @Test
+    void shouldAllocateDirectChunks() {
+        final ByteBuffer chunk = unit.acquire();
+
+        assertThat(chunk.isDirect(), is(true));
+        assertThat(chunk.capacity(), is(16));
+        assertThat(unit.getAllocated(), is(16L));
+        assertThat(unit.getLeased(), is(16L));
+        assertThat(unit.getIdle(), is(0L));
+    }
+
+    @Test
+    void shouldReuseReleasedChunks() {
+        final ByteBuffer chunk = unit.acquire();
+        chunk.put((byte) 1);
+        unit.release(chunk);
+
+        assertThat(unit.getLeased(), is(0L));
+        assertThat(unit.getIdle(), is(16L));
+
+        final ByteBuffer reused = unit.acquire();
+
+        assertThat(reused, is(sameInstance(chunk)));
+        assertThat(reused.position(), is(0));
+        assertThat(unit.getAllocated(), is(16L));
+    }
+
+    @Test
+    void shouldOverflowToHeap() {
+        unit.acquire();
+        unit.acquire();
+
+        final ByteBuffer chunk = unit.acquire();
+
+        assertThat(chunk.isDirect(), is(false));
+        assertThat(unit.getAllocated(), is(32L));
+        assertThat(unit.getOverflows(), is(1L));
+
+        unit.release(chunk);
+
+        assertThat(unit.getIdle(), is(0L));
+        assertThat(unit.getLeased(), is(32L));
+    }
+
+    @Test
+    void shouldRejectNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BufferPool(0, 32));
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.zalando.riptide.buffering;
+
+import com.google.common.io.ByteStreams;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+
+final class BufferedClientHttpResponseTest {
+
+    private final BufferPool pool = new BufferPool(4, 1024);
+
+    @Test
+    void shouldReadBodyAcrossChunks() throws IOException {
+        final BufferedClientHttpResponse unit = BufferedClientHttpResponse.buffer(response(), pool);
+
+        assertThat(new String(ByteStreams.toByteArray(unit.getBody()), UTF_8), is("Hello World!"));
+    }
+
+    @Test
+    void shouldReadSingleBytes() throws IOException {
+        final BufferedClientHttpResponse unit = BufferedClientHttpResponse.buffer(response(), pool);
+        final InputStream body = unit.getBody();
+
+        assertThat(body.read(), is((int) 'H'));
+        assertThat(body.read(), is((int) 'e'));
+    }
+
+    @Test
+    void shouldCopyStatusAndHeaders() throws IOException {
+        final BufferedClientHttpResponse unit = BufferedClientHttpResponse.buffer(response(), pool);
+
+        assertThat(unit.getStatusCode(), is(OK));
+        assertThat(unit.getStatusText(), is("OK"));
+        assertThat(unit.getHeaders().getContentType(), is(TEXT_PLAIN));
+    }
+
+    @Test
+    void shouldCloseOriginal() throws IOException {
+        final MockClientHttpResponse original = spy(response());
+
+        BufferedClientHttpResponse.buffer(original, pool);
+
+        verify(original).close();
+    }
+
+    @Test
+    void shouldReleaseChunksAtEndOfBody() throws IOException {
+        final BufferedClientHttpResponse unit = BufferedClientHttpResponse.buffer(response(), pool);
+
+        assertThat(pool.getLeased(), is(16L));
+
+        ByteStreams.exhaust(unit.getBody());
+
+        assertThat(pool.getLeased(), is(0L));
+        assertThat(unit.getBody().read(), is(-1));
+    }
+
+    @Test
+    void shouldReleaseChunksOnClose() throws IOException {
+        final BufferedClientHttpResponse unit = BufferedClientHttpResponse.buffer(response(), pool);
+
+        unit.close();
+        unit.close();
+
+        assertThat(pool.getLeased(), is(0L));
+        assertThat(pool.getIdle(), is(16L));
+    }
+
+    @Test
+    void shouldNotReadAfterClose() throws IOException {
+        final BufferedClientHttpResponse unit = BufferedClientHttpResponse.buffer(response(), pool);
+
+        unit.close();
+
+        assertThrows(IOException.class, unit.getBody()::read);
+    }
+
+    private static MockClientHttpResponse response() {
+        final MockClientHttpResponse response = new MockClientHttpResponse("Hello World!".getBytes(UTF_8), OK);
+        response.getHeaders().setContentType(TEXT_PLAIN);
+        return response;
+    }
+
+}
@@ -0,0 +1,151 @@
+package org.zalando.riptide.buffering;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.restdriver.clientdriver.RestClientDriver.giveResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+
+final class BufferingPluginTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create().build();
+    private final ExecutorService executor = newSingleThreadExecutor();
+
+    private final BufferPool pool = new BufferPool(1024, 64 * 1024);
+
+    private final Http unit = Http.builder()
+            .executor(executor)
+            .requestFactory(new ApacheClientHttpRequestFactory(client))
+            .baseUrl(driver.getBaseUrl())
+            .plugin(new BufferingPlugin(pool).withThreshold(4096))
+            .build();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldBufferLargeResponses() {
+        final String body = Strings.repeat("x", 10_000);
+        driver.addExpectation(onRequestTo("/large"), giveResponse(body, "text/plain")
+                .withHeader("Content-Length", "10000"));
+
+        final AtomicReference<String> result = new AtomicReference<>();
+        unit.get("/large").dispatch(series(), on(SUCCESSFUL).call(String.class, result::set)).join();
+
+        assertThat(result.get(), is(body));
+        assertThat(pool.getAllocated(), is(10L * 1024));
+        assertThat(pool.getLeased(), is(0L));
+    }
+
+    @Test
+    void shouldReadBodyAfterRouteFinished() throws IOException {
+        final String body = Strings.repeat("x", 10_000);
+        driver.addExpectation(onRequestTo("/large"), giveResponse(body, "text/plain")
+                .withHeader("Content-Length", "10000"));
+
+        final ClientHttpResponse result = unit.get("/large")
+                .dispatch(series(), on(SUCCESSFUL).call((response, reader) -> {
+                    // leaves the body to be read afterwards
+                })).join();
+
+        assertThat(result, is(instanceOf(BufferedClientHttpResponse.class)));
+        assertThat(pool.getLeased(), is(10L * 1024));
+
+        assertThat(new String(ByteStreams.toByteArray(result.getBody()), UTF_8), is(body));
+        assertThat(pool.getLeased(), is(0L));
+    }
+
+    @Test
+    void shouldReleaseChunksWhenResponseClosed() {
+        driver.addExpectation(onRequestTo("/large"), giveResponse(Strings.repeat("x", 10_000), "text/plain")
+                .withHeader("Content-Length", "10000"));
+
+        final ClientHttpResponse result = unit.get("/large")
+                .dispatch(series(), on(SUCCESSFUL).call((response, reader) -> {
+                    // leaves the body to be read afterwards
+                })).join();
+
+        assertThat(pool.getLeased(), is(10L * 1024));
+
+        result.close();
+
+        assertThat(pool.getAllocated(), is(10L * 1024));
+        assertThat(pool.getLeased(), is(0L));
+    }
+
+    @Test
+    void shouldNotBufferResponsesLargerThanMaxLength() {
+        driver.addExpectation(onRequestTo("/large"), giveResponse(Strings.repeat("x", 10_000), "text/plain")
+                .withHeader("Content-Length", "10000"));
+
+        final Http unit = Http.builder()
+                .executor(executor)
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(driver.getBaseUrl())
+                .plugin(new BufferingPlugin(pool).withThreshold(4096).withMaxLength(8192))
+                .build();
+
+        final AtomicReference<ClientHttpResponse> result = new AtomicReference<>();
+        unit.get("/large").dispatch(series(), on(SUCCESSFUL).call(result::set)).join();
+
+        assertThat(result.get(), is(not(instanceOf(BufferedClientHttpResponse.class))));
+        assertThat(pool.getAllocated(), is(0L));
+
+        result.get().close();
+    }
+
+    @Test
+    void shouldNotBufferResponsesOfUnknownLength() {
+        driver.addExpectation(onRequestTo("/chunked"), giveResponse(Strings.repeat("x", 10_000), "text/plain"));
+
+        final AtomicReference<ClientHttpResponse> result = new AtomicReference<>();
+        unit.get("/chunked").dispatch(series(), on(SUCCESSFUL).call(result::set)).join();
+
+        assertThat(result.get().getHeaders().getContentLength(), is(-1L));
+        assertThat(result.get(), is(not(instanceOf(BufferedClientHttpResponse.class))));
+        assertThat(pool.getAllocated(), is(0L));
+
+        result.get().close();
+    }
+
+    @Test
+    void shouldNotBufferSmallResponses() {
+        driver.addExpectation(onRequestTo("/small"), giveResponse("Hello", "text/plain"));
+
+        final AtomicReference<ClientHttpResponse> result = new AtomicReference<>();
+        unit.get("/small").dispatch(series(), on(SUCCESSFUL).call(result::set)).join();
+
+        assertThat(result.get(), is(not(instanceOf(BufferedClientHttpResponse.class))));
+        assertThat(pool.getAllocated(), is(0L));
+
+        result.get().close();
+    }
+
+}
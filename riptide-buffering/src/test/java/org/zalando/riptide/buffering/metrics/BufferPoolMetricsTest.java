@@ -0,0 +1,49 @@
+package org.zalando.riptide.buffering.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.buffering.BufferPool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+final class BufferPoolMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BufferPool pool = new BufferPool(16, 32);
+
+    BufferPoolMetricsTest() {
+        new BufferPoolMetrics(pool)
+                .withMetricName("buffers")
+                .withDefaultTags(Tag.of("test", "true"))
+                .bindTo(registry);
+    }
+
+    @Test
+    void shouldReportUsage() {
+        pool.release(pool.acquire());
+        pool.acquire();
+        pool.acquire();
+
+        assertThat(gauge("buffers.allocated"), is(32.0));
+        assertThat(gauge("buffers.leased"), is(32.0));
+        assertThat(gauge("buffers.idle"), is(0.0));
+        assertThat(gauge("buffers.max"), is(32.0));
+        assertThat(registry.get("buffers.overflows").tag("test", "true").functionCounter().count(), is(0.0));
+    }
+
+    @Test
+    void shouldReportOverflows() {
+        pool.acquire();
+        pool.acquire();
+        pool.acquire();
+
+        assertThat(registry.get("buffers.overflows").tag("test", "true").functionCounter().count(), is(1.0));
+    }
+
+    private double gauge(final String name) {
+        return registry.get(name).tag("test", "true").gauge().value();
+    }
+
+}
@@ -0,0 +1,152 @@
+package org.zalando.riptide.cache;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+import org.springframework.http.HttpHeaders;
+
+import javax.annotation.Nullable;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static java.util.Locale.ROOT;
+
+/**
+ * The rules of a private cache, as far as they concern responses that are stored with explicit freshness information
+ * or an entity tag. Heuristic freshness is not supported, i.e. responses without {@code max-age}, {@code Expires} and
+ * {@code ETag} are not stored. Malformed headers are treated as stale.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc7234">RFC 7234: Hypertext Transfer Protocol (HTTP/1.1): Caching</a>
+ */
+final class CachePolicy {
+
+    /**
+     * Status codes that are cacheable by default.
+     *
+     * @see <a href="https://tools.ietf.org/html/rfc7231#section-6.1">RFC 7231, section 6.1</a>
+     */
+    private static final ImmutableSet<Integer> CACHEABLE = ImmutableSet.of(200, 203, 204, 300, 301, 404, 405, 410, 414);
+
+    private static final Splitter DIRECTIVES = Splitter.on(',').trimResults().omitEmptyStrings();
+
+    private final CharMatcher digit = CharMatcher.inRange('0', '9').precomputed();
+
+    private final Clock clock;
+
+    CachePolicy(final Clock clock) {
+        this.clock = clock;
+    }
+
+    Instant now() {
+        return clock.instant();
+    }
+
+    boolean isStorable(final int status, final HttpHeaders headers, final Instant expires) {
+        if (!CACHEABLE.contains(status)) {
+            return false;
+        }
+
+        if (directives(headers.getValuesAsList(HttpHeaders.CACHE_CONTROL)).containsKey("no-store")) {
+            return false;
+        }
+
+        if (headers.getVary().contains("*")) {
+            return false;
+        }
+
+        return expires.isAfter(now()) || headers.getETag() != null;
+    }
+
+    /**
+     * @param headers the response headers
+     * @return the point in time at which a response with the given headers becomes stale
+     */
+    Instant expires(final HttpHeaders headers) {
+        final Instant now = now();
+        final Map<String, String> directives = directives(headers.getValuesAsList(HttpHeaders.CACHE_CONTROL));
+
+        if (directives.containsKey("no-cache")) {
+            return now;
+        }
+
+        final long age = orZero(parseSeconds(headers.getFirst("Age")));
+        @Nullable final Long maxAge = parseSeconds(directives.get("max-age"));
+
+        if (maxAge != null) {
+            return now.plusSeconds(maxAge - age);
+        }
+
+        @Nullable final String expires = headers.getFirst(HttpHeaders.EXPIRES);
+
+        if (expires == null) {
+            return now;
+        }
+
+        @Nullable final Instant end = parseDate(expires);
+
+        if (end == null) {
+            return now;
+        }
+
+        @Nullable final Instant date = parseDate(headers.getFirst(HttpHeaders.DATE));
+        final Instant start = date == null ? now : date;
+
+        return now.plusMillis(end.toEpochMilli() - start.toEpochMilli()).minusSeconds(age);
+    }
+
+    /**
+     * @param values the values of one or more {@code Cache-Control} headers
+     * @return the directives by lower case name, with unquoted arguments or empty strings if they had none
+     */
+    static Map<String, String> directives(final List<String> values) {
+        final Map<String, String> directives = new HashMap<>();
+
+        for (final String value : values) {
+            for (final String directive : DIRECTIVES.split(value)) {
+                final int separator = directive.indexOf('=');
+
+                if (separator == -1) {
+                    directives.put(directive.toLowerCase(ROOT), "");
+                } else {
+                    final String name = directive.substring(0, separator).trim().toLowerCase(ROOT);
+                    final String argument = CharMatcher.is('"').trimFrom(directive.substring(separator + 1).trim());
+                    directives.put(name, argument);
+                }
+            }
+        }
+
+        return directives;
+    }
+
+    @Nullable
+    private Instant parseDate(@Nullable final String value) {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return Instant.from(RFC_1123_DATE_TIME.parse(value));
+        } catch (final DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private Long parseSeconds(@Nullable final String value) {
+        if (value == null || value.isEmpty() || value.length() > 18 || !digit.matchesAllOf(value)) {
+            return null;
+        }
+
+        return Long.parseLong(value);
+    }
+
+    private static long orZero(@Nullable final Long value) {
+        return value == null ? 0 : value;
+    }
+
+}
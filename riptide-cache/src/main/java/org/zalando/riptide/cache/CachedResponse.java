@@ -0,0 +1,36 @@
+package org.zalando.riptide.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.zalando.riptide.ReplayableClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@AllArgsConstructor
+@Getter
+final class CachedResponse {
+
+    private final ReplayableClientHttpResponse response;
+
+    /**
+     * The point in time at which the response becomes stale.
+     */
+    private final Instant expires;
+
+    @Nullable
+    private final String entityTag;
+
+    /**
+     * The values of the request headers that were selected by {@code Vary}, by lower case name.
+     */
+    private final Map<String, List<String>> variants;
+
+    /**
+     * The approximate number of bytes of the body and headers.
+     */
+    private final int weight;
+
+}
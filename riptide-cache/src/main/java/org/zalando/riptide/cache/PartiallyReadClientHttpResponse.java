@@ -0,0 +1,56 @@
+package org.zalando.riptide.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+/**
+ * A response whose body was partially read already. Its body consists of the bytes that were read, followed by the
+ * remaining ones.
+ */
+final class PartiallyReadClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse response;
+    private final InputStream body;
+
+    PartiallyReadClientHttpResponse(final ClientHttpResponse response, final byte[] head, final InputStream tail) {
+        this.response = response;
+        this.body = new SequenceInputStream(new ByteArrayInputStream(head), tail);
+    }
+
+    @Override
+    public HttpStatus getStatusCode() throws IOException {
+        return response.getStatusCode();
+    }
+
+    @Override
+    public int getRawStatusCode() throws IOException {
+        return response.getRawStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return response.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return response.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+}
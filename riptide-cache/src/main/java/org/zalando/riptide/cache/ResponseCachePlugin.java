@@ -0,0 +1,293 @@
+package org.zalando.riptide.cache;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.ReplayableClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Locale.ROOT;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.IF_RANGE;
+import static org.springframework.http.HttpHeaders.IF_UNMODIFIED_SINCE;
+import static org.springframework.http.HttpHeaders.RANGE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.zalando.fauxpas.FauxPas.throwingFunction;
+
+/**
+ * A private, in-memory HTTP cache for {@code GET} requests that honors {@code Cache-Control}, {@code Expires} and
+ * {@code ETag}. Fresh responses are served without a network call, stale ones with an entity tag are revalidated using
+ * {@code If-None-Match}. The cache is bounded by the size of the stored responses in bytes and evicts them using
+ * W-TinyLFU, see {@link TinyLfuCache}.
+ *
+ * <pre>{@code
+ * new ResponseCachePlugin(64 * 1024 * 1024);
+ * }</pre>
+ *
+ * Responses are cached per request URI and vary by the headers listed in {@code Vary} as well as by
+ * {@code Authorization}. Requests that are conditional themselves, e.g. using
+ * {@link org.zalando.riptide.Requester#ifNoneMatch(String, String...)}, bypass the cache. Successful requests with
+ * unsafe methods invalidate the cached response of their request URI. Register it before plugins that add headers in
+ * the network phase, e.g. the {@code AuthorizationPlugin}, so that it sees them.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class ResponseCachePlugin implements Plugin {
+
+    private static final ImmutableSet<HttpMethod> SAFE = ImmutableSet.of(GET, HttpMethod.HEAD, HttpMethod.OPTIONS,
+            HttpMethod.TRACE);
+
+    private static final ImmutableSet<String> CONDITIONALS = ImmutableSet.of(IF_MATCH, IF_MODIFIED_SINCE, IF_NONE_MATCH,
+            IF_RANGE, IF_UNMODIFIED_SINCE, RANGE);
+
+    private final long maxSize;
+    private final TinyLfuCache<URI, CachedResponse> cache;
+    private final CachePolicy policy;
+
+    /**
+     * @param maxSize the maximum size of all cached responses in bytes
+     */
+    public ResponseCachePlugin(final long maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    private ResponseCachePlugin(final long maxSize, final Clock clock) {
+        // sized for an average response of 1 KiB
+        this(maxSize, new TinyLfuCache<>(maxSize, (int) min(max(maxSize / 1024, 1), Integer.MAX_VALUE),
+                CachedResponse::getWeight), new CachePolicy(clock));
+    }
+
+    @API(status = INTERNAL)
+    ResponseCachePlugin withClock(final Clock clock) {
+        return new ResponseCachePlugin(maxSize, clock);
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            final HttpMethod method = arguments.getMethod();
+
+            if (method != GET) {
+                return SAFE.contains(method) ?
+                        execution.execute(arguments) :
+                        execution.execute(arguments).thenApply(throwingFunction(response ->
+                                invalidate(arguments, response)));
+            }
+
+            final Map<String, String> directives = CachePolicy.directives(values(arguments, CACHE_CONTROL));
+
+            if (directives.containsKey("no-store") || isConditional(arguments)) {
+                return execution.execute(arguments);
+            }
+
+            final URI key = arguments.getRequestUri();
+            @Nullable final CachedResponse cached = lookup(key, arguments);
+
+            if (cached == null) {
+                return execution.execute(arguments).thenApply(throwingFunction(response ->
+                        store(key, arguments, response)));
+            }
+
+            final boolean revalidate = directives.containsKey("no-cache") || "0".equals(directives.get("max-age"));
+
+            if (!revalidate && cached.getExpires().isAfter(policy.now())) {
+                return CompletableFuture.completedFuture(cached.getResponse());
+            }
+
+            @Nullable final String entityTag = cached.getEntityTag();
+
+            if (entityTag == null) {
+                return execution.execute(arguments).thenApply(throwingFunction(response ->
+                        store(key, arguments, response)));
+            }
+
+            return execution.execute(arguments.withHeader(IF_NONE_MATCH, entityTag))
+                    .thenApply(throwingFunction(response -> response.getRawStatusCode() == NOT_MODIFIED.value() ?
+                            refresh(key, cached, response) :
+                            store(key, arguments, response)));
+        };
+    }
+
+    @Nullable
+    private CachedResponse lookup(final URI key, final RequestArguments arguments) {
+        @Nullable final CachedResponse cached = cache.get(key);
+
+        if (cached == null) {
+            return null;
+        }
+
+        for (final Map.Entry<String, List<String>> variant : cached.getVariants().entrySet()) {
+            if (!variant.getValue().equals(values(arguments, variant.getKey()))) {
+                return null;
+            }
+        }
+
+        return cached;
+    }
+
+    private ClientHttpResponse store(final URI key, final RequestArguments arguments,
+            final ClientHttpResponse response) throws IOException {
+
+        final HttpHeaders headers = response.getHeaders();
+        final int status = response.getRawStatusCode();
+        final Instant expires = policy.expires(headers);
+
+        if (!policy.isStorable(status, headers, expires) || headers.getContentLength() > maxSize) {
+            return skip(key, status, response);
+        }
+
+        @Nullable final InputStream body = response.getBody();
+
+        if (body == null) {
+            return buffer(key, arguments, response, expires);
+        }
+
+        // bodies of unknown length are read up to the limit, but not beyond
+        final byte[] head = ByteStreams.toByteArray(ByteStreams.limit(body, maxSize + 1));
+        final ClientHttpResponse partiallyRead = new PartiallyReadClientHttpResponse(response, head, body);
+
+        if (head.length > maxSize) {
+            return skip(key, status, partiallyRead);
+        }
+
+        return buffer(key, arguments, partiallyRead, expires);
+    }
+
+    private ClientHttpResponse buffer(final URI key, final RequestArguments arguments,
+            final ClientHttpResponse response, final Instant expires) throws IOException {
+
+        final ReplayableClientHttpResponse buffered = ReplayableClientHttpResponse.buffer(response);
+        cache.put(key, entry(arguments, buffered, expires));
+        return buffered;
+    }
+
+    /**
+     * A successful response that can't be stored supersedes the cached one, others, e.g. errors, don't.
+     *
+     * @see <a href="https://tools.ietf.org/html/rfc7234#section-4.4">RFC 7234, section 4.4</a>
+     */
+    private ClientHttpResponse skip(final URI key, final int status, final ClientHttpResponse response) {
+        if (isSuccessful(status)) {
+            cache.remove(key);
+        }
+
+        return response;
+    }
+
+    /**
+     * Updates the cached response with the headers of a {@code 304 Not Modified} response.
+     *
+     * @see <a href="https://tools.ietf.org/html/rfc7234#section-4.3.4">RFC 7234, section 4.3.4</a>
+     */
+    private ClientHttpResponse refresh(final URI key, final CachedResponse cached,
+            final ClientHttpResponse notModified) {
+
+        try (final ClientHttpResponse ignored = notModified) {
+            final HttpHeaders headers = new HttpHeaders();
+            headers.putAll(cached.getResponse().getHeaders());
+            notModified.getHeaders().forEach((name, values) -> {
+                if (!CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    headers.put(name, values);
+                }
+            });
+
+            final ReplayableClientHttpResponse response = cached.getResponse().withHeaders(headers);
+            final Instant expires = policy.expires(headers);
+
+            cache.put(key, new CachedResponse(response, expires, headers.getETag(), cached.getVariants(),
+                    weigh(response)));
+
+            return response;
+        }
+    }
+
+    private ClientHttpResponse invalidate(final RequestArguments arguments, final ClientHttpResponse response)
+            throws IOException {
+
+        final int status = response.getRawStatusCode();
+
+        if (status >= 200 && status < 400) {
+            cache.remove(arguments.getRequestUri());
+        }
+
+        return response;
+    }
+
+    private static boolean isSuccessful(final int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private CachedResponse entry(final RequestArguments arguments, final ReplayableClientHttpResponse response,
+            final Instant expires) {
+
+        final Map<String, List<String>> variants = new HashMap<>();
+        variants.put(AUTHORIZATION.toLowerCase(ROOT), values(arguments, AUTHORIZATION));
+
+        for (final String name : response.getHeaders().getVary()) {
+            variants.put(name.toLowerCase(ROOT), values(arguments, name));
+        }
+
+        return new CachedResponse(response, expires, response.getHeaders().getETag(), variants, weigh(response));
+    }
+
+    private static int weigh(final ReplayableClientHttpResponse response) {
+        int weight = response.getContentLength();
+
+        for (final Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+            weight += header.getKey().length();
+
+            for (final String value : header.getValue()) {
+                weight += value.length();
+            }
+        }
+
+        return weight;
+    }
+
+    private static boolean isConditional(final RequestArguments arguments) {
+        return arguments.getHeaders().keySet().stream()
+                .anyMatch(name -> CONDITIONALS.stream().anyMatch(name::equalsIgnoreCase));
+    }
+
+    private static List<String> values(final RequestArguments arguments, final String name) {
+        final List<String> values = new ArrayList<>();
+
+        arguments.getHeaders().forEach((header, list) -> {
+            if (header.equalsIgnoreCase(name)) {
+                values.addAll(list);
+            }
+        });
+
+        return values;
+    }
+
+}
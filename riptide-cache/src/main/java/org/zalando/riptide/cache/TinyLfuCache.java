@@ -0,0 +1,335 @@
+package org.zalando.riptide.cache;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+import static java.lang.Math.max;
+
+/**
+ * A cache that is bounded by the total weight of its values and evicts them according to W-TinyLFU: New entries enter a
+ * small LRU window, which takes 1% of the capacity. Entries that leave the window are only admitted to the main space
+ * if they were requested more often than the entries they would replace, as estimated by a
+ * {@link FrequencySketch frequency sketch}. The main space is a segmented LRU of a probation and a protected segment,
+ * the latter holding entries that were requested again and taking 80% of the main space. A scan of keys that are
+ * requested only once therefore can't flush popular entries out of the cache.
+ *
+ * Reads don't lock. They look up the entry in a concurrent map and record the access in a small, lossy ring buffer,
+ * which is replayed against the sketch and the LRU order under the lock, by whichever thread finds it half full or by
+ * the next write. If the buffer is full or contended, accesses are dropped, i.e. frequencies and recency are slightly
+ * underestimated under heavy load, as they are in Caffeine. Writes lock the whole cache. They are cheap compared to
+ * the network calls that they save.
+ *
+ * @see <a href="https://arxiv.org/abs/1512.00727">TinyLFU: A Highly Efficient Cache Admission Policy</a>
+ */
+final class TinyLfuCache<K, V> {
+
+    private enum Segment {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private final V value;
+        private final long weight;
+        private Segment segment = Segment.WINDOW;
+
+        private Node(final K key, final V value, final long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+    }
+
+    private static final int BUFFER_SIZE = 128;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+    private static final int DRAIN_THRESHOLD = BUFFER_SIZE / 2;
+
+    private final Map<K, Node<K, V>> nodes = new ConcurrentHashMap<>();
+
+    /**
+     * Accesses that weren't applied yet, either the {@link Node node} of a hit or the key of a miss.
+     */
+    private final AtomicReferenceArray<Object> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+    private final AtomicLong writes = new AtomicLong();
+    private volatile long reads;
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Map<K, Node<K, V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, Node<K, V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, Node<K, V>> protect = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final FrequencySketch sketch;
+    private final ToIntFunction<V> weigher;
+
+    private final long maxWeight;
+    private final long maxWindowWeight;
+    private final long maxMainWeight;
+    private final long maxProtectedWeight;
+
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+
+    /**
+     * @param maxWeight the maximum total weight of all values
+     * @param capacity the expected number of entries, used to size the frequency sketch
+     * @param weigher the weight of each value, e.g. its size in bytes
+     */
+    TinyLfuCache(final long maxWeight, final int capacity, final ToIntFunction<V> weigher) {
+        this.sketch = new FrequencySketch(capacity);
+        this.weigher = weigher;
+        this.maxWeight = maxWeight;
+        this.maxWindowWeight = max(1, maxWeight / 100);
+        this.maxMainWeight = maxWeight - maxWindowWeight;
+        this.maxProtectedWeight = maxMainWeight * 8 / 10;
+    }
+
+    @Nullable
+    V get(final K key) {
+        @Nullable final Node<K, V> node = nodes.get(key);
+        record(node == null ? key : node);
+        return node == null ? null : node.value;
+    }
+
+    void put(final K key, final V value) {
+        lock.lock();
+        try {
+            drain();
+            discard(key);
+
+            final long weight = weigher.applyAsInt(value);
+
+            if (weight > maxWeight) {
+                return;
+            }
+
+            sketch.increment(key);
+
+            final Node<K, V> node = new Node<>(key, value, weight);
+            nodes.put(key, node);
+            window.put(key, node);
+            windowWeight += weight;
+
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(final K key) {
+        lock.lock();
+        try {
+            drain();
+            discard(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    long weight() {
+        lock.lock();
+        try {
+            return windowWeight + probationWeight + protectedWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(final Object access) {
+        final long tail = writes.get();
+        final long size = tail - reads;
+
+        if (size >= BUFFER_SIZE) {
+            // lossy: the access is dropped rather than waiting for the buffer to be drained
+            tryDrain();
+            return;
+        }
+
+        if (writes.compareAndSet(tail, tail + 1)) {
+            buffer.lazySet((int) (tail & BUFFER_MASK), access);
+
+            if (size + 1 >= DRAIN_THRESHOLD) {
+                tryDrain();
+            }
+        }
+    }
+
+    private void tryDrain() {
+        if (lock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Applies all buffered accesses, stops at the first slot that was claimed but not written yet. Requires the lock.
+     */
+    @SuppressWarnings("unchecked")
+    private void drain() {
+        final long tail = writes.get();
+        long head = reads;
+
+        for (; head < tail; head++) {
+            final int index = (int) (head & BUFFER_MASK);
+            @Nullable final Object access = buffer.get(index);
+
+            if (access == null) {
+                break;
+            }
+
+            buffer.lazySet(index, null);
+
+            if (access instanceof Node) {
+                hit((Node<K, V>) access);
+            } else {
+                sketch.increment(access);
+            }
+        }
+
+        reads = head;
+    }
+
+    private void hit(final Node<K, V> node) {
+        sketch.increment(node.key);
+
+        if (nodes.get(node.key) != node) {
+            // replaced or evicted in the meantime
+            return;
+        }
+
+        switch (node.segment) {
+            case WINDOW:
+                window.get(node.key);
+                break;
+            case PROBATION:
+                promote(node);
+                break;
+            case PROTECTED:
+                protect.get(node.key);
+                break;
+        }
+    }
+
+    private void discard(final K key) {
+        @Nullable final Node<K, V> node = nodes.remove(key);
+
+        if (node == null) {
+            return;
+        }
+
+        switch (node.segment) {
+            case WINDOW:
+                window.remove(key);
+                windowWeight -= node.weight;
+                break;
+            case PROBATION:
+                probation.remove(key);
+                probationWeight -= node.weight;
+                break;
+            case PROTECTED:
+                protect.remove(key);
+                protectedWeight -= node.weight;
+                break;
+        }
+    }
+
+    private void promote(final Node<K, V> node) {
+        probation.remove(node.key);
+        probationWeight -= node.weight;
+
+        node.segment = Segment.PROTECTED;
+        protect.put(node.key, node);
+        protectedWeight += node.weight;
+
+        final Iterator<Node<K, V>> eldest = protect.values().iterator();
+
+        while (protectedWeight > maxProtectedWeight && eldest.hasNext()) {
+            final Node<K, V> demoted = eldest.next();
+
+            if (demoted == node) {
+                break;
+            }
+
+            eldest.remove();
+            protectedWeight -= demoted.weight;
+
+            demoted.segment = Segment.PROBATION;
+            probation.put(demoted.key, demoted);
+            probationWeight += demoted.weight;
+        }
+    }
+
+    /**
+     * Moves entries that overflow the window into the main space, if they win against the entries they would evict.
+     */
+    private void evict() {
+        final Iterator<Node<K, V>> eldest = window.values().iterator();
+
+        while (windowWeight > maxWindowWeight && eldest.hasNext()) {
+            final Node<K, V> candidate = eldest.next();
+            eldest.remove();
+            windowWeight -= candidate.weight;
+
+            if (admit(candidate)) {
+                candidate.segment = Segment.PROBATION;
+                probation.put(candidate.key, candidate);
+                probationWeight += candidate.weight;
+            } else {
+                nodes.remove(candidate.key);
+            }
+        }
+    }
+
+    /**
+     * Makes room for the given candidate by evicting victims, starting with the least recently used entries on
+     * probation. The candidate is rejected as soon as it's not more popular than a victim. Victims that were already
+     * evicted stay evicted, since they were less popular than the candidate.
+     */
+    private boolean admit(final Node<K, V> candidate) {
+        final int frequency = sketch.frequency(candidate.key);
+
+        while (probationWeight + protectedWeight + candidate.weight > maxMainWeight) {
+            @Nullable final Node<K, V> victim = victim();
+
+            if (victim == null || sketch.frequency(victim.key) >= frequency) {
+                return false;
+            }
+
+            discard(victim.key);
+        }
+
+        return true;
+    }
+
+    @Nullable
+    private Node<K, V> victim() {
+        if (!probation.isEmpty()) {
+            return probation.values().iterator().next();
+        }
+
+        if (!protect.isEmpty()) {
+            return protect.values().iterator().next();
+        }
+
+        return null;
+    }
+
+}
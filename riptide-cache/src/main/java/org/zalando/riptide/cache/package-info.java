@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.cache;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,122 @@
+package org.zalando.riptide.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+
+final class CachePolicyTest {
+
+    private final Instant now = Instant.parse("2019-03-01T10:00:00Z");
+    private final CachePolicy unit = new CachePolicy(Clock.fixed(now, UTC));
+
+    @Test
+    void shouldParseDirectives() {
+        final Map<String, String> directives = CachePolicy.directives(
+                Arrays.asList("No-Cache, max-age=60", "private=\"Set-Cookie\""));
+
+        assertThat(directives, hasEntry("no-cache", ""));
+        assertThat(directives, hasEntry("max-age", "60"));
+        assertThat(directives, hasEntry("private", "Set-Cookie"));
+    }
+
+    @Test
+    void shouldExpireAfterMaxAge() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=60");
+
+        assertThat(unit.expires(headers), is(now.plusSeconds(60)));
+    }
+
+    @Test
+    void shouldSubtractAge() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=60");
+        headers.set("Age", "20");
+
+        assertThat(unit.expires(headers), is(now.plusSeconds(40)));
+    }
+
+    @Test
+    void shouldPreferMaxAgeOverExpires() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=60");
+        headers.set("Date", "Fri, 01 Mar 2019 10:00:00 GMT");
+        headers.set("Expires", "Fri, 01 Mar 2019 11:00:00 GMT");
+
+        assertThat(unit.expires(headers), is(now.plusSeconds(60)));
+    }
+
+    @Test
+    void shouldExpireRelativeToDate() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("Date", "Fri, 01 Mar 2019 09:00:00 GMT");
+        headers.set("Expires", "Fri, 01 Mar 2019 09:05:00 GMT");
+
+        assertThat(unit.expires(headers), is(now.plusSeconds(300)));
+    }
+
+    @Test
+    void shouldTreatMalformedExpiresAsStale() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("Expires", "0");
+
+        assertThat(unit.expires(headers), is(now));
+    }
+
+    @Test
+    void shouldTreatNoCacheAsStale() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("no-cache, max-age=60");
+
+        assertThat(unit.expires(headers), is(now));
+    }
+
+    @Test
+    void shouldStoreFreshResponses() {
+        assertThat(unit.isStorable(200, new HttpHeaders(), now.plusSeconds(1)), is(true));
+    }
+
+    @Test
+    void shouldStoreStaleResponsesWithEntityTag() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"1\"");
+
+        assertThat(unit.isStorable(200, headers, now), is(true));
+    }
+
+    @Test
+    void shouldNotStoreStaleResponsesWithoutEntityTag() {
+        assertThat(unit.isStorable(200, new HttpHeaders(), now), is(false));
+    }
+
+    @Test
+    void shouldNotStoreUncacheableStatus() {
+        assertThat(unit.isStorable(500, new HttpHeaders(), now.plusSeconds(1)), is(false));
+    }
+
+    @Test
+    void shouldNotStoreNoStore() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("no-store");
+
+        assertThat(unit.isStorable(200, headers, now.plusSeconds(1)), is(false));
+    }
+
+    @Test
+    void shouldNotStoreVaryAsterisk() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setVary(Arrays.asList("*"));
+
+        assertThat(unit.isStorable(200, headers, now.plusSeconds(1)), is(false));
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.zalando.riptide.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+final class FrequencySketchTest {
+
+    private final FrequencySketch unit = new FrequencySketch(16);
+
+    @Test
+    void shouldCountUnknownKeysAsZero() {
+        assertThat(unit.frequency("foo"), is(0));
+    }
+
+    @Test
+    void shouldCount() {
+        for (int i = 0; i < 5; i++) {
+            unit.increment("foo");
+        }
+
+        assertThat(unit.frequency("foo"), is(5));
+    }
+
+    @Test
+    void shouldSaturate() {
+        for (int i = 0; i < 20; i++) {
+            unit.increment("foo");
+        }
+
+        assertThat(unit.frequency("foo"), is(15));
+    }
+
+    @Test
+    void shouldAge() {
+        for (int i = 0; i < 10; i++) {
+            unit.increment("foo");
+        }
+
+        for (int i = 0; i < 200; i++) {
+            unit.increment(i);
+        }
+
+        assertThat(unit.frequency("foo"), is(lessThan(10)));
+    }
+
+}
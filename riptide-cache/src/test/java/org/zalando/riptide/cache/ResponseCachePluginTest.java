@@ -0,0 +1,240 @@
+package org.zalando.riptide.cache;
+
+import com.google.common.base.Strings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.zalando.riptide.Http;
+
+import javax.annotation.Nullable;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.PUT;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class ResponseCachePluginTest {
+
+    private final RestTemplate template = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.createServer(template);
+    private final ExecutorService executor = newSingleThreadExecutor();
+
+    private final Clock clock = mock(Clock.class);
+    private final Instant now = Instant.parse("2019-03-01T10:00:00Z");
+
+    private final Http unit;
+
+    ResponseCachePluginTest() {
+        when(clock.instant()).thenReturn(now);
+
+        this.unit = Http.builder()
+                .executor(executor)
+                .requestFactory(template.getRequestFactory())
+                .baseUrl("https://api.example.com")
+                .plugin(new ResponseCachePlugin(1024).withClock(clock))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.verify();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldServeFreshResponseFromCache() {
+        server.expect(once(), requestTo("https://api.example.com/foo"))
+                .andRespond(withSuccess("Hello", TEXT_PLAIN).headers(headers("max-age=60", null)));
+
+        assertThat(get("/foo"), is("Hello"));
+        assertThat(get("/foo"), is("Hello"));
+    }
+
+    @Test
+    void shouldNotServeStaleResponseFromCache() {
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andRespond(withSuccess("Hello", TEXT_PLAIN).headers(headers("max-age=60", null)));
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andRespond(withSuccess("World", TEXT_PLAIN).headers(headers("max-age=60", null)));
+
+        assertThat(get("/foo"), is("Hello"));
+
+        when(clock.instant()).thenReturn(now.plusSeconds(61));
+
+        assertThat(get("/foo"), is("World"));
+    }
+
+    @Test
+    void shouldHonorExpires() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("Date", "Fri, 01 Mar 2019 10:00:00 GMT");
+        headers.set("Expires", "Fri, 01 Mar 2019 10:01:00 GMT");
+
+        server.expect(once(), requestTo("https://api.example.com/foo"))
+                .andRespond(withSuccess("Hello", TEXT_PLAIN).headers(headers));
+
+        assertThat(get("/foo"), is("Hello"));
+
+        when(clock.instant()).thenReturn(now.plusSeconds(59));
+
+        assertThat(get("/foo"), is("Hello"));
+    }
+
+    @Test
+    void shouldRevalidateStaleResponseWithEntityTag() {
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andRespond(withSuccess("Hello", TEXT_PLAIN).headers(headers("no-cache", "\"1\"")));
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andExpect(header("If-None-Match", "\"1\""))
+                .andRespond(withStatus(NOT_MODIFIED).headers(headers("no-cache", "\"1\"")));
+
+        assertThat(get("/foo"), is("Hello"));
+        assertThat(get("/foo"), is("Hello"));
+    }
+
+    @Test
+    void shouldReplaceModifiedResponseAfterRevalidation() {
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andRespond(withSuccess("Hello", TEXT_PLAIN).headers(headers("no-cache", "\"1\"")));
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andExpect(header("If-None-Match", "\"1\""))
+                .andRespond(withSuccess("World", TEXT_PLAIN).headers(headers("max-age=60", "\"2\"")));
+
+        assertThat(get("/foo"), is("Hello"));
+        assertThat(get("/foo"), is("World"));
+        assertThat(get("/foo"), is("World"));
+    }
+
+    @Test
+    void shouldNotStoreNoStore() {
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andRespond(withSuccess("Hello", TEXT_PLAIN).headers(headers("no-store, max-age=60", null)));
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andRespond(withSuccess("World", TEXT_PLAIN).headers(headers("no-store, max-age=60", null)));
+
+        assertThat(get("/foo"), is("Hello"));
+        assertThat(get("/foo"), is("World"));
+    }
+
+    @Test
+    void shouldNotStoreUnknownLengthBodiesLargerThanMaxSize() {
+        final String large = Strings.repeat("x", 2048);
+
+        server.expect(times(2), requestTo("https://api.example.com/foo"))
+                .andRespond(withSuccess(large, TEXT_PLAIN).headers(headers("max-age=60", null)));
+
+        assertThat(get("/foo"), is(large));
+        assertThat(get("/foo"), is(large));
+    }
+
+    @Test
+    void shouldKeepCachedResponseIfRevalidationFailed() {
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andRespond(withSuccess("Hello", TEXT_PLAIN).headers(headers("max-age=60", "\"1\"")));
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andExpect(header("If-None-Match", "\"1\""))
+                .andRespond(withStatus(SERVICE_UNAVAILABLE));
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andExpect(header("If-None-Match", "\"1\""))
+                .andRespond(withStatus(NOT_MODIFIED).headers(headers("max-age=60", "\"1\"")));
+
+        assertThat(get("/foo"), is("Hello"));
+
+        when(clock.instant()).thenReturn(now.plusSeconds(120));
+
+        unit.get("/foo").call(pass()).join();
+        assertThat(get("/foo"), is("Hello"));
+    }
+
+    @Test
+    void shouldBypassCacheForConditionalRequests() {
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andRespond(withSuccess("Hello", TEXT_PLAIN).headers(headers("max-age=60", "\"1\"")));
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andExpect(header("If-None-Match", "\"2\""))
+                .andRespond(withSuccess("World", TEXT_PLAIN).headers(headers("max-age=60", "\"3\"")));
+
+        assertThat(get("/foo"), is("Hello"));
+
+        final StringBuilder body = new StringBuilder();
+        unit.get("/foo").ifNoneMatch("\"2\"")
+                .dispatch(series(), on(SUCCESSFUL).call(String.class, body::append))
+                .join();
+
+        assertThat(body.toString(), is("World"));
+    }
+
+    @Test
+    void shouldVaryByAuthorization() {
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andExpect(header("Authorization", "Bearer alice"))
+                .andRespond(withSuccess("Alice", TEXT_PLAIN).headers(headers("max-age=60", null)));
+        server.expect(requestTo("https://api.example.com/foo"))
+                .andExpect(header("Authorization", "Bearer bob"))
+                .andRespond(withSuccess("Bob", TEXT_PLAIN).headers(headers("max-age=60", null)));
+
+        assertThat(get("/foo", "Bearer alice"), is("Alice"));
+        assertThat(get("/foo", "Bearer bob"), is("Bob"));
+    }
+
+    @Test
+    void shouldInvalidateAfterUnsafeRequest() {
+        server.expect(requestTo("https://api.example.com/foo")).andExpect(method(GET))
+                .andRespond(withSuccess("Hello", TEXT_PLAIN).headers(headers("max-age=60", null)));
+        server.expect(requestTo("https://api.example.com/foo")).andExpect(method(PUT))
+                .andRespond(withSuccess());
+        server.expect(requestTo("https://api.example.com/foo")).andExpect(method(GET))
+                .andRespond(withSuccess("World", TEXT_PLAIN).headers(headers("max-age=60", null)));
+
+        assertThat(get("/foo"), is("Hello"));
+        unit.put("/foo").call(pass()).join();
+        assertThat(get("/foo"), is("World"));
+    }
+
+    private String get(final String path) {
+        final StringBuilder body = new StringBuilder();
+        unit.get(path).dispatch(series(), on(SUCCESSFUL).call(String.class, body::append)).join();
+        return body.toString();
+    }
+
+    private String get(final String path, final String authorization) {
+        final StringBuilder body = new StringBuilder();
+        unit.get(path).header("Authorization", authorization)
+                .dispatch(series(), on(SUCCESSFUL).call(String.class, body::append)).join();
+        return body.toString();
+    }
+
+    private static HttpHeaders headers(final String cacheControl, @Nullable final String entityTag) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(cacheControl);
+
+        if (entityTag != null) {
+            headers.setETag(entityTag);
+        }
+
+        return headers;
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.zalando.riptide.cache;
+
+import com.google.common.base.Strings;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+final class TinyLfuCacheTest {
+
+    private final TinyLfuCache<String, String> unit = new TinyLfuCache<>(100, 1000, String::length);
+
+    @Test
+    void shouldGetValue() {
+        unit.put("foo", "bar");
+
+        assertThat(unit.get("foo"), is("bar"));
+        assertThat(unit.get("bar"), is(nullValue()));
+    }
+
+    @Test
+    void shouldReplaceValue() {
+        unit.put("foo", "bar");
+        unit.put("foo", "baz");
+
+        assertThat(unit.get("foo"), is("baz"));
+        assertThat(unit.size(), is(1));
+        assertThat(unit.weight(), is(3L));
+    }
+
+    @Test
+    void shouldRemoveValue() {
+        unit.put("foo", "bar");
+        unit.remove("foo");
+
+        assertThat(unit.get("foo"), is(nullValue()));
+        assertThat(unit.weight(), is(0L));
+    }
+
+    @Test
+    void shouldNotStoreValuesHeavierThanCache() {
+        unit.put("foo", Strings.repeat("x", 101));
+
+        assertThat(unit.get("foo"), is(nullValue()));
+        assertThat(unit.size(), is(0));
+    }
+
+    @Test
+    void shouldStayWithinMaxWeight() {
+        for (int i = 0; i < 100; i++) {
+            unit.put("key-" + i, Strings.repeat("x", 10));
+            assertThat(unit.weight(), is(lessThanOrEqualTo(100L)));
+        }
+    }
+
+    @Test
+    void shouldResistScans() {
+        for (int i = 0; i < 5; i++) {
+            unit.put("hot-" + i, Strings.repeat("x", 10));
+        }
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 5; i++) {
+                unit.get("hot-" + i);
+            }
+        }
+
+        for (int i = 0; i < 100; i++) {
+            unit.put("scan-" + i, Strings.repeat("x", 10));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(unit.get("hot-" + i), is(notNullValue()));
+        }
+
+        assertThat(unit.weight(), is(lessThanOrEqualTo(100L)));
+    }
+
+    @Test
+    void shouldStayConsistentUnderConcurrentReadsAndWrites() throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int thread = 0; thread < 8; thread++) {
+            final int offset = thread;
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    final String key = "key-" + (i + offset) % 50;
+
+                    if (i % 10 == 0) {
+                        unit.put(key, Strings.repeat("x", 10));
+                    } else {
+                        unit.get(key);
+                    }
+                }
+            });
+        }
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, MINUTES), is(true));
+
+        assertThat(unit.weight(), is(lessThanOrEqualTo(100L)));
+        assertThat(unit.weight(), is(unit.size() * 10L));
+    }
+
+}
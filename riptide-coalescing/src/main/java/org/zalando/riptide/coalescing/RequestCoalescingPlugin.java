@@ -0,0 +1,142 @@
+package org.zalando.riptide.coalescing;
+
+import com.google.common.collect.ImmutableSet;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.ReplayableClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.idempotency.IdempotencyPredicate;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import static java.util.Locale.ROOT;
+import static java.util.stream.Collectors.toSet;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Coalesces concurrent, identical requests into a single network call, i.e. requests that are sent while an identical
+ * one is still in flight share its response. Requests are identical if they have the same method, request URI and
+ * {@link #withHeaders(String...) headers}. Only idempotent requests without a body are coalesced. Shared responses are
+ * {@link ReplayableClientHttpResponse read into memory}, so that every caller can route them independently.
+ *
+ * <pre>{@code
+ * new RequestCoalescingPlugin()
+ *     .withHeaders("Accept", "Authorization");
+ * }</pre>
+ *
+ * Register it before plugins that add headers in the network phase, e.g. the
+ * {@code AuthorizationPlugin}, so that it sees them.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class RequestCoalescingPlugin implements Plugin {
+
+    private final Predicate<RequestArguments> predicate;
+    private final Predicate<String> headers;
+    private final ConcurrentMap<List<Object>, CompletableFuture<ReplayableClientHttpResponse>> flights =
+            new ConcurrentHashMap<>();
+
+    public RequestCoalescingPlugin() {
+        this(new IdempotencyPredicate(), name -> true);
+    }
+
+    public RequestCoalescingPlugin withPredicate(final Predicate<RequestArguments> predicate) {
+        return new RequestCoalescingPlugin(predicate, headers);
+    }
+
+    /**
+     * Only the given headers tell requests apart, all others are ignored. By default every header does. Headers that
+     * affect the response, e.g. {@code Accept} or {@code Authorization}, should never be ignored.
+     *
+     * @param names the names of the relevant headers, case-insensitive
+     * @return a new plugin that only compares the given headers
+     */
+    public RequestCoalescingPlugin withHeaders(final String... names) {
+        final ImmutableSet<String> relevant = ImmutableSet.copyOf(Arrays.stream(names)
+                .map(name -> name.toLowerCase(ROOT))
+                .collect(toSet()));
+
+        return new RequestCoalescingPlugin(predicate, name -> relevant.contains(name.toLowerCase(ROOT)));
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            if (arguments.getBody() != null || !predicate.test(arguments)) {
+                return execution.execute(arguments);
+            }
+
+            final List<Object> key = key(arguments);
+            final CompletableFuture<ReplayableClientHttpResponse> flight = new CompletableFuture<>();
+            @Nullable final CompletableFuture<ReplayableClientHttpResponse> existing = flights.putIfAbsent(key, flight);
+
+            if (existing != null) {
+                return share(existing);
+            }
+
+            try {
+                execution.execute(arguments).whenComplete((response, throwable) ->
+                        land(key, flight, response, throwable));
+            } catch (final IOException | RuntimeException e) {
+                land(key, flight, null, e);
+            }
+
+            return share(flight);
+        };
+    }
+
+    private List<Object> key(final RequestArguments arguments) {
+        final Map<String, List<String>> relevant = new TreeMap<>();
+
+        arguments.getHeaders().forEach((name, values) -> {
+            if (headers.test(name)) {
+                relevant.put(name.toLowerCase(ROOT), values);
+            }
+        });
+
+        return Arrays.asList(arguments.getMethod(), arguments.getRequestUri(), relevant);
+    }
+
+    /**
+     * Reads the response before the flight is removed, i.e. requests that arrive while the body is being read still
+     * share it.
+     */
+    private void land(final List<Object> key, final CompletableFuture<ReplayableClientHttpResponse> flight,
+            @Nullable final ClientHttpResponse response, @Nullable final Throwable throwable) {
+
+        try {
+            if (throwable == null) {
+                final ReplayableClientHttpResponse buffered = ReplayableClientHttpResponse.buffer(response);
+                flights.remove(key, flight);
+                flight.complete(buffered);
+            } else {
+                flights.remove(key, flight);
+                flight.completeExceptionally(throwable);
+            }
+        } catch (final IOException | RuntimeException e) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Every caller gets its own future, so that cancelling one of them doesn't affect the others.
+     */
+    private CompletableFuture<ClientHttpResponse> share(final CompletableFuture<ReplayableClientHttpResponse> flight) {
+        return flight.thenApply(ClientHttpResponse.class::cast);
+    }
+
+}
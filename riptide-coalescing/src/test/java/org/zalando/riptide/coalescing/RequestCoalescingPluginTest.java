@@ -0,0 +1,173 @@
+package org.zalando.riptide.coalescing;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static com.github.restdriver.clientdriver.ClientDriverRequest.Method.POST;
+import static com.github.restdriver.clientdriver.RestClientDriver.giveResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+
+final class RequestCoalescingPluginTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create().build();
+    private final ExecutorService executor = newFixedThreadPool(4);
+
+    private final Queue<String> bodies = new ConcurrentLinkedQueue<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldShareResponseOfIdenticalRequests() {
+        driver.addExpectation(onRequestTo("/foo"),
+                giveResponse("Hello", "text/plain").after(500, MILLISECONDS));
+
+        final Http unit = http(new RequestCoalescingPlugin());
+
+        concurrently(4, () -> unit.get("/foo")
+                .dispatch(series(), on(SUCCESSFUL).call(String.class, bodies::add)));
+
+        assertThat(bodies, contains("Hello", "Hello", "Hello", "Hello"));
+    }
+
+    @Test
+    void shouldNotShareResponseAfterCompletion() {
+        driver.addExpectation(onRequestTo("/foo"), giveResponse("Hello", "text/plain"));
+        driver.addExpectation(onRequestTo("/foo"), giveResponse("World", "text/plain"));
+
+        final Http unit = http(new RequestCoalescingPlugin());
+
+        unit.get("/foo").dispatch(series(), on(SUCCESSFUL).call(String.class, bodies::add)).join();
+        unit.get("/foo").dispatch(series(), on(SUCCESSFUL).call(String.class, bodies::add)).join();
+
+        assertThat(bodies, contains("Hello", "World"));
+    }
+
+    @Test
+    void shouldNotCoalesceNonIdempotentRequests() {
+        driver.addExpectation(onRequestTo("/foo").withMethod(POST),
+                giveResponse("Hello", "text/plain").after(200, MILLISECONDS));
+        driver.addExpectation(onRequestTo("/foo").withMethod(POST),
+                giveResponse("World", "text/plain").after(200, MILLISECONDS));
+
+        final Http unit = http(new RequestCoalescingPlugin());
+
+        concurrently(2, () -> unit.post("/foo")
+                .dispatch(series(), on(SUCCESSFUL).call(String.class, bodies::add)));
+
+        assertThat(bodies, containsInAnyOrder("Hello", "World"));
+    }
+
+    @Test
+    void shouldNotCoalesceRequestsWithDifferentHeaders() {
+        driver.addExpectation(onRequestTo("/foo").withHeader("Accept-Language", "en"),
+                giveResponse("Hello", "text/plain").after(200, MILLISECONDS));
+        driver.addExpectation(onRequestTo("/foo").withHeader("Accept-Language", "de"),
+                giveResponse("Hallo", "text/plain").after(200, MILLISECONDS));
+
+        final Http unit = http(new RequestCoalescingPlugin().withHeaders("Accept-Language"));
+
+        final CompletableFuture<?> english = unit.get("/foo").header("Accept-Language", "en")
+                .dispatch(series(), on(SUCCESSFUL).call(String.class, bodies::add));
+        final CompletableFuture<?> german = unit.get("/foo").header("Accept-Language", "de")
+                .dispatch(series(), on(SUCCESSFUL).call(String.class, bodies::add));
+
+        CompletableFuture.allOf(english, german).join();
+
+        assertThat(bodies, containsInAnyOrder("Hello", "Hallo"));
+    }
+
+    @Test
+    void shouldCoalesceRequestsThatOnlyDifferInIgnoredHeaders() {
+        driver.addExpectation(onRequestTo("/foo"),
+                giveResponse("Hello", "text/plain").after(500, MILLISECONDS));
+
+        final Http unit = http(new RequestCoalescingPlugin().withHeaders("Accept-Language"));
+
+        final CompletableFuture<?> first = unit.get("/foo").header("X-Request-Id", "1")
+                .dispatch(series(), on(SUCCESSFUL).call(String.class, bodies::add));
+        final CompletableFuture<?> second = unit.get("/foo").header("X-Request-Id", "2")
+                .dispatch(series(), on(SUCCESSFUL).call(String.class, bodies::add));
+
+        CompletableFuture.allOf(first, second).join();
+
+        assertThat(bodies, contains("Hello", "Hello"));
+    }
+
+    @Test
+    void shouldNotCancelSharedRequest() throws IOException {
+        final CompletableFuture<ClientHttpResponse> network = new CompletableFuture<>();
+        final RequestExecution unit = new RequestCoalescingPlugin().aroundNetwork(arguments -> network);
+
+        final RequestArguments arguments = RequestArguments.create()
+                .withMethod(GET)
+                .withUri(URI.create("http://localhost/foo"));
+
+        final CompletableFuture<ClientHttpResponse> first = unit.execute(arguments);
+        final CompletableFuture<ClientHttpResponse> second = unit.execute(arguments);
+
+        // cancellations don't propagate through the async phase (yet), i.e. callers can only detach here
+        first.cancel(true);
+        network.complete(new MockClientHttpResponse("Hello".getBytes(UTF_8), OK));
+
+        assertThat(first.isCancelled(), is(true));
+        assertThat(StreamUtils.copyToString(second.join().getBody(), UTF_8), is("Hello"));
+    }
+
+    private void concurrently(final int count, final Supplier<CompletableFuture<?>> call) {
+        final List<CompletableFuture<?>> futures = IntStream.range(0, count)
+                .mapToObj(i -> call.get())
+                .collect(toList());
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+
+    private Http http(final RequestCoalescingPlugin plugin) {
+        return Http.builder()
+                .executor(executor)
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(driver.getBaseUrl())
+                .plugin(plugin)
+                .build();
+    }
+
+}
@@ -0,0 +1,40 @@
+package org.zalando.riptide.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+final class AimdLimit implements Limit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoff;
+    private final AtomicInteger limit;
+
+    AimdLimit(final int initialLimit, final int minLimit, final int maxLimit, final double backoff) {
+        checkArgument(minLimit > 0 && minLimit <= initialLimit && initialLimit <= maxLimit,
+                "Limits must satisfy 0 < min <= initial <= max");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoff = backoff;
+        this.limit = new AtomicInteger(initialLimit);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit.get();
+    }
+
+    @Override
+    public void onSample(final long rtt, final int inFlight, final boolean dropped) {
+        limit.updateAndGet(current -> {
+            if (dropped) {
+                return Math.max(minLimit, (int) (current * backoff));
+            }
+
+            // an unused limit says nothing about the capacity of the server
+            return inFlight * 2 >= current ? Math.min(maxLimit, current + 1) : current;
+        });
+    }
+
+}
@@ -0,0 +1,27 @@
+package org.zalando.riptide.concurrency;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+public final class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final String partition;
+    private final int limit;
+
+    public ConcurrencyLimitExceededException(final String partition, final int limit) {
+        super("Concurrency limit of " + limit + " exceeded for " + partition);
+        this.partition = partition;
+        this.limit = limit;
+    }
+
+    public String getPartition() {
+        return partition;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+}
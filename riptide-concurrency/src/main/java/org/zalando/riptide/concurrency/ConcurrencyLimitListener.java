@@ -0,0 +1,26 @@
+package org.zalando.riptide.concurrency;
+
+import org.apiguardian.api.API;
+import org.zalando.riptide.RequestArguments;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+public interface ConcurrencyLimitListener {
+
+    ConcurrencyLimitListener DEFAULT = new ConcurrencyLimitListener() {
+        // nothing to implement, since default methods are sufficient
+    };
+
+    /**
+     * Called once for every partition, before its first request is executed.
+     */
+    default void onPartition(final Partition partition) {
+        // nothing to do
+    }
+
+    default void onRejection(final Partition partition, final RequestArguments arguments) {
+        // nothing to do
+    }
+
+}
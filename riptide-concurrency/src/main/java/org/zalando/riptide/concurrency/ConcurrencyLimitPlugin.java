@@ -0,0 +1,204 @@
+package org.zalando.riptide.concurrency;
+
+import com.google.common.base.Ticker;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Attribute;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.zalando.riptide.CancelableCompletableFuture.forwardTo;
+import static org.zalando.riptide.CancelableCompletableFuture.preserveCancelability;
+
+/**
+ * Limits the number of concurrent requests to an adaptive {@link Limit limit} and rejects requests beyond that
+ * right away, instead of piling them up on an overloaded server. Round trip times and failures of the network phase
+ * are fed back into the limit. Requests that exceed the limit fail with a {@link ConcurrencyLimitExceededException},
+ * unless there is room in the {@link #withMaxQueueSize(int) queue}.
+ *
+ * <pre>{@code
+ * new ConcurrencyLimitPlugin(() -> Limit.vegas(20, 1, 200))
+ *     .withPartitioning(Partitioning.host())
+ *     .withMaxQueueSize(50);
+ * }</pre>
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class ConcurrencyLimitPlugin implements Plugin {
+
+    private static final Attribute<Sample> SAMPLE = Attribute.generate();
+
+    private final Supplier<Limit> limit;
+    private final Partitioning partitioning;
+    private final int maxQueueSize;
+    private final ConcurrencyLimitListener listener;
+    private final Ticker ticker;
+    private final ConcurrentMap<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * @param limit creates a new limit for every partition
+     */
+    public ConcurrencyLimitPlugin(final Supplier<Limit> limit) {
+        this(limit, Partitioning.client(), 0, ConcurrencyLimitListener.DEFAULT, Ticker.systemTicker());
+    }
+
+    public ConcurrencyLimitPlugin withPartitioning(final Partitioning partitioning) {
+        return new ConcurrencyLimitPlugin(limit, partitioning, maxQueueSize, listener, ticker);
+    }
+
+    /**
+     * Queues requests that exceed the limit, up to the given number per partition. Queued requests are executed, in
+     * order, as soon as other requests of their partition complete.
+     *
+     * @param maxQueueSize the number of requests to queue, 0 rejects all requests beyond the limit
+     * @return a new plugin with a queue
+     */
+    public ConcurrencyLimitPlugin withMaxQueueSize(final int maxQueueSize) {
+        checkArgument(maxQueueSize >= 0, "Max queue size must not be negative");
+        return new ConcurrencyLimitPlugin(limit, partitioning, maxQueueSize, listener, ticker);
+    }
+
+    public ConcurrencyLimitPlugin withListener(final ConcurrencyLimitListener listener) {
+        return new ConcurrencyLimitPlugin(limit, partitioning, maxQueueSize, listener, ticker);
+    }
+
+    @API(status = INTERNAL)
+    ConcurrencyLimitPlugin withTicker(final Ticker ticker) {
+        return new ConcurrencyLimitPlugin(limit, partitioning, maxQueueSize, listener, ticker);
+    }
+
+    @Override
+    public RequestExecution aroundAsync(final RequestExecution execution) {
+        return arguments -> {
+            final Limiter limiter = limiter(partitioning.partition(arguments));
+            final Sample sample = new Sample();
+            final RequestArguments sampled = arguments.withAttribute(SAMPLE, sample);
+
+            if (limiter.tryAcquire()) {
+                return execute(execution, sampled, limiter, sample);
+            }
+
+            if (maxQueueSize > 0) {
+                final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+
+                // queued requests are executed by whichever thread releases a permit, never by the caller
+                final RequestArguments queued = sampled.withAttribute(CALLER_RUNS, false);
+
+                if (limiter.tryEnqueue(() -> executeQueued(execution, queued, limiter, sample, future))) {
+                    return future;
+                }
+            }
+
+            listener.onRejection(limiter, arguments);
+
+            final CompletableFuture<ClientHttpResponse> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(
+                    new ConcurrencyLimitExceededException(limiter.getName(), limiter.getLimit()));
+            return rejected;
+        };
+    }
+
+    private Limiter limiter(final String partition) {
+        @Nullable final Limiter limiter = limiters.get(partition);
+        return limiter == null ? limiters.computeIfAbsent(partition, this::register) : limiter;
+    }
+
+    private Limiter register(final String partition) {
+        final Limiter limiter = new Limiter(partition, limit.get(), maxQueueSize);
+        listener.onPartition(limiter);
+        return limiter;
+    }
+
+    private void executeQueued(final RequestExecution execution, final RequestArguments arguments,
+            final Limiter limiter, final Sample sample, final CompletableFuture<ClientHttpResponse> future) {
+
+        if (future.isDone()) {
+            // cancelled while being queued
+            limiter.release(sample);
+            return;
+        }
+
+        try {
+            final CompletableFuture<ClientHttpResponse> executed = execute(execution, arguments, limiter, sample);
+            executed.whenComplete(forwardTo(future));
+            future.whenComplete((response, throwable) -> executed.cancel(true));
+        } catch (final IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private CompletableFuture<ClientHttpResponse> execute(final RequestExecution execution,
+            final RequestArguments arguments, final Limiter limiter, final Sample sample) throws IOException {
+
+        final CompletableFuture<ClientHttpResponse> future;
+
+        try {
+            future = execution.execute(arguments);
+        } catch (final IOException | RuntimeException e) {
+            limiter.release(sample);
+            throw e;
+        }
+
+        // completes only after the permit was released, so that callers observe the updated limit
+        final CompletableFuture<ClientHttpResponse> released = preserveCancelability(future);
+
+        future.whenComplete((response, throwable) -> {
+            limiter.release(sample);
+            forwardTo(released).accept(response, throwable);
+        });
+
+        return released;
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            final Optional<Sample> sample = arguments.getAttribute(SAMPLE);
+
+            if (!sample.isPresent()) {
+                return execution.execute(arguments);
+            }
+
+            final long start = ticker.read();
+            final CompletableFuture<ClientHttpResponse> future;
+
+            try {
+                future = execution.execute(arguments);
+            } catch (final IOException | RuntimeException e) {
+                sample.get().record(ticker.read() - start, true);
+                throw e;
+            }
+
+            return future.whenComplete((response, throwable) ->
+                    sample.get().record(ticker.read() - start, dropped(response, throwable)));
+        };
+    }
+
+    private static boolean dropped(@Nullable final ClientHttpResponse response, @Nullable final Throwable throwable) {
+        if (throwable != null || response == null) {
+            return true;
+        }
+
+        try {
+            final int status = response.getRawStatusCode();
+            return status == 429 || status == 503;
+        } catch (final IOException e) {
+            return true;
+        }
+    }
+
+}
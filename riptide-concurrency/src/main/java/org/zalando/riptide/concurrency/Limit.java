@@ -0,0 +1,43 @@
+package org.zalando.riptide.concurrency;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * An adaptive concurrency limit, i.e. the number of requests that may be in flight at the same time. Limits are
+ * adjusted based on samples of completed requests and are expected to be safe for concurrent use.
+ *
+ * @see #aimd(int, int, int)
+ * @see #vegas(int, int, int)
+ */
+@API(status = EXPERIMENTAL)
+public interface Limit {
+
+    int getLimit();
+
+    /**
+     * @param rtt the round trip time of the request in nanoseconds
+     * @param inFlight the number of requests in flight, including this one
+     * @param dropped whether the request failed or was rejected due to overload, e.g. with {@code 503 Service Unavailable}
+     */
+    void onSample(long rtt, int inFlight, boolean dropped);
+
+    /**
+     * Additive increase, multiplicative decrease: grows by one while the limit is used, shrinks by 10% on every
+     * dropped request.
+     */
+    static Limit aimd(final int initialLimit, final int minLimit, final int maxLimit) {
+        return new AimdLimit(initialLimit, minLimit, maxLimit, 0.9);
+    }
+
+    /**
+     * Derives the limit from the growth of round trip times compared to the lowest one that was observed, similar to
+     * <a href="https://en.wikipedia.org/wiki/TCP_Vegas">TCP Vegas</a>. Reacts to queueing on the server, before
+     * requests start to fail.
+     */
+    static Limit vegas(final int initialLimit, final int minLimit, final int maxLimit) {
+        return new VegasLimit(initialLimit, minLimit, maxLimit);
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.zalando.riptide.concurrency;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits requests of one {@link Partition partition} up to its {@link Limit limit} and queues a bounded number of
+ * requests beyond that. Neither acquiring nor releasing locks anything.
+ */
+final class Limiter implements Partition {
+
+    private final String name;
+    private final Limit limit;
+    private final int maxQueueSize;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+    // number of pending drain requests, only the thread that raised it from zero drains
+    private final AtomicInteger draining = new AtomicInteger();
+
+    Limiter(final String name, final Limit limit, final int maxQueueSize) {
+        this.name = name;
+        this.limit = limit;
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public int getQueued() {
+        return queued.get();
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+
+            if (current >= limit.getLimit()) {
+                return false;
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Queues the given task, which will be run as soon as it acquired a permit. The task is expected to
+     * {@link #release(Sample) release} it eventually.
+     *
+     * @return whether the task was queued, i.e. the queue wasn't full
+     */
+    boolean tryEnqueue(final Runnable task) {
+        if (queued.incrementAndGet() > maxQueueSize) {
+            queued.decrementAndGet();
+            return false;
+        }
+
+        queue.add(task);
+
+        // a permit may have been released concurrently, before the task was queued
+        drain();
+        return true;
+    }
+
+    void release(final Sample sample) {
+        if (sample.isRecorded()) {
+            limit.onSample(sample.getRtt(), inFlight.get(), sample.isDropped());
+        }
+
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    /**
+     * Runs queued tasks while permits are available. Tasks that release their permit synchronously, i.e. while being
+     * run, don't drain recursively. Their request is picked up by the loop of the draining thread instead.
+     */
+    private void drain() {
+        if (draining.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+
+        do {
+            while (!queue.isEmpty() && tryAcquire()) {
+                final Runnable task = queue.poll();
+
+                if (task == null) {
+                    // another thread took it
+                    inFlight.decrementAndGet();
+                    continue;
+                }
+
+                queued.decrementAndGet();
+                task.run();
+            }
+
+            missed = draining.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+}
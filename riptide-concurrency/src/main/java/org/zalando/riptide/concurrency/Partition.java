@@ -0,0 +1,21 @@
+package org.zalando.riptide.concurrency;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A live view on the requests of one partition, e.g. one host, that share the same {@link Limit limit}.
+ */
+@API(status = EXPERIMENTAL)
+public interface Partition {
+
+    String getName();
+
+    int getLimit();
+
+    int getInFlight();
+
+    int getQueued();
+
+}
@@ -0,0 +1,36 @@
+package org.zalando.riptide.concurrency;
+
+import org.apiguardian.api.API;
+import org.zalando.riptide.RequestArguments;
+
+import javax.annotation.Nullable;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Decides which requests share a {@link Limit limit}.
+ */
+@API(status = EXPERIMENTAL)
+@FunctionalInterface
+public interface Partitioning {
+
+    String partition(RequestArguments arguments);
+
+    /**
+     * All requests of a client share one limit.
+     */
+    static Partitioning client() {
+        return arguments -> "client";
+    }
+
+    /**
+     * Requests share a limit per host and port.
+     */
+    static Partitioning host() {
+        return arguments -> {
+            @Nullable final String authority = arguments.getRequestUri().getAuthority();
+            return authority == null ? "" : authority;
+        };
+    }
+
+}
@@ -0,0 +1,28 @@
+package org.zalando.riptide.concurrency;
+
+/**
+ * The outcome of the last network attempt of a request. Retries overwrite earlier attempts.
+ */
+final class Sample {
+
+    private volatile long rtt = -1;
+    private volatile boolean dropped;
+
+    void record(final long rtt, final boolean dropped) {
+        this.dropped = dropped;
+        this.rtt = rtt;
+    }
+
+    boolean isRecorded() {
+        return rtt >= 0;
+    }
+
+    long getRtt() {
+        return rtt;
+    }
+
+    boolean isDropped() {
+        return dropped;
+    }
+
+}
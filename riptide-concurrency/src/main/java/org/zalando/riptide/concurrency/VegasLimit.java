@@ -0,0 +1,106 @@
+package org.zalando.riptide.concurrency;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Estimates the queue on the server as {@code limit * (1 - noLoadRtt / rtt)} and grows the limit while the queue is
+ * short and shrinks it while it's long. The no-load round trip time is the lowest one observed, which is forgotten
+ * every {@code 30 * limit} samples in order to adapt to servers that permanently got slower.
+ */
+final class VegasLimit implements Limit {
+
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicReference<State> state;
+
+    VegasLimit(final int initialLimit, final int minLimit, final int maxLimit) {
+        checkArgument(minLimit > 0 && minLimit <= initialLimit && initialLimit <= maxLimit,
+                "Limits must satisfy 0 < min <= initial <= max");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.state = new AtomicReference<>(new State(initialLimit, 0, PROBE_MULTIPLIER * initialLimit));
+    }
+
+    @Override
+    public int getLimit() {
+        return state.get().limit;
+    }
+
+    @Override
+    public void onSample(final long rtt, final int inFlight, final boolean dropped) {
+        if (rtt <= 0) {
+            return;
+        }
+
+        state.updateAndGet(current -> update(current, rtt, inFlight, dropped));
+    }
+
+    private State update(final State state, final long rtt, final int inFlight, final boolean dropped) {
+        final int current = state.limit;
+        final long probe = state.probe - 1;
+
+        // the lowest round trip time is forgotten once in a while
+        final long noLoadRtt = probe <= 0 ? 0 : state.noLoadRtt;
+        final long nextProbe = probe <= 0 ? PROBE_MULTIPLIER * current : probe;
+
+        if (noLoadRtt == 0 || rtt < noLoadRtt) {
+            return new State(current, rtt, nextProbe);
+        }
+
+        return new State(adjust(current, noLoadRtt, rtt, inFlight, dropped), noLoadRtt, nextProbe);
+    }
+
+    private int adjust(final int current, final long noLoadRtt, final long rtt, final int inFlight,
+            final boolean dropped) {
+
+        final int log = Math.max(1, (int) Math.log10(current));
+
+        if (dropped) {
+            return clamp(current - log);
+        }
+
+        if (inFlight * 2 < current) {
+            // an unused limit says nothing about the capacity of the server
+            return current;
+        }
+
+        final int queue = (int) Math.ceil(current * (1 - (double) noLoadRtt / rtt));
+
+        if (queue <= log) {
+            return clamp(current + 6 * log);
+        } else if (queue < 3 * log) {
+            return clamp(current + log);
+        } else if (queue > 6 * log) {
+            return clamp(current - log);
+        }
+
+        return current;
+    }
+
+    private int clamp(final int limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+
+    /**
+     * Immutable, in order to be updated atomically as a whole.
+     */
+    private static final class State {
+
+        private final int limit;
+        private final long noLoadRtt;
+        private final long probe;
+
+        private State(final int limit, final long noLoadRtt, final long probe) {
+            this.limit = limit;
+            this.noLoadRtt = noLoadRtt;
+            this.probe = probe;
+        }
+
+    }
+
+}
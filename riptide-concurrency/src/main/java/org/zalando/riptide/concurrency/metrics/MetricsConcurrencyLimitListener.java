@@ -0,0 +1,78 @@
+package org.zalando.riptide.concurrency.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.apiguardian.api.API;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.concurrency.ConcurrencyLimitListener;
+import org.zalando.riptide.concurrency.Partition;
+
+import java.util.function.Supplier;
+
+import static com.google.common.collect.Iterables.concat;
+import static java.util.Collections.singleton;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Reports the limit, the requests in flight and the queued requests of every partition as gauges and rejected
+ * requests as a counter, all of them tagged with {@code partition}.
+ */
+@API(status = EXPERIMENTAL)
+public final class MetricsConcurrencyLimitListener implements ConcurrencyLimitListener {
+
+    private final MeterRegistry registry;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public MetricsConcurrencyLimitListener(final MeterRegistry registry) {
+        this(registry, "http.client.concurrency", ImmutableList.of());
+    }
+
+    @API(status = INTERNAL)
+    MetricsConcurrencyLimitListener(final MeterRegistry registry, final String metricName,
+            final ImmutableList<Tag> defaultTags) {
+        this.registry = registry;
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+    }
+
+    public MetricsConcurrencyLimitListener withMetricName(final String metricName) {
+        return new MetricsConcurrencyLimitListener(registry, metricName, defaultTags);
+    }
+
+    public MetricsConcurrencyLimitListener withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(ImmutableList.copyOf(defaultTags));
+    }
+
+    public MetricsConcurrencyLimitListener withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new MetricsConcurrencyLimitListener(registry, metricName, ImmutableList.copyOf(defaultTags));
+    }
+
+    @Override
+    public void onPartition(final Partition partition) {
+        final Iterable<Tag> tags = tags(partition);
+
+        gauge("limit", tags, partition::getLimit);
+        gauge("in-flight", tags, partition::getInFlight);
+        gauge("queued", tags, partition::getQueued);
+    }
+
+    @Override
+    public void onRejection(final Partition partition, final RequestArguments arguments) {
+        registry.counter(metricName + ".rejections", tags(partition)).increment();
+    }
+
+    private void gauge(final String name, final Iterable<Tag> tags, final Supplier<Number> value) {
+        Gauge.builder(metricName + "." + name, value)
+                .tags(tags)
+                .register(registry);
+    }
+
+    private Iterable<Tag> tags(final Partition partition) {
+        return concat(defaultTags, singleton(Tag.of("partition", partition.getName())));
+    }
+
+}
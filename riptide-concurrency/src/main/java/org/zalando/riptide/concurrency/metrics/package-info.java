@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.concurrency.metrics;
+
+import javax.annotation.ParametersAreNonnullByDefault;
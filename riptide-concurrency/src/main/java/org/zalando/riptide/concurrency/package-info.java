@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.concurrency;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,56 @@
+package org.zalando.riptide.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class AimdLimitTest {
+
+    private final Limit unit = Limit.aimd(10, 2, 12);
+
+    @Test
+    void shouldRejectInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> Limit.aimd(10, 0, 20));
+        assertThrows(IllegalArgumentException.class, () -> Limit.aimd(1, 2, 20));
+        assertThrows(IllegalArgumentException.class, () -> Limit.aimd(30, 2, 20));
+    }
+
+    @Test
+    void shouldIncreaseWhileUsed() {
+        unit.onSample(1000, 5, false);
+        assertThat(unit.getLimit(), is(11));
+    }
+
+    @Test
+    void shouldNotIncreaseWhileUnused() {
+        unit.onSample(1000, 4, false);
+        assertThat(unit.getLimit(), is(10));
+    }
+
+    @Test
+    void shouldNotIncreaseBeyondMax() {
+        for (int i = 0; i < 10; i++) {
+            unit.onSample(1000, 10, false);
+        }
+
+        assertThat(unit.getLimit(), is(12));
+    }
+
+    @Test
+    void shouldDecreaseOnDrop() {
+        unit.onSample(1000, 10, true);
+        assertThat(unit.getLimit(), is(9));
+    }
+
+    @Test
+    void shouldNotDecreaseBelowMin() {
+        for (int i = 0; i < 100; i++) {
+            unit.onSample(1000, 10, true);
+        }
+
+        assertThat(unit.getLimit(), is(2));
+    }
+
+}
@@ -0,0 +1,197 @@
+package org.zalando.riptide.concurrency;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import com.google.common.base.Ticker;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class ConcurrencyLimitPluginTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create().build();
+    private final ExecutorService executor = newFixedThreadPool(4);
+
+    private final List<Partition> partitions = new ArrayList<>();
+    private final List<String> rejections = new ArrayList<>();
+
+    private final ConcurrencyLimitListener listener = new ConcurrencyLimitListener() {
+        @Override
+        public void onPartition(final Partition partition) {
+            partitions.add(partition);
+        }
+
+        @Override
+        public void onRejection(final Partition partition, final RequestArguments arguments) {
+            rejections.add(partition.getName());
+        }
+    };
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldExecuteWithinLimit() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        final Http unit = http(new ConcurrencyLimitPlugin(() -> Limit.aimd(1, 1, 1)).withListener(listener));
+
+        unit.get("/foo").call(pass()).join();
+        unit.get("/foo").call(pass()).join();
+
+        assertThat(rejections.isEmpty(), is(true));
+        assertThat(partitions.get(0).getInFlight(), is(0));
+    }
+
+    @Test
+    void shouldRejectBeyondLimit() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse().after(1, SECONDS));
+
+        final Http unit = http(new ConcurrencyLimitPlugin(() -> Limit.aimd(1, 1, 1)).withListener(listener));
+
+        final CompletableFuture<ClientHttpResponse> first = unit.get("/foo").call(pass());
+
+        final CompletionException exception = assertThrows(CompletionException.class,
+                unit.get("/foo").call(pass())::join);
+
+        assertThat(exception.getCause(), is(instanceOf(ConcurrencyLimitExceededException.class)));
+
+        final ConcurrencyLimitExceededException cause = (ConcurrencyLimitExceededException) exception.getCause();
+        assertThat(cause.getPartition(), is("client"));
+        assertThat(cause.getLimit(), is(1));
+        assertThat(rejections, contains("client"));
+
+        first.join();
+    }
+
+    @Test
+    void shouldQueueBeyondLimit() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse().after(500, MILLISECONDS));
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        final Http unit = http(new ConcurrencyLimitPlugin(() -> Limit.aimd(1, 1, 1))
+                .withMaxQueueSize(1)
+                .withListener(listener));
+
+        final CompletableFuture<ClientHttpResponse> first = unit.get("/foo").call(pass());
+        final CompletableFuture<ClientHttpResponse> second = unit.get("/foo").call(pass());
+
+        assertThat(partitions.get(0).getQueued(), is(1));
+
+        first.join();
+        second.join();
+
+        assertThat(rejections.isEmpty(), is(true));
+        assertThat(partitions.get(0).getQueued(), is(0));
+    }
+
+    @Test
+    void shouldSkipCancelledQueuedRequest() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse().after(500, MILLISECONDS));
+
+        final Http unit = http(new ConcurrencyLimitPlugin(() -> Limit.aimd(1, 1, 1))
+                .withMaxQueueSize(1)
+                .withListener(listener));
+
+        final CompletableFuture<ClientHttpResponse> first = unit.get("/foo").call(pass());
+        final CompletableFuture<ClientHttpResponse> second = unit.get("/foo").call(pass());
+
+        second.cancel(true);
+        first.join();
+
+        assertThat(partitions.get(0).getQueued(), is(0));
+        assertThat(partitions.get(0).getInFlight(), is(0));
+    }
+
+    @Test
+    void shouldDecreaseLimitOnOverload() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse().withStatus(503));
+
+        final Http unit = http(new ConcurrencyLimitPlugin(() -> Limit.aimd(10, 1, 10)).withListener(listener));
+
+        unit.get("/foo").call(pass()).join();
+
+        assertThat(partitions.get(0).getLimit(), is(9));
+    }
+
+    @Test
+    void shouldIncreaseLimitOnSuccess() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        final Http unit = http(new ConcurrencyLimitPlugin(() -> Limit.aimd(1, 1, 10))
+                .withListener(listener)
+                .withTicker(Ticker.systemTicker()));
+
+        unit.get("/foo").call(pass()).join();
+
+        assertThat(partitions.get(0).getLimit(), is(2));
+    }
+
+    @Test
+    void shouldDecreaseLimitOnFailure() {
+        final Http unit = Http.builder()
+                .executor(executor)
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl("http://localhost:1")
+                .plugin(new ConcurrencyLimitPlugin(() -> Limit.aimd(10, 1, 10)).withListener(listener))
+                .build();
+
+        assertThrows(CompletionException.class, unit.get("/foo").call(pass())::join);
+
+        assertThat(partitions.get(0).getLimit(), is(9));
+        assertThat(partitions.get(0).getInFlight(), is(0));
+    }
+
+    @Test
+    void shouldPartitionByHost() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        final Http unit = http(new ConcurrencyLimitPlugin(() -> Limit.aimd(1, 1, 1))
+                .withPartitioning(Partitioning.host())
+                .withListener(listener));
+
+        unit.get("/foo").call(pass()).join();
+
+        assertThat(partitions.get(0).getName(), is(driver.getBaseUrl().replace("http://", "")));
+    }
+
+    private Http http(final ConcurrencyLimitPlugin plugin) {
+        return Http.builder()
+                .executor(executor)
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(driver.getBaseUrl())
+                .plugin(plugin)
+                .build();
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.zalando.riptide.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+final class LimiterTest {
+
+    private final Limiter unit = new Limiter("test", Limit.aimd(2, 1, 2), 1);
+
+    @Test
+    void shouldAcquireUpToLimit() {
+        assertThat(unit.tryAcquire(), is(true));
+        assertThat(unit.tryAcquire(), is(true));
+        assertThat(unit.tryAcquire(), is(false));
+        assertThat(unit.getInFlight(), is(2));
+    }
+
+    @Test
+    void shouldAcquireAfterRelease() {
+        unit.tryAcquire();
+        unit.tryAcquire();
+        unit.release(new Sample());
+
+        assertThat(unit.tryAcquire(), is(true));
+    }
+
+    @Test
+    void shouldRunQueuedTaskAfterRelease() {
+        final List<String> tasks = new ArrayList<>();
+
+        unit.tryAcquire();
+        unit.tryAcquire();
+
+        assertThat(unit.tryEnqueue(() -> tasks.add("queued")), is(true));
+        assertThat(unit.getQueued(), is(1));
+        assertThat(tasks, is(empty()));
+
+        unit.release(new Sample());
+
+        assertThat(tasks, contains("queued"));
+        assertThat(unit.getQueued(), is(0));
+        assertThat(unit.getInFlight(), is(2));
+    }
+
+    @Test
+    void shouldRunQueuedTaskRightAwayIfPermitIsAvailable() {
+        final List<String> tasks = new ArrayList<>();
+
+        assertThat(unit.tryEnqueue(() -> tasks.add("queued")), is(true));
+
+        assertThat(tasks, contains("queued"));
+        assertThat(unit.getInFlight(), is(1));
+    }
+
+    @Test
+    void shouldNotDrainRecursivelyIfTasksReleaseSynchronously() {
+        final int tasks = 100_000;
+        final Limiter unit = new Limiter("test", Limit.aimd(1, 1, 1), tasks);
+        final AtomicInteger depth = new AtomicInteger();
+        final AtomicInteger maxDepth = new AtomicInteger();
+
+        unit.tryAcquire();
+
+        for (int i = 0; i < tasks; i++) {
+            unit.tryEnqueue(() -> {
+                maxDepth.accumulateAndGet(depth.incrementAndGet(), Math::max);
+                unit.release(new Sample());
+                depth.decrementAndGet();
+            });
+        }
+
+        unit.release(new Sample());
+
+        assertThat(unit.getQueued(), is(0));
+        assertThat(unit.getInFlight(), is(0));
+        assertThat(maxDepth.get(), is(1));
+    }
+
+    @Test
+    void shouldRejectTaskIfQueueIsFull() {
+        unit.tryAcquire();
+        unit.tryAcquire();
+
+        assertThat(unit.tryEnqueue(() -> {}), is(true));
+        assertThat(unit.tryEnqueue(() -> {}), is(false));
+        assertThat(unit.getQueued(), is(1));
+    }
+
+    @Test
+    void shouldFeedSampleIntoLimit() {
+        final Sample sample = new Sample();
+        sample.record(1000, true);
+
+        unit.tryAcquire();
+        unit.release(sample);
+
+        assertThat(unit.getLimit(), is(1));
+        assertThat(unit.getName(), is("test"));
+    }
+
+}
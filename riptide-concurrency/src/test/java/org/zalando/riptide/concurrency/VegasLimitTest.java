@@ -0,0 +1,110 @@
+package org.zalando.riptide.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class VegasLimitTest {
+
+    private final Limit unit = Limit.vegas(10, 1, 100);
+
+    @Test
+    void shouldRejectInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> Limit.vegas(10, 0, 20));
+        assertThrows(IllegalArgumentException.class, () -> Limit.vegas(30, 2, 20));
+    }
+
+    @Test
+    void shouldIgnoreFirstSample() {
+        unit.onSample(1000, 10, true);
+        assertThat(unit.getLimit(), is(10));
+    }
+
+    @Test
+    void shouldIgnoreInvalidSample() {
+        unit.onSample(0, 10, true);
+        unit.onSample(1000, 10, true);
+        assertThat(unit.getLimit(), is(10));
+    }
+
+    @Test
+    void shouldIncreaseWithoutQueue() {
+        unit.onSample(1000, 10, false);
+        unit.onSample(1000, 10, false);
+        assertThat(unit.getLimit(), is(16));
+    }
+
+    @Test
+    void shouldIncreaseSlowlyWithShortQueue() {
+        unit.onSample(1000, 10, false);
+        unit.onSample(1250, 10, false);
+        assertThat(unit.getLimit(), is(11));
+    }
+
+    @Test
+    void shouldKeepLimitWithModerateQueue() {
+        unit.onSample(1000, 10, false);
+        unit.onSample(2000, 10, false);
+        assertThat(unit.getLimit(), is(10));
+    }
+
+    @Test
+    void shouldDecreaseWithLongQueue() {
+        unit.onSample(1000, 10, false);
+        unit.onSample(10000, 10, false);
+        assertThat(unit.getLimit(), is(9));
+    }
+
+    @Test
+    void shouldDecreaseOnDrop() {
+        unit.onSample(1000, 10, false);
+        unit.onSample(1000, 10, true);
+        assertThat(unit.getLimit(), is(9));
+    }
+
+    @Test
+    void shouldNotIncreaseWhileUnused() {
+        unit.onSample(1000, 10, false);
+        unit.onSample(1000, 4, false);
+        assertThat(unit.getLimit(), is(10));
+    }
+
+    @Test
+    void shouldStayWithinBounds() {
+        final Limit limit = Limit.vegas(10, 5, 20);
+
+        limit.onSample(1000, 10, false);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(1000, limit.getLimit(), false);
+        }
+
+        assertThat(limit.getLimit(), is(20));
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(1000, limit.getLimit(), true);
+        }
+
+        assertThat(limit.getLimit(), is(5));
+    }
+
+    @Test
+    void shouldForgetNoLoadRttEventually() {
+        unit.onSample(1000, 10, false);
+
+        // a server that permanently got slower looks overloaded, until the no-load rtt is forgotten
+        for (int i = 0; i < 298; i++) {
+            unit.onSample(10000, unit.getLimit(), false);
+        }
+
+        assertThat(unit.getLimit(), is(6));
+
+        unit.onSample(10000, unit.getLimit(), false);
+        unit.onSample(10000, unit.getLimit(), false);
+
+        assertThat(unit.getLimit(), is(12));
+    }
+
+}
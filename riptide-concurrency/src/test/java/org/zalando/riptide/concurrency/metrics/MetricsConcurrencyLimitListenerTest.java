@@ -0,0 +1,58 @@
+package org.zalando.riptide.concurrency.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.concurrency.ConcurrencyLimitListener;
+import org.zalando.riptide.concurrency.Partition;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+final class MetricsConcurrencyLimitListenerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitListener unit = new MetricsConcurrencyLimitListener(registry)
+            .withMetricName("concurrency")
+            .withDefaultTags(Tag.of("test", "true"));
+
+    private final Partition partition = mock(Partition.class);
+
+    MetricsConcurrencyLimitListenerTest() {
+        when(partition.getName()).thenReturn("example.org");
+        when(partition.getLimit()).thenReturn(20);
+        when(partition.getInFlight()).thenReturn(7);
+        when(partition.getQueued()).thenReturn(3);
+    }
+
+    @Test
+    void shouldReportPartition() {
+        unit.onPartition(partition);
+
+        assertThat(gauge("concurrency.limit"), is(20.0));
+        assertThat(gauge("concurrency.in-flight"), is(7.0));
+        assertThat(gauge("concurrency.queued"), is(3.0));
+    }
+
+    @Test
+    void shouldCountRejections() {
+        unit.onRejection(partition, mock(RequestArguments.class));
+        unit.onRejection(partition, mock(RequestArguments.class));
+
+        assertThat(registry.get("concurrency.rejections")
+                .tag("test", "true")
+                .tag("partition", "example.org")
+                .counter().count(), is(2.0));
+    }
+
+    private double gauge(final String name) {
+        return registry.get(name)
+                .tag("test", "true")
+                .tag("partition", "example.org")
+                .gauge().value();
+    }
+
+}
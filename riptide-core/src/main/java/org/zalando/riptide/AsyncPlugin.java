@@ -17,6 +17,10 @@ final class AsyncPlugin implements Plugin {
     @Override
     public RequestExecution aroundAsync(final RequestExecution execution) {
         return arguments -> {
+            if (arguments.getAttribute(CALLER_RUNS).orElse(false)) {
+                return execution.execute(arguments);
+            }
+
             final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
 
             executor.execute(throwingRunnable(() ->
@@ -0,0 +1,70 @@
+package org.zalando.riptide;
+
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+@AllArgsConstructor
+final class ByteBufferBody implements TransferableBody {
+
+    private final ByteBuffer buffer;
+
+    @Override
+    public long getContentLength() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public void transferTo(final WritableByteChannel target) throws IOException {
+        // a duplicate shares the content, but not the position, which makes this repeatable and thread-safe
+        final ByteBuffer source = buffer.duplicate();
+
+        while (source.hasRemaining()) {
+            target.write(source);
+        }
+    }
+
+    @Override
+    public ReadableByteChannel open() {
+        final ByteBuffer source = buffer.duplicate();
+
+        return new ReadableByteChannel() {
+
+            private boolean open = true;
+
+            @Override
+            public int read(final ByteBuffer target) throws IOException {
+                if (!open) {
+                    throw new ClosedChannelException();
+                }
+
+                if (!source.hasRemaining()) {
+                    return -1;
+                }
+
+                final int count = Math.min(source.remaining(), target.remaining());
+                final ByteBuffer slice = source.slice();
+                slice.limit(count);
+                target.put(slice);
+                source.position(source.position() + count);
+                return count;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open;
+            }
+
+            @Override
+            public void close() {
+                open = false;
+            }
+
+        };
+    }
+
+}
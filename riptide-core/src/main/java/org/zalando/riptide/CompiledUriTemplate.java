@@ -0,0 +1,288 @@
+package org.zalando.riptide;
+
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriUtils;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Strings.nullToEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.web.util.UriComponentsBuilder.fromUriString;
+
+/**
+ * A URI template that has been parsed once and can then be expanded and encoded in a single pass, without any regular
+ * expressions involved. The result is the same as
+ * {@code UriComponentsBuilder.fromUriString(template).buildAndExpand(variables).encode().toUri()}.
+ *
+ * Templates that use features which can't be expanded in order, i.e. variables in the scheme, authority, query
+ * parameter names or fragment, or regular expressions with nested braces, are pre-parsed but expanded by Spring.
+ */
+abstract class CompiledUriTemplate {
+
+    // same as UriComponents#NAMES_PATTERN
+    private static final Pattern NAMES_PATTERN = Pattern.compile("\\{([^/]+?)\\}");
+
+    abstract URI expand(List<Object> variables);
+
+    static CompiledUriTemplate compile(final String template) {
+        final UriComponents components = fromUriString(template).build();
+        @Nullable final CompiledUriTemplate compiled = Compiled.compile(template, components);
+        return compiled == null ? new Parsed(components) : compiled;
+    }
+
+    private static final class Parsed extends CompiledUriTemplate {
+
+        private final UriComponents components;
+
+        private Parsed(final UriComponents components) {
+            this.components = components;
+        }
+
+        @Override
+        URI expand(final List<Object> variables) {
+            return components.expand(variables.toArray()).encode().toUri();
+        }
+
+    }
+
+    private static final class Compiled extends CompiledUriTemplate {
+
+        private final String prefix;
+        private final Part[] path;
+        private final Part[] query;
+        @Nullable
+        private final String fragment;
+
+        private Compiled(final String prefix, final Part[] path, final Part[] query, @Nullable final String fragment) {
+            this.prefix = prefix;
+            this.path = path;
+            this.query = query;
+            this.fragment = fragment;
+        }
+
+        /**
+         * @return the compiled template or {@code null} if it uses features that can't be expanded in order
+         */
+        @Nullable
+        static Compiled compile(final String template, final UriComponents components) {
+            if (components.getSchemeSpecificPart() != null || hasVariablesInAuthority(template, components)) {
+                return null;
+            }
+
+            final UriComponents authority = fromUriString(template)
+                    .replacePath(null).replaceQuery(null).fragment(null).build();
+            @Nullable final String prefix = literal(authority.toUriString(),
+                    ignored -> authority.encode().toUriString());
+            @Nullable final Part[] path = parts(nullToEmpty(components.getPath()), UriUtils::encodePath, false);
+            @Nullable final Part[] query = query(components.getQueryParams());
+
+            if (prefix == null || path == null || query == null) {
+                return null;
+            }
+
+            @Nullable final String fragment = components.getFragment();
+
+            if (fragment == null) {
+                return new Compiled(prefix, path, query, null);
+            }
+
+            @Nullable final String encoded = literal(fragment, UriUtils::encodeFragment);
+            return encoded == null ? null : new Compiled(prefix, path, query, encoded);
+        }
+
+        /**
+         * A variable in the port can't even be rendered before it's expanded, which is why the authority is checked
+         * as part of the template, i.e. everything between {@code //} and the path, query or fragment.
+         */
+        private static boolean hasVariablesInAuthority(final String template, final UriComponents components) {
+            if (components.getHost() == null) {
+                return false;
+            }
+
+            final int start = template.indexOf("//") + 2;
+            int end = start;
+
+            while (end < template.length() && "/?#".indexOf(template.charAt(end)) == -1) {
+                end++;
+            }
+
+            return template.substring(start, end).indexOf('{') != -1;
+        }
+
+        @Nullable
+        private static Part[] query(final MultiValueMap<String, String> params) {
+            final List<Part> parts = new ArrayList<>();
+
+            for (final Map.Entry<String, List<String>> entry : params.entrySet()) {
+                @Nullable final String name = literal(entry.getKey(), UriUtils::encodeQueryParam);
+
+                if (name == null) {
+                    return null;
+                }
+
+                for (final String value : entry.getValue()) {
+                    final StringBuilder literal = new StringBuilder(parts.isEmpty() ? "" : "&").append(name);
+
+                    if (value == null) {
+                        parts.add(new Literal(literal.toString()));
+                    } else {
+                        @Nullable final Part[] values = parts(value, UriUtils::encodeQueryParam, true);
+
+                        if (values == null) {
+                            return null;
+                        }
+
+                        parts.add(new Literal(literal.append('=').toString()));
+                        Collections.addAll(parts, values);
+                    }
+                }
+            }
+
+            return parts.toArray(new Part[0]);
+        }
+
+        @Nullable
+        private static Part[] parts(final String source, final Encoder encoder, final boolean query) {
+            final List<Part> parts = new ArrayList<>();
+            final Matcher matcher = NAMES_PATTERN.matcher(source);
+            int start = 0;
+
+            while (matcher.find()) {
+                final String name = matcher.group(1);
+
+                if (name.indexOf('{') != -1) {
+                    // nested braces are only supported by Spring's sanitization
+                    return null;
+                }
+
+                parts.add(new Literal(encoder.encode(source.substring(start, matcher.start()), UTF_8)));
+                parts.add(new Variable(variableName(name), encoder, query));
+                start = matcher.end();
+            }
+
+            parts.add(new Literal(encoder.encode(source.substring(start), UTF_8)));
+            return parts.toArray(new Part[0]);
+        }
+
+        private static String variableName(final String match) {
+            final int colon = match.indexOf(':');
+            return colon == -1 ? match : match.substring(0, colon);
+        }
+
+        @Nullable
+        private static String literal(final String source, final UnaryOperator<String> encoder) {
+            return source.indexOf('{') == -1 ? encoder.apply(source) : null;
+        }
+
+        @Nullable
+        private static String literal(final String source, final Encoder encoder) {
+            return literal(source, value -> encoder.encode(value, UTF_8));
+        }
+
+        @Override
+        URI expand(final List<Object> variables) {
+            final Iterator<Object> values = variables.iterator();
+            // the parser guarantees that the path is either empty or starts with a slash if there is an authority
+            final StringBuilder result = new StringBuilder(64).append(prefix);
+            append(result, path, values);
+
+            if (query.length > 0) {
+                result.append('?');
+                append(result, query, values);
+            }
+
+            if (fragment != null) {
+                result.append('#').append(fragment);
+            }
+
+            return toUri(result);
+        }
+
+        private static void append(final StringBuilder result, final Part[] parts, final Iterator<Object> values) {
+            for (final Part part : parts) {
+                part.appendTo(result, values);
+            }
+        }
+
+    }
+
+    // same as UriComponents#toUri()
+    static URI toUri(final CharSequence uri) {
+        try {
+            return new URI(uri.toString());
+        } catch (final URISyntaxException e) {
+            throw new IllegalStateException("Could not create URI object: " + e.getMessage(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        String encode(String source, Charset charset);
+    }
+
+    private interface Part {
+        void appendTo(StringBuilder result, Iterator<Object> values);
+    }
+
+    private static final class Literal implements Part {
+
+        private final String value;
+
+        private Literal(final String value) {
+            this.value = value;
+        }
+
+        @Override
+        public void appendTo(final StringBuilder result, final Iterator<Object> values) {
+            result.append(value);
+        }
+
+    }
+
+    private static final class Variable implements Part {
+
+        private final String name;
+        private final Encoder encoder;
+        private final boolean query;
+
+        private Variable(final String name, final Encoder encoder, final boolean query) {
+            this.name = name;
+            this.encoder = encoder;
+            this.query = query;
+        }
+
+        @Override
+        public void appendTo(final StringBuilder result, final Iterator<Object> values) {
+            if (!values.hasNext()) {
+                throw new IllegalArgumentException("Not enough variable values available to expand '" + name + "'");
+            }
+
+            result.append(encoder.encode(toString(values.next()), UTF_8));
+        }
+
+        private String toString(@Nullable final Object value) {
+            if (value == null) {
+                return "";
+            } else if (query && ObjectUtils.isArray(value)) {
+                return StringUtils.arrayToCommaDelimitedString(ObjectUtils.toObjectArray(value));
+            }
+            return value.toString();
+        }
+
+    }
+
+}
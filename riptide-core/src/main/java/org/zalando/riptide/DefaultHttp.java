@@ -1,34 +1,64 @@
 package org.zalando.riptide;
 
 import org.springframework.http.HttpMethod;
-import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 
+import javax.annotation.Nullable;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 
 final class DefaultHttp implements Http {
 
-    private final RequestExecution network;
-    private final MessageReader reader;
+    private final Function<Route, RequestExecution> executions;
     private final Supplier<URI> baseUrlProvider;
     private final RequestArguments arguments;
     private final Plugin plugin;
 
-    DefaultHttp(final ClientHttpRequestFactory requestFactory,
+    DefaultHttp(final RequestExecution network,
             final List<HttpMessageConverter<?>> converters,
-            final Supplier<URI> baseUrlProvider, final UrlResolution resolution, final Plugin plugin) {
-        this.reader = new DefaultMessageReader(converters);
-        this.network = new GuardedRequestExecution(new NetworkRequestExecution(requestFactory));
+            final Supplier<URI> baseUrlProvider, final UrlResolution resolution, final RequestArguments arguments,
+            final Plugin plugin, final boolean composeOnce) {
+        this.executions = executions(network, new DefaultMessageReader(converters), plugin, composeOnce);
         this.baseUrlProvider = requireNonNull(baseUrlProvider, "base url provider");
-        this.arguments = RequestArguments.create().withUrlResolution(resolution);
+        this.arguments = arguments.withUrlResolution(resolution);
         this.plugin = plugin;
     }
 
+    /**
+     * By default, the plugin chain is composed for every request, since it needs to capture the {@link Route route}.
+     * If it's composed once, everything that is specific to a single request, including the route, is passed along as
+     * part of the {@link RequestArguments arguments}.
+     */
+    private static Function<Route, RequestExecution> executions(final RequestExecution network,
+            final MessageReader reader, final Plugin plugins, final boolean composeOnce) {
+
+        final RequestExecution guarded = new GuardedRequestExecution(network);
+
+        if (composeOnce) {
+            final RequestExecution execution = compose(guarded, reader, null, plugins);
+            return route -> arguments -> execution.execute(arguments.withRoute(route));
+        }
+
+        return route -> compose(guarded, reader, route, plugins);
+    }
+
+    private static RequestExecution compose(final RequestExecution guarded,
+            final MessageReader reader, @Nullable final Route route, final Plugin plugins) {
+
+        final Plugin plugin = Plugin.composite(new DispatchPlugin(reader, route), plugins);
+
+        return plugin.aroundAsync(
+                plugin.aroundDispatch(
+                        plugin.aroundSerialization(
+                                plugin.aroundNetwork(
+                                        guarded))));
+    }
+
     @Override
     public final AttributeStage get(final String uriTemplate, final Object... urlVariables) {
         return execute(HttpMethod.GET, uriTemplate, urlVariables);
@@ -174,7 +204,7 @@ final class DefaultHttp implements Http {
     }
 
     private AttributeStage execute(final RequestArguments arguments) {
-        return new Requester(network, reader, arguments, plugin);
+        return new Requester(executions, arguments);
     }
 
 }
@@ -46,11 +46,13 @@ final class DefaultHttpBuilder implements ExecutorStage, RequestFactoryStage, Co
     private static final UrlResolution DEFAULT_RESOLUTION = UrlResolution.RFC;
 
     private Executor executor;
-    private ClientHttpRequestFactory requestFactory;
+    private RequestExecution network;
     private final List<HttpMessageConverter<?>> converters = new ArrayList<>();
     private Supplier<URI> baseUrlProvider = () -> null;
     private UrlResolution resolution = DEFAULT_RESOLUTION;
+    private RequestArguments arguments = RequestArguments.create();
     private final List<Plugin> plugins = new ArrayList<>();
+    private boolean composeOnce = false;
 
     DefaultHttpBuilder() {
 
@@ -64,7 +66,12 @@ final class DefaultHttpBuilder implements ExecutorStage, RequestFactoryStage, Co
 
     @Override
     public ConfigurationStage requestFactory(final ClientHttpRequestFactory requestFactory) {
-        this.requestFactory = requestFactory;
+        return network(new NetworkRequestExecution(requestFactory));
+    }
+
+    @Override
+    public ConfigurationStage network(final RequestExecution network) {
+        this.network = network;
         return this;
     }
 
@@ -113,6 +120,12 @@ final class DefaultHttpBuilder implements ExecutorStage, RequestFactoryStage, Co
         return this;
     }
 
+    @Override
+    public ConfigurationStage requestArguments(final RequestArguments arguments) {
+        this.arguments = arguments;
+        return this;
+    }
+
     @Override
     public ConfigurationStage defaultPlugins() {
         return plugins(Plugins.DEFAULT);
@@ -130,6 +143,12 @@ final class DefaultHttpBuilder implements ExecutorStage, RequestFactoryStage, Co
         return this;
     }
 
+    @Override
+    public ConfigurationStage composePluginsOnce() {
+        this.composeOnce = true;
+        return this;
+    }
+
     @Override
     public Http build() {
         final List<HttpMessageConverter<?>> converters = converters();
@@ -139,7 +158,8 @@ final class DefaultHttpBuilder implements ExecutorStage, RequestFactoryStage, Co
         plugins.add(new SerializationPlugin(new DefaultMessageWriter(converters)));
         plugins.addAll(plugins());
 
-        return new DefaultHttp(requestFactory, converters, baseUrlProvider, resolution, composite(plugins));
+        return new DefaultHttp(network, converters, baseUrlProvider, resolution, arguments, composite(plugins),
+                composeOnce);
     }
 
     private List<HttpMessageConverter<?>> converters() {
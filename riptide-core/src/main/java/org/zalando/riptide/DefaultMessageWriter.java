@@ -1,8 +1,10 @@
 package org.zalando.riptide;
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.client.RestClientException;
 
@@ -11,6 +13,7 @@ import java.io.IOException;
 import java.util.List;
 
 import static java.lang.String.format;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM;
 
 @AllArgsConstructor
 final class DefaultMessageWriter implements MessageWriter {
@@ -27,6 +30,11 @@ final class DefaultMessageWriter implements MessageWriter {
             return;
         }
 
+        if (body instanceof TransferableBody) {
+            transfer(request, (TransferableBody) body);
+            return;
+        }
+
         final Class<?> type = body.getClass();
 
         @Nullable final MediaType contentType = request.getHeaders().getContentType();
@@ -39,6 +47,26 @@ final class DefaultMessageWriter implements MessageWriter {
                 .write(body, contentType, request);
     }
 
+    private void transfer(final HttpOutputMessage request, final TransferableBody body) throws IOException {
+        final HttpHeaders headers = request.getHeaders();
+
+        if (headers.getContentType() == null) {
+            headers.setContentType(APPLICATION_OCTET_STREAM);
+        }
+
+        final long contentLength = body.getContentLength();
+
+        if (contentLength >= 0) {
+            headers.setContentLength(contentLength);
+        }
+
+        if (request instanceof StreamingHttpOutputMessage) {
+            ((StreamingHttpOutputMessage) request).setBody(body);
+        } else {
+            body.writeTo(request.getBody());
+        }
+    }
+
     @SuppressWarnings("unchecked") // guarded by HttpMessageConverter#canWrite
     private <T> HttpMessageConverter<T> cast(final HttpMessageConverter<?> converter) {
         return (HttpMessageConverter<T>) converter;
@@ -13,9 +13,7 @@ import org.organicdesign.fp.collections.PersistentHashMap;
 import org.organicdesign.fp.collections.PersistentTreeMap;
 import org.organicdesign.fp.collections.PersistentVector;
 import org.springframework.http.HttpMethod;
-import org.springframework.web.util.UriComponentsBuilder;
 
-import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.net.URI;
 import java.util.Collection;
@@ -24,12 +22,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.CASE_INSENSITIVE_ORDER;
 import static org.apiguardian.api.API.Status.INTERNAL;
-import static org.springframework.web.util.UriComponentsBuilder.fromUriString;
-import static org.springframework.web.util.UriUtils.encode;
-import static org.zalando.fauxpas.FauxPas.throwingBiConsumer;
 
 @API(status = INTERNAL)
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
@@ -78,9 +72,13 @@ final class DefaultRequestArguments implements RequestArguments {
     @Wither
     Entity entity;
 
+    @Getter
+    @Wither
+    Route route;
+
     public DefaultRequestArguments() {
         this(null, null, null, null, PersistentVector.empty(), null, PersistentHashMap.empty(),
-                PersistentHashMap.empty(), PersistentTreeMap.empty(CASE_INSENSITIVE_ORDER), null, null);
+                PersistentHashMap.empty(), PersistentTreeMap.empty(CASE_INSENSITIVE_ORDER), null, null, null);
     }
 
     @Override
@@ -101,69 +99,22 @@ final class DefaultRequestArguments implements RequestArguments {
          * 2. The URI is only constructed when needed, i.e. when nobody needs it it will be constructed exactly once
          *    during the network phase when the actual request is being executed.
          */
-        return requestUri.updateAndGet(previous -> {
-            if (previous != null) {
-                return previous;
-            }
-
-            @Nullable final URI uri = getUri();
-            @Nullable final URI unresolvedUri;
-
-            if (uri == null) {
-                final String uriTemplate = getUriTemplate();
-                if (uriTemplate == null || uriTemplate.isEmpty()) {
-                    unresolvedUri = null;
-                } else {
-                    // expand uri template
-                    unresolvedUri = fromUriString(uriTemplate)
-                            .buildAndExpand(getUriVariables().toArray())
-                            .encode()
-                            .toUri();
-                }
-            } else {
-                unresolvedUri = uri;
-            }
-
-            @Nullable final URI baseUrl = getBaseUrl();
-            @Nonnull final URI resolvedUri;
-
-            if (unresolvedUri == null) {
-                checkArgument(baseUrl != null, "Either Base URL or absolute Request URI is required");
-                resolvedUri = baseUrl;
-            } else if (baseUrl == null || unresolvedUri.isAbsolute()) {
-                resolvedUri = unresolvedUri;
-            } else {
-                resolvedUri = getUrlResolution().resolve(baseUrl, unresolvedUri);
-            }
-
-            final UriComponentsBuilder components = UriComponentsBuilder.newInstance();
-            // encode query params
-            getQueryParams().forEach(throwingBiConsumer((key, values) ->
-                    values.forEach(value ->
-                            components.queryParam(key, encode(value, "UTF-8")))));
-
-            // build request uri
-            final URI requestUri = components.uri(resolvedUri)
-                    .build(true).normalize().toUri();
-
-            checkArgument(requestUri.isAbsolute(), "Request URI is not absolute");
-
-            return requestUri;
-        });
+        return requestUri.updateAndGet(previous ->
+                previous == null ? RequestUri.create(this) : previous);
     }
 
     @Override
     public RequestArguments replaceUriVariables(final List<Object> additionalUriVariables) {
         return new DefaultRequestArguments(
                 method, baseUrl, urlResolution, uriTemplate, PersistentVector.ofIter(additionalUriVariables), uri,
-                attributes, queryParams, headers, body, entity);
+                attributes, queryParams, headers, body, entity, route);
     }
 
     @Override
     public <T> RequestArguments withAttribute(final Attribute<T> attribute, final T value) {
         return new DefaultRequestArguments(
                 method, baseUrl, urlResolution, uriTemplate, uriVariables, uri, attributes.assoc(attribute, value),
-                queryParams, headers, body, entity);
+                queryParams, headers, body, entity, route);
     }
 
     @Override
@@ -189,7 +140,7 @@ final class DefaultRequestArguments implements RequestArguments {
     private DefaultRequestArguments queryParams(final BaseMap<String, List<String>> queryParams) {
         return new DefaultRequestArguments(
                 method, baseUrl, urlResolution, uriTemplate, uriVariables, uri, attributes,
-                queryParams, headers, body, entity);
+                queryParams, headers, body, entity, route);
     }
 
     @Override
@@ -215,7 +166,7 @@ final class DefaultRequestArguments implements RequestArguments {
     private DefaultRequestArguments headers(final BaseMap<String, List<String>> headers) {
         return new DefaultRequestArguments(
                 method, baseUrl, urlResolution, uriTemplate, uriVariables, uri, attributes, queryParams,
-                headers, body, entity);
+                headers, body, entity, route);
     }
 
     private BaseMap<String, List<String>> merge(final BaseMap<String, List<String>> map,
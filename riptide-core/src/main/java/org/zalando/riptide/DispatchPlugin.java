@@ -2,18 +2,28 @@ package org.zalando.riptide;
 
 import lombok.AllArgsConstructor;
 
+import javax.annotation.Nullable;
+
+import static java.util.Objects.requireNonNull;
 import static org.zalando.fauxpas.FauxPas.throwingFunction;
 
 @AllArgsConstructor
 final class DispatchPlugin implements Plugin {
 
-    private final Route route;
     private final MessageReader reader;
 
+    /**
+     * The route of a single request, if the chain is composed per request, or {@code null} if it's composed once.
+     */
+    @Nullable
+    private final Route route;
+
     @Override
     public RequestExecution aroundDispatch(final RequestExecution execution) {
         return arguments -> execution.execute(arguments)
                 .thenApply(throwingFunction(response -> {
+                    final Route route = route(arguments);
+
                     try {
                         route.execute(response, reader);
                     } catch (final NoWildcardException e) {
@@ -24,4 +34,10 @@ final class DispatchPlugin implements Plugin {
                 }));
     }
 
+    private Route route(final RequestArguments arguments) {
+        // plugins may have decorated the route, if the arguments support it
+        @Nullable final Route route = arguments.getRoute();
+        return route == null ? requireNonNull(this.route, "Request arguments don't support routes") : route;
+    }
+
 }
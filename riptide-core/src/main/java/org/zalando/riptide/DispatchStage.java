@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static java.util.Arrays.asList;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
 @API(status = STABLE)
@@ -27,4 +28,21 @@ public abstract class DispatchStage {
 
     public abstract CompletableFuture<ClientHttpResponse> call(Route route);
 
+    /**
+     * Executes the request and blocks until the response was dispatched onto the given route, i.e. the equivalent of
+     * {@code call(route).join()}. Unlike that, the request will be executed in the calling thread rather than being
+     * handed off to the executor, unless a plugin relies on concurrent execution, e.g. for timeouts or backup
+     * requests.
+     *
+     * @param route the route to dispatch the response onto
+     * @return the response
+     * @throws java.util.concurrent.CompletionException if the request or the route failed, just like
+     * {@link CompletableFuture#join()}
+     * @see Plugin#CALLER_RUNS
+     */
+    @API(status = EXPERIMENTAL)
+    public ClientHttpResponse callSync(final Route route) {
+        return call(route).join();
+    }
+
 }
@@ -0,0 +1,104 @@
+package org.zalando.riptide;
+
+import lombok.AllArgsConstructor;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+@AllArgsConstructor
+final class FileChannelBody implements TransferableBody {
+
+    private final FileChannel channel;
+    private final long position;
+    private final long count;
+
+    @Override
+    public long getContentLength() {
+        return count;
+    }
+
+    @Override
+    public void transferTo(final WritableByteChannel target) throws IOException {
+        transfer(channel, position, count, target);
+    }
+
+    /**
+     * Reads the region using absolute reads, i.e. the position of the channel is left untouched and the channel is
+     * kept open.
+     */
+    @Override
+    public ReadableByteChannel open() {
+        return new ReadableByteChannel() {
+
+            private long transferred;
+            private boolean open = true;
+
+            @Override
+            public int read(final ByteBuffer target) throws IOException {
+                if (!open) {
+                    throw new ClosedChannelException();
+                }
+
+                if (transferred >= count) {
+                    return -1;
+                }
+
+                final int limit = target.limit();
+                target.limit((int) Math.min(limit, target.position() + count - transferred));
+
+                try {
+                    final int bytes = channel.read(target, position + transferred);
+
+                    if (bytes == -1) {
+                        throw new EOFException(
+                                "Expected " + count + " bytes, but file ended after " + transferred);
+                    }
+
+                    transferred += bytes;
+                    return bytes;
+                } finally {
+                    target.limit(limit);
+                }
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open;
+            }
+
+            @Override
+            public void close() {
+                open = false;
+            }
+
+        };
+    }
+
+    /**
+     * Transfers the given region, which may take more than one call, since
+     * {@link FileChannel#transferTo(long, long, WritableByteChannel) transferTo} is allowed to transfer less than
+     * requested. The position of the channel is left untouched.
+     */
+    static void transfer(final FileChannel channel, final long position, final long count,
+            final WritableByteChannel target) throws IOException {
+
+        long transferred = 0;
+
+        while (transferred < count) {
+            final long offset = position + transferred;
+            final long bytes = channel.transferTo(offset, count - transferred, target);
+
+            if (bytes == 0 && offset >= channel.size()) {
+                throw new EOFException("Expected " + count + " bytes, but file ended after " + transferred);
+            }
+
+            transferred += bytes;
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package org.zalando.riptide;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * An immutable, ordered sequence of key-value pairs, stored in a flat array that may be shared between instances.
+ *
+ * Every instance sees a prefix of its buffer. Appending to the instance that currently owns the tip of the buffer
+ * writes into the spare capacity of the same buffer, i.e. building up a request one header or query parameter at a
+ * time costs one small object per step. Appending to any other instance (e.g. when branching off an earlier stage)
+ * copies the prefix into a new buffer, so no instance ever observes entries that were appended after it was created.
+ */
+final class FlatEntries {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final FlatEntries EMPTY = new FlatEntries(new Buffer(new Object[0], 0), 0);
+
+    private final Buffer buffer;
+    private final int size;
+
+    private FlatEntries(final Buffer buffer, final int size) {
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    static FlatEntries empty() {
+        return EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Object keyAt(final int index) {
+        return buffer.data[index * 2];
+    }
+
+    Object valueAt(final int index) {
+        return buffer.data[index * 2 + 1];
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the value that was appended last for the given key, if any
+     */
+    @Nullable
+    Object last(final Object key) {
+        for (int index = size - 1; index >= 0; index--) {
+            if (key.equals(keyAt(index))) {
+                return valueAt(index);
+            }
+        }
+        return null;
+    }
+
+    FlatEntries append(final Object key, final Object value) {
+        final Buffer target = acquire(1);
+        target.set(size, key, value);
+        return new FlatEntries(target, size + 1);
+    }
+
+    FlatEntries appendAll(final Map<String, ? extends Collection<String>> entries) {
+        int count = 0;
+
+        for (final Collection<String> values : entries.values()) {
+            count += values.size();
+        }
+
+        final Buffer target = acquire(count);
+        int index = size;
+
+        for (final Map.Entry<String, ? extends Collection<String>> entry : entries.entrySet()) {
+            for (final String value : entry.getValue()) {
+                target.set(index++, entry.getKey(), value);
+            }
+        }
+
+        return new FlatEntries(target, index);
+    }
+
+    FlatEntries without(final Predicate<Object> predicate) {
+        final Object[] data = new Object[Math.max(size, INITIAL_CAPACITY) * 2];
+        int index = 0;
+
+        for (int source = 0; source < size; source++) {
+            final Object key = keyAt(source);
+            if (!predicate.test(key)) {
+                data[index * 2] = key;
+                data[index * 2 + 1] = valueAt(source);
+                index++;
+            }
+        }
+
+        return new FlatEntries(new Buffer(data, index), index);
+    }
+
+    /**
+     * Groups all values by key, preserving the order of values.
+     *
+     * @param factory creates the (empty) map to group into, which determines key equality and iteration order
+     * @return an unmodifiable view of the grouped entries
+     */
+    Map<String, List<String>> group(final Supplier<Map<String, List<String>>> factory) {
+        final Map<String, List<String>> result = factory.get();
+
+        for (int index = 0; index < size; index++) {
+            result.computeIfAbsent((String) keyAt(index), key -> new ArrayList<>(1))
+                    .add((String) valueAt(index));
+        }
+
+        result.replaceAll((key, values) -> Collections.unmodifiableList(values));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private Buffer acquire(final int count) {
+        return buffer.claim(size, count) ? buffer : buffer.copy(size, count);
+    }
+
+    private static final class Buffer {
+
+        private static final AtomicIntegerFieldUpdater<Buffer> LENGTH =
+                AtomicIntegerFieldUpdater.newUpdater(Buffer.class, "length");
+
+        private final Object[] data;
+
+        /**
+         * The number of entries that have been claimed by any instance sharing this buffer.
+         */
+        private volatile int length;
+
+        private Buffer(final Object[] data, final int length) {
+            this.data = data;
+            this.length = length;
+        }
+
+        boolean claim(final int size, final int count) {
+            return (size + count) * 2 <= data.length && LENGTH.compareAndSet(this, size, size + count);
+        }
+
+        Buffer copy(final int size, final int count) {
+            final int capacity = Math.max(INITIAL_CAPACITY, (size + count) * 2);
+            final Object[] copy = new Object[capacity * 2];
+            System.arraycopy(data, 0, copy, 0, size * 2);
+            return new Buffer(copy, size + count);
+        }
+
+        void set(final int index, final Object key, final Object value) {
+            data[index * 2] = key;
+            data[index * 2 + 1] = value;
+        }
+
+    }
+
+}
@@ -0,0 +1,291 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+import org.springframework.http.HttpMethod;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * A {@link RequestArguments} implementation that keeps attributes, query parameters and headers in
+ * {@link FlatEntries flat, append-only arrays} instead of persistent maps. Adding to the latest version of a request
+ * writes into the same arrays, which makes building up a request with a couple of headers and attributes considerably
+ * cheaper. The grouped {@link #getQueryParams() query parameter} and {@link #getHeaders() header} maps are only
+ * materialized (and then frozen) once someone actually asks for them.
+ *
+ * @see RequestArguments#flat()
+ */
+@API(status = INTERNAL)
+final class FlatRequestArguments implements RequestArguments {
+
+    private final HttpMethod method;
+    private final URI baseUrl;
+    private final UrlResolution urlResolution;
+    private final String uriTemplate;
+    private final List<Object> uriVariables;
+    private final URI uri;
+    private final FlatEntries attributes;
+    private final FlatEntries queryParams;
+    private final FlatEntries headers;
+    private final Object body;
+    private final Entity entity;
+    private final Route route;
+
+    // lazily computed, see DefaultRequestArguments#getRequestUri()
+    private volatile Map<String, List<String>> queryParamsView;
+    private volatile Map<String, List<String>> headersView;
+    private volatile URI requestUri;
+
+    FlatRequestArguments() {
+        this(null, null, null, null, Collections.emptyList(), null,
+                FlatEntries.empty(), FlatEntries.empty(), FlatEntries.empty(), null, null, null);
+    }
+
+    private FlatRequestArguments(
+            @Nullable final HttpMethod method,
+            @Nullable final URI baseUrl,
+            @Nullable final UrlResolution urlResolution,
+            @Nullable final String uriTemplate,
+            final List<Object> uriVariables,
+            @Nullable final URI uri,
+            final FlatEntries attributes,
+            final FlatEntries queryParams,
+            final FlatEntries headers,
+            @Nullable final Object body,
+            @Nullable final Entity entity,
+            @Nullable final Route route) {
+
+        this.method = method;
+        this.baseUrl = baseUrl;
+        this.urlResolution = urlResolution;
+        this.uriTemplate = uriTemplate;
+        this.uriVariables = uriVariables;
+        this.uri = uri;
+        this.attributes = attributes;
+        this.queryParams = queryParams;
+        this.headers = headers;
+        this.body = body;
+        this.entity = entity;
+        this.route = route;
+    }
+
+    @Override
+    public URI getBaseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public UrlResolution getUrlResolution() {
+        return urlResolution;
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getUriTemplate() {
+        return uriTemplate;
+    }
+
+    @Override
+    public List<Object> getUriVariables() {
+        return uriVariables;
+    }
+
+    @Override
+    public URI getUri() {
+        return uri;
+    }
+
+    @Override
+    public <T> Optional<T> getAttribute(final Attribute<T> attribute) {
+        @SuppressWarnings("unchecked")
+        @Nullable final T value = (T) attributes.last(attribute);
+        return Optional.ofNullable(value);
+    }
+
+    @Override
+    public Map<String, List<String>> getQueryParams() {
+        @Nullable final Map<String, List<String>> view = queryParamsView;
+
+        if (view == null) {
+            return queryParamsView = queryParams.group(LinkedHashMap::new);
+        }
+
+        return view;
+    }
+
+    @Override
+    public URI getRequestUri() {
+        @Nullable final URI view = requestUri;
+
+        if (view == null) {
+            return requestUri = RequestUri.create(this);
+        }
+
+        return view;
+    }
+
+    @Override
+    public Map<String, List<String>> getHeaders() {
+        @Nullable final Map<String, List<String>> view = headersView;
+
+        if (view == null) {
+            return headersView = headers.group(() -> new TreeMap<>(CASE_INSENSITIVE_ORDER));
+        }
+
+        return view;
+    }
+
+    @Override
+    public Object getBody() {
+        return body;
+    }
+
+    @Override
+    public Entity getEntity() {
+        return entity;
+    }
+
+    @Override
+    public Route getRoute() {
+        return route;
+    }
+
+    @Override
+    public RequestArguments withBaseUrl(@Nullable final URI baseUrl) {
+        return this.baseUrl == baseUrl ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, entity, route);
+    }
+
+    @Override
+    public RequestArguments withUrlResolution(@Nullable final UrlResolution urlResolution) {
+        return this.urlResolution == urlResolution ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, entity, route);
+    }
+
+    @Override
+    public RequestArguments withMethod(@Nullable final HttpMethod method) {
+        return this.method == method ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, entity, route);
+    }
+
+    @Override
+    public RequestArguments withUriTemplate(@Nullable final String uriTemplate) {
+        return this.uriTemplate == uriTemplate ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, entity, route);
+    }
+
+    @Override
+    public RequestArguments replaceUriVariables(final List<Object> uriVariables) {
+        return new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate,
+                Collections.unmodifiableList(new ArrayList<>(uriVariables)), uri,
+                attributes, queryParams, headers, body, entity, route);
+    }
+
+    @Override
+    public RequestArguments withUri(@Nullable final URI uri) {
+        return this.uri == uri ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, entity, route);
+    }
+
+    @Override
+    public <T> RequestArguments withAttribute(final Attribute<T> attribute, final T value) {
+        return new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes.append(attribute, value), queryParams, headers, body, entity, route);
+    }
+
+    @Override
+    public RequestArguments withQueryParam(final String name, final String value) {
+        return queryParams(queryParams.append(name, value));
+    }
+
+    @Override
+    public RequestArguments withQueryParams(final Map<String, ? extends Collection<String>> queryParams) {
+        return queryParams(this.queryParams.appendAll(queryParams));
+    }
+
+    @Override
+    public RequestArguments withoutQueryParam(final String name) {
+        return queryParams(queryParams.without(name::equals));
+    }
+
+    @Override
+    public RequestArguments replaceQueryParams(final Map<String, ? extends Collection<String>> queryParams) {
+        return queryParams(FlatEntries.empty().appendAll(queryParams));
+    }
+
+    private RequestArguments queryParams(final FlatEntries queryParams) {
+        return new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, entity, route);
+    }
+
+    @Override
+    public RequestArguments withHeader(final String name, final String value) {
+        return headers(headers.append(name, value));
+    }
+
+    @Override
+    public RequestArguments withHeaders(final Map<String, ? extends Collection<String>> headers) {
+        return headers(this.headers.appendAll(headers));
+    }
+
+    @Override
+    public RequestArguments withoutHeader(final String name) {
+        return headers(headers.without(key -> name.equalsIgnoreCase((String) key)));
+    }
+
+    @Override
+    public RequestArguments replaceHeaders(final Map<String, ? extends Collection<String>> headers) {
+        return headers(FlatEntries.empty().appendAll(headers));
+    }
+
+    private RequestArguments headers(final FlatEntries headers) {
+        return new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, entity, route);
+    }
+
+    @Override
+    public RequestArguments withBody(@Nullable final Object body) {
+        return this.body == body ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, entity, route);
+    }
+
+    @Override
+    public RequestArguments withEntity(final Entity entity) {
+        return this.entity == entity ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, entity, route);
+    }
+
+    @Override
+    public RequestArguments withRoute(final Route route) {
+        return this.route == route ? this : new FlatRequestArguments(
+                method, baseUrl, urlResolution, uriTemplate, uriVariables, uri,
+                attributes, queryParams, headers, body, entity, route);
+    }
+
+}
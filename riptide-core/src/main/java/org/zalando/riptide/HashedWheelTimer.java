@@ -0,0 +1,409 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A {@link ScheduledExecutorService scheduler} based on a hashed timing wheel, i.e. scheduling and cancelling a task
+ * takes constant time and doesn't need to acquire a lock. It's optimized for large numbers of short-lived delayed
+ * tasks that are usually cancelled before they are due, e.g. timeouts and backup requests. In contrast to a
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor}, tasks are executed with the precision of one tick, but
+ * never before they are due.
+ *
+ * All tasks are executed by a single worker thread. Tasks should therefore be short and non-blocking and hand over
+ * any real work to an {@link java.util.concurrent.Executor executor}. Cancelled tasks are removed lazily, i.e. they
+ * are kept for at most one revolution of the wheel ({@code tickDuration * ticksPerWheel}). Delayed tasks that didn't
+ * run yet are cancelled on shutdown.
+ *
+ * <pre>{@code
+ * ScheduledExecutorService scheduler = new HashedWheelTimer(threadFactory);
+ *
+ * Http http = Http.builder()
+ *     .requestFactory(requestFactory)
+ *     .plugin(new TimeoutPlugin(scheduler, 5, SECONDS, executor))
+ *     .build();
+ * }</pre>
+ */
+@API(status = EXPERIMENTAL)
+public final class HashedWheelTimer extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private final long tick;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long start = System.nanoTime();
+
+    /**
+     * Newly scheduled tasks, an intrusive multi-producer/single-consumer queue. Producers append to the tail, the
+     * worker consumes from the head, which is always the last consumed task (or the initial stub).
+     */
+    private final AtomicReference<Task<?>> tail;
+    private Task<?> head;
+
+    private final Thread worker;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private volatile boolean shutdown;
+
+    /**
+     * The tick that is currently processed, only accessed by the worker.
+     */
+    private long ticks;
+
+    public HashedWheelTimer() {
+        this(Executors.defaultThreadFactory());
+    }
+
+    public HashedWheelTimer(final ThreadFactory factory) {
+        this(factory, 10, MILLISECONDS, 512);
+    }
+
+    /**
+     * @param factory the factory of the worker thread
+     * @param tickDuration the precision of the timer
+     * @param unit the unit of the tick duration
+     * @param ticksPerWheel the number of buckets, rounded up to the next power of two
+     */
+    public HashedWheelTimer(final ThreadFactory factory, final long tickDuration, final TimeUnit unit,
+            final int ticksPerWheel) {
+        checkArgument(tickDuration > 0, "Tick duration must be positive");
+        checkArgument(ticksPerWheel > 0 && ticksPerWheel <= 1 << 30,
+                "Ticks per wheel must be between 1 and 2^30");
+
+        this.tick = unit.toNanos(tickDuration);
+        this.wheel = createWheel(ticksPerWheel);
+        this.mask = wheel.length - 1;
+
+        // a stub that is never executed
+        this.head = new Task<>(Object::new, 0);
+        this.tail = new AtomicReference<>(head);
+
+        this.worker = factory.newThread(this::work);
+        worker.start();
+    }
+
+    private static Bucket[] createWheel(final int ticksPerWheel) {
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+
+        final Bucket[] wheel = new Bucket[size];
+        for (int index = 0; index < size; index++) {
+            wheel[index] = new Bucket();
+        }
+        return wheel;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+        return schedule(new Task<>(command, null, deadline(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(final Callable<V> callable, final long delay, final TimeUnit unit) {
+        return schedule(new Task<>(callable, deadline(delay, unit)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command, final long initialDelay,
+            final long period, final TimeUnit unit) {
+        checkArgument(period > 0, "Period must be positive");
+        return schedule(new Task<>(command, null, deadline(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable command, final long initialDelay,
+            final long delay, final TimeUnit unit) {
+        checkArgument(delay > 0, "Delay must be positive");
+        return schedule(new Task<>(command, null, deadline(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        schedule(command, 0, NANOSECONDS);
+    }
+
+    private <V> ScheduledFuture<V> schedule(final Task<V> task) {
+        tail.getAndSet(task).pending = task;
+
+        if (shutdown) {
+            // the worker might already be gone
+            task.cancel(false);
+            throw new RejectedExecutionException("Timer has been shut down");
+        }
+
+        return task;
+    }
+
+    private long deadline(final long delay, final TimeUnit unit) {
+        return deadline(now(), unit.toNanos(Math.max(0, delay)));
+    }
+
+    private static long deadline(final long now, final long delay) {
+        final long deadline = now + delay;
+        // guards against overflows of very long delays
+        return deadline < 0 ? Long.MAX_VALUE : deadline;
+    }
+
+    private long now() {
+        return System.nanoTime() - start;
+    }
+
+    private void work() {
+        try {
+            for (; awaitTick(); ticks++) {
+                transferPending();
+                wheel[(int) (ticks & mask)].expire();
+            }
+        } finally {
+            for (final Bucket bucket : wheel) {
+                bucket.clear();
+            }
+            cancelPending();
+            terminated.countDown();
+        }
+    }
+
+    /**
+     * @return {@code true} once the current tick is due or {@code false} if the timer was shut down
+     */
+    private boolean awaitTick() {
+        final long deadline = tick * (ticks + 1);
+
+        while (true) {
+            // interrupts are either caused by cancelled tasks or by a shutdown
+            Thread.interrupted();
+
+            if (shutdown) {
+                return false;
+            }
+
+            final long now = now();
+
+            if (now >= deadline) {
+                return true;
+            }
+
+            LockSupport.parkNanos(this, deadline - now);
+        }
+    }
+
+    @Nullable
+    private Task<?> poll() {
+        @Nullable final Task<?> next = head.pending;
+
+        if (next != null) {
+            // the consumed task becomes the new head, the old one must not keep the queue reachable
+            head.pending = null;
+            head = next;
+        }
+
+        return next;
+    }
+
+    private void transferPending() {
+        @Nullable Task<?> task;
+        while ((task = poll()) != null) {
+            if (!task.isCancelled()) {
+                add(task, ticks);
+            }
+        }
+    }
+
+    /**
+     * @param task the task to add
+     * @param first the first tick that will be processed for this task
+     */
+    private void add(final Task<?> task, final long first) {
+        final long due = task.deadline / tick;
+        task.rounds = (due - first) / wheel.length;
+        // tasks that are already overdue are scheduled for the first tick
+        wheel[(int) (Math.max(due, first) & mask)].add(task);
+    }
+
+    private void cancelPending() {
+        @Nullable Task<?> task;
+        while ((task = poll()) != null) {
+            task.cancel(false);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        LockSupport.unpark(worker);
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        worker.interrupt();
+        // delayed tasks are cancelled rather than returned
+        return emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * A doubly-linked list of tasks that is exclusively accessed by the worker thread.
+     */
+    private static final class Bucket {
+
+        @Nullable
+        private Task<?> head;
+
+        @Nullable
+        private Task<?> tail;
+
+        void add(final Task<?> task) {
+            if (tail == null) {
+                head = tail = task;
+            } else {
+                tail.next = task;
+                task.previous = tail;
+                tail = task;
+            }
+        }
+
+        /**
+         * Runs all tasks of the current round, i.e. all tasks that are due by now, and drops cancelled ones.
+         */
+        void expire() {
+            // periodic tasks may add themselves again, but they can't be due before the next round
+            @Nullable final Task<?> last = tail;
+            @Nullable Task<?> task = head;
+
+            while (task != null) {
+                @Nullable final Task<?> next = task == last ? null : task.next;
+
+                if (task.isCancelled()) {
+                    remove(task);
+                } else if (task.rounds <= 0) {
+                    remove(task);
+                    // clears interrupts of previously cancelled tasks
+                    Thread.interrupted();
+                    task.run();
+                } else {
+                    task.rounds--;
+                }
+
+                task = next;
+            }
+        }
+
+        void remove(final Task<?> task) {
+            if (task.previous == null) {
+                head = task.next;
+            } else {
+                task.previous.next = task.next;
+            }
+
+            if (task.next == null) {
+                tail = task.previous;
+            } else {
+                task.next.previous = task.previous;
+            }
+
+            task.previous = null;
+            task.next = null;
+        }
+
+        void clear() {
+            while (head != null) {
+                final Task<?> task = head;
+                remove(task);
+                task.cancel(false);
+            }
+        }
+
+    }
+
+    private final class Task<V> extends FutureTask<V> implements ScheduledFuture<V> {
+
+        /**
+         * Positive values for fixed rate, negative values for fixed delay and zero for one-shot tasks.
+         */
+        private final long period;
+
+        private long deadline;
+        private long rounds;
+
+        @Nullable
+        private volatile Task<?> pending;
+
+        @Nullable
+        private Task<?> previous;
+
+        @Nullable
+        private Task<?> next;
+
+        Task(final Callable<V> callable, final long deadline) {
+            super(callable);
+            this.deadline = deadline;
+            this.period = 0;
+        }
+
+        Task(final Runnable runnable, @Nullable final V result, final long deadline, final long period) {
+            super(runnable, result);
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        @Override
+        public void run() {
+            if (period == 0) {
+                super.run();
+            } else if (runAndReset()) {
+                deadline = deadline(period > 0 ? deadline : now(), Math.abs(period));
+                // runs on the worker, i.e. it can skip the queue, but the current bucket was already processed
+                add(this, ticks + 1);
+            }
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(deadline - now(), NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed that) {
+            return Long.compare(getDelay(NANOSECONDS), that.getDelay(NANOSECONDS));
+        }
+
+    }
+
+}
@@ -10,6 +10,7 @@ import java.net.URI;
 import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
 /**
@@ -36,6 +37,19 @@ public interface Http extends URIStage {
 
     interface RequestFactoryStage {
         ConfigurationStage requestFactory(ClientHttpRequestFactory requestFactory);
+
+        /**
+         * Replaces the blocking {@link ClientHttpRequestFactory request factory} with an arbitrary network execution,
+         * e.g. one that is backed by a non-blocking I/O client. The given execution receives fully serialized
+         * {@link RequestArguments arguments}, i.e. it's supposed to send the {@link RequestArguments#getRequestUri()
+         * request URI}, {@link RequestArguments#getHeaders() headers} and {@link RequestArguments#getEntity() entity}
+         * and complete the returned future once the response arrived.
+         *
+         * @param network the execution that sends requests over the network
+         * @return the next stage
+         */
+        @API(status = EXPERIMENTAL)
+        ConfigurationStage network(RequestExecution network);
     }
 
     interface ConfigurationStage extends FinalStage {
@@ -46,9 +60,28 @@ public interface Http extends URIStage {
         ConfigurationStage baseUrl(@Nullable URI baseUrl);
         ConfigurationStage baseUrl(Supplier<URI> baseUrlProvider);
         ConfigurationStage urlResolution(@Nullable UrlResolution resolution);
+
+        /**
+         * @param arguments the arguments every request starts with, defaults to {@link RequestArguments#create()}
+         * @return this stage
+         * @see RequestArguments#flat()
+         */
+        @API(status = EXPERIMENTAL)
+        ConfigurationStage requestArguments(RequestArguments arguments);
+
         ConfigurationStage defaultPlugins();
         ConfigurationStage plugins(Iterable<Plugin> plugins);
         ConfigurationStage plugin(Plugin plugin);
+
+        /**
+         * Composes the chain of plugins once, rather than for every single request. The {@link Route route} of a
+         * request is then passed along as part of its {@link RequestArguments#getRoute() arguments}, which requires
+         * {@link #requestArguments(RequestArguments) request arguments} that support routes.
+         *
+         * @return this stage
+         */
+        @API(status = EXPERIMENTAL)
+        ConfigurationStage composePluginsOnce();
     }
 
     interface FinalStage {
@@ -0,0 +1,36 @@
+package org.zalando.riptide;
+
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+@AllArgsConstructor
+final class PathBody implements TransferableBody {
+
+    private final Path path;
+
+    @Override
+    public long getContentLength() throws IOException {
+        return Files.size(path);
+    }
+
+    @Override
+    public void transferTo(final WritableByteChannel target) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, READ)) {
+            FileChannelBody.transfer(channel, 0, channel.size(), target);
+        }
+    }
+
+    @Override
+    public ReadableByteChannel open() throws IOException {
+        return FileChannel.open(path, READ);
+    }
+
+}
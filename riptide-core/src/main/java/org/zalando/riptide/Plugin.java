@@ -5,6 +5,7 @@ import org.apiguardian.api.API;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 
 /**
@@ -33,9 +34,18 @@ import static org.apiguardian.api.API.Status.MAINTAINED;
 public interface Plugin {
 
     /**
-     * The given execution will be executed in a different thread and therefore be properly asynchronous. This phase is
-     * useful for plugins which either need to perform some task in the calling thread or (more commonly) may trigger
-     * other asynchronous operations concurrently to the request.
+     * Set if the caller blocks until the response was dispatched, see {@link DispatchStage#callSync(Route)}. The
+     * dispatch, serialization and network phases will then be executed in the calling thread instead of a different
+     * one. Plugins that rely on those phases being executed concurrently, e.g. in order to time them out, should
+     * reset it to {@code false} for the execution they delegate to.
+     */
+    @API(status = EXPERIMENTAL)
+    Attribute<Boolean> CALLER_RUNS = Attribute.generate();
+
+    /**
+     * The given execution will be executed in a different thread, unless {@link #CALLER_RUNS the caller runs it}, and
+     * therefore be properly asynchronous. This phase is useful for plugins which either need to perform some task in
+     * the calling thread or (more commonly) may trigger other asynchronous operations concurrently to the request.
      *
      * @param execution the execution that includes the thread switch as well as the dispatch, serialization and network phases
      * @return the new, potentially modified execution
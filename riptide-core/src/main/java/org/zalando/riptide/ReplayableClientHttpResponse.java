@@ -0,0 +1,104 @@
+package org.zalando.riptide;
+
+import com.google.common.io.ByteStreams;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A response that was read into memory, e.g. in order to be shared by multiple routes. Every call to
+ * {@link #getBody()} returns a new stream of the whole body, i.e. the same instance can be routed any number of times,
+ * concurrently. Closing it is not necessary.
+ */
+@API(status = EXPERIMENTAL)
+public final class ReplayableClientHttpResponse implements ClientHttpResponse {
+
+    private final int statusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    private ReplayableClientHttpResponse(final int statusCode, final String statusText, final HttpHeaders headers,
+            final byte[] body) {
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * Reads the given response completely and closes it.
+     *
+     * @param response the response to read
+     * @return a replayable copy of the given response
+     * @throws IOException if reading the response failed
+     */
+    public static ReplayableClientHttpResponse buffer(final ClientHttpResponse response) throws IOException {
+        try (final ClientHttpResponse original = response) {
+            final HttpHeaders headers = new HttpHeaders();
+            headers.putAll(original.getHeaders());
+
+            @Nullable final InputStream stream = original.getBody();
+            final byte[] body = stream == null ? new byte[0] : ByteStreams.toByteArray(stream);
+
+            return new ReplayableClientHttpResponse(original.getRawStatusCode(), original.getStatusText(),
+                    HttpHeaders.readOnlyHttpHeaders(headers), body);
+        }
+    }
+
+    /**
+     * @param headers the headers of the copy
+     * @return a copy of this response, sharing its body, with the given headers
+     */
+    public ReplayableClientHttpResponse withHeaders(final HttpHeaders headers) {
+        final HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        return new ReplayableClientHttpResponse(statusCode, statusText, HttpHeaders.readOnlyHttpHeaders(copy), body);
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return HttpStatus.valueOf(statusCode);
+    }
+
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(body);
+    }
+
+    /**
+     * @return the number of bytes of the body
+     */
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+}
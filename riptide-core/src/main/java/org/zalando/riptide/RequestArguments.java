@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
 @API(status = STABLE)
@@ -46,6 +47,16 @@ public interface RequestArguments {
 
     Entity getEntity();
 
+    /**
+     * @return the route of this request, if the arguments {@link #withRoute(Route) support routes} and plugins are
+     * {@link Http.ConfigurationStage#composePluginsOnce() composed once}
+     */
+    @API(status = EXPERIMENTAL)
+    @Nullable
+    default Route getRoute() {
+        return null;
+    }
+
     RequestArguments withBaseUrl(@Nullable URI baseUrl);
 
     RequestArguments withUrlResolution(@Nullable UrlResolution resolution);
@@ -80,8 +91,33 @@ public interface RequestArguments {
 
     RequestArguments withEntity(Entity entity);
 
+    /**
+     * Attaches the route of a request, which allows plugins to inspect or decorate it. Implementations that don't
+     * support routes return themselves, i.e. their route stays {@code null}. They can't be used with
+     * {@link Http.ConfigurationStage#composePluginsOnce() plugins that are composed once}.
+     *
+     * @param route the route of this request
+     * @return arguments with the given route
+     */
+    @API(status = EXPERIMENTAL)
+    default RequestArguments withRoute(final Route route) {
+        return this;
+    }
+
     static RequestArguments create() {
         return new DefaultRequestArguments();
     }
 
+    /**
+     * Creates empty arguments that are backed by flat arrays rather than persistent maps. They are considerably cheaper
+     * to build up one header, query parameter or attribute at a time, which is what happens for every single request.
+     *
+     * @return new, empty request arguments
+     * @see Http.ConfigurationStage#requestArguments(RequestArguments)
+     */
+    @API(status = EXPERIMENTAL)
+    static RequestArguments flat() {
+        return new FlatRequestArguments();
+    }
+
 }
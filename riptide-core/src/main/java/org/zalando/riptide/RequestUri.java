@@ -0,0 +1,153 @@
+package org.zalando.riptide;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.util.StringUtils.cleanPath;
+import static org.springframework.web.util.UriUtils.encode;
+import static org.springframework.web.util.UriUtils.encodeQueryParam;
+
+final class RequestUri {
+
+    /**
+     * Templates are usually constants, but nothing prevents users from passing already expanded URIs as templates.
+     * Bounding the cache protects against those.
+     */
+    private static final LoadingCache<String, CompiledUriTemplate> TEMPLATES = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .build(CacheLoader.from(CompiledUriTemplate::compile));
+
+    private RequestUri() {
+
+    }
+
+    private static CompiledUriTemplate compile(final String uriTemplate) {
+        try {
+            return TEMPLATES.getUnchecked(uriTemplate);
+        } catch (final UncheckedExecutionException e) {
+            // invalid templates fail with the same exception as if they weren't cached
+            throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    static URI create(final RequestArguments arguments) {
+        @Nullable final URI uri = arguments.getUri();
+        @Nullable final URI unresolvedUri;
+
+        if (uri == null) {
+            final String uriTemplate = arguments.getUriTemplate();
+            if (uriTemplate == null || uriTemplate.isEmpty()) {
+                unresolvedUri = null;
+            } else {
+                // expand uri template
+                unresolvedUri = compile(uriTemplate).expand(arguments.getUriVariables());
+            }
+        } else {
+            unresolvedUri = uri;
+        }
+
+        @Nullable final URI baseUrl = arguments.getBaseUrl();
+        @Nonnull final URI resolvedUri;
+
+        if (unresolvedUri == null) {
+            checkArgument(baseUrl != null, "Either Base URL or absolute Request URI is required");
+            resolvedUri = baseUrl;
+        } else if (baseUrl == null || unresolvedUri.isAbsolute()) {
+            resolvedUri = unresolvedUri;
+        } else {
+            resolvedUri = arguments.getUrlResolution().resolve(baseUrl, unresolvedUri);
+        }
+
+        final URI requestUri = canAppend(resolvedUri, arguments.getQueryParams()) ?
+                append(resolvedUri, arguments.getQueryParams()) :
+                build(resolvedUri, arguments.getQueryParams());
+
+        checkArgument(requestUri.isAbsolute(), "Request URI is not absolute");
+
+        return requestUri;
+    }
+
+    /**
+     * The single pass in {@link #append(URI, Map)} only covers hierarchical URIs without a query of their own (which
+     * would replace all query parameters) and with valid query parameter names, i.e. the vast majority. Everything else
+     * is still built by Spring to keep its exact semantics.
+     */
+    private static boolean canAppend(final URI uri, final Map<String, List<String>> queryParams) {
+        if (uri.isOpaque() || uri.getScheme() == null || uri.getHost() == null || uri.getRawQuery() != null) {
+            return false;
+        }
+
+        for (final String name : queryParams.keySet()) {
+            if (!encodeQueryParam(name, UTF_8).equals(name)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static URI append(final URI uri, final Map<String, List<String>> queryParams) {
+        final StringBuilder result = new StringBuilder(64)
+                .append(uri.getScheme()).append("://");
+
+        @Nullable final String userInfo = uri.getRawUserInfo();
+        if (userInfo != null) {
+            result.append(userInfo).append('@');
+        }
+
+        result.append(uri.getHost());
+
+        if (uri.getPort() != -1) {
+            result.append(':').append(uri.getPort());
+        }
+
+        // never null for hierarchical URIs
+        final String path = uri.getRawPath();
+        if (!path.isEmpty()) {
+            final String normalized = cleanPath(path);
+            if (!normalized.startsWith("/")) {
+                result.append('/');
+            }
+            result.append(normalized);
+        }
+
+        char separator = '?';
+        for (final Map.Entry<String, List<String>> entry : queryParams.entrySet()) {
+            for (final String value : entry.getValue()) {
+                result.append(separator).append(entry.getKey()).append('=').append(encode(value, UTF_8));
+                separator = '&';
+            }
+        }
+
+        @Nullable final String fragment = uri.getRawFragment();
+        if (fragment != null) {
+            result.append('#').append(fragment);
+        }
+
+        return CompiledUriTemplate.toUri(result);
+    }
+
+    private static URI build(final URI uri, final Map<String, List<String>> queryParams) {
+        final UriComponentsBuilder components = UriComponentsBuilder.newInstance();
+        // encode query params
+        queryParams.forEach((key, values) ->
+                values.forEach(value ->
+                        components.queryParam(key, encode(value, UTF_8))));
+
+        return components.uri(uri).build(true).normalize().toUri();
+    }
+
+}
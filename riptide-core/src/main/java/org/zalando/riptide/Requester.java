@@ -11,7 +11,10 @@ import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 import static com.google.common.net.HttpHeaders.ACCEPT;
 import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
@@ -28,12 +31,9 @@ import static org.zalando.fauxpas.FauxPas.throwingFunction;
 @AllArgsConstructor
 final class Requester extends AttributeStage {
 
-    private final RequestExecution network;
-    private final MessageReader reader;
+    private final Function<Route, RequestExecution> executions;
     private final RequestArguments arguments;
 
-    private final Plugin plugins;
-
     @Override
     public <T> AttributeStage attribute(final Attribute<T> attribute, final T value) {
         return withArguments(arguments.withAttribute(attribute, value));
@@ -121,7 +121,7 @@ final class Requester extends AttributeStage {
     }
 
     private Requester withArguments(final RequestArguments arguments) {
-        return new Requester(network, reader, arguments, plugins);
+        return new Requester(executions, arguments);
     }
 
     @Override
@@ -129,6 +129,11 @@ final class Requester extends AttributeStage {
         return body(null).call(route);
     }
 
+    @Override
+    public ClientHttpResponse callSync(final Route route) {
+        return body(null).callSync(route);
+    }
+
     @Override
     public <T> DispatchStage body(@Nullable final T body) {
         return new ResponseDispatcher(arguments.withBody(body));
@@ -141,15 +146,23 @@ final class Requester extends AttributeStage {
 
         @Override
         public CompletableFuture<ClientHttpResponse> call(final Route route) {
-            final Plugin plugin = Plugin.composite(new DispatchPlugin(route, reader), plugins);
+            return execute(route, arguments);
+        }
 
-            final RequestExecution execution =
-                    plugin.aroundAsync(
-                            plugin.aroundDispatch(
-                                    plugin.aroundSerialization(
-                                            plugin.aroundNetwork(
-                                                    network))));
+        @Override
+        public ClientHttpResponse callSync(final Route route) {
+            try {
+                return execute(route, arguments.withAttribute(Plugin.CALLER_RUNS, true)).join();
+            } catch (final CompletionException | CancellationException e) {
+                throw e;
+            } catch (final Exception e) {
+                // failures in the calling thread surface just like the ones that were completed exceptionally
+                throw new CompletionException(e);
+            }
+        }
 
+        private CompletableFuture<ClientHttpResponse> execute(final Route route, final RequestArguments arguments) {
+            final RequestExecution execution = executions.apply(route);
             return throwingFunction(execution::execute).apply(arguments);
         }
 
@@ -0,0 +1,224 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * An executor that starts a new thread for every task. Instead of bounding the number of threads and queueing tasks,
+ * every thread waits for one of a fixed number of permits before it runs its task, i.e. tasks are never rejected
+ * while the executor is running. This is meant to be used with virtual threads, which are cheap to create and to
+ * park (Java 21 or later):
+ *
+ * <pre>{@code
+ * Http http = Http.builder()
+ *     .executor(new ThreadPerTaskExecutor(Thread.ofVirtual().name("http-", 0).factory(), 200))
+ *     .requestFactory(requestFactory)
+ *     .build();
+ * }</pre>
+ */
+@API(status = EXPERIMENTAL)
+public final class ThreadPerTaskExecutor extends AbstractExecutorService {
+
+    private final ThreadFactory factory;
+    private final int concurrency;
+    private final Semaphore permits;
+
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final Map<Thread, Runnable> waiting = new ConcurrentHashMap<>();
+    private final LongAdder completed = new LongAdder();
+
+    private volatile boolean shutdown;
+
+    public ThreadPerTaskExecutor(final ThreadFactory factory, final int concurrency) {
+        checkArgument(concurrency > 0, "Concurrency must be positive");
+        this.factory = factory;
+        this.concurrency = concurrency;
+        this.permits = new Semaphore(concurrency);
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+
+        final Thread thread = factory.newThread(() -> run(task));
+        threads.add(thread);
+        thread.start();
+    }
+
+    private void run(final Runnable task) {
+        final Thread thread = Thread.currentThread();
+
+        try {
+            waiting.put(thread, task);
+
+            try {
+                permits.acquire();
+            } catch (final InterruptedException e) {
+                // futures are cancelled rather than lost, unless shutdownNow() returned them to the caller
+                if (waiting.remove(thread) != null && task instanceof Future) {
+                    ((Future<?>) task).cancel(false);
+                }
+                thread.interrupt();
+                return;
+            }
+
+            try {
+                // unless shutdownNow() returned the task in the meantime, i.e. it's no longer ours to run
+                if (waiting.remove(thread) != null) {
+                    runAndCount(task);
+                }
+            } finally {
+                permits.release();
+            }
+        } finally {
+            threads.remove(thread);
+        }
+    }
+
+    private void runAndCount(final Runnable task) {
+        try {
+            task.run();
+        } finally {
+            // futures count themselves before they complete
+            if (!(task instanceof CountingTask)) {
+                completed.increment();
+            }
+        }
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(final Runnable runnable, final T value) {
+        return new CountingTask<>(Executors.callable(runnable, value));
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(final Callable<T> callable) {
+        return new CountingTask<>(callable);
+    }
+
+    /**
+     * @return the maximum number of tasks that are executed concurrently
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @return the approximate number of tasks that are currently being executed
+     */
+    public int getActiveCount() {
+        return concurrency - permits.availablePermits();
+    }
+
+    /**
+     * @return the approximate number of tasks that wait for a permit
+     */
+    public int getQueueSize() {
+        return waiting.size();
+    }
+
+    /**
+     * @return the approximate number of threads that are alive, i.e. either executing or waiting
+     */
+    public int getPoolSize() {
+        return threads.size();
+    }
+
+    /**
+     * @return the approximate number of tasks that completed execution, either normally or exceptionally
+     */
+    public long getCompletedTaskCount() {
+        return completed.sum();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    /**
+     * Interrupts all threads. Tasks that were still waiting for a permit are not executed, but returned instead.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+
+        final List<Runnable> tasks = new ArrayList<>();
+
+        waiting.keySet().forEach(thread -> {
+            @Nullable final Runnable task = waiting.remove(thread);
+
+            if (task != null) {
+                tasks.add(task);
+            }
+        });
+
+        threads.forEach(Thread::interrupt);
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && threads.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        for (final Thread thread : threads) {
+            NANOSECONDS.timedJoin(thread, Math.max(1, deadline - System.nanoTime()));
+        }
+
+        return isTerminated();
+    }
+
+    private final class CountingTask<T> extends FutureTask<T> {
+
+        private CountingTask(final Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        protected void set(final T value) {
+            completed.increment();
+            super.set(value);
+        }
+
+        @Override
+        protected void setException(final Throwable throwable) {
+            completed.increment();
+            super.setException(throwable);
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+import org.springframework.http.StreamingHttpOutputMessage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A request body that is written as is, i.e. without an {@link org.springframework.http.converter.HttpMessageConverter}
+ * and without being copied into an intermediate buffer:
+ *
+ * <pre>{@code
+ * http.put("/files/{id}", id)
+ *     .contentType(MediaType.APPLICATION_PDF)
+ *     .body(TransferableBody.of(Paths.get("report.pdf")))
+ *     .call(pass());
+ * }</pre>
+ *
+ * File bodies are written using {@link FileChannel#transferTo(long, long, WritableByteChannel) transferTo}, which
+ * sends them straight from the page cache if the transport exposes a {@link WritableByteChannel channel}. Transports
+ * that only expose an {@link OutputStream} still skip the converter and its buffer. Non-blocking transports pull the
+ * body from a {@link #open() channel} instead, chunk by chunk, as the connection becomes writable. The
+ * {@link org.springframework.http.HttpHeaders#CONTENT_LENGTH content length} is set, if known, and the content type
+ * defaults to {@link org.springframework.http.MediaType#APPLICATION_OCTET_STREAM application/octet-stream}.
+ *
+ * Bodies are repeatable, i.e. they can be retried, and never change the position of the given channel or buffer.
+ */
+@API(status = EXPERIMENTAL)
+public interface TransferableBody extends StreamingHttpOutputMessage.Body {
+
+    /**
+     * @return the number of bytes of this body, or {@code -1} if unknown
+     * @throws IOException if the size of the underlying file can't be determined
+     */
+    long getContentLength() throws IOException;
+
+    /**
+     * Writes this body completely to the given channel. The channel is not closed.
+     *
+     * @param target the channel to write to
+     * @throws IOException if reading this body or writing to the target fails
+     */
+    void transferTo(WritableByteChannel target) throws IOException;
+
+    /**
+     * Opens a channel that reads this body from its first to its last byte, for transports that pull the body rather
+     * than letting it be written, e.g. non-blocking ones. Closing the returned channel never closes a channel that was
+     * given to create this body.
+     *
+     * @return a new channel of this body's bytes, that needs to be closed by the caller
+     * @throws IOException if the underlying file can't be opened
+     */
+    ReadableByteChannel open() throws IOException;
+
+    @Override
+    default void writeTo(final OutputStream stream) throws IOException {
+        transferTo(stream instanceof WritableByteChannel ?
+                (WritableByteChannel) stream :
+                Channels.newChannel(stream));
+    }
+
+    /**
+     * A body backed by the whole file, that is opened on every write.
+     *
+     * @param path the file to send
+     * @return a body of the given file
+     */
+    static TransferableBody of(final Path path) {
+        return new PathBody(path);
+    }
+
+    /**
+     * A body backed by a region of the given channel. The channel is not closed.
+     *
+     * @param channel the file to send
+     * @param position the position of the first byte to send
+     * @param count the number of bytes to send
+     * @return a body of the given region
+     */
+    static TransferableBody of(final FileChannel channel, final long position, final long count) {
+        return new FileChannelBody(channel, position, count);
+    }
+
+    /**
+     * A body backed by the {@link ByteBuffer#remaining() remaining} bytes of the given buffer, e.g. a direct or a
+     * memory-mapped one.
+     *
+     * @param buffer the bytes to send
+     * @return a body of the given buffer
+     */
+    static TransferableBody of(final ByteBuffer buffer) {
+        return new ByteBufferBody(buffer);
+    }
+
+}
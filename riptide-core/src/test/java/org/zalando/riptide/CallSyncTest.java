@@ -0,0 +1,114 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.RoutingTree.dispatch;
+
+final class CallSyncTest {
+
+    private final RestTemplate template = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.createServer(template);
+
+    private final Http unit = Http.builder()
+            .executor(task -> {
+                throw new AssertionError("Executor should not be used");
+            })
+            .requestFactory(template.getRequestFactory())
+            .baseUrl("https://api.example.com")
+            .build();
+
+    @Test
+    void shouldExecuteInCallingThread() throws IOException {
+        server.expect(requestTo("https://api.example.com/accounts/123")).andRespond(withSuccess());
+
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+
+        final ClientHttpResponse response = unit.get("/accounts/{id}", 123)
+                .callSync(dispatch(series(),
+                        on(SUCCESSFUL).call(ignored -> thread.set(Thread.currentThread()))));
+
+        assertThat(response.getStatusCode(), is(OK));
+        assertThat(thread.get(), is(Thread.currentThread()));
+        server.verify();
+    }
+
+    @Test
+    void shouldExecuteWithBodyInCallingThread() {
+        server.expect(requestTo("https://api.example.com/accounts")).andRespond(withSuccess());
+
+        unit.post("/accounts")
+                .body("Hello")
+                .callSync(pass());
+
+        server.verify();
+    }
+
+    @Test
+    void shouldFailLikeJoin() {
+        server.expect(requestTo("https://api.example.com/accounts/123")).andRespond(withSuccess());
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                unit.get("/accounts/{id}", 123)
+                        .callSync((response, reader) -> {
+                            throw new IllegalStateException();
+                        }));
+
+        assertThat(exception.getCause(), is(instanceOf(IllegalStateException.class)));
+    }
+
+    @Test
+    void shouldWrapFailuresOfCallingThread() {
+        final Http unit = Http.builder()
+                .executor(Runnable::run)
+                .requestFactory(template.getRequestFactory())
+                .plugin(new Plugin() {
+                    @Override
+                    public RequestExecution aroundAsync(final RequestExecution execution) {
+                        throw new IllegalStateException();
+                    }
+                })
+                .build();
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                unit.get("https://api.example.com/accounts/123")
+                        .callSync(pass()));
+
+        assertThat(exception.getCause(), is(instanceOf(IllegalStateException.class)));
+    }
+
+    @Test
+    void shouldJoinByDefault() {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+
+        final DispatchStage stage = new DispatchStage() {
+            @Override
+            public CompletableFuture<ClientHttpResponse> call(final Route route) {
+                return completedFuture(response);
+            }
+        };
+
+        assertThat(stage.callSync(pass()), is(response));
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.web.util.UriComponentsBuilder.fromUriString;
+
+final class CompiledUriTemplateTest {
+
+    static Stream<Arguments> data() {
+        return Stream.of(
+                Arguments.of("/orders/{id}", singletonList(123)),
+                Arguments.of("orders/{id}", singletonList("a/b c")),
+                Arguments.of("{id}", singletonList("ä ö ü")),
+                Arguments.of("https://example.com", emptyList()),
+                Arguments.of("https://example.com/", emptyList()),
+                Arguments.of("https://example.com{path}", singletonList("path")),
+                Arguments.of("https://example.com{path}", singletonList("/path")),
+                Arguments.of("https://example.com{path}", singletonList("")),
+                Arguments.of("https://user@example.com:8080/a b/{id}/{name:[a-z]+}", asList(1, "x?y#z")),
+                Arguments.of("https://[::1]:8080/{id}", singletonList(1)),
+                Arguments.of("/search?q={q}&limit={limit}&flag&empty=&q=again", asList("a&b=c d", null)),
+                Arguments.of("/search?ids={ids}", singletonList(new Object[]{1, 2, 3})),
+                Arguments.of("/search?x={x}", singletonList("100%")),
+                Arguments.of("/{a}/{b}?c={c}#fragment with spaces", asList("a", "b", "c", "ignored")),
+                Arguments.of("/unmatched/{brace", emptyList()),
+                Arguments.of("/double//slash/{id}", singletonList(1)),
+                // not compilable, expanded by Spring
+                Arguments.of("https://{host}/{id}", asList("example.com", 1)),
+                Arguments.of("http://localhost:{port}/foo", singletonList(8080)),
+                Arguments.of("https://user@localhost:{port}?q={q}", asList(8080, "x")),
+                Arguments.of("{scheme}://example.com/{id}", asList("https", 1)),
+                Arguments.of("/{id}#{fragment}", asList("fragment", "id")),
+                Arguments.of("/search?{name}={value}", asList("q", "x")),
+                Arguments.of("/{id:\\d{1,3}}", singletonList(123)),
+                Arguments.of("mailto:someone@example.com", emptyList())
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    void shouldExpandLikeSpring(final String template, final List<Object> variables) {
+        final URI expected = fromUriString(template).buildAndExpand(variables.toArray()).encode().toUri();
+        final URI actual = CompiledUriTemplate.compile(template).expand(variables);
+
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    void shouldFailOnMissingVariables() {
+        final CompiledUriTemplate unit = CompiledUriTemplate.compile("/{parent}/{child}");
+
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                unit.expand(singletonList(1)));
+
+        assertThat(exception.getMessage(), is("Not enough variable values available to expand 'child'"));
+    }
+
+    @Test
+    void shouldFailOnInvalidUri() {
+        final CompiledUriTemplate unit = CompiledUriTemplate.compile(":/{id}");
+
+        assertThrows(IllegalStateException.class, () -> unit.expand(singletonList(1)));
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+final class FlatEntriesTest {
+
+    @Test
+    void shouldAppendConcurrentlyWithoutInterference() {
+        final FlatEntries base = FlatEntries.empty().append("base", "value");
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            final List<CompletableFuture<FlatEntries>> futures = IntStream.range(0, 1000)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> base.append("key", i), executor))
+                    .collect(toList());
+
+            for (int i = 0; i < futures.size(); i++) {
+                final FlatEntries entries = futures.get(i).join();
+                assertThat(entries.size(), is(2));
+                assertThat(entries.keyAt(0), is("base"));
+                assertThat(entries.last("key"), is(i));
+            }
+
+            assertThat(base.size(), is(1));
+            assertThat(base.last("key"), is(nullValue()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+package org.zalando.riptide;
+
+import com.google.common.collect.ImmutableMap;
+import lombok.Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.HttpMethod;
+import org.zalando.riptide.RequestArguments.Entity;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+final class FlatRequestArgumentsTest {
+
+    private final RequestArguments unit = RequestArguments.flat();
+
+    @Value
+    private static final class Assertion<T> {
+        BiFunction<RequestArguments, T, RequestArguments> wither;
+        T argument;
+        Function<RequestArguments, T> getter;
+    }
+
+    static List<Assertion<?>> data() {
+        return Arrays.asList(
+                new Assertion<>(RequestArguments::withBaseUrl, URI.create("https://api.example.com"), RequestArguments::getBaseUrl),
+                new Assertion<>(RequestArguments::withUrlResolution, UrlResolution.APPEND, RequestArguments::getUrlResolution),
+                new Assertion<>(RequestArguments::withMethod, HttpMethod.GET, RequestArguments::getMethod),
+                new Assertion<>(RequestArguments::withUriTemplate, "/{id}", RequestArguments::getUriTemplate),
+                new Assertion<>(RequestArguments::withUri, URI.create("/123"), RequestArguments::getUri),
+                new Assertion<>(RequestArguments::withBody, new Object(), RequestArguments::getBody),
+                new Assertion<>(RequestArguments::withEntity, mock(Entity.class), RequestArguments::getEntity),
+                new Assertion<>(RequestArguments::withRoute, mock(Route.class), RequestArguments::getRoute)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    <T> void shouldOptimizeForReapplyingSameValue(final Assertion<T> assertion) {
+        final RequestArguments applied = assertion.wither.apply(unit, assertion.argument);
+        final RequestArguments appliedAgain = assertion.wither.apply(applied, assertion.argument);
+
+        assertThat(appliedAgain, is(sameInstance(applied)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    <T> void shouldModifyValue(final Assertion<T> assertion) {
+        final RequestArguments applied = assertion.wither.apply(unit, assertion.argument);
+
+        assertThat(applied, is(not(sameInstance(unit))));
+        assertThat(assertion.getter.apply(applied), is(sameInstance(assertion.argument)));
+    }
+
+    @Test
+    void shouldCopyUriVariables() {
+        final List<Object> variables = new ArrayList<>(asList("a", "b"));
+        final RequestArguments arguments = unit.replaceUriVariables(variables);
+        variables.clear();
+
+        assertThat(arguments.getUriVariables(), contains("a", "b"));
+        assertThrows(UnsupportedOperationException.class, () -> arguments.getUriVariables().add("c"));
+    }
+
+    @Test
+    void shouldReturnLatestAttribute() {
+        final Attribute<String> attribute = Attribute.generate();
+        final Attribute<String> other = Attribute.generate();
+
+        final RequestArguments arguments = unit
+                .withAttribute(attribute, "first")
+                .withAttribute(other, "other")
+                .withAttribute(attribute, "second");
+
+        assertThat(arguments.getAttribute(attribute), is(Optional.of("second")));
+        assertThat(arguments.getAttribute(other), is(Optional.of("other")));
+        assertThat(unit.getAttribute(attribute), is(Optional.empty()));
+    }
+
+    @Test
+    void shouldGroupQueryParamsInOrder() {
+        final RequestArguments arguments = unit
+                .withQueryParam("foo", "1")
+                .withQueryParam("bar", "2")
+                .withQueryParams(ImmutableMap.of("foo", asList("3", "4"), "baz", singletonList("5")));
+
+        assertThat(arguments.getQueryParams().keySet(), contains("foo", "bar", "baz"));
+        assertThat(arguments.getQueryParams(), hasEntry("foo", asList("1", "3", "4")));
+    }
+
+    @Test
+    void shouldRemoveQueryParam() {
+        final RequestArguments with = unit.withQueryParam("foo", "bar").withQueryParam("Foo", "bar");
+        assertThat(with.getQueryParams(), hasKey("foo"));
+
+        final RequestArguments without = with.withoutQueryParam("foo");
+        assertThat(without.getQueryParams(), not(hasKey("foo")));
+        assertThat(without.getQueryParams(), hasKey("Foo"));
+    }
+
+    @Test
+    void shouldReplaceQueryParam() {
+        final RequestArguments with = unit.withQueryParam("foo", "bar");
+        assertThat(with.getQueryParams(), hasKey("foo"));
+
+        final RequestArguments without = with.replaceQueryParams(singletonMap("q", singletonList("example")));
+        assertThat(without.getQueryParams(), hasEntry("q", singletonList("example")));
+        assertThat(without.getQueryParams(), aMapWithSize(1));
+    }
+
+    @Test
+    void shouldRemoveHeaderIgnoringCase() {
+        final RequestArguments with = unit.withHeader("Foo", "bar").withHeader("X", "y");
+        assertThat(with.getHeaders(), hasKey("Foo"));
+
+        final RequestArguments without = with.withoutHeader("foo");
+        assertThat(without.getHeaders(), not(hasKey("Foo")));
+        assertThat(without.getHeaders(), hasKey("X"));
+    }
+
+    @Test
+    void shouldReplaceHeaders() {
+        final RequestArguments with = unit.withHeader("Foo", "bar");
+        assertThat(with.getHeaders(), hasKey("Foo"));
+
+        final RequestArguments without = with.replaceHeaders(singletonMap("Test", singletonList("true")));
+        assertThat(without.getHeaders(), hasEntry("Test", singletonList("true")));
+        assertThat(without.getHeaders(), aMapWithSize(1));
+    }
+
+    @Test
+    void headersShouldBeCaseInsensitive() {
+        final RequestArguments arguments = unit.withHeader("Foo", "bar").withHeader("foo", "baz");
+        assertTrue(arguments.getHeaders().containsKey("FOO"));
+        assertThat(arguments.getHeaders().get("foo"), contains("bar", "baz"));
+    }
+
+    @Test
+    void shouldIgnoreEmptyHeaders() {
+        final RequestArguments arguments = unit.withHeader("Foo", "bar").withHeaders(emptyMap());
+        assertThat(arguments.getHeaders(), aMapWithSize(1));
+    }
+
+    @Test
+    void shouldNotLeakHeadersBetweenBranches() {
+        final RequestArguments base = unit.withHeader("Base", "true");
+
+        final RequestArguments left = base.withHeader("Left", "true");
+        final RequestArguments right = base.withHeader("Right", "true");
+        final RequestArguments leftAgain = left.withHeader("Again", "true");
+
+        assertThat(base.getHeaders().keySet(), contains("Base"));
+        assertThat(left.getHeaders().keySet(), contains("Base", "Left"));
+        assertThat(right.getHeaders().keySet(), contains("Base", "Right"));
+        assertThat(leftAgain.getHeaders().keySet(), contains("Again", "Base", "Left"));
+    }
+
+    @Test
+    void shouldGrowBeyondInitialCapacity() {
+        RequestArguments arguments = unit;
+
+        for (int i = 0; i < 100; i++) {
+            arguments = arguments.withHeader("X-Header-" + i, String.valueOf(i));
+        }
+
+        final RequestArguments bulk = arguments.withHeaders(ImmutableMap.of(
+                "A", asList("1", "2", "3", "4", "5", "6", "7", "8", "9"),
+                "B", asList("1", "2", "3", "4", "5", "6", "7", "8", "9")));
+
+        assertThat(arguments.getHeaders(), aMapWithSize(100));
+        assertThat(arguments.getHeaders(), hasEntry("X-Header-42", singletonList("42")));
+        assertThat(bulk.getHeaders(), aMapWithSize(102));
+    }
+
+    @Test
+    void shouldCacheHeadersAndQueryParams() {
+        final RequestArguments arguments = unit.withHeader("Foo", "bar").withQueryParam("q", "1");
+
+        assertSame(arguments.getHeaders(), arguments.getHeaders());
+        assertSame(arguments.getQueryParams(), arguments.getQueryParams());
+        assertThrows(UnsupportedOperationException.class, () -> arguments.getHeaders().clear());
+        assertThrows(UnsupportedOperationException.class, () -> arguments.getHeaders().get("Foo").clear());
+    }
+
+    @Test
+    void shouldCacheRequestUri() {
+        final RequestArguments arguments = unit
+                .withBaseUrl(URI.create("https://www.example.org"))
+                .withUrlResolution(UrlResolution.RFC)
+                .withUriTemplate("/users/{user}")
+                .replaceUriVariables(singletonList("me"))
+                .withQueryParam("q", "a b");
+
+        assertThat(arguments.getRequestUri(), is(URI.create("https://www.example.org/users/me?q=a%20b")));
+        assertSame(arguments.getRequestUri(), arguments.getRequestUri());
+    }
+
+}
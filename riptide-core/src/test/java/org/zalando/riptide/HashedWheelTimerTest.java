@@ -0,0 +1,235 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class HashedWheelTimerTest {
+
+    // a single bucket, i.e. every task shares the same list and most tasks need multiple rounds
+    private final HashedWheelTimer unit = new HashedWheelTimer(Thread::new, 1, MILLISECONDS, 1);
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        unit.shutdown();
+        assertThat(unit.awaitTermination(1, SECONDS), is(true));
+    }
+
+    @Test
+    void shouldRejectNonPositiveTickDuration() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new HashedWheelTimer(Thread::new, 0, MILLISECONDS, 512));
+    }
+
+    @Test
+    void shouldRejectInvalidTicksPerWheel() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new HashedWheelTimer(Thread::new, 1, MILLISECONDS, 0));
+        assertThrows(IllegalArgumentException.class, () ->
+                new HashedWheelTimer(Thread::new, 1, MILLISECONDS, (1 << 30) + 1));
+    }
+
+    @Test
+    void shouldRejectNonPositivePeriods() {
+        assertThrows(IllegalArgumentException.class, () -> unit.scheduleAtFixedRate(() -> {
+        }, 0, 0, MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> unit.scheduleWithFixedDelay(() -> {
+        }, 0, 0, MILLISECONDS));
+    }
+
+    @Test
+    void shouldExecuteTask() throws Exception {
+        assertThat(unit.submit(() -> "done").get(1, SECONDS), is("done"));
+    }
+
+    @Test
+    void shouldNotRunTaskBeforeItIsDue() throws Exception {
+        final long start = System.nanoTime();
+
+        final ScheduledFuture<String> future = unit.schedule(() -> "done", 50, MILLISECONDS);
+
+        assertThat(future.get(1, SECONDS), is("done"));
+        assertThat(System.nanoTime() - start, is(greaterThanOrEqualTo(MILLISECONDS.toNanos(50))));
+    }
+
+    @Test
+    void shouldRunTasksThatAreDueInLaterRounds() throws Exception {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        unit.schedule(() -> future.complete(null), 20, MILLISECONDS);
+
+        future.get(1, SECONDS);
+    }
+
+    @Test
+    void shouldRunTasksWithDefaultSettings() throws Exception {
+        final HashedWheelTimer unit = new HashedWheelTimer();
+
+        try {
+            assertThat(unit.schedule(() -> "done", 1, MILLISECONDS).get(1, SECONDS), is("done"));
+        } finally {
+            unit.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldNotRunCancelledTask() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+
+        final ScheduledFuture<?> first = unit.schedule(runs::incrementAndGet, 1, HOURS);
+        final ScheduledFuture<?> second = unit.schedule(runs::incrementAndGet, 1, HOURS);
+        final ScheduledFuture<?> third = unit.schedule(runs::incrementAndGet, 1, HOURS);
+        final ScheduledFuture<?> fourth = unit.schedule(runs::incrementAndGet, 1, HOURS);
+
+        // wait until the tasks were transferred to the wheel
+        Thread.sleep(20);
+
+        assertThat(second.cancel(false), is(true));
+        assertThat(fourth.cancel(false), is(true));
+        assertThat(fourth.cancel(false), is(false));
+
+        // wait until the cancelled tasks were removed
+        Thread.sleep(20);
+
+        assertThat(runs.get(), is(0));
+        assertThat(first.isCancelled(), is(false));
+        assertThat(third.isCancelled(), is(false));
+    }
+
+    @Test
+    void shouldNotRunTaskCancelledBeforeTransfer() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final ThreadFactory factory = runnable -> new Thread(() -> {
+            await(release);
+            runnable.run();
+        });
+
+        final HashedWheelTimer unit = new HashedWheelTimer(factory, 1, MILLISECONDS, 4);
+
+        try {
+            final AtomicInteger runs = new AtomicInteger();
+            unit.schedule(runs::incrementAndGet, 0, MILLISECONDS).cancel(true);
+            final ScheduledFuture<Integer> future = unit.schedule(runs::incrementAndGet, 0, MILLISECONDS);
+
+            release.countDown();
+
+            assertThat(future.get(1, SECONDS), is(1));
+            assertThat(runs.get(), is(1));
+        } finally {
+            unit.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRunAtFixedRate() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+
+        final ScheduledFuture<?> future = unit.scheduleAtFixedRate(latch::countDown, 0, 5, MILLISECONDS);
+
+        assertThat(latch.await(1, SECONDS), is(true));
+        future.cancel(false);
+    }
+
+    @Test
+    void shouldRunWithFixedDelay() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+
+        final ScheduledFuture<?> future = unit.scheduleWithFixedDelay(latch::countDown, 0, 5, MILLISECONDS);
+
+        assertThat(latch.await(1, SECONDS), is(true));
+        future.cancel(false);
+    }
+
+    @Test
+    void shouldStopPeriodicTaskThatCancelsItself() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final CompletableFuture<ScheduledFuture<?>> self = new CompletableFuture<>();
+
+        self.complete(unit.scheduleWithFixedDelay(() -> {
+            if (runs.incrementAndGet() == 2) {
+                self.join().cancel(true);
+            }
+        }, 0, 1, MILLISECONDS));
+
+        Thread.sleep(50);
+
+        assertThat(runs.get(), is(2));
+        assertThat(self.join().isCancelled(), is(true));
+    }
+
+    @Test
+    void shouldExposeDelay() {
+        final ScheduledFuture<?> first = unit.schedule(() -> {
+        }, 1, HOURS);
+        final ScheduledFuture<?> second = unit.schedule(() -> {
+        }, 2, HOURS);
+        final ScheduledFuture<?> last = unit.schedule(() -> {
+        }, Long.MAX_VALUE, NANOSECONDS);
+
+        assertThat(first.getDelay(MILLISECONDS), is(greaterThan(HOURS.toMillis(1) - 1000)));
+        assertThat(first.getDelay(MILLISECONDS), is(lessThan(HOURS.toMillis(1) + 1)));
+        assertThat(first.compareTo(second), is(lessThan(0)));
+        assertThat(last.getDelay(HOURS), is(greaterThan(1000L)));
+    }
+
+    @Test
+    void shouldCancelDelayedTasksOnShutdown() throws InterruptedException {
+        final ScheduledFuture<?> future = unit.schedule(() -> {
+        }, 1, HOURS);
+
+        Thread.sleep(20);
+
+        assertThat(unit.isTerminated(), is(false));
+        unit.shutdown();
+
+        assertThat(unit.isShutdown(), is(true));
+        assertThat(unit.awaitTermination(1, SECONDS), is(true));
+        assertThat(unit.isTerminated(), is(true));
+        assertThat(future.isCancelled(), is(true));
+    }
+
+    @Test
+    void shouldStopImmediately() throws InterruptedException {
+        final ScheduledFuture<?> future = unit.schedule(() -> {
+        }, 1, HOURS);
+
+        assertThat(unit.shutdownNow(), is(empty()));
+        assertThat(unit.awaitTermination(1, SECONDS), is(true));
+        assertThat(future.isCancelled(), is(true));
+    }
+
+    @Test
+    void shouldRejectTasksAfterShutdown() {
+        unit.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> unit.execute(() -> {
+        }));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
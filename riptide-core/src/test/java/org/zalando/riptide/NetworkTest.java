@@ -0,0 +1,62 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class NetworkTest {
+
+    private final RequestExecution network = mock(RequestExecution.class);
+
+    private final Http unit = Http.builder()
+            .executor(Runnable::run)
+            .network(network)
+            .baseUrl("https://api.example.com")
+            .build();
+
+    @Test
+    void shouldUseCustomNetwork() throws IOException {
+        final ClientHttpResponse response = new MockClientHttpResponse(new byte[0], OK);
+        when(network.execute(any())).thenReturn(completedFuture(response));
+
+        unit.post("/users/{id}", 123)
+                .header("X-Foo", "bar")
+                .contentType(TEXT_PLAIN)
+                .body("Hello")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()))
+                .join();
+
+        final ArgumentCaptor<RequestArguments> captor = ArgumentCaptor.forClass(RequestArguments.class);
+        verify(network).execute(captor.capture());
+        final RequestArguments arguments = captor.getValue();
+
+        assertThat(arguments.getRequestUri(), is(URI.create("https://api.example.com/users/123")));
+        assertThat(arguments.getHeaders().get("X-Foo"), contains("bar"));
+
+        final MockClientHttpRequest request = new MockClientHttpRequest();
+        arguments.getEntity().writeTo(request);
+        assertThat(request.getBodyAsString(), is("Hello"));
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.zalando.riptide;
+
+import com.google.common.io.ByteStreams;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+
+final class ReplayableClientHttpResponseTest {
+
+    @Test
+    void shouldReplayBody() throws IOException {
+        final ReplayableClientHttpResponse unit = ReplayableClientHttpResponse.buffer(response());
+
+        assertThat(read(unit), is("Hello"));
+        assertThat(read(unit), is("Hello"));
+        assertThat(unit.getContentLength(), is(5));
+    }
+
+    @Test
+    void shouldCopyStatusAndHeaders() throws IOException {
+        final ReplayableClientHttpResponse unit = ReplayableClientHttpResponse.buffer(response());
+
+        assertThat(unit.getStatusCode(), is(CREATED));
+        assertThat(unit.getRawStatusCode(), is(201));
+        assertThat(unit.getStatusText(), is("Created"));
+        assertThat(unit.getHeaders().getContentType(), is(TEXT_PLAIN));
+    }
+
+    @Test
+    void shouldNotAllowToModifyHeaders() throws IOException {
+        final ReplayableClientHttpResponse unit = ReplayableClientHttpResponse.buffer(response());
+
+        assertThrows(UnsupportedOperationException.class, () -> unit.getHeaders().add("Foo", "bar"));
+    }
+
+    @Test
+    void shouldReplaceHeaders() throws IOException {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("ETag", "\"1\"");
+
+        final ReplayableClientHttpResponse unit = ReplayableClientHttpResponse.buffer(response()).withHeaders(headers);
+
+        assertThat(unit.getHeaders().getETag(), is("\"1\""));
+        assertThat(unit.getRawStatusCode(), is(201));
+        assertThat(read(unit), is("Hello"));
+    }
+
+    @Test
+    void shouldCloseOriginal() throws IOException {
+        final MockClientHttpResponse original = spy(response());
+
+        ReplayableClientHttpResponse.buffer(original);
+
+        verify(original).close();
+    }
+
+    private static MockClientHttpResponse response() {
+        final MockClientHttpResponse response = new MockClientHttpResponse("Hello".getBytes(UTF_8), CREATED);
+        response.getHeaders().setContentType(TEXT_PLAIN);
+        return response;
+    }
+
+    private static String read(final ReplayableClientHttpResponse response) throws IOException {
+        return new String(ByteStreams.toByteArray(response.getBody()), UTF_8);
+    }
+
+}
@@ -5,7 +5,16 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.web.client.MockRestServiceServer;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 import static org.zalando.riptide.Bindings.on;
@@ -181,9 +190,137 @@ final class RequesterTest {
                 .join();
     }
 
+    @Test
+    void shouldPassRouteToPluginsIfComposedOnce() {
+        final MockSetup setup = new MockSetup();
+        final AtomicReference<Route> captured = new AtomicReference<>();
+
+        final Http unit = setup.getHttpBuilder()
+                .composePluginsOnce()
+                .plugin(new Plugin() {
+                    @Override
+                    public RequestExecution aroundNetwork(final RequestExecution execution) {
+                        return arguments -> {
+                            captured.set(arguments.getRoute());
+                            return execution.execute(arguments);
+                        };
+                    }
+                })
+                .build();
+
+        setup.getServer().expect(requestTo("https://api.example.com/123"))
+                .andRespond(withSuccess());
+
+        final Route route = pass();
+
+        unit.get("/123")
+                .call(route)
+                .join();
+
+        assertThat(captured.get(), is(sameInstance(route)));
+    }
+
+    @Test
+    void shouldNotPassRouteToPluginsByDefault() {
+        final MockSetup setup = new MockSetup();
+        final AtomicReference<Route> captured = new AtomicReference<>(pass());
+
+        final Http unit = setup.getHttpBuilder()
+                .plugin(new Plugin() {
+                    @Override
+                    public RequestExecution aroundNetwork(final RequestExecution execution) {
+                        return arguments -> {
+                            captured.set(arguments.getRoute());
+                            return execution.execute(arguments);
+                        };
+                    }
+                })
+                .build();
+
+        setup.getServer().expect(requestTo("https://api.example.com/123"))
+                .andRespond(withSuccess());
+
+        unit.get("/123")
+                .call(pass())
+                .join();
+
+        assertThat(captured.get(), is(nullValue()));
+    }
+
+    @Test
+    void shouldComposePluginsForEveryRequestByDefault() {
+        final MockSetup setup = new MockSetup();
+        final AtomicInteger compositions = new AtomicInteger();
+
+        final Http unit = setup.getHttpBuilder()
+                .plugin(countCompositions(compositions))
+                .build();
+
+        setup.getServer().expect(times(2), requestTo("https://api.example.com/123"))
+                .andRespond(withSuccess());
+
+        unit.get("/123").call(pass()).join();
+        unit.get("/123").call(pass()).join();
+
+        assertThat(compositions.get(), is(2));
+    }
+
+    @Test
+    void shouldComposePluginsOnce() {
+        final MockSetup setup = new MockSetup();
+        final AtomicInteger compositions = new AtomicInteger();
+
+        final Http unit = setup.getHttpBuilder()
+                .plugin(countCompositions(compositions))
+                .composePluginsOnce()
+                .build();
+
+        setup.getServer().expect(times(2), requestTo("https://api.example.com/123"))
+                .andRespond(withSuccess());
+
+        final AtomicInteger dispatched = new AtomicInteger();
+
+        unit.get("/123").call(pass()).join();
+        unit.get("/123").call((response, reader) -> dispatched.incrementAndGet()).join();
+
+        assertThat(compositions.get(), is(1));
+        assertThat(dispatched.get(), is(1));
+    }
+
+    @Test
+    void shouldSupportFlatRequestArguments() {
+        final MockSetup setup = new MockSetup();
+        final Http unit = setup.getHttpBuilder()
+                .requestArguments(RequestArguments.flat())
+                .build();
+
+        setup.getServer().expect(requestTo("https://api.example.com/123?foo=bar"))
+                .andExpect(header("X-Foo", "bar", "baz"))
+                .andRespond(withSuccess());
+
+        unit.get("/{id}", 123)
+                .queryParam("foo", "bar")
+                .header("X-Foo", "bar")
+                .header("x-foo", "baz")
+                .call(pass())
+                .join();
+
+        setup.getServer().verify();
+    }
+
     private void expectRequestTo(final String url) {
         server.expect(requestTo(url))
                 .andRespond(withSuccess());
     }
 
+    private static Plugin countCompositions(final AtomicInteger compositions) {
+        return new Plugin() {
+            @Override
+            public RequestExecution aroundNetwork(final RequestExecution execution) {
+                compositions.incrementAndGet();
+                return execution;
+            }
+        };
+    }
+
 }
@@ -0,0 +1,185 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class ThreadPerTaskExecutorTest {
+
+    private final ThreadPerTaskExecutor unit = new ThreadPerTaskExecutor(Thread::new, 1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        release.countDown();
+        unit.shutdown();
+        unit.awaitTermination(1, SECONDS);
+    }
+
+    @Test
+    void shouldRejectNonPositiveConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> new ThreadPerTaskExecutor(Thread::new, 0));
+    }
+
+    @Test
+    void shouldExecuteTask() throws Exception {
+        final Future<String> future = unit.submit(() -> "done");
+
+        assertThat(future.get(1, SECONDS), is("done"));
+        assertThat(unit.getConcurrency(), is(1));
+    }
+
+    @Test
+    void shouldLimitConcurrency() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+
+        unit.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        started.await();
+
+        final Future<?> second = unit.submit(() -> {
+        });
+
+        while (unit.getQueueSize() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThat(unit.getActiveCount(), is(1));
+        assertThat(unit.getQueueSize(), is(1));
+        assertThat(unit.getPoolSize(), is(2));
+        assertThat(second.isDone(), is(false));
+
+        release.countDown();
+        second.get(1, SECONDS);
+
+        unit.shutdown();
+        assertThat(unit.awaitTermination(1, SECONDS), is(true));
+        assertThat(unit.getActiveCount(), is(0));
+        assertThat(unit.getCompletedTaskCount(), is(2L));
+    }
+
+    @Test
+    void shouldRejectTasksAfterShutdown() {
+        unit.shutdown();
+
+        assertThat(unit.isShutdown(), is(true));
+        assertThat(unit.isTerminated(), is(true));
+        assertThrows(RejectedExecutionException.class, () -> unit.execute(() -> {
+        }));
+    }
+
+    @Test
+    void shouldTerminateAfterRunningTasks() throws InterruptedException {
+        unit.execute(() -> await(release));
+        unit.shutdown();
+
+        assertThat(unit.isTerminated(), is(false));
+
+        release.countDown();
+
+        assertThat(unit.awaitTermination(1, SECONDS), is(true));
+    }
+
+    @Test
+    void shouldNotTerminateBeforeShutdown() throws InterruptedException {
+        assertThat(unit.isShutdown(), is(false));
+        assertThat(unit.isTerminated(), is(false));
+        assertThat(unit.awaitTermination(1, MILLISECONDS), is(false));
+    }
+
+    @Test
+    void shouldInterruptWaitingTasksOnShutdownNow() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+
+        unit.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        started.await();
+
+        final Runnable task = () -> {
+            throw new AssertionError("Should not run");
+        };
+        unit.execute(task);
+
+        while (unit.getQueueSize() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThat(unit.shutdownNow(), contains(task));
+        assertThat(unit.awaitTermination(1, SECONDS), is(true));
+        assertThat(unit.getCompletedTaskCount(), is(1L));
+    }
+
+    @Test
+    void shouldCancelInterruptedWaitingTasks() throws Exception {
+        final BlockingQueue<Thread> threads = new LinkedBlockingQueue<>();
+        final ThreadPerTaskExecutor unit = new ThreadPerTaskExecutor(runnable -> {
+            final Thread thread = new Thread(runnable);
+            threads.add(thread);
+            return thread;
+        }, 1);
+
+        try {
+            final CountDownLatch started = new CountDownLatch(1);
+
+            unit.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            started.await();
+            threads.take();
+
+            final Future<?> future = unit.submit(() -> {
+                throw new AssertionError("Should not run");
+            });
+
+            while (unit.getQueueSize() == 0) {
+                Thread.sleep(1);
+            }
+
+            threads.take().interrupt();
+
+            assertThrows(CancellationException.class, () -> future.get(1, SECONDS));
+        } finally {
+            release.countDown();
+            unit.shutdown();
+            unit.awaitTermination(1, SECONDS);
+        }
+    }
+
+    @Test
+    void shouldCountCompletedTasksBeforeTheirFutureCompletes() throws Exception {
+        for (int i = 1; i <= 100; i++) {
+            unit.submit(() -> {
+            }).get(1, SECONDS);
+
+            assertThat(unit.getCompletedTaskCount(), is((long) i));
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
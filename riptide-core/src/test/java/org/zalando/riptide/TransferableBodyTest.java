@@ -0,0 +1,190 @@
+package org.zalando.riptide;
+
+import com.google.common.io.ByteStreams;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class TransferableBodyTest {
+
+    private final MockSetup setup = new MockSetup();
+    private final MockRestServiceServer server = setup.getServer();
+    private final Http unit = setup.getHttp();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void verify() {
+        server.verify();
+    }
+
+    @Test
+    void shouldSendFile() throws IOException {
+        final Path file = write("Hello, world!");
+
+        server.expect(requestTo("https://api.example.com/files"))
+                .andExpect(method(POST))
+                .andExpect(header("Content-Type", "application/octet-stream"))
+                .andExpect(header("Content-Length", "13"))
+                .andExpect(content().string("Hello, world!"))
+                .andRespond(withSuccess());
+
+        unit.post("/files")
+                .body(TransferableBody.of(file))
+                .call(pass())
+                .join();
+    }
+
+    @Test
+    void shouldSendFileRegion() throws IOException {
+        final Path file = write("Hello, world!");
+
+        server.expect(requestTo("https://api.example.com/files"))
+                .andExpect(header("Content-Length", "5"))
+                .andExpect(content().string("world"))
+                .andRespond(withSuccess());
+
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            unit.post("/files")
+                    .body(TransferableBody.of(channel, 7, 5))
+                    .call(pass())
+                    .join();
+
+            assertThat(channel.position(), is(0L));
+        }
+    }
+
+    @Test
+    void shouldSendBuffer() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.put("Hello".getBytes(UTF_8)).flip();
+
+        server.expect(requestTo("https://api.example.com/files"))
+                .andExpect(header("Content-Type", "text/plain"))
+                .andExpect(header("Content-Length", "5"))
+                .andExpect(content().string("Hello"))
+                .andRespond(withSuccess());
+
+        unit.post("/files")
+                .header("Content-Type", "text/plain")
+                .body(TransferableBody.of(buffer))
+                .call(pass())
+                .join();
+
+        assertThat(buffer.remaining(), is(5));
+    }
+
+    @Test
+    void shouldBeRepeatable() throws IOException {
+        final TransferableBody body = TransferableBody.of(write("Hello"));
+
+        assertThat(transfer(body), is("Hello"));
+        assertThat(transfer(body), is("Hello"));
+    }
+
+    @Test
+    void shouldTransferToFileChannel() throws IOException {
+        final TransferableBody body = TransferableBody.of(write("Hello, world!"));
+        final Path target = directory.resolve("target.txt");
+
+        try (final FileChannel channel = FileChannel.open(target, CREATE, WRITE)) {
+            body.transferTo(channel);
+        }
+
+        assertThat(new String(Files.readAllBytes(target), UTF_8), is("Hello, world!"));
+    }
+
+    @Test
+    void shouldFailOnTruncatedFile() throws IOException {
+        final Path file = write("Hello");
+
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            final TransferableBody body = TransferableBody.of(channel, 0, 10);
+
+            assertThrows(EOFException.class, () -> transfer(body));
+        }
+    }
+
+    @Test
+    void shouldOpenFile() throws IOException {
+        assertThat(read(TransferableBody.of(write("Hello, world!"))), is("Hello, world!"));
+    }
+
+    @Test
+    void shouldOpenFileRegion() throws IOException {
+        final Path file = write("Hello, world!");
+
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            assertThat(read(TransferableBody.of(channel, 7, 5)), is("world"));
+            assertThat(channel.position(), is(0L));
+            assertThat(channel.isOpen(), is(true));
+        }
+    }
+
+    @Test
+    void shouldOpenBuffer() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap("Hello, world!".getBytes(UTF_8));
+        buffer.position(7);
+
+        final TransferableBody body = TransferableBody.of(buffer);
+
+        assertThat(read(body), is("world!"));
+        assertThat(read(body), is("world!"));
+        assertThat(buffer.position(), is(7));
+    }
+
+    @Test
+    void shouldFailOnTruncatedFileWhenOpened() throws IOException {
+        final Path file = write("Hello");
+
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            final TransferableBody body = TransferableBody.of(channel, 0, 10);
+
+            assertThrows(EOFException.class, () -> read(body));
+        }
+    }
+
+    private Path write(final String content) throws IOException {
+        return Files.write(directory.resolve("body.txt"), content.getBytes(UTF_8));
+    }
+
+    private static String read(final TransferableBody body) throws IOException {
+        try (final ReadableByteChannel channel = body.open()) {
+            return new String(ByteStreams.toByteArray(Channels.newInputStream(channel)), UTF_8);
+        }
+    }
+
+    private static String transfer(final TransferableBody body) throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        body.transferTo(Channels.newChannel(stream));
+        return new String(stream.toByteArray(), UTF_8);
+    }
+
+}
@@ -23,4 +23,15 @@ public interface CircuitBreakerListener {
         // nothing to do
     }
 
+    /**
+     * Returns the listener for the breaker of the given key, as created by a {@link CircuitBreakerRegistry}. Listeners
+     * that keep state per breaker, or want to tell breakers apart, need to return a new instance.
+     *
+     * @param key the key of the breaker, e.g. a host
+     * @return a listener for the given key, this listener by default, or {@code null} to not listen to that breaker
+     */
+    default CircuitBreakerListener forKey(final String key) {
+        return this;
+    }
+
 }
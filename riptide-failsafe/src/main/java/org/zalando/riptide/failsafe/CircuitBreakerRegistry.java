@@ -0,0 +1,151 @@
+package org.zalando.riptide.failsafe;
+
+import net.jodah.failsafe.CircuitBreaker;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+
+import javax.annotation.Nullable;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Circuit breakers that are created lazily, one per key, instead of one per client. By default requests are keyed by
+ * the host and port of their request URI, i.e. a failing host opens its own circuit without affecting any other host
+ * that is called by the same client:
+ *
+ * <pre>{@code
+ * new FailsafePlugin(ImmutableList.of(retryPolicy), scheduler)
+ *     .withCircuitBreakers(new CircuitBreakerRegistry(() -> new CircuitBreaker<ClientHttpResponse>()
+ *             .withFailureThreshold(3, 10)
+ *             .withDelay(Duration.ofMinutes(1)))
+ *         .withListener(new MetricsCircuitBreakerListener(meterRegistry)));
+ * }</pre>
+ *
+ * Breakers that are closed and weren't used for the {@link #withIdleTimeout(Duration) idle timeout} are evicted.
+ * Breakers that are open or half-open are kept, since they still reject requests.
+ */
+@API(status = EXPERIMENTAL)
+public final class CircuitBreakerRegistry {
+
+    private final Supplier<CircuitBreaker<ClientHttpResponse>> factory;
+    private final Function<RequestArguments, String> keyFunction;
+    private final CircuitBreakerListener listener;
+    private final Duration idleTimeout;
+    private final Clock clock;
+
+    private final ConcurrentMap<String, Entry> breakers = new ConcurrentHashMap<>();
+    private final AtomicLong lastEviction;
+
+    public CircuitBreakerRegistry(final Supplier<CircuitBreaker<ClientHttpResponse>> factory) {
+        this(factory, CircuitBreakerRegistry::host, CircuitBreakerListener.DEFAULT, Duration.ofMinutes(10),
+                Clock.systemUTC());
+    }
+
+    private CircuitBreakerRegistry(final Supplier<CircuitBreaker<ClientHttpResponse>> factory,
+            final Function<RequestArguments, String> keyFunction, final CircuitBreakerListener listener,
+            final Duration idleTimeout, final Clock clock) {
+        this.factory = factory;
+        this.keyFunction = keyFunction;
+        this.listener = listener;
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+        this.lastEviction = new AtomicLong(clock.millis());
+    }
+
+    public CircuitBreakerRegistry withKeyFunction(final Function<RequestArguments, String> keyFunction) {
+        return new CircuitBreakerRegistry(factory, keyFunction, listener, idleTimeout, clock);
+    }
+
+    /**
+     * @param listener the listener of all breakers, {@link CircuitBreakerListener#forKey(String) specialized} per key
+     * @return a copy of this registry that notifies the given listener
+     */
+    public CircuitBreakerRegistry withListener(final CircuitBreakerListener listener) {
+        return new CircuitBreakerRegistry(factory, keyFunction, listener, idleTimeout, clock);
+    }
+
+    public CircuitBreakerRegistry withIdleTimeout(final Duration idleTimeout) {
+        checkArgument(!idleTimeout.isNegative() && !idleTimeout.isZero(), "Idle timeout must be positive");
+        return new CircuitBreakerRegistry(factory, keyFunction, listener, idleTimeout, clock);
+    }
+
+    @API(status = INTERNAL)
+    CircuitBreakerRegistry withClock(final Clock clock) {
+        return new CircuitBreakerRegistry(factory, keyFunction, listener, idleTimeout, clock);
+    }
+
+    CircuitBreaker<ClientHttpResponse> get(final RequestArguments arguments) {
+        final long now = clock.millis();
+        evictIdle(now);
+
+        final Entry entry = breakers.computeIfAbsent(keyFunction.apply(arguments), this::create);
+        entry.lastAccess = now;
+        return entry.breaker;
+    }
+
+    int size() {
+        return breakers.size();
+    }
+
+    private Entry create(final String key) {
+        final CircuitBreaker<ClientHttpResponse> breaker = factory.get();
+
+        if (listener != CircuitBreakerListener.DEFAULT) {
+            final CircuitBreakerListener keyed = keyed(key);
+            breaker
+                    .onOpen(keyed::onOpen)
+                    .onHalfOpen(keyed::onHalfOpen)
+                    .onClose(keyed::onClose);
+        }
+
+        return new Entry(breaker, clock.millis());
+    }
+
+    private CircuitBreakerListener keyed(final String key) {
+        @Nullable final CircuitBreakerListener keyed = listener.forKey(key);
+        return keyed == null ? CircuitBreakerListener.DEFAULT : keyed;
+    }
+
+    /**
+     * Sweeps at most once per idle timeout, on whichever thread gets there first.
+     */
+    private void evictIdle(final long now) {
+        final long timeout = idleTimeout.toMillis();
+        final long last = lastEviction.get();
+
+        if (now - last < timeout || !lastEviction.compareAndSet(last, now)) {
+            return;
+        }
+
+        breakers.values().removeIf(entry ->
+                now - entry.lastAccess >= timeout && entry.breaker.isClosed());
+    }
+
+    private static String host(final RequestArguments arguments) {
+        @Nullable final String authority = arguments.getRequestUri().getAuthority();
+        return authority == null ? "" : authority;
+    }
+
+    private static final class Entry {
+
+        private final CircuitBreaker<ClientHttpResponse> breaker;
+        private volatile long lastAccess;
+
+        private Entry(final CircuitBreaker<ClientHttpResponse> breaker, final long lastAccess) {
+            this.breaker = breaker;
+            this.lastAccess = lastAccess;
+        }
+
+    }
+
+}
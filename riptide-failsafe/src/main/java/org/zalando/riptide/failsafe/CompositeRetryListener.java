@@ -5,6 +5,7 @@ import org.apiguardian.api.API;
 import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.riptide.RequestArguments;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.Collection;
 
@@ -31,4 +32,12 @@ public final class CompositeRetryListener implements RetryListener {
             listener.onRetry(arguments, event));
     }
 
+    @Override
+    public void onRetrySuppressed(final RequestArguments arguments, @Nullable final ClientHttpResponse response,
+            @Nullable final Throwable failure) {
+
+        listeners.forEach(listener ->
+            listener.onRetrySuppressed(arguments, response, failure));
+    }
+
 }
@@ -15,6 +15,7 @@ import org.zalando.riptide.RequestArguments;
 import org.zalando.riptide.RequestExecution;
 import org.zalando.riptide.idempotency.IdempotencyPredicate;
 
+import javax.annotation.Nullable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Predicate;
@@ -22,6 +23,7 @@ import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
 import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 import static org.zalando.riptide.CancelableCompletableFuture.forwardTo;
 import static org.zalando.riptide.CancelableCompletableFuture.preserveCancelability;
@@ -35,21 +37,72 @@ public final class FailsafePlugin implements Plugin {
     private final Predicate<RequestArguments> predicate;
     private final RetryListener listener;
 
+    @Nullable
+    private final CircuitBreakerRegistry circuitBreakers;
+
+    @Nullable
+    private final RetryBudget budget;
+
     public FailsafePlugin(final ImmutableList<? extends Policy<ClientHttpResponse>> policies,
             final ScheduledExecutorService scheduler) {
-        this(policies, scheduler, new IdempotencyPredicate(), RetryListener.DEFAULT);
+        this(policies, scheduler, new IdempotencyPredicate(), RetryListener.DEFAULT, null, null);
     }
 
     public FailsafePlugin withPredicate(final Predicate<RequestArguments> predicate) {
-        return new FailsafePlugin(policies, scheduler, predicate, listener);
+        return new FailsafePlugin(policies, scheduler, predicate, listener, circuitBreakers, budget);
     }
 
     public FailsafePlugin withListener(final RetryListener listener) {
-        return new FailsafePlugin(policies, scheduler, predicate, listener);
+        return new FailsafePlugin(policies, scheduler, predicate, listener, circuitBreakers, budget);
+    }
+
+    /**
+     * Applies the circuit breaker of the given registry that belongs to each request, after all other policies.
+     *
+     * @param circuitBreakers the registry of keyed circuit breakers
+     * @return a copy of this plugin that uses the given circuit breakers
+     */
+    @API(status = EXPERIMENTAL)
+    public FailsafePlugin withCircuitBreakers(final CircuitBreakerRegistry circuitBreakers) {
+        return new FailsafePlugin(policies, scheduler, predicate, listener, circuitBreakers, budget);
+    }
+
+    /**
+     * Limits the retries of all requests to the given budget. Retries that exceed it are suppressed and reported to the
+     * {@link #withListener(RetryListener) listener}.
+     *
+     * @param budget the retry budget, usually one per client
+     * @return a copy of this plugin that spends the given budget
+     */
+    @API(status = EXPERIMENTAL)
+    public FailsafePlugin withRetryBudget(final RetryBudget budget) {
+        return new FailsafePlugin(policies, scheduler, predicate, listener, circuitBreakers, budget);
     }
 
     @Override
     public RequestExecution aroundDispatch(final RequestExecution execution) {
+        if (budget == null) {
+            return dispatch(execution);
+        }
+
+        final RequestExecution dispatch = dispatch(execution);
+
+        return arguments -> {
+            final CompletableFuture<ClientHttpResponse> original = dispatch.execute(arguments);
+            final CompletableFuture<ClientHttpResponse> cancelable = preserveCancelability(original);
+
+            original.whenComplete((response, failure) -> {
+                if (failure == null) {
+                    budget.recordSuccess();
+                }
+                forwardTo(cancelable).accept(response, failure);
+            });
+
+            return cancelable;
+        };
+    }
+
+    private RequestExecution dispatch(final RequestExecution execution) {
         return arguments -> {
             final Policy<ClientHttpResponse>[] policies = select(arguments);
 
@@ -57,7 +110,7 @@ public final class FailsafePlugin implements Plugin {
                 return execution.execute(arguments);
             }
 
-            final CompletableFuture<ClientHttpResponse> original = Failsafe.with(select(arguments))
+            final CompletableFuture<ClientHttpResponse> original = Failsafe.with(policies)
                     .with(scheduler)
                     .getStageAsync(() -> execution.execute(arguments));
 
@@ -69,9 +122,11 @@ public final class FailsafePlugin implements Plugin {
 
 
     private Policy<ClientHttpResponse>[] select(final RequestArguments arguments) {
-        final Stream<Policy<ClientHttpResponse>> stream = policies.stream()
-                .filter(skipRetriesIfNeeded(arguments))
-                .map(withRetryListener(arguments));
+        final Stream<Policy<ClientHttpResponse>> stream = Stream.concat(
+                policies.stream()
+                        .filter(skipRetriesIfNeeded(arguments))
+                        .map(withRetryListener(arguments)),
+                circuitBreaker(arguments));
 
         @SuppressWarnings("unchecked")
         final Policy<ClientHttpResponse>[] policies = stream.toArray(Policy[]::new);
@@ -79,6 +134,14 @@ public final class FailsafePlugin implements Plugin {
         return policies;
     }
 
+    private Stream<Policy<ClientHttpResponse>> circuitBreaker(final RequestArguments arguments) {
+        if (circuitBreakers == null) {
+            return Stream.empty();
+        }
+
+        return Stream.of(circuitBreakers.get(arguments));
+    }
+
     // TODO depends on the exception, e.g. pre-request exceptions are fine!
     private Predicate<Policy<ClientHttpResponse>> skipRetriesIfNeeded(final RequestArguments arguments) {
         return predicate.test(arguments) ?
@@ -89,9 +152,18 @@ public final class FailsafePlugin implements Plugin {
     private UnaryOperator<Policy<ClientHttpResponse>> withRetryListener(final RequestArguments arguments) {
         return policy -> {
             if (policy instanceof RetryPolicy) {
-                final RetryPolicy<ClientHttpResponse> retryPolicy = (RetryPolicy<ClientHttpResponse>) policy;
-                return retryPolicy.copy()
-                        .onRetry(new RetryListenerAdapter(listener, arguments));
+                final RetryPolicy<ClientHttpResponse> retryPolicy = ((RetryPolicy<ClientHttpResponse>) policy).copy();
+
+                if (budget == null) {
+                    return retryPolicy.onRetry(new RetryListenerAdapter(listener, arguments));
+                }
+
+                final RetryBudgetAdapter adapter = new RetryBudgetAdapter(
+                        budget, listener, arguments, retryPolicy);
+
+                return retryPolicy
+                        .abortIf(adapter::isExhausted)
+                        .onRetry(adapter);
             } else {
                 return policy;
             }
@@ -7,6 +7,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.riptide.RequestArguments;
 
+import javax.annotation.Nullable;
+
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
 @API(status = EXPERIMENTAL)
@@ -31,4 +33,13 @@ public final class LoggingRetryListener implements RetryListener {
         }
     }
 
+    @Override
+    public void onRetrySuppressed(final RequestArguments arguments, @Nullable final ClientHttpResponse response,
+            @Nullable final Throwable failure) {
+
+        if (failure != null) {
+            logger.warn("Not retrying failure, retry budget exhausted", failure);
+        }
+    }
+
 }
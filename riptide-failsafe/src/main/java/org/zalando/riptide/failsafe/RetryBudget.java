@@ -0,0 +1,145 @@
+package org.zalando.riptide.failsafe;
+
+import org.apiguardian.api.API;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Caps the retries of a client at a ratio of its successful requests within a sliding window, e.g. 10%, plus a small
+ * number of retries that are always allowed, so that clients with little traffic can still retry. During an outage of
+ * a backend, the number of successful requests drops and so does the number of retries, instead of multiplying the
+ * load on the backend by the number of attempts per request.
+ *
+ * <pre>{@code
+ * new FailsafePlugin(ImmutableList.of(retryPolicy), scheduler)
+ *     .withRetryBudget(new RetryBudget()
+ *         .withRatio(0.1)
+ *         .withMinRetries(10)
+ *         .withWindow(Duration.ofSeconds(10)));
+ * }</pre>
+ *
+ * The window is divided into buckets of lock-free, striped counters. Counts are approximate: retries that are allowed
+ * concurrently may briefly exceed the budget and a bucket that is being recycled may lose a few counts.
+ */
+@API(status = EXPERIMENTAL)
+public final class RetryBudget {
+
+    private static final int BUCKETS = 10;
+
+    private final double ratio;
+    private final int minRetries;
+    private final Duration window;
+    private final Clock clock;
+
+    private final long resolution;
+    private final Bucket[] buckets = new Bucket[BUCKETS];
+
+    public RetryBudget() {
+        this(0.1, 10, Duration.ofSeconds(10), Clock.systemUTC());
+    }
+
+    private RetryBudget(final double ratio, final int minRetries, final Duration window, final Clock clock) {
+        this.ratio = ratio;
+        this.minRetries = minRetries;
+        this.window = window;
+        this.clock = clock;
+        this.resolution = Math.max(1, window.toMillis() / BUCKETS);
+
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * @param ratio the maximum number of retries, relative to the number of successful requests within the window
+     * @return a copy of this budget with the given ratio
+     */
+    public RetryBudget withRatio(final double ratio) {
+        checkArgument(ratio >= 0, "Ratio must not be negative");
+        return new RetryBudget(ratio, minRetries, window, clock);
+    }
+
+    /**
+     * @param minRetries the number of retries within the window that are allowed regardless of the ratio
+     * @return a copy of this budget with the given minimum
+     */
+    public RetryBudget withMinRetries(final int minRetries) {
+        checkArgument(minRetries >= 0, "Minimum retries must not be negative");
+        return new RetryBudget(ratio, minRetries, window, clock);
+    }
+
+    public RetryBudget withWindow(final Duration window) {
+        checkArgument(window.toMillis() >= BUCKETS, "Window must be at least %s milliseconds", BUCKETS);
+        return new RetryBudget(ratio, minRetries, window, clock);
+    }
+
+    @API(status = INTERNAL)
+    RetryBudget withClock(final Clock clock) {
+        return new RetryBudget(ratio, minRetries, window, clock);
+    }
+
+    /**
+     * @return whether another retry fits into the budget, without actually spending it
+     */
+    public boolean canRetry() {
+        return getAvailable() > 0;
+    }
+
+    /**
+     * @return the number of retries that are left within the current window
+     */
+    public long getAvailable() {
+        final long now = epoch();
+        long successes = 0;
+        long retries = 0;
+
+        for (final Bucket bucket : buckets) {
+            if (now - bucket.epoch.get() < BUCKETS) {
+                successes += bucket.successes.sum();
+                retries += bucket.retries.sum();
+            }
+        }
+
+        final long limit = Math.max(minRetries, (long) (successes * ratio));
+        return Math.max(0, limit - retries);
+    }
+
+    public void recordSuccess() {
+        current().successes.increment();
+    }
+
+    public void recordRetry() {
+        current().retries.increment();
+    }
+
+    private Bucket current() {
+        final long epoch = epoch();
+        final Bucket bucket = buckets[(int) (epoch % BUCKETS)];
+        final long previous = bucket.epoch.get();
+
+        if (previous != epoch && bucket.epoch.compareAndSet(previous, epoch)) {
+            bucket.successes.reset();
+            bucket.retries.reset();
+        }
+
+        return bucket;
+    }
+
+    private long epoch() {
+        return clock.millis() / resolution;
+    }
+
+    private static final class Bucket {
+        private final AtomicLong epoch = new AtomicLong(-BUCKETS);
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+    }
+
+}
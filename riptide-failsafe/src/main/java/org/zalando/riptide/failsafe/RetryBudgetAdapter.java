@@ -0,0 +1,63 @@
+package org.zalando.riptide.failsafe;
+
+import net.jodah.failsafe.RetryPolicy;
+import net.jodah.failsafe.event.ExecutionAttemptedEvent;
+import net.jodah.failsafe.function.CheckedConsumer;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spends the {@link RetryBudget budget} of a single request: a retry policy of a request aborts if the budget is
+ * exhausted and every retry that actually happens is recorded.
+ */
+final class RetryBudgetAdapter implements CheckedConsumer<ExecutionAttemptedEvent<ClientHttpResponse>> {
+
+    private final RetryBudget budget;
+    private final RetryListener listener;
+    private final RequestArguments arguments;
+    private final RetryPolicy<ClientHttpResponse> policy;
+
+    private final AtomicInteger retries = new AtomicInteger();
+
+    RetryBudgetAdapter(final RetryBudget budget, final RetryListener listener, final RequestArguments arguments,
+            final RetryPolicy<ClientHttpResponse> policy) {
+        this.budget = budget;
+        this.listener = listener;
+        this.arguments = arguments;
+        this.policy = policy;
+    }
+
+    /**
+     * Failsafe asks for every failed attempt, including the last one, which wouldn't be retried anyway. Those are
+     * neither suppressed nor reported.
+     */
+    boolean isExhausted(@Nullable final ClientHttpResponse response, @Nullable final Throwable failure) {
+        if (!policy.isFailure(response, failure)) {
+            return false;
+        }
+
+        final int maxRetries = policy.getMaxRetries();
+
+        if (maxRetries != -1 && retries.get() >= maxRetries) {
+            return false;
+        }
+
+        if (budget.canRetry()) {
+            return false;
+        }
+
+        listener.onRetrySuppressed(arguments, response, failure);
+        return true;
+    }
+
+    @Override
+    public void accept(final ExecutionAttemptedEvent<ClientHttpResponse> event) {
+        retries.incrementAndGet();
+        budget.recordRetry();
+        listener.onRetry(arguments, event);
+    }
+
+}
@@ -5,6 +5,8 @@ import org.apiguardian.api.API;
 import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.riptide.RequestArguments;
 
+import javax.annotation.Nullable;
+
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
 @API(status = EXPERIMENTAL)
@@ -19,4 +21,17 @@ public interface RetryListener {
         // nothing to do
     }
 
+    /**
+     * Called instead of {@link #onRetry(RequestArguments, ExecutionAttemptedEvent) onRetry} if a retry was suppressed,
+     * because the {@link RetryBudget retry budget} is exhausted. The failed attempt will be the final one.
+     *
+     * @param arguments the arguments of the request
+     * @param response the response of the failed attempt, if any
+     * @param failure the failure of the failed attempt, if any
+     */
+    default void onRetrySuppressed(final RequestArguments arguments, @Nullable final ClientHttpResponse response,
+            @Nullable final Throwable failure) {
+        // nothing to do
+    }
+
 }
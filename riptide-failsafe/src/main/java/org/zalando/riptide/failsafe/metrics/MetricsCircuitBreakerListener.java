@@ -54,6 +54,16 @@ public final class MetricsCircuitBreakerListener implements CircuitBreakerListen
         return new MetricsCircuitBreakerListener(registry, metricName, ImmutableList.copyOf(defaultTags));
     }
 
+    /**
+     * @param key the key of the breaker
+     * @return a listener that tracks the breaker of the given key separately and tags its metrics with {@code key}
+     */
+    @Override
+    public MetricsCircuitBreakerListener forKey(final String key) {
+        return new MetricsCircuitBreakerListener(registry, metricName,
+                ImmutableList.copyOf(concat(defaultTags, singleton(Tag.of("key", key)))));
+    }
+
     @Override
     public void onOpen() {
         on(OPEN);
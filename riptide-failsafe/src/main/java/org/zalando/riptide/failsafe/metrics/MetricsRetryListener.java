@@ -58,6 +58,17 @@ public final class MetricsRetryListener implements RetryListener {
         registry.timer(metricName, tags).record(Duration.ofNanos(event.getElapsedTime().toNanos()));
     }
 
+    /**
+     * Counts suppressed retries as {@code <metricName>.suppressed}, tagged like the retries themselves, but without
+     * {@code retries}.
+     */
+    @Override
+    public void onRetrySuppressed(final RequestArguments arguments, @Nullable final ClientHttpResponse response,
+            @Nullable final Throwable failure) {
+
+        registry.counter(metricName + ".suppressed", tags(arguments, response, failure)).increment();
+    }
+
     private Iterable<Tag> tags(final RequestArguments arguments,
             final ExecutionAttemptedEvent<ClientHttpResponse> event) {
         return concat(tags(arguments, event.getLastResult(), event.getLastFailure()), tags(event));
@@ -0,0 +1,120 @@
+package org.zalando.riptide.failsafe;
+
+import net.jodah.failsafe.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+final class CircuitBreakerRegistryTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final Clock clock = mock(Clock.class);
+
+    private final CircuitBreakerListener listener = mock(CircuitBreakerListener.class);
+    private final CircuitBreakerListener keyed = mock(CircuitBreakerListener.class);
+
+    private CircuitBreakerRegistry unit;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        when(listener.forKey("example.com")).thenReturn(keyed);
+
+        unit = new CircuitBreakerRegistry(CircuitBreaker::new)
+                .withClock(clock)
+                .withIdleTimeout(Duration.ofMinutes(1))
+                .withListener(listener);
+    }
+
+    @Test
+    void shouldReuseBreakerOfSameHost() {
+        final CircuitBreaker<ClientHttpResponse> breaker = unit.get(request("https://example.com/foo"));
+
+        assertThat(unit.get(request("https://example.com/bar")), is(sameInstance(breaker)));
+        assertThat(unit.size(), is(1));
+    }
+
+    @Test
+    void shouldCreateBreakerPerHost() {
+        final CircuitBreaker<ClientHttpResponse> breaker = unit.get(request("https://example.com/"));
+
+        assertThat(unit.get(request("https://example.org/")), is(not(sameInstance(breaker))));
+        assertThat(unit.get(request("https://example.com:8443/")), is(not(sameInstance(breaker))));
+        assertThat(unit.size(), is(3));
+    }
+
+    @Test
+    void shouldSupportCustomKeyFunction() {
+        final CircuitBreakerRegistry unit = this.unit
+                .withKeyFunction(arguments -> arguments.getRequestUri().getPath());
+
+        final CircuitBreaker<ClientHttpResponse> breaker = unit.get(request("https://example.com/foo"));
+
+        assertThat(unit.get(request("https://example.org/foo")), is(sameInstance(breaker)));
+        assertThat(unit.get(request("https://example.com/bar")), is(not(sameInstance(breaker))));
+    }
+
+    @Test
+    void shouldNotifyListenerOfKey() {
+        final CircuitBreaker<ClientHttpResponse> breaker = unit.get(request("https://example.com/"));
+
+        breaker.open();
+        breaker.halfOpen();
+        breaker.close();
+
+        verify(keyed).onOpen();
+        verify(keyed).onHalfOpen();
+        verify(keyed).onClose();
+        verifyNoMoreInteractions(keyed);
+    }
+
+    @Test
+    void shouldEvictIdleBreakers() {
+        final CircuitBreaker<ClientHttpResponse> breaker = unit.get(request("https://example.com/"));
+        unit.get(request("https://example.org/"));
+
+        now.addAndGet(Duration.ofSeconds(30).toMillis());
+        unit.get(request("https://example.org/"));
+
+        now.addAndGet(Duration.ofSeconds(45).toMillis());
+
+        assertThat(unit.get(request("https://example.com/")), is(not(sameInstance(breaker))));
+        assertThat(unit.size(), is(2));
+    }
+
+    @Test
+    void shouldNotEvictOpenBreakers() {
+        final CircuitBreaker<ClientHttpResponse> breaker = unit.get(request("https://example.com/"));
+        breaker.open();
+
+        now.addAndGet(Duration.ofMinutes(2).toMillis());
+
+        assertThat(unit.get(request("https://example.com/")), is(sameInstance(breaker)));
+    }
+
+    @Test
+    void shouldRejectNonPositiveIdleTimeout() {
+        assertThrows(IllegalArgumentException.class, () -> unit.withIdleTimeout(Duration.ZERO));
+    }
+
+    private static RequestArguments request(final String uri) {
+        return RequestArguments.create().withUri(URI.create(uri));
+    }
+
+}
@@ -20,6 +20,7 @@ import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
 
 import java.io.IOException;
 import java.net.SocketTimeoutException;
+import java.net.URI;
 import java.time.Duration;
 import java.util.concurrent.CompletionException;
 
@@ -91,6 +92,33 @@ final class FailsafePluginCircuitBreakerTest {
         assertThat(exception.getCause(), is(instanceOf(CircuitBreakerOpenException.class)));
     }
 
+    @Test
+    void shouldOpenCircuitPerHost() {
+        final Http unit = Http.builder()
+                .executor(newSingleThreadExecutor())
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .plugin(new FailsafePlugin(ImmutableList.of(), newSingleThreadScheduledExecutor())
+                        .withCircuitBreakers(new CircuitBreakerRegistry(() -> new CircuitBreaker<ClientHttpResponse>()
+                                .withDelay(Duration.ofSeconds(1)))))
+                .build();
+
+        final int port = URI.create(driver.getBaseUrl()).getPort();
+
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse().after(800, MILLISECONDS));
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        unit.get("http://localhost:{port}/foo", port).call(pass())
+                .exceptionally(partially(SocketTimeoutException.class, this::ignore))
+                .join();
+
+        final CompletionException exception = assertThrows(CompletionException.class,
+                unit.get("http://localhost:{port}/foo", port).call(pass())::join);
+
+        assertThat(exception.getCause(), is(instanceOf(CircuitBreakerOpenException.class)));
+
+        unit.get("http://127.0.0.1:{port}/foo", port).call(pass()).join();
+    }
+
     private ClientHttpResponse ignore(@SuppressWarnings("unused") final Throwable throwable) {
         return null;
     }
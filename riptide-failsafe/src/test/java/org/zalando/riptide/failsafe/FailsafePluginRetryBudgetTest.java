@@ -0,0 +1,133 @@
+package org.zalando.riptide.failsafe;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import com.google.common.collect.ImmutableList;
+import net.jodah.failsafe.RetryPolicy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.zalando.riptide.Bindings.anySeries;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.Navigators.status;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.failsafe.RetryRoute.retry;
+
+final class FailsafePluginRetryBudgetTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create().build();
+
+    private final RetryListener listener = mock(RetryListener.class);
+
+    private final RetryBudget budget = new RetryBudget()
+            .withRatio(0)
+            .withMinRetries(1)
+            .withWindow(Duration.ofMinutes(1));
+
+    private final Http unit = Http.builder()
+            .executor(newCachedThreadPool())
+            .requestFactory(new ApacheClientHttpRequestFactory(client))
+            .baseUrl(driver.getBaseUrl())
+            .plugin(new FailsafePlugin(
+                    ImmutableList.of(new RetryPolicy<ClientHttpResponse>()
+                            .withDelay(Duration.ofMillis(10))
+                            .withMaxRetries(4)
+                            .handle(RetryException.class)),
+                    newSingleThreadScheduledExecutor())
+                    .withListener(listener)
+                    .withRetryBudget(budget))
+            .build();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+    }
+
+    @Test
+    void shouldRetryWithinBudget() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse().withStatus(503));
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        call().join();
+
+        verify(listener).onRetry(any(), any());
+        verify(listener, never()).onRetrySuppressed(any(), any(), any());
+        assertThat(budget.getAvailable(), is(0L));
+    }
+
+    @Test
+    void shouldSuppressRetriesIfBudgetIsExhausted() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse().withStatus(503));
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse().withStatus(503));
+
+        call().join();
+
+        final CompletionException exception = assertThrows(CompletionException.class, call()::join);
+
+        assertThat(exception.getCause(), is(instanceOf(RetryException.class)));
+        verify(listener).onRetrySuppressed(any(), isNull(), isA(RetryException.class));
+    }
+
+    @Test
+    void shouldRefillBudgetWithSuccessfulRequests() {
+        final RetryBudget budget = new RetryBudget()
+                .withRatio(0.5)
+                .withMinRetries(0);
+
+        final Http unit = Http.builder()
+                .executor(newCachedThreadPool())
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(driver.getBaseUrl())
+                .plugin(new FailsafePlugin(ImmutableList.of(), newSingleThreadScheduledExecutor())
+                        .withRetryBudget(budget))
+                .build();
+
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        unit.get("/foo").call(pass()).join();
+        assertThat(budget.getAvailable(), is(0L));
+
+        unit.get("/foo").call(pass()).join();
+        assertThat(budget.getAvailable(), is(1L));
+    }
+
+    private CompletableFuture<ClientHttpResponse> call() {
+        return unit.get("/foo")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()),
+                        anySeries().dispatch(status(),
+                                on(SERVICE_UNAVAILABLE).call(retry())));
+    }
+
+}
@@ -63,6 +63,15 @@ final class LoggingRetryListenerTest {
         verifyNoMoreInteractions(logger);
     }
 
+    @Test
+    void shouldLogSuppressedFailure() {
+        final IllegalStateException exception = new IllegalStateException();
+
+        unit.onRetrySuppressed(RequestArguments.create(), null, exception);
+
+        verify(logger).warn(any(), eq(exception));
+    }
+
     @Hack("We're not really testing anything here, since we don't want to clutter the logs.")
     @Test
     void shouldUseDefaultLogger() {
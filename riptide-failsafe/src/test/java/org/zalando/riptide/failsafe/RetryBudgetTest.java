@@ -0,0 +1,93 @@
+package org.zalando.riptide.failsafe;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.stream.IntStream.range;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+final class RetryBudgetTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final Clock clock = mock(Clock.class);
+
+    private RetryBudget unit;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+
+        unit = new RetryBudget()
+                .withClock(clock)
+                .withRatio(0.1)
+                .withMinRetries(2)
+                .withWindow(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void shouldAllowMinimumRetriesWithoutSuccesses() {
+        assertThat(unit.getAvailable(), is(2L));
+
+        unit.recordRetry();
+        unit.recordRetry();
+
+        assertThat(unit.canRetry(), is(false));
+    }
+
+    @Test
+    void shouldAllowRatioOfSuccesses() {
+        range(0, 50).forEach(i -> unit.recordSuccess());
+        assertThat(unit.getAvailable(), is(5L));
+
+        range(0, 5).forEach(i -> unit.recordRetry());
+        assertThat(unit.canRetry(), is(false));
+    }
+
+    @Test
+    void shouldForgetCountsOutsideOfWindow() {
+        range(0, 50).forEach(i -> unit.recordSuccess());
+        range(0, 5).forEach(i -> unit.recordRetry());
+
+        now.addAndGet(Duration.ofSeconds(5).toMillis());
+        range(0, 30).forEach(i -> unit.recordSuccess());
+
+        assertThat(unit.getAvailable(), is(3L));
+
+        now.addAndGet(Duration.ofSeconds(6).toMillis());
+
+        assertThat(unit.getAvailable(), is(3L));
+
+        now.addAndGet(Duration.ofSeconds(5).toMillis());
+
+        assertThat(unit.getAvailable(), is(2L));
+    }
+
+    @Test
+    void shouldRecycleBuckets() {
+        range(0, 5).forEach(i -> unit.recordRetry());
+
+        now.addAndGet(Duration.ofSeconds(10).toMillis());
+        unit.recordRetry();
+
+        assertThat(unit.getAvailable(), is(1L));
+    }
+
+    @Test
+    void shouldRejectNegativeRatio() {
+        assertThrows(IllegalArgumentException.class, () -> unit.withRatio(-1));
+    }
+
+    @Test
+    void shouldRejectTooSmallWindow() {
+        assertThrows(IllegalArgumentException.class, () -> unit.withWindow(Duration.ofMillis(5)));
+    }
+
+}
@@ -65,6 +65,22 @@ final class MetricsCircuitBreakerListenerTest {
         assertEquals(2, open.count());
     }
 
+    @Test
+    void shouldRecordPerKey() {
+        final CircuitBreakerListener foo = unit.forKey("foo");
+        final CircuitBreakerListener bar = unit.forKey("bar");
+
+        foo.onOpen();
+        bar.onOpen();
+        foo.onClose();
+
+        final Timer timer = getOnlyElement(timers());
+
+        assertEquals("OPEN", timer.getId().getTag("state"));
+        assertEquals("foo", timer.getId().getTag("key"));
+        assertEquals("true", timer.getId().getTag("test"));
+    }
+
     private List<Timer> timers() {
         return registry.find("circuit-breakers").timers().stream()
                 .sorted(comparing(this::tags, from(comparing(Tag::getKey)
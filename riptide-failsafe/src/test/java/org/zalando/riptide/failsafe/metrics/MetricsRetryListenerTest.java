@@ -1,5 +1,6 @@
 package org.zalando.riptide.failsafe.metrics;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -60,6 +61,22 @@ final class MetricsRetryListenerTest {
         assertEquals("true", second.getId().getTag("test"));
     }
 
+    @Test
+    void shouldCountSuppressedRetries() {
+        final RequestArguments arguments = RequestArguments.create()
+                .withMethod(HttpMethod.GET)
+                .withUri(URI.create("https://www.example.org/"));
+
+        unit.onRetrySuppressed(arguments, null, new IllegalStateException());
+        unit.onRetrySuppressed(arguments, null, new IllegalStateException());
+
+        final Counter counter = registry.get("retries.suppressed").counter();
+
+        assertEquals(2.0, counter.count());
+        assertEquals("true", counter.getId().getTag("test"));
+        assertEquals("IllegalStateException", counter.getId().getTag("exception"));
+    }
+
     private List<Timer> timers() {
         return registry.find("retries").timers().stream()
                 .sorted(comparing(this::tags, from(comparing(Tag::getKey)
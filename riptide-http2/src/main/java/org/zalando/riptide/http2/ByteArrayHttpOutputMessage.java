@@ -0,0 +1,45 @@
+package org.zalando.riptide.http2;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.StreamingHttpOutputMessage;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.util.List;
+import java.util.Map;
+
+final class ByteArrayHttpOutputMessage implements StreamingHttpOutputMessage {
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+    @Nullable
+    private Body streaming;
+
+    ByteArrayHttpOutputMessage(final Map<String, List<String>> headers) {
+        headers.forEach(this.headers::addAll);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void setBody(final Body body) {
+        this.streaming = body;
+    }
+
+    BodyPublisher toPublisher() throws IOException {
+        return HttpRequests.publish(streaming, body);
+    }
+
+}
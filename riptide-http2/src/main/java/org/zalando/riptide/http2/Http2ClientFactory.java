@@ -0,0 +1,46 @@
+package org.zalando.riptide.http2;
+
+import org.apiguardian.api.API;
+import org.zalando.riptide.http2.metrics.Http2ConnectionMetrics;
+
+import javax.net.ssl.SSLContext;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Creates clients on behalf of the Spring Boot auto configuration, which is still compiled against Java 8 and can't
+ * use {@link HttpClient.Builder} itself.
+ */
+@API(status = INTERNAL)
+public final class Http2ClientFactory {
+
+    private Http2ClientFactory() {
+
+    }
+
+    public static HttpClient create(final Duration connectTimeout, final SSLContext context) {
+        return builder(connectTimeout, context).build();
+    }
+
+    // a separate method, since riptide-metrics is optional
+    public static HttpClient create(final Duration connectTimeout, final SSLContext context,
+            final Http2ConnectionMetrics metrics) {
+        return metrics.monitor(builder(connectTimeout, metrics.monitor(context)).build());
+    }
+
+    private static HttpClient.Builder builder(final Duration connectTimeout, final SSLContext context) {
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .sslContext(context);
+
+        // zero means no timeout, which the JDK doesn't accept
+        if (!connectTimeout.isZero()) {
+            builder.connectTimeout(connectTimeout);
+        }
+
+        return builder;
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.zalando.riptide.http2;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse.BodyHandlers;
+
+import static com.google.common.base.Preconditions.checkState;
+
+final class Http2ClientHttpRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+    @Nullable
+    private Body streaming;
+
+    private final HttpClient client;
+    private final URI uri;
+    private final HttpMethod method;
+
+    private boolean executed;
+
+    Http2ClientHttpRequest(final HttpClient client, final URI uri, final HttpMethod method) {
+        this.client = client;
+        this.uri = uri;
+        this.method = method;
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getMethodValue() {
+        return method.name();
+    }
+
+    @Override
+    public URI getURI() {
+        return uri;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return executed ? HttpHeaders.readOnlyHttpHeaders(headers) : headers;
+    }
+
+    @Override
+    public OutputStream getBody() {
+        checkState(!executed, "Request was already executed");
+        return body;
+    }
+
+    @Override
+    public void setBody(final Body body) {
+        checkState(!executed, "Request was already executed");
+        this.streaming = body;
+    }
+
+    @Override
+    public ClientHttpResponse execute() throws IOException {
+        checkState(!executed, "Request was already executed");
+        executed = true;
+
+        try {
+            return new Http2ClientHttpResponse(client.send(
+                    HttpRequests.create(uri, method.name(), headers, HttpRequests.publish(streaming, body)),
+                    BodyHandlers.ofInputStream()));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.zalando.riptide.http2;
+
+import org.apiguardian.api.API;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A blocking {@link ClientHttpRequestFactory} backed by the JDK's {@link HttpClient}, e.g. for a
+ * {@link org.springframework.web.client.RestTemplate}. Request bodies are buffered. Prefer
+ * {@link Http2RequestExecution} for {@link org.zalando.riptide.Http Riptide}, which doesn't block a thread per request.
+ */
+@API(status = EXPERIMENTAL)
+public final class Http2ClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final HttpClient client;
+
+    public Http2ClientHttpRequestFactory(final HttpClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(final URI uri, final HttpMethod method) {
+        return new Http2ClientHttpRequest(client, uri, method);
+    }
+
+}
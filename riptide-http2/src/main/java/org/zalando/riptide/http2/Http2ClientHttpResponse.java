@@ -0,0 +1,65 @@
+package org.zalando.riptide.http2;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+
+final class Http2ClientHttpResponse implements ClientHttpResponse {
+
+    private final HttpResponse<InputStream> response;
+    private final HttpHeaders headers = new HttpHeaders();
+
+    Http2ClientHttpResponse(final HttpResponse<InputStream> response) {
+        this.response = response;
+
+        response.headers().map().forEach((name, values) -> {
+            // HTTP/2 pseudo headers, e.g. :status, are not part of the message
+            if (!name.startsWith(":")) {
+                headers.addAll(name, values);
+            }
+        });
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return HttpStatus.valueOf(getRawStatusCode());
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return response.statusCode();
+    }
+
+    @Override
+    public String getStatusText() {
+        // neither HTTP/2 nor the JDK client have reason phrases
+        @Nullable final HttpStatus status = HttpStatus.resolve(getRawStatusCode());
+        return status == null ? "" : status.getReasonPhrase();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return response.body();
+    }
+
+    @Override
+    public void close() {
+        try {
+            response.body().close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
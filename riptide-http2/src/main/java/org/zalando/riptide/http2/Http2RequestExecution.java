@@ -0,0 +1,64 @@
+package org.zalando.riptide.http2;
+
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.zalando.riptide.CancelableCompletableFuture.forwardTo;
+import static org.zalando.riptide.CancelableCompletableFuture.preserveCancelability;
+
+/**
+ * A non-blocking network {@link RequestExecution execution} backed by the JDK's {@link HttpClient}. Requests to the
+ * same origin are multiplexed as concurrent streams over a single HTTP/2 connection, if the server supports it, and
+ * fall back to HTTP/1.1 otherwise. Responses are completed as soon as their headers arrive, i.e. the body is streamed.
+ *
+ * <pre>{@code
+ * HttpClient client = HttpClient.newBuilder()
+ *     .version(HttpClient.Version.HTTP_2)
+ *     .build();
+ *
+ * Http http = Http.builder()
+ *     .executor(executor)
+ *     .network(new Http2RequestExecution(client))
+ *     .build();
+ * }</pre>
+ *
+ * @see org.zalando.riptide.Http.RequestFactoryStage#network(RequestExecution)
+ * @see Http2ClientHttpRequestFactory
+ */
+@API(status = EXPERIMENTAL)
+public final class Http2RequestExecution implements RequestExecution {
+
+    private final HttpClient client;
+
+    public Http2RequestExecution(final HttpClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public CompletableFuture<ClientHttpResponse> execute(final RequestArguments arguments) throws IOException {
+        final ByteArrayHttpOutputMessage message = new ByteArrayHttpOutputMessage(arguments.getHeaders());
+        arguments.getEntity().writeTo(message);
+
+        final HttpRequest request = HttpRequests.create(arguments.getRequestUri(), arguments.getMethod().name(),
+                message.getHeaders(), message.toPublisher());
+
+        final CompletableFuture<HttpResponse<InputStream>> exchange =
+                client.sendAsync(request, BodyHandlers.ofInputStream());
+
+        final CompletableFuture<ClientHttpResponse> future = preserveCancelability(exchange);
+        exchange.<ClientHttpResponse>thenApply(Http2ClientHttpResponse::new).whenComplete(forwardTo(future));
+        return future;
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.zalando.riptide.http2;
+
+import com.google.common.collect.ImmutableSortedSet;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.StreamingHttpOutputMessage.Body;
+import org.zalando.riptide.TransferableBody;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.Map;
+
+final class HttpRequests {
+
+    /**
+     * Headers that {@link HttpRequest.Builder#header(String, String)} rejects, since the client manages them itself.
+     */
+    private static final ImmutableSortedSet<String> RESTRICTED = ImmutableSortedSet
+            .orderedBy(String.CASE_INSENSITIVE_ORDER)
+            .add("Connection", "Content-Length", "Date", "Expect", "From", "Host", "Upgrade", "Via", "Warning")
+            .build();
+
+    private HttpRequests() {
+
+    }
+
+    // same as HttpComponentsClientHttpRequest#addHeaders, except that restricted headers are skipped
+    static HttpRequest create(final URI uri, final String method, final HttpHeaders headers,
+            final BodyPublisher publisher) {
+
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .method(method, publisher);
+
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            final String name = header.getKey();
+
+            if (RESTRICTED.contains(name)) {
+                continue;
+            }
+
+            if (HttpHeaders.COOKIE.equalsIgnoreCase(name)) {
+                builder.header(name, String.join("; ", header.getValue()));
+            } else {
+                header.getValue().forEach(value -> builder.header(name, value));
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Streams {@link TransferableBody transferable} bodies, i.e. they are read chunk by chunk, as the client requests
+     * them, and never copied into a byte array. Other streaming bodies are written into the given buffer first.
+     *
+     * @param streaming the body that was set on the request, if any
+     * @param buffer the body that was written to the request, if any
+     * @return a publisher of the request body
+     * @throws IOException if a streaming body can't be written into the buffer
+     */
+    static BodyPublisher publish(@Nullable final Body streaming, final ByteArrayOutputStream buffer)
+            throws IOException {
+
+        if (streaming instanceof TransferableBody) {
+            return publish((TransferableBody) streaming);
+        }
+
+        if (streaming != null) {
+            streaming.writeTo(buffer);
+        }
+
+        final byte[] body = buffer.toByteArray();
+
+        return body.length == 0 ?
+                BodyPublishers.noBody() :
+                BodyPublishers.ofByteArray(body);
+    }
+
+    private static BodyPublisher publish(final TransferableBody body) throws IOException {
+        final long contentLength = body.getContentLength();
+
+        if (contentLength == 0) {
+            return BodyPublishers.noBody();
+        }
+
+        // opens a new channel per subscription, i.e. per attempt
+        final BodyPublisher publisher = BodyPublishers.ofInputStream(() -> open(body));
+
+        return contentLength < 0 ?
+                publisher :
+                BodyPublishers.fromPublisher(publisher, contentLength);
+    }
+
+    private static InputStream open(final TransferableBody body) {
+        try {
+            return Channels.newInputStream(body.open());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package org.zalando.riptide.http2.metrics;
+
+import javax.annotation.Nullable;
+import java.net.http.HttpClient.Version;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The state behind {@link Http2ConnectionMetrics}, shared by the monitored SSL context and the monitored client.
+ */
+final class ConnectionStatistics {
+
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder active = new LongAdder();
+    private final Map<Version, LongAdder> streams = new EnumMap<>(Version.class);
+
+    ConnectionStatistics() {
+        for (final Version version : Version.values()) {
+            streams.put(version, new LongAdder());
+        }
+    }
+
+    void opened() {
+        opened.increment();
+    }
+
+    void started() {
+        active.increment();
+    }
+
+    void finished(@Nullable final Version version) {
+        active.decrement();
+
+        if (version != null) {
+            streams.get(version).increment();
+        }
+    }
+
+    long getOpened() {
+        return opened.sum();
+    }
+
+    long getActive() {
+        return active.sum();
+    }
+
+    long getStreams(final Version version) {
+        return streams.get(version).sum();
+    }
+
+    /**
+     * Streams per opened connection, or {@code NaN} if no connection was opened yet.
+     */
+    double getStreamsPerConnection() {
+        final long connections = getOpened();
+
+        if (connections == 0) {
+            return Double.NaN;
+        }
+
+        final long total = streams.values().stream().mapToLong(LongAdder::sum).sum();
+        return (double) total / connections;
+    }
+
+}
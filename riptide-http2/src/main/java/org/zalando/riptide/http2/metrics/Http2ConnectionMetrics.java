@@ -0,0 +1,111 @@
+package org.zalando.riptide.http2.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apiguardian.api.API;
+
+import javax.net.ssl.SSLContext;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
+
+import static com.google.common.collect.Iterables.concat;
+import static java.util.Collections.singleton;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Connection metrics for the JDK's {@link HttpClient}, which neither exposes its connections nor its pool. Instead,
+ * TLS connections are counted as the {@link #monitor(SSLContext) SSL context} sets them up and exchanges, i.e. streams,
+ * are counted by the {@link #monitor(HttpClient) client}:
+ *
+ * <pre>{@code
+ * Http2ConnectionMetrics metrics = new Http2ConnectionMetrics();
+ * HttpClient client = metrics.monitor(HttpClient.newBuilder()
+ *     .sslContext(metrics.monitor(SSLContext.getDefault()))
+ *     .build());
+ * metrics.bindTo(meterRegistry);
+ * }</pre>
+ *
+ * It reports the number of {@code opened} connections and of {@code streams}, tagged with the negotiated
+ * {@code version}, as counters, as well as the {@code streams.active} exchanges, that didn't receive their response
+ * headers yet, and the {@code streams.per-connection} as gauges. The latter should be way above one for HTTP/2.
+ * Plaintext connections are not counted. Instances are meant to be bound to one registry.
+ */
+@API(status = EXPERIMENTAL)
+public final class Http2ConnectionMetrics implements MeterBinder {
+
+    private final ConnectionStatistics statistics;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public Http2ConnectionMetrics() {
+        this("http.client.connections", ImmutableList.of());
+    }
+
+    @API(status = INTERNAL)
+    Http2ConnectionMetrics(final String metricName, final ImmutableList<Tag> defaultTags) {
+        this(new ConnectionStatistics(), metricName, defaultTags);
+    }
+
+    private Http2ConnectionMetrics(final ConnectionStatistics statistics, final String metricName,
+            final ImmutableList<Tag> defaultTags) {
+        this.statistics = statistics;
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+    }
+
+    public Http2ConnectionMetrics withMetricName(final String metricName) {
+        return new Http2ConnectionMetrics(statistics, metricName, defaultTags);
+    }
+
+    public Http2ConnectionMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(ImmutableList.copyOf(defaultTags));
+    }
+
+    public Http2ConnectionMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new Http2ConnectionMetrics(statistics, metricName, ImmutableList.copyOf(defaultTags));
+    }
+
+    /**
+     * @param context an initialized SSL context
+     * @return an SSL context that counts connections, to be used by the client
+     */
+    public SSLContext monitor(final SSLContext context) {
+        return new MonitoredSSLContext(context, statistics::opened);
+    }
+
+    /**
+     * @param client a client, using a {@link #monitor(SSLContext) monitored SSL context}
+     * @return a client that counts streams
+     */
+    public HttpClient monitor(final HttpClient client) {
+        return new MonitoredHttpClient(client, statistics);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(metricName + ".opened", statistics, ConnectionStatistics::getOpened)
+                .tags(defaultTags)
+                .register(registry);
+
+        for (final Version version : Version.values()) {
+            FunctionCounter.builder(metricName + ".streams", statistics, s -> s.getStreams(version))
+                    .tags(concat(defaultTags, singleton(Tag.of("version", version.name()))))
+                    .register(registry);
+        }
+
+        Gauge.builder(metricName + ".streams.active", statistics, ConnectionStatistics::getActive)
+                .tags(defaultTags)
+                .register(registry);
+
+        Gauge.builder(metricName + ".streams.per-connection", statistics,
+                ConnectionStatistics::getStreamsPerConnection)
+                .tags(defaultTags)
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,125 @@
+package org.zalando.riptide.http2.metrics;
+
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.PushPromiseHandler;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.zalando.riptide.CancelableCompletableFuture.forwardTo;
+import static org.zalando.riptide.CancelableCompletableFuture.preserveCancelability;
+
+final class MonitoredHttpClient extends HttpClient {
+
+    private final HttpClient client;
+    private final ConnectionStatistics statistics;
+
+    MonitoredHttpClient(final HttpClient client, final ConnectionStatistics statistics) {
+        this.client = client;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request, final BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+
+        statistics.started();
+        @Nullable HttpResponse<T> response = null;
+
+        try {
+            response = client.send(request, handler);
+            return response;
+        } finally {
+            statistics.finished(response == null ? null : response.version());
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request,
+            final BodyHandler<T> handler) {
+        statistics.started();
+        return monitor(client.sendAsync(request, handler));
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request,
+            final BodyHandler<T> handler, final PushPromiseHandler<T> pushPromiseHandler) {
+        statistics.started();
+        return monitor(client.sendAsync(request, handler, pushPromiseHandler));
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> monitor(final CompletableFuture<HttpResponse<T>> exchange) {
+        // completes after the exchange was recorded and, unlike a dependent future, cancels the exchange
+        final CompletableFuture<HttpResponse<T>> future = preserveCancelability(exchange);
+
+        exchange.whenComplete((response, throwable) -> {
+            statistics.finished(response == null ? null : response.version());
+            forwardTo(future).accept(response, throwable);
+        });
+
+        return future;
+    }
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return client.cookieHandler();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return client.connectTimeout();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return client.followRedirects();
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return client.proxy();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return client.sslContext();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return client.sslParameters();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return client.authenticator();
+    }
+
+    @Override
+    public Version version() {
+        return client.version();
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return client.executor();
+    }
+
+    @Override
+    public WebSocket.Builder newWebSocketBuilder() {
+        return client.newWebSocketBuilder();
+    }
+
+}
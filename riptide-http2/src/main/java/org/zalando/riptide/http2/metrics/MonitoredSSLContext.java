@@ -0,0 +1,85 @@
+package org.zalando.riptide.http2.metrics;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLContextSpi;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocketFactory;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import java.security.KeyManagementException;
+import java.security.SecureRandom;
+
+/**
+ * An initialized {@link SSLContext} that reports every {@link SSLEngine engine} it creates. The JDK's client creates
+ * exactly one engine per TLS connection, which makes this a connection counter.
+ */
+final class MonitoredSSLContext extends SSLContext {
+
+    MonitoredSSLContext(final SSLContext context, final Runnable listener) {
+        super(new Spi(context, listener), context.getProvider(), context.getProtocol());
+    }
+
+    private static final class Spi extends SSLContextSpi {
+
+        private final SSLContext context;
+        private final Runnable listener;
+
+        private Spi(final SSLContext context, final Runnable listener) {
+            this.context = context;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void engineInit(final KeyManager[] keyManagers, final TrustManager[] trustManagers,
+                final SecureRandom random) throws KeyManagementException {
+            throw new KeyManagementException("Monitored SSL context is already initialized");
+        }
+
+        @Override
+        protected SSLSocketFactory engineGetSocketFactory() {
+            return context.getSocketFactory();
+        }
+
+        @Override
+        protected SSLServerSocketFactory engineGetServerSocketFactory() {
+            return context.getServerSocketFactory();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine() {
+            listener.run();
+            return context.createSSLEngine();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine(final String host, final int port) {
+            listener.run();
+            return context.createSSLEngine(host, port);
+        }
+
+        @Override
+        protected SSLSessionContext engineGetServerSessionContext() {
+            return context.getServerSessionContext();
+        }
+
+        @Override
+        protected SSLSessionContext engineGetClientSessionContext() {
+            return context.getClientSessionContext();
+        }
+
+        @Override
+        protected SSLParameters engineGetDefaultSSLParameters() {
+            return context.getDefaultSSLParameters();
+        }
+
+        @Override
+        protected SSLParameters engineGetSupportedSSLParameters() {
+            return context.getSupportedSSLParameters();
+        }
+
+    }
+
+}
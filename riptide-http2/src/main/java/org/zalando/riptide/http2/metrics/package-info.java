@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.http2.metrics;
+
+import javax.annotation.ParametersAreNonnullByDefault;
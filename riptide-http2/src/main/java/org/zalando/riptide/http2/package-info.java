@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.http2;
+
+import javax.annotation.ParametersAreNonnullByDefault;
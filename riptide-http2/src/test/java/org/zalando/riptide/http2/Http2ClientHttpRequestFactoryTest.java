@@ -0,0 +1,65 @@
+package org.zalando.riptide.http2;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import com.github.restdriver.clientdriver.ClientDriverRequest.Method;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.web.client.RestTemplate;
+
+import javax.net.ssl.SSLContext;
+import java.net.URI;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+
+import static com.github.restdriver.clientdriver.RestClientDriver.giveResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.http.HttpMethod.PATCH;
+
+final class Http2ClientHttpRequestFactoryTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    private final Http2ClientHttpRequestFactory factory = new Http2ClientHttpRequestFactory(
+            Http2ClientFactory.create(Duration.ofSeconds(1), sslContext()));
+
+    private final RestTemplate template = new RestTemplate(factory);
+
+    @AfterEach
+    void tearDown() {
+        driver.shutdown();
+    }
+
+    @Test
+    void shouldExchange() {
+        driver.addExpectation(onRequestTo("/greeting").withMethod(Method.POST)
+                        .withBody("Hello", "text/plain"),
+                giveResponse("World", "text/plain"));
+
+        final String body = template.postForObject(driver.getBaseUrl() + "/greeting", "Hello", String.class);
+
+        assertThat(body, is("World"));
+    }
+
+    @Test
+    void shouldExposeRequest() {
+        final URI uri = URI.create(driver.getBaseUrl());
+        final ClientHttpRequest request = factory.createRequest(uri, PATCH);
+
+        assertThat(request.getURI(), is(uri));
+        assertThat(request.getMethod(), is(PATCH));
+        assertThat(request.getMethodValue(), is("PATCH"));
+    }
+
+    private static SSLContext sslContext() {
+        try {
+            return SSLContext.getDefault();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+}
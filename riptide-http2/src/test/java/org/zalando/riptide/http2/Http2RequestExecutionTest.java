@@ -0,0 +1,224 @@
+package org.zalando.riptide.http2;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import com.github.restdriver.clientdriver.ClientDriverRequest.Method;
+import com.google.common.base.Strings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.TransferableBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.giveResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.Route.call;
+
+final class Http2RequestExecutionTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .build();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final Http http = Http.builder()
+            .executor(executor)
+            .network(new Http2RequestExecution(client))
+            .baseUrl(driver.getBaseUrl())
+            .converter(new StringHttpMessageConverter())
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        driver.shutdown();
+    }
+
+    @Test
+    void shouldReadBody() {
+        driver.addExpectation(onRequestTo("/greeting"), giveResponse("Hello", "text/plain"));
+
+        final AtomicReference<String> body = new AtomicReference<>();
+
+        http.get("/greeting")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(String.class, body::set))
+                .join();
+
+        assertThat(body.get(), is("Hello"));
+    }
+
+    @Test
+    void shouldSendBodyAndHeaders() {
+        driver.addExpectation(onRequestTo("/").withMethod(Method.POST)
+                        .withHeader("X-Foo", "bar")
+                        .withHeader("Cookie", "a=1; b=2")
+                        .withBody("Hello", "text/plain"),
+                giveResponse("World", "text/plain"));
+
+        http.post("/")
+                .header("X-Foo", "bar")
+                .header("Cookie", "a=1")
+                .header("Cookie", "b=2")
+                .header("Content-Length", "5")
+                .header("Connection", "close")
+                .contentType(TEXT_PLAIN)
+                .body("Hello")
+                .call(pass())
+                .join();
+    }
+
+    @Test
+    void shouldFailOnMalformedHeaders() {
+        final CompletableFuture<ClientHttpResponse> future = http.get("/")
+                .header("X-Foo", "bar\r\nX-Bar: foo")
+                .call(pass());
+
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertThat(exception.getCause(), is(instanceOf(IllegalArgumentException.class)));
+    }
+
+    @Test
+    void shouldStreamFileBody(@TempDir final Path directory) throws IOException {
+        final String body = Strings.repeat("x", 1024 * 1024);
+        final Path file = Files.write(directory.resolve("body.txt"), body.getBytes(UTF_8));
+
+        driver.addExpectation(onRequestTo("/files").withMethod(Method.POST)
+                        .withHeader("Content-Length", String.valueOf(body.length()))
+                        .withBody(body, "application/octet-stream"),
+                giveEmptyResponse());
+
+        http.post("/files")
+                .body(TransferableBody.of(file))
+                .call(pass())
+                .join();
+    }
+
+    @Test
+    void shouldStreamBufferBody() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.put("Hello".getBytes(UTF_8)).flip();
+
+        driver.addExpectation(onRequestTo("/files").withMethod(Method.POST)
+                        .withHeader("Content-Length", "5")
+                        .withBody("Hello", "text/plain"),
+                giveEmptyResponse());
+
+        http.post("/files")
+                .contentType(TEXT_PLAIN)
+                .body(TransferableBody.of(buffer))
+                .call(pass())
+                .join();
+
+        assertThat(buffer.remaining(), is(5));
+    }
+
+    @Test
+    void shouldExposeResponse() throws IOException {
+        driver.addExpectation(onRequestTo("/").withMethod(Method.PUT),
+                giveResponse("World", "text/plain").withHeader("X-Bar", "foo"));
+
+        final AtomicReference<ClientHttpResponse> captured = new AtomicReference<>();
+        http.put("/")
+                .call(call(captured::set))
+                .join();
+
+        final ClientHttpResponse response = captured.get();
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(response.getRawStatusCode(), is(200));
+        assertThat(response.getStatusText(), is("OK"));
+        assertThat(response.getHeaders().getFirst("X-Bar"), is("foo"));
+        assertThat(response.getHeaders().getContentType().toString(), startsWith("text/plain"));
+
+        response.close();
+    }
+
+    @Test
+    void shouldSupportEmptyResponses() throws IOException {
+        driver.addExpectation(onRequestTo("/").withMethod(Method.DELETE), giveEmptyResponse().withStatus(204));
+
+        final AtomicInteger status = new AtomicInteger();
+        final AtomicInteger read = new AtomicInteger();
+
+        http.delete("/")
+                .call(call(response -> {
+                    // the body is closed once the route returned
+                    status.set(response.getRawStatusCode());
+                    read.set(response.getBody().read());
+                }))
+                .join();
+
+        assertThat(status.get(), is(204));
+        assertThat(read.get(), is(-1));
+    }
+
+    @Test
+    void shouldFailOnConnectionErrors() {
+        final CompletableFuture<ClientHttpResponse> future = http.get("http://localhost:1/")
+                .call(pass());
+
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertThat(exception.getCause(), is(instanceOf(ConnectException.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCancelRequest() throws IOException {
+        final HttpClient client = mock(HttpClient.class);
+        final CompletableFuture<HttpResponse<InputStream>> exchange = new CompletableFuture<>();
+        when(client.sendAsync(any(), any(HttpResponse.BodyHandler.class))).thenReturn(exchange);
+
+        final CompletableFuture<ClientHttpResponse> future = new Http2RequestExecution(client)
+                .execute(RequestArguments.create()
+                        .withMethod(GET)
+                        .withUri(URI.create("http://localhost/"))
+                        .withEntity(message -> {
+                        }));
+
+        future.cancel(true);
+
+        assertTrue(exchange.isCancelled());
+    }
+
+}
@@ -0,0 +1,118 @@
+package org.zalando.riptide.http2.metrics;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.security.GeneralSecurityException;
+
+import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class Http2ConnectionMetricsTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final Http2ConnectionMetrics metrics = new Http2ConnectionMetrics()
+            .withMetricName("connections")
+            .withDefaultTags(Tag.of("client", "example"));
+
+    private final SSLContext context;
+    private final HttpClient client;
+
+    Http2ConnectionMetricsTest() throws GeneralSecurityException {
+        this.context = metrics.monitor(SSLContext.getDefault());
+        this.client = metrics.monitor(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .sslContext(context)
+                .build());
+
+        metrics.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.shutdown();
+    }
+
+    @Test
+    void shouldCountStreams() throws IOException, InterruptedException {
+        driver.addExpectation(onRequestTo("/"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/"), giveEmptyResponse());
+
+        client.send(request(), BodyHandlers.discarding());
+        client.sendAsync(request(), BodyHandlers.discarding()).join();
+
+        assertThat(streams("HTTP_1_1"), is(2.0));
+        assertThat(streams("HTTP_2"), is(0.0));
+        assertThat(registry.get("connections.streams.active").tag("client", "example").gauge().value(), is(0.0));
+    }
+
+    @Test
+    void shouldCountFailedStreamsAsInactive() {
+        assertThrows(IOException.class, () ->
+                client.send(HttpRequest.newBuilder(URI.create("http://localhost:1/")).build(),
+                        BodyHandlers.discarding()));
+
+        assertThat(registry.get("connections.streams.active").tag("client", "example").gauge().value(), is(0.0));
+        assertThat(streams("HTTP_1_1"), is(0.0));
+    }
+
+    @Test
+    void shouldCountConnections() {
+        context.createSSLEngine("localhost", 443);
+        context.createSSLEngine();
+
+        assertThat(registry.get("connections.opened").tag("client", "example").functionCounter().count(), is(2.0));
+    }
+
+    @Test
+    void shouldReportStreamsPerConnection() throws IOException, InterruptedException {
+        assertThat(perConnection().isNaN(), is(true));
+
+        driver.addExpectation(onRequestTo("/"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/"), giveEmptyResponse());
+
+        client.send(request(), BodyHandlers.discarding());
+        client.send(request(), BodyHandlers.discarding());
+        context.createSSLEngine("localhost", 443);
+
+        assertThat(perConnection(), is(2.0));
+    }
+
+    @Test
+    void shouldDelegateConfiguration() {
+        assertThat(client.version(), is(HttpClient.Version.HTTP_1_1));
+        assertThat(client.sslContext(), is(context));
+    }
+
+    private HttpRequest request() {
+        return HttpRequest.newBuilder(URI.create(driver.getBaseUrl() + "/")).build();
+    }
+
+    private double streams(final String version) {
+        return registry.get("connections.streams")
+                .tags("client", "example", "version", version)
+                .functionCounter().count();
+    }
+
+    private Double perConnection() {
+        return registry.get("connections.streams.per-connection").tag("client", "example").gauge().value();
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Future;
+
+import static org.zalando.fauxpas.FauxPas.throwingRunnable;
+
+/**
+ * A response whose body is streamed by the I/O dispatcher, see {@link StreamingResponseConsumer}.
+ */
+final class ApacheAsyncClientHttpResponse implements ClientHttpResponse {
+
+    private final HttpResponse response;
+    private final InputStream body;
+    private final HttpHeaders headers = new HttpHeaders();
+
+    ApacheAsyncClientHttpResponse(final HttpResponse response, final Future<HttpResponse> exchange)
+            throws IOException {
+        this.response = response;
+
+        @Nullable final HttpEntity entity = response.getEntity();
+        this.body = entity == null ? StreamUtils.emptyInput() :
+                new EndOfStreamAwareInputStream(entity.getContent(), (body, endOfStreamDetected) -> {
+                    if (!endOfStreamDetected) {
+                        // Stream was not fully consumed, connection needs to be discarded.
+                        // We can't just consume the remaining bytes since the stream could be endless.
+                        exchange.cancel(true);
+                    }
+                    body.close();
+                });
+
+        for (final Header header : response.getAllHeaders()) {
+            headers.add(header.getName(), header.getValue());
+        }
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return HttpStatus.valueOf(getRawStatusCode());
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return response.getStatusLine().getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() {
+        return response.getStatusLine().getReasonPhrase();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        // no clue why ClientHttpResponse#close doesn't allow IOExceptions to be thrown...
+        throwingRunnable(() -> getBody().close()).run();
+    }
+
+}
@@ -0,0 +1,191 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.nio.entity.NByteArrayEntity;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.TransferableBody;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.zalando.fauxpas.FauxPas.throwingFunction;
+import static org.zalando.riptide.CancelableCompletableFuture.forwardTo;
+import static org.zalando.riptide.CancelableCompletableFuture.preserveCancelability;
+
+/**
+ * A non-blocking network {@link RequestExecution execution} backed by Apache's {@link HttpAsyncClient}. Requests are
+ * sent and responses are received by the client's I/O dispatcher threads, i.e. an in-flight request doesn't occupy any
+ * other thread. As soon as the response head was received, the returned future is completed on the given executor,
+ * i.e. routes never run on (and never block) the I/O dispatcher. The response body is streamed through a bounded
+ * buffer, the dispatcher stops reading from the connection until the route consumed it.
+ *
+ * <pre>{@code
+ * CloseableHttpAsyncClient client = HttpAsyncClients.createDefault();
+ * client.start();
+ *
+ * Http http = Http.builder()
+ *     .executor(executor)
+ *     .network(new ApacheAsyncRequestExecution(client, executor))
+ *     .build();
+ * }</pre>
+ *
+ * Request bodies are buffered before they are sent, except for {@link TransferableBody transferable} ones, which are
+ * streamed from their file or buffer as the connection becomes writable. Request compression needs to be enabled
+ * using {@link #withRequestCompression()} rather than registering a {@link GzipHttpRequestInterceptor}: the
+ * interceptor only works for blocking entities. Compressed bodies are always buffered.
+ *
+ * @see org.zalando.riptide.Http.RequestFactoryStage#network(RequestExecution)
+ */
+@API(status = EXPERIMENTAL)
+public final class ApacheAsyncRequestExecution implements RequestExecution {
+
+    // same as HttpComponentsClientHttpRequestFactory#createHttpUriRequest
+    private static final Set<HttpMethod> ENCLOSING = EnumSet.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH);
+
+    // large enough for most responses, small enough to not matter per connection
+    private static final int BUFFER_SIZE = 8192;
+
+    private final HttpAsyncClient client;
+    private final Executor executor;
+    private final boolean compressRequests;
+
+    public ApacheAsyncRequestExecution(final HttpAsyncClient client, final Executor executor) {
+        this(client, executor, false);
+    }
+
+    private ApacheAsyncRequestExecution(final HttpAsyncClient client, final Executor executor,
+            final boolean compressRequests) {
+        this.client = client;
+        this.executor = executor;
+        this.compressRequests = compressRequests;
+    }
+
+    /**
+     * Compresses non-empty request bodies using gzip.
+     *
+     * @return a copy of this execution that compresses request bodies
+     */
+    public ApacheAsyncRequestExecution withRequestCompression() {
+        return new ApacheAsyncRequestExecution(client, executor, true);
+    }
+
+    @Override
+    public CompletableFuture<ClientHttpResponse> execute(final RequestArguments arguments) throws IOException {
+        final BufferingHttpOutputMessage message = new BufferingHttpOutputMessage(arguments.getHeaders());
+        arguments.getEntity().writeTo(message);
+
+        final StreamingResponseConsumer consumer = new StreamingResponseConsumer(BUFFER_SIZE);
+        final Future<HttpResponse> cause = client.execute(
+                HttpAsyncMethods.create(createRequest(arguments, message)), consumer, new Callback(consumer));
+
+        final CompletableFuture<ClientHttpResponse> future = preserveCancelability(cause);
+        consumer.received()
+                // hands the response over to the executor, routes must not run on the I/O dispatcher
+                .thenApplyAsync(throwingFunction(response ->
+                        new ApacheAsyncClientHttpResponse(response, cause)), executor)
+                .whenComplete(forwardTo(future));
+        return future;
+    }
+
+    private HttpUriRequest createRequest(final RequestArguments arguments,
+            final BufferingHttpOutputMessage message) throws IOException {
+
+        final HttpMethod method = arguments.getMethod();
+
+        final RequestBuilder builder = RequestBuilder.create(method.name())
+                .setUri(arguments.getRequestUri());
+
+        addHeaders(builder, message.getHeaders());
+
+        @Nullable final TransferableBody transferable = message.getTransferableBody();
+
+        if (transferable != null && !compressRequests) {
+            builder.setEntity(new TransferableEntity(transferable));
+            return builder.build();
+        }
+
+        final byte[] body = message.toByteArray();
+
+        if (compressRequests && body.length > 0) {
+            builder.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            builder.setEntity(new NByteArrayEntity(compress(body)));
+        } else if (body.length > 0 || ENCLOSING.contains(method)) {
+            builder.setEntity(new NByteArrayEntity(body));
+        }
+
+        return builder.build();
+    }
+
+    private static byte[] compress(final byte[] body) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(body.length);
+
+        try (final GZIPOutputStream stream = new GZIPOutputStream(output)) {
+            stream.write(body);
+        }
+
+        return output.toByteArray();
+    }
+
+    // same as HttpComponentsClientHttpRequest#addHeaders
+    private static void addHeaders(final RequestBuilder builder, final HttpHeaders headers) {
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            final String name = header.getKey();
+
+            if (HttpHeaders.COOKIE.equalsIgnoreCase(name)) {
+                builder.addHeader(name, String.join("; ", header.getValue()));
+            } else if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) &&
+                    !HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name)) {
+                header.getValue().forEach(value -> builder.addHeader(name, value));
+            }
+        }
+    }
+
+    /**
+     * Failures before the response head was received, e.g. connection errors, don't necessarily reach the consumer.
+     */
+    private static final class Callback implements FutureCallback<HttpResponse> {
+
+        private final StreamingResponseConsumer consumer;
+
+        private Callback(final StreamingResponseConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void completed(final HttpResponse response) {
+            // already handed over by the consumer
+        }
+
+        @Override
+        public void failed(final Exception e) {
+            consumer.received().completeExceptionally(e);
+        }
+
+        @Override
+        public void cancelled() {
+            consumer.cancel();
+        }
+
+    }
+
+}
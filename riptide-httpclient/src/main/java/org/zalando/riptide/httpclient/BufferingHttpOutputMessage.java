@@ -0,0 +1,61 @@
+package org.zalando.riptide.httpclient;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.zalando.riptide.TransferableBody;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffers the request body, unless it's a {@link TransferableBody transferable} one, which can be streamed instead.
+ */
+final class BufferingHttpOutputMessage implements StreamingHttpOutputMessage {
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+    @Nullable
+    private Body streaming;
+
+    BufferingHttpOutputMessage(final Map<String, List<String>> headers) {
+        headers.forEach(this.headers::addAll);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void setBody(final Body body) {
+        this.streaming = body;
+    }
+
+    @Nullable
+    TransferableBody getTransferableBody() {
+        return streaming instanceof TransferableBody ? (TransferableBody) streaming : null;
+    }
+
+    /**
+     * @return the buffered body, including a streaming body, which is written into the buffer first
+     */
+    byte[] toByteArray() throws IOException {
+        if (streaming != null) {
+            streaming.writeTo(body);
+            streaming = null;
+        }
+
+        return body.toByteArray();
+    }
+
+}
@@ -0,0 +1,214 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * A {@link DnsResolver} that caches the addresses of every host for a fixed time to live and refreshes them in the
+ * background before they expire. Connections are only opened after a synchronous lookup if a host is new or wasn't
+ * used for a while:
+ *
+ * <pre>{@code
+ * CachingDnsResolver resolver = new CachingDnsResolver(executor)
+ *     .withTimeToLive(Duration.ofMinutes(1))
+ *     .withMaxStale(Duration.ofMinutes(10));
+ *
+ * new PoolingHttpClientConnectionManager(registry, null, null, resolver, 30, SECONDS);
+ * }</pre>
+ *
+ * Addresses are refreshed on first use after three quarters of their time to live, using the given executor. If a
+ * host can't be resolved anymore, its last known addresses are served for up to {@code maxStale} after they expired.
+ * Every lookup rotates the order of the addresses, i.e. connections are spread round-robin across all of them, while
+ * the remaining addresses still serve as fallbacks if a connection attempt fails.
+ *
+ * This cache sits on top of the resolver it delegates to. The {@link SystemDefaultDnsResolver default} one uses
+ * {@link InetAddress#getAllByName(String)}, i.e. lookups are still served from the JVM-wide cache, as configured by
+ * the {@code networkaddress.cache.ttl} security property. Address changes may therefore take up to both times to live
+ * to be picked up, unless the JVM-wide one is lowered accordingly.
+ */
+@API(status = EXPERIMENTAL)
+public final class CachingDnsResolver implements DnsResolver {
+
+    private final DnsResolver resolver;
+    private final Executor executor;
+    private final Duration timeToLive;
+    private final Duration maxStale;
+    private final DnsResolverListener listener;
+    private final Clock clock;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public CachingDnsResolver(final Executor executor) {
+        this(SystemDefaultDnsResolver.INSTANCE, executor);
+    }
+
+    public CachingDnsResolver(final DnsResolver resolver, final Executor executor) {
+        this(resolver, executor, Duration.ofMinutes(1), Duration.ofMinutes(10), DnsResolverListener.DEFAULT,
+                Clock.systemUTC());
+    }
+
+    private CachingDnsResolver(final DnsResolver resolver, final Executor executor, final Duration timeToLive,
+            final Duration maxStale, final DnsResolverListener listener, final Clock clock) {
+        this.resolver = resolver;
+        this.executor = executor;
+        this.timeToLive = timeToLive;
+        this.maxStale = maxStale;
+        this.listener = listener;
+        this.clock = clock;
+    }
+
+    public CachingDnsResolver withTimeToLive(final Duration timeToLive) {
+        checkArgument(!timeToLive.isNegative() && !timeToLive.isZero(), "Time to live must be positive");
+        return new CachingDnsResolver(resolver, executor, timeToLive, maxStale, listener, clock);
+    }
+
+    /**
+     * @param maxStale how long expired addresses are served, if the host can't be resolved anymore
+     * @return a copy of this resolver, with an empty cache, that serves expired addresses for the given time
+     */
+    public CachingDnsResolver withMaxStale(final Duration maxStale) {
+        checkArgument(!maxStale.isNegative(), "Max stale must not be negative");
+        return new CachingDnsResolver(resolver, executor, timeToLive, maxStale, listener, clock);
+    }
+
+    public CachingDnsResolver withListener(final DnsResolverListener listener) {
+        return new CachingDnsResolver(resolver, executor, timeToLive, maxStale, listener, clock);
+    }
+
+    @API(status = INTERNAL)
+    CachingDnsResolver withClock(final Clock clock) {
+        return new CachingDnsResolver(resolver, executor, timeToLive, maxStale, listener, clock);
+    }
+
+    @Override
+    public InetAddress[] resolve(final String host) throws UnknownHostException {
+        final long now = clock.millis();
+        @Nullable final Entry entry = entries.get(host);
+
+        if (entry == null) {
+            listener.onMiss(host);
+            return store(host, lookup(host), now).next();
+        }
+
+        final long age = now - entry.resolvedAt;
+        final long ttl = timeToLive.toMillis();
+
+        if (age < ttl) {
+            listener.onHit(host);
+
+            if (age >= ttl / 4 * 3 && entry.refreshing.compareAndSet(false, true)) {
+                refresh(host, entry);
+            }
+
+            return entry.next();
+        }
+
+        listener.onMiss(host);
+
+        try {
+            return store(host, lookup(host), now).next();
+        } catch (final UnknownHostException e) {
+            if (age < ttl + maxStale.toMillis()) {
+                listener.onStale(host, e);
+                return entry.next();
+            }
+
+            entries.remove(host, entry);
+            throw e;
+        }
+    }
+
+    private void refresh(final String host, final Entry entry) {
+        try {
+            executor.execute(() -> {
+                try {
+                    store(host, lookup(host), clock.millis());
+                } catch (final UnknownHostException e) {
+                    // the current addresses are served until they expire and for max stale afterwards
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private InetAddress[] lookup(final String host) throws UnknownHostException {
+        final long start = System.nanoTime();
+
+        try {
+            final InetAddress[] addresses = resolver.resolve(host);
+            listener.onResolution(host, Duration.ofNanos(System.nanoTime() - start), null);
+            return addresses;
+        } catch (final UnknownHostException e) {
+            listener.onResolution(host, Duration.ofNanos(System.nanoTime() - start), e);
+            throw e;
+        }
+    }
+
+    private Entry store(final String host, final InetAddress[] addresses, final long now) {
+        final Entry entry = new Entry(addresses.clone(), now);
+
+        if (entries.put(host, entry) == null) {
+            // new hosts are rare, which makes them a good opportunity to forget the ones that aren't used anymore
+            final long maxAge = timeToLive.toMillis() + maxStale.toMillis();
+            entries.values().removeIf(other -> now - other.resolvedAt >= maxAge);
+        }
+
+        return entry;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+
+        private final InetAddress[] addresses;
+        private final long resolvedAt;
+        private final AtomicInteger counter = new AtomicInteger();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(final InetAddress[] addresses, final long resolvedAt) {
+            this.addresses = addresses;
+            this.resolvedAt = resolvedAt;
+        }
+
+        InetAddress[] next() {
+            final int length = addresses.length;
+            final InetAddress[] result = new InetAddress[length];
+
+            if (length == 0) {
+                return result;
+            }
+
+            final int offset = Math.floorMod(counter.getAndIncrement(), length);
+
+            for (int i = 0; i < length; i++) {
+                result[i] = addresses[(offset + i) % length];
+            }
+
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.zalando.riptide.httpclient;
+
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+public interface DnsResolverListener {
+
+    DnsResolverListener DEFAULT = new DnsResolverListener() {
+        // nothing to implement, since default methods are sufficient
+    };
+
+    /**
+     * Called whenever cached addresses are used, even if they are about to be refreshed in the background.
+     */
+    default void onHit(final String host) {
+        // nothing to do
+    }
+
+    /**
+     * Called whenever a host needs to be resolved before a connection can be opened.
+     */
+    default void onMiss(final String host) {
+        // nothing to do
+    }
+
+    /**
+     * Called whenever expired addresses are used, because the host could not be resolved again.
+     */
+    default void onStale(final String host, final UnknownHostException failure) {
+        // nothing to do
+    }
+
+    /**
+     * Called after every lookup of the underlying resolver, both synchronous and in the background.
+     */
+    default void onResolution(final String host, final Duration duration,
+            @Nullable final UnknownHostException failure) {
+        // nothing to do
+    }
+
+}
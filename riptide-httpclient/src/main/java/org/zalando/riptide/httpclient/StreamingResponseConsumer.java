@@ -0,0 +1,149 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.ContentInputStream;
+import org.apache.http.nio.protocol.HttpAsyncResponseConsumer;
+import org.apache.http.nio.util.SharedInputBuffer;
+import org.apache.http.protocol.HttpContext;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hands the response over as soon as its head was received. The body is streamed through a bounded buffer: the I/O
+ * dispatcher suspends reading from the connection while the buffer is full and resumes once the reading thread
+ * drained it, i.e. responses are never fully buffered in memory.
+ */
+final class StreamingResponseConsumer implements HttpAsyncResponseConsumer<HttpResponse> {
+
+    private final CompletableFuture<HttpResponse> received = new CompletableFuture<>();
+    private final SharedInputBuffer buffer;
+
+    @Nullable
+    private volatile HttpResponse response;
+
+    @Nullable
+    private volatile Exception exception;
+
+    private volatile boolean done;
+
+    StreamingResponseConsumer(final int bufferSize) {
+        this.buffer = new SharedInputBuffer(bufferSize);
+    }
+
+    CompletableFuture<HttpResponse> received() {
+        return received;
+    }
+
+    @Override
+    public void responseReceived(final HttpResponse response) {
+        @Nullable final HttpEntity original = response.getEntity();
+
+        if (original != null) {
+            final BasicHttpEntity entity = new BasicHttpEntity();
+            entity.setContent(new Content());
+            entity.setContentLength(original.getContentLength());
+            entity.setContentType(original.getContentType());
+            entity.setContentEncoding(original.getContentEncoding());
+            entity.setChunked(original.isChunked());
+            response.setEntity(entity);
+        }
+
+        this.response = response;
+        received.complete(response);
+    }
+
+    @Override
+    public void consumeContent(final ContentDecoder decoder, final IOControl control) throws IOException {
+        buffer.consumeContent(decoder, control);
+    }
+
+    @Override
+    public void responseCompleted(final HttpContext context) {
+        done = true;
+        // marks the end of the stream, e.g. for responses without a body
+        buffer.close();
+    }
+
+    @Override
+    public void failed(final Exception exception) {
+        this.exception = exception;
+        done = true;
+        buffer.shutdown();
+        received.completeExceptionally(exception);
+    }
+
+    @Nullable
+    @Override
+    public Exception getException() {
+        return exception;
+    }
+
+    @Nullable
+    @Override
+    public HttpResponse getResult() {
+        return response;
+    }
+
+    @Override
+    public boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public boolean cancel() {
+        done = true;
+        buffer.shutdown();
+        return received.cancel(false);
+    }
+
+    @Override
+    public void close() {
+        // the buffer is owned by the reading thread, see ApacheAsyncClientHttpResponse#close
+    }
+
+    /**
+     * A shut down buffer signals the end of the stream, which would silently truncate bodies of failed exchanges.
+     */
+    private final class Content extends ContentInputStream {
+
+        private Content() {
+            super(buffer);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return detectFailure(super.read());
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            return detectFailure(super.read(b, off, len));
+        }
+
+        private int detectFailure(final int read) throws IOException {
+            @Nullable final Exception failure = exception;
+
+            if (read == -1 && failure != null) {
+                throw new IOException(failure);
+            }
+
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (exception == null) {
+                // drains the remaining content
+                super.close();
+            }
+        }
+
+    }
+
+}
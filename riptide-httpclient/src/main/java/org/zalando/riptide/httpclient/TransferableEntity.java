@@ -0,0 +1,125 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.FileContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.HttpAsyncContentProducer;
+import org.zalando.riptide.TransferableBody;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A non-blocking entity that streams a {@link TransferableBody} instead of copying it into a byte array first. Files
+ * are sent straight from the page cache if the connection supports it, everything else is copied through a small
+ * buffer, chunk by chunk, as the connection becomes writable.
+ */
+final class TransferableEntity extends AbstractHttpEntity implements HttpAsyncContentProducer {
+
+    // same as EntityAsyncContentProducer
+    private static final int BUFFER_SIZE = 4096;
+
+    private final TransferableBody body;
+    private final long contentLength;
+
+    @Nullable
+    private ReadableByteChannel channel;
+
+    @Nullable
+    private ByteBuffer buffer;
+
+    TransferableEntity(final TransferableBody body) throws IOException {
+        this.body = body;
+        this.contentLength = body.getContentLength();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return Channels.newInputStream(body.open());
+    }
+
+    @Override
+    public void writeTo(final OutputStream stream) throws IOException {
+        body.writeTo(stream);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void produceContent(final ContentEncoder encoder, final IOControl control) throws IOException {
+        if (channel == null) {
+            channel = body.open();
+        }
+
+        if (channel instanceof FileChannel && encoder instanceof FileContentEncoder) {
+            transfer((FileChannel) channel, (FileContentEncoder) encoder);
+        } else {
+            copy(channel, encoder);
+        }
+    }
+
+    private void transfer(final FileChannel source, final FileContentEncoder encoder) throws IOException {
+        final long position = source.position();
+        source.position(position + encoder.transfer(source, position, Long.MAX_VALUE));
+
+        if (source.position() >= source.size()) {
+            complete(encoder);
+        }
+    }
+
+    private void copy(final ReadableByteChannel source, final ContentEncoder encoder) throws IOException {
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+
+        final int read = source.read(buffer);
+        buffer.flip();
+        encoder.write(buffer);
+        final boolean buffering = buffer.hasRemaining();
+        buffer.compact();
+
+        if (read == -1 && !buffering) {
+            complete(encoder);
+        }
+    }
+
+    private void complete(final ContentEncoder encoder) throws IOException {
+        encoder.complete();
+        close();
+    }
+
+    /**
+     * Releases the channel, e.g. once the body was sent or before it's sent again on a retry.
+     */
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+
+        if (channel != null) {
+            final ReadableByteChannel current = channel;
+            channel = null;
+            current.close();
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.zalando.riptide.httpclient.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.Math.max;
+
+/**
+ * Connections of a pool, or of a single route, that are updated whenever a connection is opened, closed, requested,
+ * leased or released. None of them lock anything, neither on update nor on read.
+ */
+final class ConnectionCounters {
+
+    private final LongAdder allocated = new LongAdder();
+    private final LongAdder leased = new LongAdder();
+    private final LongAdder pending = new LongAdder();
+
+    void opened() {
+        allocated.increment();
+    }
+
+    void closed() {
+        allocated.decrement();
+    }
+
+    void requested() {
+        pending.increment();
+    }
+
+    void leased() {
+        pending.decrement();
+        leased.increment();
+    }
+
+    void failed() {
+        pending.decrement();
+    }
+
+    void released() {
+        leased.decrement();
+    }
+
+    /**
+     * Allocated connections that are not leased, i.e. idle. Connections that are closed right before their release
+     * are briefly neither, which is why this never reports less than zero.
+     */
+    long getAvailable() {
+        return max(0, allocated.sum() - leased.sum());
+    }
+
+    long getLeased() {
+        return leased.sum();
+    }
+
+    long getPending() {
+        return pending.sum();
+    }
+
+}
@@ -5,7 +5,8 @@ import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.binder.MeterBinder;
-import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
 import org.apache.http.pool.PoolStats;
 import org.apiguardian.api.API;
 
@@ -17,19 +18,23 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.INTERNAL;
 
+/**
+ * Connection pool metrics for both, the blocking {@link org.apache.http.impl.conn.PoolingHttpClientConnectionManager}
+ * and the non-blocking {@link org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager}.
+ */
 @API(status = EXPERIMENTAL)
 public final class HttpConnectionPoolMetrics implements MeterBinder {
 
-    private final PoolingHttpClientConnectionManager manager;
+    private final ConnPoolControl<HttpRoute> manager;
     private final String metricName;
     private final ImmutableList<Tag> defaultTags;
 
-    public HttpConnectionPoolMetrics(final PoolingHttpClientConnectionManager manager) {
+    public HttpConnectionPoolMetrics(final ConnPoolControl<HttpRoute> manager) {
         this(manager, "http.client.connections", ImmutableList.of());
     }
 
     @API(status = INTERNAL)
-    HttpConnectionPoolMetrics(final PoolingHttpClientConnectionManager manager,
+    HttpConnectionPoolMetrics(final ConnPoolControl<HttpRoute> manager,
             final String metricName, final ImmutableList<Tag> defaultTags) {
         this.manager = manager;
         this.metricName = metricName;
@@ -0,0 +1,133 @@
+package org.zalando.riptide.httpclient.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.HttpConnectionFactory;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.pool.ConnPoolControl;
+import org.apiguardian.api.API;
+
+import java.util.function.Supplier;
+
+import static com.google.common.collect.Iterables.concat;
+import static java.util.Collections.singleton;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Connection pool metrics for the blocking {@link org.apache.http.impl.conn.PoolingHttpClientConnectionManager} that,
+ * unlike {@link HttpConnectionPoolMetrics}, are always up-to-date and never lock the pool. Instead of asking the pool,
+ * they count connections as they are opened, closed, requested, leased and released. This requires both the
+ * {@link #monitor(HttpConnectionFactory) connection factory} of the pool and the
+ * {@link #monitor(HttpClientConnectionManager) connection manager} that is used by the client to be monitored:
+ *
+ * <pre>{@code
+ * LiveHttpConnectionPoolMetrics metrics = new LiveHttpConnectionPoolMetrics();
+ * PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager(registry, metrics.monitor());
+ * HttpClientBuilder.create().setConnectionManager(metrics.monitor(pool));
+ * metrics.bindTo(meterRegistry);
+ * }</pre>
+ *
+ * In addition to the gauges of {@link HttpConnectionPoolMetrics}, it reports the same gauges per route, tagged with
+ * {@code route}, and the time requests waited for a connection as {@code wait}. Instances are meant to be bound to one
+ * registry.
+ */
+@API(status = EXPERIMENTAL)
+public final class LiveHttpConnectionPoolMetrics implements MeterBinder {
+
+    private final PoolStatistics statistics;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public LiveHttpConnectionPoolMetrics() {
+        this("http.client.connections", ImmutableList.of());
+    }
+
+    @API(status = INTERNAL)
+    LiveHttpConnectionPoolMetrics(final String metricName, final ImmutableList<Tag> defaultTags) {
+        this(new PoolStatistics(), metricName, defaultTags);
+    }
+
+    private LiveHttpConnectionPoolMetrics(final PoolStatistics statistics, final String metricName,
+            final ImmutableList<Tag> defaultTags) {
+        this.statistics = statistics;
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+    }
+
+    public LiveHttpConnectionPoolMetrics withMetricName(final String metricName) {
+        return new LiveHttpConnectionPoolMetrics(statistics, metricName, defaultTags);
+    }
+
+    public LiveHttpConnectionPoolMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(ImmutableList.copyOf(defaultTags));
+    }
+
+    public LiveHttpConnectionPoolMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new LiveHttpConnectionPoolMetrics(statistics, metricName, ImmutableList.copyOf(defaultTags));
+    }
+
+    public HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> monitor() {
+        return monitor(ManagedHttpClientConnectionFactory.INSTANCE);
+    }
+
+    public HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> monitor(
+            final HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> factory) {
+
+        return (route, config) -> {
+            final ManagedHttpClientConnection connection = factory.create(route, config);
+            statistics.opened(route);
+            return new MonitoredConnection(connection, () -> statistics.closed(route));
+        };
+    }
+
+    /**
+     * Monitors the given manager. If it's a {@link ConnPoolControl pool}, its maximum size is read once, right away.
+     *
+     * @param manager the connection manager, using a {@link #monitor(HttpConnectionFactory) monitored factory}
+     * @return a monitored connection manager, to be used by the client
+     */
+    @SuppressWarnings("unchecked")
+    public HttpClientConnectionManager monitor(final HttpClientConnectionManager manager) {
+        if (manager instanceof ConnPoolControl) {
+            statistics.setMax(((ConnPoolControl<HttpRoute>) manager).getMaxTotal());
+        }
+
+        return new MonitoredHttpClientConnectionManager(manager, statistics);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        final ConnectionCounters total = statistics.getTotal();
+
+        gauge(registry, "available", defaultTags, total::getAvailable);
+        gauge(registry, "leased", defaultTags, total::getLeased);
+        gauge(registry, "pending", defaultTags, total::getPending);
+        gauge(registry, "max", defaultTags, statistics::getMax);
+
+        final Timer wait = registry.timer(metricName + ".wait", defaultTags);
+
+        statistics.bind((route, counters) -> {
+            final Iterable<Tag> tags = concat(defaultTags, singleton(Tag.of("route", route.getTargetHost().toURI())));
+
+            gauge(registry, "route.available", tags, counters::getAvailable);
+            gauge(registry, "route.leased", tags, counters::getLeased);
+            gauge(registry, "route.pending", tags, counters::getPending);
+        }, wait);
+    }
+
+    private void gauge(final MeterRegistry registry, final String name, final Iterable<Tag> tags,
+            final Supplier<Number> value) {
+        Gauge.builder(metricName + "." + name, value)
+                .tags(tags)
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.zalando.riptide.httpclient.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.apiguardian.api.API;
+import org.zalando.riptide.httpclient.DnsResolverListener;
+
+import javax.annotation.Nullable;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+import static com.google.common.collect.Iterables.concat;
+import static java.util.Collections.singleton;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Reports the lookups of a {@link org.zalando.riptide.httpclient.CachingDnsResolver} as a counter, tagged with
+ * {@code result} ({@code hit}, {@code miss} or {@code stale}), and the latency of the underlying resolver as a timer,
+ * tagged with {@code exception}.
+ */
+@API(status = EXPERIMENTAL)
+public final class MetricsDnsResolverListener implements DnsResolverListener {
+
+    private final MeterRegistry registry;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public MetricsDnsResolverListener(final MeterRegistry registry) {
+        this(registry, "http.client.dns", ImmutableList.of());
+    }
+
+    @API(status = INTERNAL)
+    MetricsDnsResolverListener(final MeterRegistry registry, final String metricName,
+            final ImmutableList<Tag> defaultTags) {
+        this.registry = registry;
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+    }
+
+    public MetricsDnsResolverListener withMetricName(final String metricName) {
+        return new MetricsDnsResolverListener(registry, metricName, defaultTags);
+    }
+
+    public MetricsDnsResolverListener withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(ImmutableList.copyOf(defaultTags));
+    }
+
+    public MetricsDnsResolverListener withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new MetricsDnsResolverListener(registry, metricName, ImmutableList.copyOf(defaultTags));
+    }
+
+    @Override
+    public void onHit(final String host) {
+        count("hit");
+    }
+
+    @Override
+    public void onMiss(final String host) {
+        count("miss");
+    }
+
+    @Override
+    public void onStale(final String host, final UnknownHostException failure) {
+        count("stale");
+    }
+
+    @Override
+    public void onResolution(final String host, final Duration duration,
+            @Nullable final UnknownHostException failure) {
+        final String exception = failure == null ? "None" : failure.getClass().getSimpleName();
+        registry.timer(metricName + ".resolution", concat(defaultTags, singleton(Tag.of("exception", exception))))
+                .record(duration);
+    }
+
+    private void count(final String result) {
+        registry.counter(metricName + ".cache", concat(defaultTags, singleton(Tag.of("result", result))))
+                .increment();
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.zalando.riptide.httpclient.metrics;
+
+import lombok.experimental.Delegate;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpInetConnection;
+import org.apache.http.conn.ManagedHttpClientConnection;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A connection that reports being closed exactly once, no matter whether it was closed gracefully, shut down or both.
+ */
+final class MonitoredConnection implements ManagedHttpClientConnection {
+
+    private interface Closing {
+        void close() throws IOException;
+        void shutdown() throws IOException;
+    }
+
+    // Lombok doesn't pick up inherited interface methods here, hence the explicit type hierarchy
+    @Delegate(types = {ManagedHttpClientConnection.class, HttpClientConnection.class, HttpInetConnection.class,
+            HttpConnection.class}, excludes = Closing.class)
+    private final ManagedHttpClientConnection connection;
+
+    private final Runnable onClose;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    MonitoredConnection(final ManagedHttpClientConnection connection, final Runnable onClose) {
+        this.connection = connection;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            connection.close();
+        } finally {
+            closed();
+        }
+    }
+
+    @Override
+    public void shutdown() throws IOException {
+        try {
+            connection.shutdown();
+        } finally {
+            closed();
+        }
+    }
+
+    private void closed() {
+        if (closed.compareAndSet(false, true)) {
+            onClose.run();
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.zalando.riptide.httpclient.metrics;
+
+import lombok.AllArgsConstructor;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@AllArgsConstructor
+final class MonitoredHttpClientConnectionManager implements HttpClientConnectionManager {
+
+    private final HttpClientConnectionManager manager;
+    private final PoolStatistics statistics;
+
+    @Override
+    public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+        final ConnectionRequest request = manager.requestConnection(route, state);
+        statistics.requested(route);
+
+        // a request stops being pending exactly once: when it's leased, when it fails or when it's cancelled
+        final AtomicBoolean pending = new AtomicBoolean(true);
+
+        return new ConnectionRequest() {
+
+            @Override
+            public HttpClientConnection get(final long timeout, final TimeUnit unit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                final long start = System.nanoTime();
+                boolean leased = false;
+
+                try {
+                    final HttpClientConnection connection = request.get(timeout, unit);
+                    if (pending.compareAndSet(true, false)) {
+                        statistics.leased(route, connection, System.nanoTime() - start);
+                    }
+                    leased = true;
+                    return connection;
+                } finally {
+                    if (!leased && pending.compareAndSet(true, false)) {
+                        statistics.failed(route, System.nanoTime() - start);
+                    }
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                final boolean cancelled = request.cancel();
+
+                if (cancelled && pending.compareAndSet(true, false)) {
+                    statistics.cancelled(route);
+                }
+
+                return cancelled;
+            }
+
+        };
+    }
+
+    @Override
+    public void releaseConnection(final HttpClientConnection connection, final Object state,
+            final long validDuration, final TimeUnit unit) {
+        try {
+            manager.releaseConnection(connection, state, validDuration, unit);
+        } finally {
+            statistics.released(connection);
+        }
+    }
+
+    @Override
+    public void connect(final HttpClientConnection connection, final HttpRoute route, final int connectTimeout,
+            final HttpContext context) throws IOException {
+        manager.connect(connection, route, connectTimeout, context);
+    }
+
+    @Override
+    public void upgrade(final HttpClientConnection connection, final HttpRoute route, final HttpContext context)
+            throws IOException {
+        manager.upgrade(connection, route, context);
+    }
+
+    @Override
+    public void routeComplete(final HttpClientConnection connection, final HttpRoute route,
+            final HttpContext context) throws IOException {
+        manager.routeComplete(connection, route, context);
+    }
+
+    @Override
+    public void closeIdleConnections(final long idleTime, final TimeUnit unit) {
+        manager.closeIdleConnections(idleTime, unit);
+    }
+
+    @Override
+    public void closeExpiredConnections() {
+        manager.closeExpiredConnections();
+    }
+
+    @Override
+    public void shutdown() {
+        try {
+            manager.shutdown();
+        } finally {
+            statistics.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package org.zalando.riptide.httpclient.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The state behind {@link LiveHttpConnectionPoolMetrics}, shared by the monitored connection factory and the monitored
+ * connection manager.
+ */
+final class PoolStatistics {
+
+    private final ConnectionCounters total = new ConnectionCounters();
+    private final ConcurrentMap<HttpRoute, ConnectionCounters> routes = new ConcurrentHashMap<>();
+
+    /**
+     * The route of every leased connection, since the connections that are released are proxies that don't expose it.
+     */
+    private final ConcurrentMap<HttpClientConnection, ConnectionCounters> leases = new ConcurrentHashMap<>();
+
+    private volatile int max = -1;
+
+    @Nullable
+    private volatile BiConsumer<HttpRoute, ConnectionCounters> listener;
+
+    @Nullable
+    private volatile Timer wait;
+
+    ConnectionCounters getTotal() {
+        return total;
+    }
+
+    int getMax() {
+        return max;
+    }
+
+    void setMax(final int max) {
+        this.max = max;
+    }
+
+    /**
+     * Binds new and existing routes to the given listener and records lease wait times using the given timer.
+     */
+    void bind(final BiConsumer<HttpRoute, ConnectionCounters> listener, final Timer wait) {
+        this.listener = listener;
+        this.wait = wait;
+
+        // registering a route twice, because it showed up concurrently, is harmless
+        routes.forEach(listener);
+    }
+
+    void opened(final HttpRoute route) {
+        total.opened();
+        route(route).opened();
+    }
+
+    void closed(final HttpRoute route) {
+        total.closed();
+        route(route).closed();
+    }
+
+    void requested(final HttpRoute route) {
+        total.requested();
+        route(route).requested();
+    }
+
+    void leased(final HttpRoute route, final HttpClientConnection connection, final long nanos) {
+        final ConnectionCounters counters = route(route);
+        total.leased();
+        counters.leased();
+        leases.put(connection, counters);
+        record(nanos);
+    }
+
+    void failed(final HttpRoute route, final long nanos) {
+        total.failed();
+        route(route).failed();
+        record(nanos);
+    }
+
+    void cancelled(final HttpRoute route) {
+        total.failed();
+        route(route).failed();
+    }
+
+    void released(final HttpClientConnection connection) {
+        @Nullable final ConnectionCounters counters = leases.remove(connection);
+
+        if (counters == null) {
+            return;
+        }
+
+        total.released();
+        counters.released();
+    }
+
+    void shutdown() {
+        leases.keySet().forEach(this::released);
+    }
+
+    private ConnectionCounters route(final HttpRoute route) {
+        @Nullable final ConnectionCounters existing = routes.get(route);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        final ConnectionCounters counters = new ConnectionCounters();
+        @Nullable final ConnectionCounters previous = routes.putIfAbsent(route, counters);
+
+        if (previous != null) {
+            return previous;
+        }
+
+        // registering gauges may block, which is why it must not happen inside of the map
+        @Nullable final BiConsumer<HttpRoute, ConnectionCounters> listener = this.listener;
+
+        if (listener != null) {
+            listener.accept(route, counters);
+        }
+
+        return counters;
+    }
+
+    private void record(final long nanos) {
+        @Nullable final Timer wait = this.wait;
+
+        if (wait != null) {
+            wait.record(nanos, NANOSECONDS);
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+package org.zalando.riptide.httpclient.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.protocol.HttpContext;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.collect.Iterables.concat;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Records how long requests wait for a connection of the given {@link HttpClientConnectionManager manager}, tagged with
+ * {@code phase=lease}, and how long it takes to open new connections, including the TLS handshake, tagged with
+ * {@code phase=connect}. The default metric name matches the one of
+ * {@code org.zalando.riptide.metrics.PhaseMetricsPlugin}.
+ */
+@API(status = EXPERIMENTAL)
+public final class TimedHttpClientConnectionManager implements HttpClientConnectionManager {
+
+    private final HttpClientConnectionManager manager;
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    private final Timer lease;
+    private final Timer connect;
+
+    public TimedHttpClientConnectionManager(final HttpClientConnectionManager manager,
+            final MeterRegistry registry) {
+        this(manager, registry, "http.client.phases", ImmutableList.of());
+    }
+
+    @API(status = INTERNAL)
+    TimedHttpClientConnectionManager(final HttpClientConnectionManager manager,
+            final MeterRegistry registry, final String metricName, final ImmutableList<Tag> defaultTags) {
+        this.manager = manager;
+        this.registry = registry;
+        this.clock = registry.config().clock();
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+        this.lease = timer("lease");
+        this.connect = timer("connect");
+    }
+
+    public TimedHttpClientConnectionManager withMetricName(final String metricName) {
+        return new TimedHttpClientConnectionManager(manager, registry, metricName, defaultTags);
+    }
+
+    public TimedHttpClientConnectionManager withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(ImmutableList.copyOf(defaultTags));
+    }
+
+    public TimedHttpClientConnectionManager withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new TimedHttpClientConnectionManager(manager, registry, metricName, ImmutableList.copyOf(defaultTags));
+    }
+
+    private Timer timer(final String phase) {
+        return registry.timer(metricName, concat(defaultTags, singleton(Tag.of("phase", phase))));
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+        final ConnectionRequest request = manager.requestConnection(route, state);
+
+        return new ConnectionRequest() {
+
+            @Override
+            public HttpClientConnection get(final long timeout, final TimeUnit unit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                final long start = clock.monotonicTime();
+                try {
+                    return request.get(timeout, unit);
+                } finally {
+                    record(lease, start);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+
+        };
+    }
+
+    @Override
+    public void releaseConnection(final HttpClientConnection connection, final Object state,
+            final long validDuration, final TimeUnit unit) {
+        manager.releaseConnection(connection, state, validDuration, unit);
+    }
+
+    @Override
+    public void connect(final HttpClientConnection connection, final HttpRoute route, final int connectTimeout,
+            final HttpContext context) throws IOException {
+        final long start = clock.monotonicTime();
+        try {
+            manager.connect(connection, route, connectTimeout, context);
+        } finally {
+            record(connect, start);
+        }
+    }
+
+    @Override
+    public void upgrade(final HttpClientConnection connection, final HttpRoute route, final HttpContext context)
+            throws IOException {
+        manager.upgrade(connection, route, context);
+    }
+
+    @Override
+    public void routeComplete(final HttpClientConnection connection, final HttpRoute route,
+            final HttpContext context) throws IOException {
+        manager.routeComplete(connection, route, context);
+    }
+
+    @Override
+    public void closeIdleConnections(final long idleTime, final TimeUnit unit) {
+        manager.closeIdleConnections(idleTime, unit);
+    }
+
+    @Override
+    public void closeExpiredConnections() {
+        manager.closeExpiredConnections();
+    }
+
+    @Override
+    public void shutdown() {
+        manager.shutdown();
+    }
+
+    private void record(final Timer timer, final long start) {
+        timer.record(clock.monotonicTime() - start, NANOSECONDS);
+    }
+
+}
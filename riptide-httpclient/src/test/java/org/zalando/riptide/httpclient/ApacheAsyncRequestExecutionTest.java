@@ -0,0 +1,304 @@
+package org.zalando.riptide.httpclient;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import com.github.restdriver.clientdriver.ClientDriverRequest.Method;
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import org.apache.http.HttpResponse;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.protocol.HttpAsyncRequestProducer;
+import org.apache.http.nio.protocol.HttpAsyncResponseConsumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.TransferableBody;
+import org.zalando.riptide.capture.Capture;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.giveResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.giveResponseAsBytes;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static com.google.common.io.Resources.getResource;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.Route.call;
+import static org.zalando.riptide.Types.listOf;
+
+final class ApacheAsyncRequestExecutionTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.NON_PRIVATE)
+    static class User {
+        String login;
+    }
+
+    private final CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+            .setMaxConnTotal(1)
+            .setMaxConnPerRoute(1)
+            .build();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final Http http = Http.builder()
+            .executor(executor)
+            .network(new ApacheAsyncRequestExecution(client, executor))
+            .baseUrl(driver.getBaseUrl())
+            .converter(createJsonConverter())
+            .converter(new StringHttpMessageConverter())
+            .build();
+
+    ApacheAsyncRequestExecutionTest() {
+        client.start();
+    }
+
+    private static MappingJackson2HttpMessageConverter createJsonConverter() {
+        return new MappingJackson2HttpMessageConverter(new ObjectMapper()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdown();
+        client.close();
+        driver.shutdown();
+    }
+
+    @Test
+    void shouldReadContributors() throws IOException {
+        driver.addExpectation(onRequestTo("/repos/zalando/riptide/contributors"),
+                giveResponseAsBytes(getResource("contributors.json").openStream(), "application/json"));
+
+        final Capture<List<User>> capture = Capture.empty();
+
+        final List<User> users = http.get("/repos/{org}/{repo}/contributors", "zalando", "riptide")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(listOf(User.class), capture))
+                .thenApply(capture).join();
+
+        final List<String> names = users.stream()
+                .map(user -> user.login)
+                .collect(toList());
+
+        assertThat(names, hasItems("jhorstmann", "lukasniemeier-zalando", "whiskeysierra"));
+    }
+
+    @Test
+    void shouldSendBodyAndHeaders() {
+        driver.addExpectation(onRequestTo("/").withMethod(Method.POST)
+                        .withHeader("X-Foo", "bar")
+                        .withHeader("Cookie", "a=1; b=2")
+                        .withBody("Hello", "text/plain"),
+                giveResponse("World", "text/plain").withHeader("X-Bar", "foo"));
+
+        http.post("/")
+                .header("X-Foo", "bar")
+                .header("Cookie", "a=1")
+                .header("Cookie", "b=2")
+                .header("Content-Length", "5")
+                .header("Transfer-Encoding", "identity")
+                .contentType(TEXT_PLAIN)
+                .body("Hello")
+                .call(pass())
+                .join();
+    }
+
+    @Test
+    void shouldStreamFileBody(@TempDir final Path directory) throws IOException {
+        final String body = Strings.repeat("x", 1024 * 1024);
+        final Path file = Files.write(directory.resolve("body.txt"), body.getBytes(UTF_8));
+
+        driver.addExpectation(onRequestTo("/files").withMethod(Method.POST)
+                        .withHeader("Content-Length", String.valueOf(body.length()))
+                        .withBody(body, "application/octet-stream"),
+                giveEmptyResponse());
+
+        http.post("/files")
+                .body(TransferableBody.of(file))
+                .call(pass())
+                .join();
+    }
+
+    @Test
+    void shouldStreamBufferBody() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.put("Hello".getBytes(UTF_8)).flip();
+
+        driver.addExpectation(onRequestTo("/files").withMethod(Method.POST)
+                        .withHeader("Content-Length", "5")
+                        .withBody("Hello", "text/plain"),
+                giveEmptyResponse());
+
+        http.post("/files")
+                .contentType(TEXT_PLAIN)
+                .body(TransferableBody.of(buffer))
+                .call(pass())
+                .join();
+
+        assertThat(buffer.remaining(), is(5));
+    }
+
+    @Test
+    void shouldExposeResponse() throws IOException {
+        driver.addExpectation(onRequestTo("/").withMethod(Method.PUT),
+                giveResponse("World", "text/plain").withHeader("X-Bar", "foo"));
+
+        final Capture<ClientHttpResponse> capture = Capture.empty();
+        final ClientHttpResponse response = http.put("/")
+                .call(call(capture))
+                .thenApply(capture)
+                .join();
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(response.getRawStatusCode(), is(200));
+        assertThat(response.getStatusText(), is("OK"));
+        assertThat(response.getHeaders().getFirst("X-Bar"), is("foo"));
+        assertThat(response.getHeaders().getContentType().toString(), startsWith("text/plain"));
+
+        response.close();
+    }
+
+    @Test
+    void shouldSupportEmptyResponses() throws IOException {
+        driver.addExpectation(onRequestTo("/").withMethod(Method.HEAD), giveEmptyResponse().withStatus(204));
+
+        final Capture<ClientHttpResponse> capture = Capture.empty();
+        final ClientHttpResponse response = http.head("/")
+                .call(call(capture))
+                .thenApply(capture)
+                .join();
+
+        assertThat(response.getRawStatusCode(), is(204));
+        assertThat(response.getBody().read(), is(-1));
+    }
+
+    @Test
+    void shouldStreamLargeResponses() {
+        final byte[] body = new byte[1024 * 1024];
+        Arrays.fill(body, (byte) 'x');
+        driver.addExpectation(onRequestTo("/"), giveResponseAsBytes(new ByteArrayInputStream(body), "text/plain"));
+
+        final AtomicInteger length = new AtomicInteger();
+
+        http.get("/")
+                .call(call(response -> length.set(ByteStreams.toByteArray(response.getBody()).length)))
+                .join();
+
+        assertThat(length.get(), is(body.length));
+    }
+
+    @Test
+    void shouldNotRunRoutesOnDispatcherThreads() {
+        driver.addExpectation(onRequestTo("/"), giveEmptyResponse());
+
+        final AtomicReference<String> thread = new AtomicReference<>();
+
+        http.get("/")
+                .call(call(response -> thread.set(Thread.currentThread().getName())))
+                .join();
+
+        assertThat(thread.get(), not(startsWith("I/O dispatcher")));
+    }
+
+    @Test
+    void shouldCompressRequestBody() {
+        driver.addExpectation(onRequestTo("/").withMethod(Method.POST)
+                        .withHeader("Content-Encoding", "gzip"),
+                giveEmptyResponse());
+
+        final Http http = Http.builder()
+                .executor(executor)
+                .network(new ApacheAsyncRequestExecution(client, executor).withRequestCompression())
+                .baseUrl(driver.getBaseUrl())
+                .converter(new StringHttpMessageConverter())
+                .build();
+
+        http.post("/")
+                .contentType(TEXT_PLAIN)
+                .body("Hello")
+                .call(pass())
+                .join();
+    }
+
+    @Test
+    void shouldFailOnConnectionErrors() {
+        final CompletableFuture<ClientHttpResponse> future = http.get("http://localhost:1/")
+                .call(pass());
+
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertThat(exception.getCause(), is(instanceOf(ConnectException.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCancelRequest() throws IOException {
+        final HttpAsyncClient client = mock(HttpAsyncClient.class);
+        final Future<HttpResponse> cause = mock(Future.class);
+        final ArgumentCaptor<FutureCallback<HttpResponse>> callback = ArgumentCaptor.forClass(FutureCallback.class);
+        when(client.execute(any(HttpAsyncRequestProducer.class), any(HttpAsyncResponseConsumer.class),
+                callback.capture())).thenReturn(cause);
+
+        final CompletableFuture<ClientHttpResponse> future = new ApacheAsyncRequestExecution(client, executor)
+                .execute(RequestArguments.create()
+                        .withMethod(GET)
+                        .withUri(URI.create("http://localhost/"))
+                        .withEntity(message -> {
+                        }));
+
+        future.cancel(true);
+        callback.getValue().cancelled();
+
+        verify(cause).cancel(true);
+        assertTrue(future.isCancelled());
+    }
+
+}
@@ -11,6 +11,7 @@ import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.task.AsyncListenableTaskExecutor;
 import org.springframework.http.HttpEntity;
@@ -22,16 +23,20 @@ import org.springframework.http.converter.json.MappingJackson2HttpMessageConvert
 import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 import org.zalando.riptide.Http;
+import org.zalando.riptide.TransferableBody;
 import org.zalando.riptide.capture.Capture;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NON_PRIVATE;
+import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
 import static com.github.restdriver.clientdriver.RestClientDriver.giveResponse;
 import static com.github.restdriver.clientdriver.RestClientDriver.giveResponseAsBytes;
 import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
@@ -176,6 +181,21 @@ final class ApacheClientHttpRequestFactoryTest {
         assertThat(names, hasItems("jhorstmann", "lukasniemeier-zalando", "whiskeysierra"));
     }
 
+    @Test
+    void shouldSendFileWithContentLength(@TempDir final Path directory) throws IOException {
+        final Path file = Files.write(directory.resolve("body.txt"), "Hello, world!".getBytes(UTF_8));
+
+        driver.addExpectation(onRequestTo("/files").withMethod(Method.POST)
+                        .withHeader("Content-Length", "13")
+                        .withBody("Hello, world!", "application/octet-stream"),
+                giveEmptyResponse());
+
+        http.post("/files")
+                .body(TransferableBody.of(file))
+                .call(pass())
+                .join();
+    }
+
     @Test
     void shouldReleaseConnection() {
         driver.addExpectation(onRequestTo("/"), giveResponse("Hello world!", "text/plain"));
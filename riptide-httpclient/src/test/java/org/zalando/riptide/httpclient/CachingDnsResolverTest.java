@@ -0,0 +1,224 @@
+package org.zalando.riptide.httpclient;
+
+import org.apache.http.conn.DnsResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+final class CachingDnsResolverTest {
+
+    private final InetAddress first = address(1);
+    private final InetAddress second = address(2);
+    private final InetAddress third = address(3);
+
+    private final DnsResolver resolver = mock(DnsResolver.class);
+    private final AtomicLong now = new AtomicLong();
+    private final Clock clock = mock(Clock.class);
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private final List<String> events = new ArrayList<>();
+
+    private final DnsResolverListener listener = new DnsResolverListener() {
+        @Override
+        public void onHit(final String host) {
+            events.add("hit");
+        }
+
+        @Override
+        public void onMiss(final String host) {
+            events.add("miss");
+        }
+
+        @Override
+        public void onStale(final String host, final UnknownHostException failure) {
+            events.add("stale");
+        }
+    };
+
+    private final CachingDnsResolver unit = new CachingDnsResolver(resolver, refreshes::add)
+            .withTimeToLive(Duration.ofSeconds(60))
+            .withMaxStale(Duration.ofSeconds(60))
+            .withListener(listener)
+            .withClock(clock);
+
+    @BeforeEach
+    void defaultBehaviour() throws UnknownHostException {
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        when(resolver.resolve("example.com")).thenReturn(new InetAddress[]{first});
+    }
+
+    @Test
+    void shouldResolveUnknownHost() throws UnknownHostException {
+        assertThat(unit.resolve("example.com"), arrayContaining(first));
+        assertThat(events, contains("miss"));
+    }
+
+    @Test
+    void shouldCacheAddresses() throws UnknownHostException {
+        unit.resolve("example.com");
+        now.addAndGet(30_000);
+        unit.resolve("example.com");
+
+        verify(resolver, times(1)).resolve("example.com");
+        assertThat(events, contains("miss", "hit"));
+        assertThat(refreshes.isEmpty(), is(true));
+    }
+
+    @Test
+    void shouldRefreshInBackgroundBeforeExpiry() throws UnknownHostException {
+        unit.resolve("example.com");
+
+        when(resolver.resolve("example.com")).thenReturn(new InetAddress[]{second});
+        now.addAndGet(45_000);
+
+        assertThat(unit.resolve("example.com"), arrayContaining(first));
+        assertThat(unit.resolve("example.com"), arrayContaining(first));
+        assertThat(refreshes.size(), is(1));
+
+        refreshes.get(0).run();
+
+        assertThat(unit.resolve("example.com"), arrayContaining(second));
+        assertThat(events, contains("miss", "hit", "hit", "hit"));
+        verify(resolver, times(2)).resolve("example.com");
+    }
+
+    @Test
+    void shouldKeepAddressesIfRefreshFails() throws UnknownHostException {
+        unit.resolve("example.com");
+
+        when(resolver.resolve("example.com")).thenThrow(new UnknownHostException("example.com"));
+        now.addAndGet(45_000);
+
+        unit.resolve("example.com");
+        refreshes.get(0).run();
+
+        assertThat(unit.resolve("example.com"), arrayContaining(first));
+        assertThat(refreshes.size(), is(2));
+    }
+
+    @Test
+    void shouldResolveExpiredAddresses() throws UnknownHostException {
+        unit.resolve("example.com");
+
+        when(resolver.resolve("example.com")).thenReturn(new InetAddress[]{second});
+        now.addAndGet(60_000);
+
+        assertThat(unit.resolve("example.com"), arrayContaining(second));
+        assertThat(events, contains("miss", "miss"));
+    }
+
+    @Test
+    void shouldServeStaleAddressesOnFailure() throws UnknownHostException {
+        unit.resolve("example.com");
+
+        when(resolver.resolve("example.com")).thenThrow(new UnknownHostException("example.com"));
+        now.addAndGet(119_999);
+
+        assertThat(unit.resolve("example.com"), arrayContaining(first));
+        assertThat(events, contains("miss", "miss", "stale"));
+    }
+
+    @Test
+    void shouldFailAfterMaxStale() throws UnknownHostException {
+        unit.resolve("example.com");
+
+        when(resolver.resolve("example.com")).thenThrow(new UnknownHostException("example.com"));
+        now.addAndGet(120_000);
+
+        assertThrows(UnknownHostException.class, () -> unit.resolve("example.com"));
+        assertThat(unit.size(), is(0));
+    }
+
+    @Test
+    void shouldNotCacheFailures() throws UnknownHostException {
+        when(resolver.resolve("unknown.example.com")).thenThrow(new UnknownHostException("unknown.example.com"));
+
+        assertThrows(UnknownHostException.class, () -> unit.resolve("unknown.example.com"));
+        assertThrows(UnknownHostException.class, () -> unit.resolve("unknown.example.com"));
+
+        verify(resolver, times(2)).resolve("unknown.example.com");
+    }
+
+    @Test
+    void shouldRotateAddresses() throws UnknownHostException {
+        when(resolver.resolve("example.com")).thenReturn(new InetAddress[]{first, second, third});
+
+        assertThat(unit.resolve("example.com"), arrayContaining(first, second, third));
+        assertThat(unit.resolve("example.com"), arrayContaining(second, third, first));
+        assertThat(unit.resolve("example.com"), arrayContaining(third, first, second));
+        assertThat(unit.resolve("example.com"), arrayContaining(first, second, third));
+    }
+
+    @Test
+    void shouldForgetUnusedHosts() throws UnknownHostException {
+        when(resolver.resolve("other.example.com")).thenReturn(new InetAddress[]{second});
+
+        unit.resolve("example.com");
+        now.addAndGet(120_000);
+        unit.resolve("other.example.com");
+
+        assertThat(unit.size(), is(1));
+    }
+
+    @Test
+    void shouldServeCachedAddressesIfRefreshIsRejected() throws UnknownHostException {
+        final CachingDnsResolver unit = new CachingDnsResolver(resolver, command -> {
+            throw new RejectedExecutionException();
+        }).withClock(clock);
+
+        unit.resolve("example.com");
+        now.addAndGet(45_000);
+
+        assertThat(unit.resolve("example.com"), arrayContaining(first));
+        assertThat(unit.resolve("example.com"), arrayContaining(first));
+        verify(resolver, times(1)).resolve("example.com");
+    }
+
+    @Test
+    void shouldReportResolutions() throws UnknownHostException {
+        final DnsResolverListener listener = mock(DnsResolverListener.class);
+        final UnknownHostException failure = new UnknownHostException("unknown.example.com");
+        doThrow(failure).when(resolver).resolve("unknown.example.com");
+
+        final CachingDnsResolver unit = new CachingDnsResolver(resolver, Runnable::run)
+                .withListener(listener);
+
+        unit.resolve("example.com");
+        assertThrows(UnknownHostException.class, () -> unit.resolve("unknown.example.com"));
+
+        verify(listener).onResolution(eq("example.com"), any(),
+                isNull());
+        verify(listener).onResolution(eq("unknown.example.com"), any(),
+                eq(failure));
+    }
+
+    private static InetAddress address(final int last) {
+        try {
+            return InetAddress.getByAddress(new byte[]{10, 0, 0, (byte) last});
+        } catch (final UnknownHostException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+}
@@ -0,0 +1,147 @@
+package org.zalando.riptide.httpclient.metrics;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.giveResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.zalando.riptide.Route.call;
+
+final class LiveHttpConnectionPoolMetricsTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final LiveHttpConnectionPoolMetrics metrics = new LiveHttpConnectionPoolMetrics()
+            .withMetricName("connection-pool")
+            .withDefaultTags(Tag.of("version", "1"));
+
+    private final PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager(
+            RegistryBuilder.<ConnectionSocketFactory>create()
+                    .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                    .build(),
+            metrics.monitor());
+
+    private final HttpClientConnectionManager manager = metrics.monitor(pool);
+
+    private final CloseableHttpClient client = HttpClientBuilder.create()
+            .setConnectionManager(manager)
+            .build();
+
+    private final Http http = Http.builder()
+            .executor(new ConcurrentTaskExecutor())
+            .requestFactory(new ApacheClientHttpRequestFactory(client))
+            .baseUrl(driver.getBaseUrl())
+            .build();
+
+    LiveHttpConnectionPoolMetricsTest() {
+        metrics.bindTo(registry);
+    }
+
+    @AfterEach
+    void closeClient() throws IOException {
+        client.close();
+    }
+
+    @Test
+    void shouldRecordReleasedConnection() {
+        driver.addExpectation(onRequestTo("/"), giveEmptyResponse());
+
+        http.get("/").call(call(ClientHttpResponse::close)).join();
+
+        assertThat(gauge("connection-pool.available").value(), is(1.0));
+        assertThat(gauge("connection-pool.leased").value(), is(0.0));
+        assertThat(gauge("connection-pool.max").value(), is(20.0));
+        assertThat(gauge("connection-pool.pending").value(), is(0.0));
+        assertThat(registry.get("connection-pool.wait").tag("version", "1").timer().count(), is(1L));
+    }
+
+    @Test
+    void shouldRecordLeasedConnection() {
+        driver.addExpectation(onRequestTo("/"), giveResponse("Hello", "text/plain"));
+
+        final ClientHttpResponse[] leased = new ClientHttpResponse[1];
+        http.get("/").call((response, reader) -> leased[0] = response).join();
+
+        assertThat(gauge("connection-pool.available").value(), is(0.0));
+        assertThat(gauge("connection-pool.leased").value(), is(1.0));
+
+        // closing an unconsumed response discards the connection
+        leased[0].close();
+
+        assertThat(gauge("connection-pool.available").value(), is(0.0));
+        assertThat(gauge("connection-pool.leased").value(), is(0.0));
+    }
+
+    @Test
+    void shouldRecordRoutes() {
+        driver.addExpectation(onRequestTo("/"), giveEmptyResponse());
+
+        http.get("/").call(call(ClientHttpResponse::close)).join();
+
+        final String route = "http://localhost:" + URI.create(driver.getBaseUrl()).getPort();
+
+        assertThat(routeGauge("connection-pool.route.available", route).value(), is(1.0));
+        assertThat(routeGauge("connection-pool.route.leased", route).value(), is(0.0));
+        assertThat(routeGauge("connection-pool.route.pending", route).value(), is(0.0));
+    }
+
+    @Test
+    void shouldRecordClosedConnections() {
+        driver.addExpectation(onRequestTo("/"), giveEmptyResponse());
+
+        http.get("/").call(call(ClientHttpResponse::close)).join();
+        pool.closeIdleConnections(0, MILLISECONDS);
+
+        assertThat(gauge("connection-pool.available").value(), is(0.0));
+    }
+
+    @Test
+    void shouldRecordCancelledRequests() {
+        final ConnectionRequest request = manager.requestConnection(new HttpRoute(new HttpHost("localhost")), null);
+
+        assertThat(gauge("connection-pool.pending").value(), is(1.0));
+
+        request.cancel();
+        request.cancel();
+
+        assertThat(gauge("connection-pool.pending").value(), is(0.0));
+    }
+
+    private Gauge gauge(final String name) {
+        return registry.get(name).tag("version", "1").gauge();
+    }
+
+    private Gauge routeGauge(final String name, final String route) {
+        return registry.get(name).tag("version", "1").tag("route", route).gauge();
+    }
+
+}
@@ -0,0 +1,98 @@
+package org.zalando.riptide.httpclient.metrics;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+import org.zalando.riptide.httpclient.CachingDnsResolver;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.zalando.riptide.Route.call;
+
+final class MetricsDnsResolverListenerTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final MetricsDnsResolverListener unit = new MetricsDnsResolverListener(registry)
+            .withMetricName("dns")
+            .withDefaultTags(Tag.of("version", "1"));
+
+    private final PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager(
+            RegistryBuilder.<ConnectionSocketFactory>create()
+                    .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                    .build(),
+            null,
+            null,
+            new CachingDnsResolver(Runnable::run).withListener(unit),
+            30, SECONDS);
+
+    private final CloseableHttpClient client = HttpClientBuilder.create()
+            .setConnectionManager(pool)
+            .build();
+
+    private final Http http = Http.builder()
+            .executor(new ConcurrentTaskExecutor())
+            .requestFactory(new ApacheClientHttpRequestFactory(client))
+            .baseUrl(driver.getBaseUrl())
+            .build();
+
+    @AfterEach
+    void closeClient() throws IOException {
+        client.close();
+    }
+
+    @Test
+    void shouldRecordLookupsOfNewConnections() {
+        driver.addExpectation(onRequestTo("/"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/"), giveEmptyResponse());
+
+        http.get("/").call(call(ClientHttpResponse::close)).join();
+        // forces a new connection, i.e. another lookup
+        pool.closeIdleConnections(0, SECONDS);
+        http.get("/").call(call(ClientHttpResponse::close)).join();
+
+        assertThat(registry.get("dns.cache").tag("result", "miss").tag("version", "1").counter().count(), is(1.0));
+        assertThat(registry.get("dns.cache").tag("result", "hit").tag("version", "1").counter().count(), is(1.0));
+        assertThat(registry.get("dns.resolution").tag("exception", "None").timer().count(), is(1L));
+    }
+
+    @Test
+    void shouldRecordStaleLookups() {
+        unit.onStale("example.com", new UnknownHostException("example.com"));
+
+        assertThat(registry.get("dns.cache").tag("result", "stale").counter().count(), is(1.0));
+    }
+
+    @Test
+    void shouldRecordFailedResolutions() {
+        unit.onResolution("example.com", Duration.ofMillis(5), new UnknownHostException("example.com"));
+
+        final Timer timer = registry.get("dns.resolution").tag("exception", "UnknownHostException").timer();
+        assertThat(timer.count(), is(1L));
+    }
+
+}
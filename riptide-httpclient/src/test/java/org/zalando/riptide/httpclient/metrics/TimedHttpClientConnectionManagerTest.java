@@ -0,0 +1,70 @@
+package org.zalando.riptide.httpclient.metrics;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import java.io.IOException;
+
+import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.zalando.riptide.Route.call;
+
+final class TimedHttpClientConnectionManagerTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create()
+            .setConnectionManager(new TimedHttpClientConnectionManager(new PoolingHttpClientConnectionManager(),
+                    registry)
+                    .withMetricName("phases")
+                    .withDefaultTags(Tag.of("version", "1")))
+            .build();
+
+    private final Http http = Http.builder()
+            .executor(new ConcurrentTaskExecutor())
+            .requestFactory(new ApacheClientHttpRequestFactory(client))
+            .baseUrl(driver.getBaseUrl())
+            .build();
+
+    @AfterEach
+    void closeClient() throws IOException {
+        client.close();
+    }
+
+    @Test
+    void shouldRecordLeaseOfEveryRequestButConnectOnlyOnce() {
+        driver.addExpectation(onRequestTo("/"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/"), giveEmptyResponse());
+
+        http.get("/").call(call(ClientHttpResponse::close)).join();
+        http.get("/").call(call(ClientHttpResponse::close)).join();
+
+        assertThat(timer("lease").count(), is(2L));
+        assertThat(timer("connect").count(), is(1L));
+    }
+
+    private Timer timer(final String phase) {
+        return registry.get("phases")
+                .tag("version", "1")
+                .tag("phase", phase)
+                .timer();
+    }
+
+}
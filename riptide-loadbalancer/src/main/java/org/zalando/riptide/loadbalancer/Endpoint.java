@@ -0,0 +1,115 @@
+package org.zalando.riptide.loadbalancer;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Math.exp;
+import static java.lang.Math.max;
+
+/**
+ * The live state of a single endpoint: requests in flight, an exponentially weighted moving average of its round trip
+ * times and consecutive failures. Ticks are in nanoseconds, as read from a {@link com.google.common.base.Ticker}.
+ */
+final class Endpoint {
+
+    private final URI uri;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private volatile long ejectedUntil;
+
+    // guarded by this
+    private double latency;
+    private long lastUpdate;
+    private boolean measured;
+
+    Endpoint(final URI uri, final long now) {
+        this.uri = uri;
+        this.ejectedUntil = now;
+    }
+
+    URI getUri() {
+        return uri;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    synchronized double getLatency() {
+        return latency;
+    }
+
+    boolean isAvailable(final long now) {
+        return now - ejectedUntil >= 0;
+    }
+
+    /**
+     * Endpoints that were never measured cost the least, i.e. they are tried right away. The extra nanosecond keeps
+     * requests in flight relevant for endpoints that respond instantly or weren't measured yet.
+     */
+    double getCost() {
+        return (getLatency() + 1) * (getInFlight() + 1);
+    }
+
+    void started() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * @param now the current tick
+     * @param rtt the round trip time of the request that completed
+     * @param decay the time it takes for a round trip time to lose most of its weight
+     */
+    void succeeded(final long now, final long rtt, final long decay) {
+        inFlight.decrementAndGet();
+        failures.set(0);
+        record(now, rtt, decay);
+    }
+
+    /**
+     * Requests that were abandoned by the client, e.g. cancelled, say nothing about the endpoint, i.e. neither its
+     * round trip times nor its failures change.
+     */
+    void abandoned() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Failures are charged at least the given penalty, since they usually complete quickly, e.g. a refused connection,
+     * and their round trip time would make a failing endpoint look faster than a healthy one.
+     *
+     * @return whether the endpoint was ejected, because of too many consecutive failures
+     */
+    boolean failed(final long now, final long rtt, final long penalty, final long decay, final int maxFailures,
+            final long ejectionTime) {
+        inFlight.decrementAndGet();
+        record(now, max(rtt, penalty), decay);
+
+        if (failures.incrementAndGet() < maxFailures) {
+            return false;
+        }
+
+        failures.set(0);
+        ejectedUntil = now + ejectionTime;
+        return true;
+    }
+
+    private synchronized void record(final long now, final long rtt, final long decay) {
+        if (measured) {
+            final double weight = exp(-max(0, now - lastUpdate) / (double) decay);
+            latency = latency * weight + rtt * (1 - weight);
+        } else {
+            latency = rtt;
+            measured = true;
+        }
+
+        lastUpdate = now;
+    }
+
+    @Override
+    public String toString() {
+        return uri.toString();
+    }
+
+}
@@ -0,0 +1,247 @@
+package org.zalando.riptide.loadbalancer;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.function.Function.identity;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Balances requests across a fixed list of endpoints, i.e. base URLs, using the power of two choices: out of two
+ * random endpoints, the one with the lower cost is picked. The cost of an endpoint is the moving average of its round
+ * trip times, weighted by the number of requests that are currently in flight. Failures are charged a
+ * {@link #withFailurePenalty(Duration) penalty} instead of their round trip time. Endpoints that fail a number of times
+ * in a row are ejected for a while. If all endpoints are ejected, all of them are used again. Requests that are
+ * cancelled or timed out by the client are ignored, apart from no longer being in flight.
+ *
+ * A load balancer is both the base URL of a client and a plugin that feeds round trip times and failures back into it:
+ *
+ * <pre>{@code
+ * LoadBalancer balancer = new LoadBalancer(Arrays.asList(
+ *         URI.create("https://host-1.example.com"),
+ *         URI.create("https://host-2.example.com")));
+ *
+ * Http.builder()
+ *     .baseUrl(balancer)
+ *     .plugin(balancer)
+ *     .build();
+ * }</pre>
+ *
+ * Endpoints are picked again for every network attempt, i.e. retries are balanced as well. Requests with an absolute
+ * URI of a different origin than their base URL are left untouched.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class LoadBalancer implements Supplier<URI>, Plugin {
+
+    private final ImmutableMap<URI, Endpoint> endpoints;
+    private final int maxFailures;
+    private final Duration ejectionTime;
+    private final Duration decay;
+    private final Duration failurePenalty;
+    private final Ticker ticker;
+
+    public LoadBalancer(final Collection<URI> endpoints) {
+        this(index(endpoints, Ticker.systemTicker()), 5, Duration.ofSeconds(30), Duration.ofSeconds(10),
+                Duration.ofSeconds(1), Ticker.systemTicker());
+    }
+
+    /**
+     * @param maxFailures the number of consecutive failures after which an endpoint is ejected
+     * @return a copy of this load balancer, without any observed state, that ejects after the given number of failures
+     */
+    public LoadBalancer withMaxFailures(final int maxFailures) {
+        checkArgument(maxFailures > 0, "Max failures must be positive");
+        return new LoadBalancer(index(endpoints.keySet(), ticker), maxFailures, ejectionTime, decay, failurePenalty,
+                ticker);
+    }
+
+    /**
+     * @param ejectionTime the time an ejected endpoint is excluded from being picked
+     * @return a copy of this load balancer, without any observed state, that ejects for the given time
+     */
+    public LoadBalancer withEjectionTime(final Duration ejectionTime) {
+        return new LoadBalancer(index(endpoints.keySet(), ticker), maxFailures, ejectionTime, decay, failurePenalty,
+                ticker);
+    }
+
+    /**
+     * @param decay the time it takes for a round trip time to lose most of its weight in the moving average
+     * @return a copy of this load balancer, without any observed state, that uses the given decay
+     */
+    public LoadBalancer withDecay(final Duration decay) {
+        checkArgument(!decay.isNegative() && !decay.isZero(), "Decay must be positive");
+        return new LoadBalancer(index(endpoints.keySet(), ticker), maxFailures, ejectionTime, decay, failurePenalty,
+                ticker);
+    }
+
+    /**
+     * @param failurePenalty the round trip time that failures are charged at least
+     * @return a copy of this load balancer, without any observed state, that uses the given penalty
+     */
+    public LoadBalancer withFailurePenalty(final Duration failurePenalty) {
+        checkArgument(!failurePenalty.isNegative(), "Failure penalty must not be negative");
+        return new LoadBalancer(index(endpoints.keySet(), ticker), maxFailures, ejectionTime, decay, failurePenalty,
+                ticker);
+    }
+
+    @API(status = INTERNAL)
+    LoadBalancer withTicker(final Ticker ticker) {
+        return new LoadBalancer(index(endpoints.keySet(), ticker), maxFailures, ejectionTime, decay, failurePenalty,
+                ticker);
+    }
+
+    /**
+     * @return the endpoint that currently costs the least out of two random ones
+     */
+    @Override
+    public URI get() {
+        return choose().getUri();
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            @Nullable final URI baseUrl = arguments.getBaseUrl();
+
+            if (baseUrl == null || !endpoints.containsKey(baseUrl)) {
+                return execution.execute(arguments);
+            }
+
+            final Endpoint endpoint = choose();
+            final RequestArguments balanced = endpoint.getUri().equals(baseUrl) ?
+                    arguments : arguments.withBaseUrl(endpoint.getUri());
+
+            if (!sameOrigin(balanced.getRequestUri(), endpoint.getUri())) {
+                // absolute URI that doesn't depend on the base URL
+                return execution.execute(arguments);
+            }
+
+            endpoint.started();
+            final long start = ticker.read();
+            final CompletableFuture<ClientHttpResponse> future;
+
+            try {
+                future = execution.execute(balanced);
+            } catch (final IOException | RuntimeException e) {
+                complete(endpoint, start, null, e);
+                throw e;
+            }
+
+            return future.whenComplete((response, throwable) ->
+                    complete(endpoint, start, response, throwable));
+        };
+    }
+
+    private Endpoint choose() {
+        final long now = ticker.read();
+
+        final List<Endpoint> available = endpoints.values().stream()
+                .filter(endpoint -> endpoint.isAvailable(now))
+                .collect(toImmutableList());
+
+        final List<Endpoint> candidates = available.isEmpty() ? endpoints.values().asList() : available;
+        final int size = candidates.size();
+
+        if (size == 1) {
+            return candidates.get(0);
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(size);
+        final int second = (first + 1 + random.nextInt(size - 1)) % size;
+
+        final Endpoint left = candidates.get(first);
+        final Endpoint right = candidates.get(second);
+
+        return left.getCost() <= right.getCost() ? left : right;
+    }
+
+    private void complete(final Endpoint endpoint, final long start, @Nullable final ClientHttpResponse response,
+            @Nullable final Throwable throwable) {
+
+        if (abandoned(throwable)) {
+            endpoint.abandoned();
+            return;
+        }
+
+        final long now = ticker.read();
+        final long rtt = now - start;
+
+        if (failed(response, throwable)) {
+            endpoint.failed(now, rtt, failurePenalty.toNanos(), decay.toNanos(), maxFailures,
+                    ejectionTime.toNanos());
+        } else {
+            endpoint.succeeded(now, rtt, decay.toNanos());
+        }
+    }
+
+    /**
+     * Requests that were cancelled or timed out by the client, e.g. by a timeout or a backup request, are neither
+     * charged nor counted towards ejection.
+     */
+    private static boolean abandoned(@Nullable final Throwable throwable) {
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+                throwable.getCause() : throwable;
+
+        return cause instanceof CancellationException || cause instanceof TimeoutException;
+    }
+
+    /**
+     * Connection failures and responses of overloaded or unreachable servers count as failures. Other server errors
+     * are usually specific to a request and would eject healthy endpoints.
+     */
+    private static boolean failed(@Nullable final ClientHttpResponse response, @Nullable final Throwable throwable) {
+        if (throwable != null || response == null) {
+            return true;
+        }
+
+        try {
+            final int status = response.getRawStatusCode();
+            return status == 502 || status == 503 || status == 504;
+        } catch (final IOException e) {
+            return true;
+        }
+    }
+
+    private static boolean sameOrigin(final URI uri, final URI baseUrl) {
+        return Objects.equals(uri.getScheme(), baseUrl.getScheme())
+                && Objects.equals(uri.getAuthority(), baseUrl.getAuthority());
+    }
+
+    private static ImmutableMap<URI, Endpoint> index(final Collection<URI> endpoints, final Ticker ticker) {
+        checkArgument(!endpoints.isEmpty(), "At least one endpoint is required");
+        endpoints.forEach(endpoint -> checkArgument(endpoint.isAbsolute(), "Endpoint [%s] is not absolute", endpoint));
+
+        final long now = ticker.read();
+
+        return endpoints.stream()
+                .distinct()
+                .collect(ImmutableMap.toImmutableMap(identity(), uri -> new Endpoint(uri, now)));
+    }
+
+}
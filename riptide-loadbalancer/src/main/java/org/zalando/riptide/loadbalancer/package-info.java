@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.loadbalancer;
+
+import javax.annotation.ParametersAreNonnullByDefault;
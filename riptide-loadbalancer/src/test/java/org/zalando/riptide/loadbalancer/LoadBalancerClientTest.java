@@ -0,0 +1,65 @@
+package org.zalando.riptide.loadbalancer;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class LoadBalancerClientTest {
+
+    private final ClientDriver first = new ClientDriverFactory().createClientDriver();
+    private final ClientDriver second = new ClientDriverFactory().createClientDriver();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create().build();
+    private final ExecutorService executor = newSingleThreadExecutor();
+
+    private final LoadBalancer balancer = new LoadBalancer(Arrays.asList(
+            URI.create(first.getBaseUrl()),
+            URI.create(second.getBaseUrl())));
+
+    private final Http unit = Http.builder()
+            .executor(executor)
+            .requestFactory(new ApacheClientHttpRequestFactory(client))
+            .baseUrl(balancer)
+            .plugin(balancer)
+            .build();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldSpreadRequestsAcrossEndpoints() {
+        first.addExpectation(onRequestTo("/foo"), giveEmptyResponse().after(500, MILLISECONDS));
+        second.addExpectation(onRequestTo("/foo"), giveEmptyResponse().after(500, MILLISECONDS));
+
+        final CompletableFuture<ClientHttpResponse> a = unit.get("/foo").call(pass());
+        final CompletableFuture<ClientHttpResponse> b = unit.get("/foo").call(pass());
+
+        a.join();
+        b.join();
+
+        first.verify();
+        second.verify();
+    }
+
+}
@@ -0,0 +1,370 @@
+package org.zalando.riptide.loadbalancer;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.UrlResolution;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Collections.frequency;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+final class LoadBalancerTest {
+
+    private static final URI FIRST = URI.create("http://first.example.com");
+    private static final URI SECOND = URI.create("http://second.example.com");
+
+    private final AtomicLong time = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return time.get();
+        }
+    };
+
+    private final List<URI> hosts = new ArrayList<>();
+
+    private final LoadBalancer unit = new LoadBalancer(Arrays.asList(FIRST, SECOND))
+            .withTicker(ticker);
+
+    @Test
+    void shouldRequireEndpoints() {
+        assertThrows(IllegalArgumentException.class, () -> new LoadBalancer(Collections.emptyList()));
+    }
+
+    @Test
+    void shouldRequireAbsoluteEndpoints() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new LoadBalancer(Collections.singletonList(URI.create("/api"))));
+    }
+
+    @Test
+    void shouldSupplyEndpoint() {
+        assertThat(unit.get(), anyOf(is(FIRST), is(SECOND)));
+    }
+
+    @Test
+    void shouldSupplySingleEndpoint() {
+        assertThat(new LoadBalancer(Collections.singletonList(FIRST)).get(), is(FIRST));
+    }
+
+    @Test
+    void shouldPreferEndpointWithFewerRequestsInFlight() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(arguments -> {
+            hosts.add(host(arguments));
+            return new CompletableFuture<>();
+        });
+
+        execution.execute(arguments(FIRST));
+        execution.execute(arguments(FIRST));
+
+        assertThat(hosts, containsInAnyOrder(FIRST, SECOND));
+    }
+
+    @Test
+    void shouldPreferFasterEndpoint() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(arguments -> {
+            final URI host = host(arguments);
+            hosts.add(host);
+            time.addAndGet(MILLISECONDS.toNanos(host.equals(FIRST) ? 100 : 1));
+            return CompletableFuture.completedFuture(response(200));
+        });
+
+        for (int i = 0; i < 10; i++) {
+            execution.execute(arguments(FIRST));
+        }
+
+        assertThat(frequency(hosts, FIRST), is(1));
+        assertThat(frequency(hosts, SECOND), is(9));
+    }
+
+    @Test
+    void shouldPenalizeFastFailures() throws IOException {
+        final RequestExecution execution = unit.withMaxFailures(100)
+                .aroundNetwork(arguments -> {
+                    final URI host = host(arguments);
+                    hosts.add(host);
+
+                    if (host.equals(FIRST)) {
+                        return CompletableFuture.completedFuture(response(503));
+                    }
+
+                    time.addAndGet(MILLISECONDS.toNanos(10));
+                    return CompletableFuture.completedFuture(response(200));
+                });
+
+        for (int i = 0; i < 10; i++) {
+            execution.execute(arguments(SECOND));
+        }
+
+        assertThat(frequency(hosts, FIRST), is(1));
+    }
+
+    @Test
+    void shouldEjectEndpointAfterConsecutiveFailures() throws IOException {
+        final RequestExecution execution = unit.withMaxFailures(1)
+                .aroundNetwork(arguments -> {
+                    final URI host = host(arguments);
+                    hosts.add(host);
+
+                    if (host.equals(FIRST)) {
+                        return CompletableFuture.completedFuture(response(503));
+                    }
+
+                    time.addAndGet(MILLISECONDS.toNanos(1));
+                    return CompletableFuture.completedFuture(response(200));
+                });
+
+        for (int i = 0; i < 10; i++) {
+            execution.execute(arguments(SECOND));
+        }
+
+        assertThat(frequency(hosts, FIRST), is(1));
+    }
+
+    @Test
+    void shouldEjectEndpointAfterFailedRequests() throws IOException {
+        final RequestExecution execution = unit.withMaxFailures(1)
+                .aroundNetwork(arguments -> {
+                    final URI host = host(arguments);
+                    hosts.add(host);
+
+                    if (host.equals(FIRST)) {
+                        final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+                        future.completeExceptionally(new IOException("Connection refused"));
+                        return future;
+                    }
+
+                    time.addAndGet(MILLISECONDS.toNanos(1));
+                    return CompletableFuture.completedFuture(response(200));
+                });
+
+        for (int i = 0; i < 10; i++) {
+            execution.execute(arguments(SECOND));
+        }
+
+        assertThat(frequency(hosts, FIRST), is(1));
+    }
+
+    @Test
+    void shouldNotEjectEndpointBecauseOfOtherServerErrors() throws IOException {
+        final RequestExecution execution = unit.withMaxFailures(1)
+                .aroundNetwork(arguments -> {
+                    final URI host = host(arguments);
+                    hosts.add(host);
+
+                    if (host.equals(FIRST)) {
+                        return CompletableFuture.completedFuture(response(500));
+                    }
+
+                    time.addAndGet(MILLISECONDS.toNanos(1));
+                    return CompletableFuture.completedFuture(response(200));
+                });
+
+        for (int i = 0; i < 10; i++) {
+            execution.execute(arguments(FIRST));
+        }
+
+        assertThat(frequency(hosts, FIRST), is(greaterThan(1)));
+    }
+
+    @Test
+    void shouldNotEjectEndpointBecauseOfCancellations() throws IOException {
+        final RequestExecution execution = unit.withMaxFailures(1)
+                .aroundNetwork(arguments -> {
+                    final URI host = host(arguments);
+                    hosts.add(host);
+
+                    if (host.equals(FIRST)) {
+                        final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+                        future.cancel(true);
+                        return future;
+                    }
+
+                    time.addAndGet(MILLISECONDS.toNanos(1));
+                    return CompletableFuture.completedFuture(response(200));
+                });
+
+        for (int i = 0; i < 10; i++) {
+            execution.execute(arguments(FIRST));
+        }
+
+        assertThat(frequency(hosts, FIRST), is(greaterThan(1)));
+    }
+
+    @Test
+    void shouldNotEjectEndpointBecauseOfClientTimeouts() throws IOException {
+        final RequestExecution execution = unit.withMaxFailures(1)
+                .aroundNetwork(arguments -> {
+                    final URI host = host(arguments);
+                    hosts.add(host);
+
+                    if (host.equals(FIRST)) {
+                        final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+                        future.completeExceptionally(new TimeoutException());
+                        return future;
+                    }
+
+                    time.addAndGet(MILLISECONDS.toNanos(1));
+                    return CompletableFuture.completedFuture(response(200));
+                });
+
+        for (int i = 0; i < 10; i++) {
+            execution.execute(arguments(FIRST));
+        }
+
+        assertThat(frequency(hosts, FIRST), is(greaterThan(1)));
+    }
+
+    @Test
+    void shouldReleaseEndpointOnCancellation() throws IOException {
+        final List<CompletableFuture<ClientHttpResponse>> futures = new ArrayList<>();
+
+        final RequestExecution execution = unit.aroundNetwork(arguments -> {
+            hosts.add(host(arguments));
+            final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+            futures.add(future);
+            return future;
+        });
+
+        execution.execute(arguments(FIRST));
+        execution.execute(arguments(FIRST));
+        futures.forEach(future -> future.cancel(true));
+        hosts.clear();
+
+        // neither endpoint has a request in flight left, i.e. both are still picked
+        execution.execute(arguments(FIRST));
+        execution.execute(arguments(FIRST));
+
+        assertThat(hosts, containsInAnyOrder(FIRST, SECOND));
+    }
+
+    @Test
+    void shouldReadmitEndpointAfterEjectionTime() throws IOException {
+        final RequestExecution execution = unit.withMaxFailures(1)
+                .withEjectionTime(Duration.ofSeconds(30))
+                .aroundNetwork(arguments -> {
+                    final URI host = host(arguments);
+                    hosts.add(host);
+                    return CompletableFuture.completedFuture(response(503));
+                });
+
+        execution.execute(arguments(FIRST));
+        execution.execute(arguments(FIRST));
+
+        assertThat(hosts, containsInAnyOrder(FIRST, SECOND));
+
+        time.addAndGet(Duration.ofSeconds(30).toNanos());
+        hosts.clear();
+
+        execution.execute(arguments(FIRST));
+        execution.execute(arguments(FIRST));
+
+        assertThat(hosts, containsInAnyOrder(FIRST, SECOND));
+    }
+
+    @Test
+    void shouldUseAllEndpointsIfAllAreEjected() throws IOException {
+        final RequestExecution execution = unit.withMaxFailures(1)
+                .aroundNetwork(arguments -> {
+                    hosts.add(host(arguments));
+                    return CompletableFuture.completedFuture(response(503));
+                });
+
+        for (int i = 0; i < 10; i++) {
+            execution.execute(arguments(FIRST));
+        }
+
+        assertThat(hosts.size(), is(10));
+    }
+
+    @Test
+    void shouldIgnoreUnknownBaseUrl() throws IOException {
+        final URI other = URI.create("http://other.example.com");
+
+        unit.aroundNetwork(arguments -> {
+            hosts.add(host(arguments));
+            return new CompletableFuture<>();
+        }).execute(arguments(other));
+
+        assertThat(hosts, contains(other));
+    }
+
+    @Test
+    void shouldIgnoreAbsoluteUri() throws IOException {
+        final RequestExecution execution = unit.aroundNetwork(arguments -> {
+            hosts.add(arguments.getRequestUri());
+            return new CompletableFuture<>();
+        });
+
+        for (int i = 0; i < 5; i++) {
+            execution.execute(RequestArguments.create()
+                    .withBaseUrl(FIRST)
+                    .withUri(URI.create("http://other.example.com/foo")));
+        }
+
+        assertThat(hosts, everyItem(is(URI.create("http://other.example.com/foo"))));
+    }
+
+    @Test
+    void shouldReleaseEndpointOnException() throws IOException {
+        final RequestExecution failing = unit.aroundNetwork(arguments -> {
+            throw new IOException("Connection refused");
+        });
+
+        assertThrows(IOException.class, () -> failing.execute(arguments(FIRST)));
+        assertThrows(IOException.class, () -> failing.execute(arguments(FIRST)));
+
+        // neither endpoint has a request in flight left, i.e. both are still picked
+        final RequestExecution execution = unit.aroundNetwork(arguments -> {
+            hosts.add(host(arguments));
+            return new CompletableFuture<>();
+        });
+
+        execution.execute(arguments(FIRST));
+        execution.execute(arguments(FIRST));
+
+        assertThat(hosts, containsInAnyOrder(FIRST, SECOND));
+    }
+
+    private static RequestArguments arguments(final URI baseUrl) {
+        return RequestArguments.create()
+                .withBaseUrl(baseUrl)
+                .withUrlResolution(UrlResolution.RFC)
+                .withUriTemplate("/foo");
+    }
+
+    private static URI host(final RequestArguments arguments) {
+        final URI uri = arguments.getRequestUri();
+        return URI.create(uri.getScheme() + "://" + uri.getAuthority());
+    }
+
+    private static ClientHttpResponse response(final int status) throws IOException {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getRawStatusCode()).thenReturn(status);
+        return response;
+    }
+
+}
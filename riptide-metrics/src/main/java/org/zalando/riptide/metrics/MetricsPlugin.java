@@ -1,10 +1,10 @@
 package org.zalando.riptide.metrics;
 
 import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
-import io.micrometer.core.instrument.Timer.Sample;
 import lombok.AllArgsConstructor;
 import org.apiguardian.api.API;
 import org.springframework.http.client.ClientHttpResponse;
@@ -12,23 +12,36 @@ import org.zalando.riptide.Plugin;
 import org.zalando.riptide.RequestArguments;
 import org.zalando.riptide.RequestExecution;
 
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import static com.google.common.collect.Iterables.concat;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
 @API(status = EXPERIMENTAL)
 public final class MetricsPlugin implements Plugin {
 
     private final MeterRegistry registry;
+    private final Clock clock;
     private final String metricName;
     private final ImmutableList<Tag> defaultTags;
     private final TagGenerator generator = new DefaultTagGenerator();
 
+    /**
+     * Timers by everything {@link DefaultTagGenerator} derives its tags from, which saves building tags and looking up
+     * the timer in the registry for every single request.
+     */
+    private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
     public MetricsPlugin(final MeterRegistry registry) {
         this(registry, "http.client.requests", ImmutableList.of());
     }
 
     private MetricsPlugin(final MeterRegistry registry, final String metricName, final ImmutableList<Tag> defaultTags) {
         this.registry = registry;
+        this.clock = registry.config().clock();
         this.metricName = metricName;
         this.defaultTags = defaultTags;
     }
@@ -48,23 +61,35 @@ public final class MetricsPlugin implements Plugin {
     @Override
     public RequestExecution aroundNetwork(final RequestExecution execution) {
         return arguments -> {
-            final Measurement measurement = new Measurement(arguments);
+            final Measurement measurement = new Measurement(clock.monotonicTime(), arguments);
 
             return execution.execute(arguments)
                     .whenComplete(measurement::record);
         };
     }
 
+    private Timer timer(final RequestArguments arguments, @Nullable final ClientHttpResponse response,
+            @Nullable final Throwable throwable) {
+
+        final TimerKey key = new TimerKey(arguments, response, throwable);
+        @Nullable final Timer timer = timers.get(key);
+
+        if (timer == null) {
+            return timers.computeIfAbsent(key, ignored ->
+                    registry.timer(metricName, concat(defaultTags, generator.tags(arguments, response, throwable))));
+        }
+
+        return timer;
+    }
+
     @AllArgsConstructor
     private final class Measurement {
 
-        private final Sample sample = Timer.start(registry);
+        private final long start;
         private final RequestArguments arguments;
 
         void record(final ClientHttpResponse response, final Throwable throwable) {
-            final Iterable<Tag> tags = concat(defaultTags, generator.tags(arguments, response, throwable));
-            final Timer timer = registry.timer(metricName, tags);
-            sample.stop(timer);
+            timer(arguments, response, throwable).record(clock.monotonicTime() - start, NANOSECONDS);
         }
 
     }
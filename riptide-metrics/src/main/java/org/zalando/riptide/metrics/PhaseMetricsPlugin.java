@@ -0,0 +1,177 @@
+package org.zalando.riptide.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import org.apiguardian.api.API;
+import org.zalando.riptide.Attribute;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestArguments.Entity;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.collect.Iterables.concat;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Records how long each request spends in the individual phases of the plugin pipeline:
+ *
+ * <dl>
+ *     <dt>{@code queue}</dt>
+ *     <dd>Waiting for a thread of the executor, not recorded if the {@link Plugin#CALLER_RUNS caller runs} it.</dd>
+ *     <dt>{@code serialization}</dt>
+ *     <dd>Writing the request body.</dd>
+ *     <dt>{@code network}</dt>
+ *     <dd>Sending the request until the response arrived, including the serialization.</dd>
+ *     <dt>{@code route}</dt>
+ *     <dd>Executing the route, i.e. usually deserializing and consuming the response.</dd>
+ * </dl>
+ *
+ * All phases are recorded by the same timer with a {@code phase} tag. The timers are deliberately not tagged per
+ * request, i.e. there are no method, URI or status tags. {@link MetricsPlugin} already covers those.
+ *
+ * Connection acquisition, which happens as part of the network phase, can be recorded under the same name, as
+ * {@code lease} and {@code connect}, using {@code org.zalando.riptide.httpclient.metrics.TimedHttpClientConnectionManager}.
+ */
+@API(status = EXPERIMENTAL)
+public final class PhaseMetricsPlugin implements Plugin {
+
+    /**
+     * The time the request was handed over to the executor. It's mutable since the dispatch phase might be executed
+     * more than once per submission, e.g. by retries, but the wait should be recorded only once.
+     */
+    private static final Attribute<AtomicLong> SUBMITTED = Attribute.generate();
+
+    /**
+     * The time the response of the latest attempt was received, i.e. when executing the route started. The route
+     * itself isn't decorated, since it's only part of the arguments if plugins are composed once.
+     */
+    private static final Attribute<AtomicLong> RECEIVED = Attribute.generate();
+
+    private static final long RECORDED = Long.MIN_VALUE;
+
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    private final Timer queue;
+    private final Timer serialization;
+    private final Timer network;
+    private final Timer route;
+
+    public PhaseMetricsPlugin(final MeterRegistry registry) {
+        this(registry, "http.client.phases", ImmutableList.of());
+    }
+
+    private PhaseMetricsPlugin(final MeterRegistry registry, final String metricName,
+            final ImmutableList<Tag> defaultTags) {
+        this.registry = registry;
+        this.clock = registry.config().clock();
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+        this.queue = timer("queue");
+        this.serialization = timer("serialization");
+        this.network = timer("network");
+        this.route = timer("route");
+    }
+
+    public PhaseMetricsPlugin withMetricName(final String metricName) {
+        return new PhaseMetricsPlugin(registry, metricName, defaultTags);
+    }
+
+    public PhaseMetricsPlugin withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(ImmutableList.copyOf(defaultTags));
+    }
+
+    public PhaseMetricsPlugin withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new PhaseMetricsPlugin(registry, metricName, ImmutableList.copyOf(defaultTags));
+    }
+
+    private Timer timer(final String phase) {
+        return registry.timer(metricName, concat(defaultTags, singleton(Tag.of("phase", phase))));
+    }
+
+    @Override
+    public RequestExecution aroundAsync(final RequestExecution execution) {
+        return arguments -> {
+            if (arguments.getAttribute(CALLER_RUNS).orElse(false)) {
+                return execution.execute(arguments);
+            }
+
+            return execution.execute(arguments.withAttribute(SUBMITTED, new AtomicLong(clock.monotonicTime())));
+        };
+    }
+
+    @Override
+    public RequestExecution aroundDispatch(final RequestExecution execution) {
+        return arguments -> {
+            arguments.getAttribute(SUBMITTED).ifPresent(this::recordQueue);
+
+            final AtomicLong received = new AtomicLong(RECORDED);
+
+            return execution.execute(arguments.withAttribute(RECEIVED, received))
+                    .whenComplete((response, throwable) -> {
+                        final long start = received.get();
+
+                        if (start != RECORDED) {
+                            record(route, start);
+                        }
+                    });
+        };
+    }
+
+    private void recordQueue(final AtomicLong submitted) {
+        final long start = submitted.getAndSet(RECORDED);
+
+        if (start != RECORDED) {
+            record(queue, start);
+        }
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            final long start = clock.monotonicTime();
+
+            return execution.execute(timeSerialization(arguments))
+                    .whenComplete((response, throwable) -> {
+                        final long end = clock.monotonicTime();
+                        network.record(end - start, NANOSECONDS);
+
+                        if (throwable == null) {
+                            arguments.getAttribute(RECEIVED).ifPresent(received -> received.set(end));
+                        }
+                    });
+        };
+    }
+
+    private RequestArguments timeSerialization(final RequestArguments arguments) {
+        @Nullable final Entity entity = arguments.getEntity();
+
+        if (entity == null) {
+            return arguments;
+        }
+
+        return arguments.withEntity(message -> {
+            final long start = clock.monotonicTime();
+            try {
+                entity.writeTo(message);
+            } finally {
+                record(serialization, start);
+            }
+        });
+    }
+
+    private void record(final Timer timer, final long start) {
+        timer.record(clock.monotonicTime() - start, NANOSECONDS);
+    }
+
+}
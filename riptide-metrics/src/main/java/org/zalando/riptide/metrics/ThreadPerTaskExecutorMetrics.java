@@ -0,0 +1,79 @@
+package org.zalando.riptide.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apiguardian.api.API;
+import org.zalando.riptide.ThreadPerTaskExecutor;
+
+import java.util.function.ToDoubleFunction;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Executor metrics for a {@link ThreadPerTaskExecutor}, using the same names as Micrometer's
+ * {@link io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics}.
+ */
+@API(status = EXPERIMENTAL)
+public final class ThreadPerTaskExecutorMetrics implements MeterBinder {
+
+    private final ThreadPerTaskExecutor executor;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public ThreadPerTaskExecutorMetrics(final ThreadPerTaskExecutor executor) {
+        this(executor, "executor", ImmutableList.of());
+    }
+
+    @API(status = INTERNAL)
+    ThreadPerTaskExecutorMetrics(final ThreadPerTaskExecutor executor, final String metricName,
+            final ImmutableList<Tag> defaultTags) {
+        this.executor = executor;
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+    }
+
+    public ThreadPerTaskExecutorMetrics withMetricName(final String metricName) {
+        return new ThreadPerTaskExecutorMetrics(executor, metricName, defaultTags);
+    }
+
+    public ThreadPerTaskExecutorMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(ImmutableList.copyOf(defaultTags));
+    }
+
+    public ThreadPerTaskExecutorMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new ThreadPerTaskExecutorMetrics(executor, metricName, ImmutableList.copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(metricName + ".completed", executor, ThreadPerTaskExecutor::getCompletedTaskCount)
+                .tags(defaultTags)
+                .description("The approximate total number of tasks that have completed execution")
+                .baseUnit("tasks")
+                .register(registry);
+
+        gauge(registry, "active", ThreadPerTaskExecutor::getActiveCount,
+                "The approximate number of tasks that are currently being executed", "tasks");
+        gauge(registry, "queued", ThreadPerTaskExecutor::getQueueSize,
+                "The approximate number of tasks that wait for a permit", "tasks");
+        gauge(registry, "pool.size", ThreadPerTaskExecutor::getPoolSize,
+                "The current number of threads, either executing or waiting", "threads");
+        gauge(registry, "concurrency", ThreadPerTaskExecutor::getConcurrency,
+                "The maximum number of tasks that are executed concurrently", "tasks");
+    }
+
+    private void gauge(final MeterRegistry registry, final String name,
+            final ToDoubleFunction<ThreadPerTaskExecutor> function, final String description, final String unit) {
+        Gauge.builder(metricName + "." + name, executor, function)
+                .tags(defaultTags)
+                .description(description)
+                .baseUnit(unit)
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.zalando.riptide.metrics;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * Everything {@link DefaultTagGenerator} derives its tags from. Two requests with equal keys are recorded by the same
+ * timer.
+ */
+final class TimerKey {
+
+    private static final int NO_RESPONSE = -1;
+    private static final int IO_ERROR = -2;
+
+    private final HttpMethod method;
+
+    @Nullable
+    private final String uriTemplate;
+
+    // the path is only part of the tags if there is no URI template
+    @Nullable
+    private final String path;
+
+    @Nullable
+    private final String host;
+
+    private final int status;
+
+    @Nullable
+    private final Class<? extends Throwable> exception;
+
+    private final int hash;
+
+    TimerKey(final RequestArguments arguments, @Nullable final ClientHttpResponse response,
+            @Nullable final Throwable throwable) {
+        final URI requestUri = arguments.getRequestUri();
+        this.method = arguments.getMethod();
+        this.uriTemplate = arguments.getUriTemplate();
+        this.path = uriTemplate == null ? requestUri.getPath() : null;
+        this.host = requestUri.getHost();
+        this.status = status(response);
+        this.exception = throwable == null ? null : throwable.getClass();
+        this.hash = hash();
+    }
+
+    private static int status(@Nullable final ClientHttpResponse response) {
+        if (response == null) {
+            return NO_RESPONSE;
+        }
+
+        try {
+            return response.getRawStatusCode();
+        } catch (final IOException e) {
+            return IO_ERROR;
+        }
+    }
+
+    private int hash() {
+        int result = method.hashCode();
+        result = 31 * result + Objects.hashCode(uriTemplate);
+        result = 31 * result + Objects.hashCode(path);
+        result = 31 * result + Objects.hashCode(host);
+        result = 31 * result + status;
+        return 31 * result + Objects.hashCode(exception);
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object other) {
+        return other instanceof TimerKey && equals((TimerKey) other);
+    }
+
+    private boolean equals(final TimerKey that) {
+        return method == that.method &&
+                status == that.status &&
+                exception == that.exception &&
+                Objects.equals(uriTemplate, that.uriTemplate) &&
+                Objects.equals(path, that.path) &&
+                Objects.equals(host, that.host);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+}
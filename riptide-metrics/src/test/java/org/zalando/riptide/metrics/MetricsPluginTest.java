@@ -12,24 +12,34 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
 import java.net.SocketTimeoutException;
+import java.util.Collection;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executors;
 
 import static com.github.restdriver.clientdriver.ClientDriverRequest.Method.POST;
 import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
 import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
 import static org.zalando.riptide.Bindings.on;
 import static org.zalando.riptide.Navigators.series;
@@ -129,4 +139,56 @@ final class MetricsPluginTest {
         assertThat(timer.getId().getTag("client"), is("example"));
     }
 
+    @Test
+    void shouldReuseTimers() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse().withStatus(200));
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse().withStatus(200));
+
+        unit.get("/foo").call(pass()).join();
+        unit.get("/foo").call(pass()).join();
+
+        final Collection<Timer> timers = registry.find("http.outgoing-requests").timers();
+
+        assertThat(timers, hasSize(1));
+        assertThat(timers.iterator().next().count(), is(2L));
+    }
+
+    @Test
+    void shouldRecordRequestWithoutUriTemplate() throws IOException {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getRawStatusCode()).thenReturn(200);
+
+        execute(RequestArguments.create()
+                .withMethod(GET)
+                .withUri(URI.create("http://localhost/foo/123")), response);
+
+        @Nullable final Timer timer = registry.find("http.client.requests").timer();
+
+        assertThat(timer, is(notNullValue()));
+        assertThat(timer.getId().getTag("uri"), is("/foo/123"));
+        assertThat(timer.getId().getTag("status"), is("200"));
+    }
+
+    @Test
+    void shouldRecordUnreadableStatus() throws IOException {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getRawStatusCode()).thenThrow(IOException.class);
+
+        execute(RequestArguments.create()
+                .withMethod(GET)
+                .withUri(URI.create("http://localhost/foo")), response);
+
+        @Nullable final Timer timer = registry.find("http.client.requests").timer();
+
+        assertThat(timer, is(notNullValue()));
+        assertThat(timer.getId().getTag("status"), is("IO_ERROR"));
+    }
+
+    private void execute(final RequestArguments arguments, final ClientHttpResponse response) throws IOException {
+        new MetricsPlugin(registry)
+                .aroundNetwork(ignored -> completedFuture(response))
+                .execute(arguments)
+                .join();
+    }
+
 }
@@ -0,0 +1,105 @@
+package org.zalando.riptide.metrics;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.zalando.riptide.Http;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.github.restdriver.clientdriver.ClientDriverRequest.Method.POST;
+import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class PhaseMetricsPluginTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final Http unit = Http.builder()
+            .executor(executor)
+            .requestFactory(new SimpleClientHttpRequestFactory())
+            .baseUrl(driver.getBaseUrl())
+            .plugin(new PhaseMetricsPlugin(registry)
+                    .withMetricName("http.phases")
+                    .withDefaultTags(Tag.of("client", "example")))
+            .build();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+        driver.verify();
+    }
+
+    @Test
+    void shouldRecordAllPhases() {
+        driver.addExpectation(onRequestTo("/foo").withMethod(POST), giveEmptyResponse());
+
+        unit.post("/foo")
+                .contentType(TEXT_PLAIN)
+                .body("Hello")
+                .call(pass())
+                .join();
+
+        assertRecorded("queue");
+        assertRecorded("serialization");
+        assertRecorded("network");
+        assertRecorded("route");
+    }
+
+    @Test
+    void shouldNotRecordQueueIfCallerRuns() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        unit.get("/foo")
+                .callSync(pass());
+
+        assertThat(timer("queue").count(), is(0L));
+        assertThat(timer("network").count(), is(1L));
+        assertThat(timer("route").count(), is(1L));
+    }
+
+    @Test
+    void shouldRecordRouteIfItFails() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        unit.get("/foo")
+                .call((response, reader) -> {
+                    throw new IllegalStateException();
+                })
+                .exceptionally(e -> null)
+                .join();
+
+        assertThat(timer("route").count(), is(1L));
+    }
+
+    private void assertRecorded(final String phase) {
+        final Timer timer = timer(phase);
+
+        assertThat(timer.count(), is(1L));
+        assertThat(timer.totalTime(NANOSECONDS), is(greaterThan(0.0)));
+    }
+
+    private Timer timer(final String phase) {
+        return registry.get("http.phases")
+                .tag("client", "example")
+                .tag("phase", phase)
+                .timer();
+    }
+
+}
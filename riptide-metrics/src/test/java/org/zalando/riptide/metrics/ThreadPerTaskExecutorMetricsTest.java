@@ -0,0 +1,54 @@
+package org.zalando.riptide.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.ThreadPerTaskExecutor;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+final class ThreadPerTaskExecutorMetricsTest {
+
+    private final ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(Thread::new, 5);
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldUseDefaultMetricName() throws Exception {
+        new ThreadPerTaskExecutorMetrics(executor).bindTo(registry);
+
+        executor.submit(() -> {
+        }).get(1, SECONDS);
+
+        assertThat(registry.get("executor.completed").functionCounter().count(), is(1.0));
+        assertThat(registry.get("executor.concurrency").gauge().value(), is(5.0));
+    }
+
+    @Test
+    void shouldRecordExecutor() {
+        new ThreadPerTaskExecutorMetrics(executor)
+                .withMetricName("http.executor")
+                .withDefaultTags(Tag.of("clientId", "example"))
+                .bindTo(registry);
+
+        assertThat(gauge("http.executor.active"), is(0.0));
+        assertThat(gauge("http.executor.queued"), is(0.0));
+        assertThat(gauge("http.executor.pool.size"), is(0.0));
+        assertThat(gauge("http.executor.concurrency"), is(5.0));
+        assertThat(registry.get("http.executor.completed").tag("clientId", "example").functionCounter().count(),
+                is(0.0));
+    }
+
+    private double gauge(final String name) {
+        return registry.get(name).tag("clientId", "example").gauge().value();
+    }
+
+}
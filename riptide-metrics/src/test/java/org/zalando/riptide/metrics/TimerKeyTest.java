@@ -0,0 +1,91 @@
+package org.zalando.riptide.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.UrlResolution;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+
+final class TimerKeyTest {
+
+    private final RequestArguments arguments = RequestArguments.create()
+            .withMethod(GET)
+            .withUri(URI.create("http://localhost/foo"));
+
+    private final ClientHttpResponse ok = response(200);
+
+    @Test
+    void shouldBeEqual() {
+        final TimerKey key = new TimerKey(arguments, ok, null);
+
+        assertThat(key, is(new TimerKey(arguments, response(200), null)));
+        assertThat(key.hashCode(), is(new TimerKey(arguments, response(200), null).hashCode()));
+        assertThat(key, is(not(new Object())));
+    }
+
+    @Test
+    void shouldDifferByMethod() {
+        assertDiffer(new TimerKey(arguments.withMethod(POST), ok, null));
+    }
+
+    @Test
+    void shouldDifferByStatus() throws IOException {
+        final ClientHttpResponse unreadable = mock(ClientHttpResponse.class);
+        when(unreadable.getRawStatusCode()).thenThrow(IOException.class);
+
+        assertDiffer(new TimerKey(arguments, response(503), null));
+        assertDiffer(new TimerKey(arguments, unreadable, null));
+        assertDiffer(new TimerKey(arguments, null, null));
+    }
+
+    @Test
+    void shouldDifferByException() {
+        assertDiffer(new TimerKey(arguments, ok, new SocketTimeoutException()));
+    }
+
+    @Test
+    void shouldDifferByUriTemplate() {
+        assertDiffer(new TimerKey(arguments.withBaseUrl(URI.create("http://localhost"))
+                .withUrlResolution(UrlResolution.RFC)
+                .withUri(null)
+                .withUriTemplate("/foo"), ok, null));
+    }
+
+    @Test
+    void shouldDifferByPath() {
+        assertDiffer(new TimerKey(arguments.withUri(URI.create("http://localhost/bar")), ok, null));
+    }
+
+    @Test
+    void shouldDifferByHost() {
+        assertDiffer(new TimerKey(arguments.withUri(URI.create("http://example.com/foo")), ok, null));
+    }
+
+    private void assertDiffer(final TimerKey other) {
+        assertThat(new TimerKey(arguments, ok, null), is(not(other)));
+    }
+
+    private static ClientHttpResponse response(final int status) {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+
+        try {
+            when(response.getRawStatusCode()).thenReturn(status);
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
+
+        return response;
+    }
+
+}
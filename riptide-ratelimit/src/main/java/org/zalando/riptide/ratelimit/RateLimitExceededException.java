@@ -0,0 +1,21 @@
+package org.zalando.riptide.ratelimit;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+public final class RateLimitExceededException extends RuntimeException {
+
+    private final String key;
+
+    public RateLimitExceededException(final String key) {
+        super("Rate limit exceeded for " + key);
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.zalando.riptide.ratelimit;
+
+import com.google.common.base.CharMatcher;
+import org.springframework.http.HttpHeaders;
+
+import javax.annotation.Nullable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+
+/**
+ * Adapts a {@link TokenBucket bucket} to the rate limits announced by a server, either in {@code Retry-After} or in
+ * {@code RateLimit-Remaining} and {@code RateLimit-Reset}. Malformed headers are ignored.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc7231#section-7.1.3">RFC 7231, section 7.1.3: Retry-After</a>
+ * @see <a href="https://tools.ietf.org/html/draft-polli-ratelimit-headers">RateLimit Header Fields for HTTP</a>
+ */
+final class RateLimitHeaders {
+
+    private final CharMatcher digit = CharMatcher.inRange('0', '9').precomputed();
+
+    private final Clock clock;
+
+    RateLimitHeaders(final Clock clock) {
+        this.clock = clock;
+    }
+
+    void apply(final HttpHeaders headers, final TokenBucket bucket) {
+        @Nullable final Duration retryAfter = parseRetryAfter(headers.getFirst("Retry-After"));
+
+        if (retryAfter != null) {
+            bucket.pause(retryAfter.toNanos());
+            return;
+        }
+
+        @Nullable final Long remaining = parseSeconds(headers.getFirst("RateLimit-Remaining"));
+        @Nullable final Long reset = parseSeconds(headers.getFirst("RateLimit-Reset"));
+
+        if (remaining != null && reset != null) {
+            bucket.adapt(remaining, Duration.ofSeconds(reset).toNanos());
+        }
+    }
+
+    @Nullable
+    private Duration parseRetryAfter(@Nullable final String value) {
+        if (value == null) {
+            return null;
+        }
+
+        @Nullable final Long seconds = parseSeconds(value);
+
+        if (seconds != null) {
+            return Duration.ofSeconds(seconds);
+        }
+
+        try {
+            final Duration duration = Duration.between(clock.instant(), Instant.from(RFC_1123_DATE_TIME.parse(value)));
+            return duration.isNegative() ? Duration.ZERO : duration;
+        } catch (final DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private Long parseSeconds(@Nullable final String value) {
+        if (value == null || value.isEmpty() || value.length() > 18 || !digit.matchesAllOf(value)) {
+            return null;
+        }
+
+        return Long.parseLong(value);
+    }
+
+}
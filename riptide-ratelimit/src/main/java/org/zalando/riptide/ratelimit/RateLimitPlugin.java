@@ -0,0 +1,257 @@
+package org.zalando.riptide.ratelimit;
+
+import com.google.common.base.Ticker;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Attribute;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.zalando.riptide.CancelableCompletableFuture.forwardTo;
+
+/**
+ * Limits the rate of requests using a token bucket per client or, with {@link #withKey(Function) keys}, per key.
+ * Requests that exceed the rate fail with a {@link RateLimitExceededException}, unless a
+ * {@link #withMaxDelay(long, TimeUnit) delay} is acceptable, in which case they are delayed on the given scheduler.
+ * With an {@link #withAdaptiveRate() adaptive rate} the rate follows the limits announced by the server.
+ *
+ * Buckets that are full and weren't used for the {@link #withIdleTimeout(long, TimeUnit) idle timeout} are evicted,
+ * since a new bucket would behave the same.
+ *
+ * <pre>{@code
+ * new RateLimitPlugin(scheduler, 100)
+ *     .withBurst(10)
+ *     .withMaxDelay(500, MILLISECONDS)
+ *     .withAdaptiveRate();
+ * }</pre>
+ */
+@API(status = EXPERIMENTAL)
+public final class RateLimitPlugin implements Plugin {
+
+    private static final Attribute<TokenBucket> BUCKET = Attribute.generate();
+
+    private final ScheduledExecutorService scheduler;
+    private final long interval;
+    private final long burst;
+    private final long maxDelay;
+    private final Function<RequestArguments, String> key;
+    private final long idleTimeout;
+
+    @Nullable
+    private final RateLimitHeaders headers;
+
+    private final Ticker ticker;
+    private final Clock clock;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastEviction;
+
+    /**
+     * @param scheduler the scheduler used to delay requests
+     * @param permitsPerSecond the rate, e.g. 0.5 for one request every two seconds
+     */
+    public RateLimitPlugin(final ScheduledExecutorService scheduler, final double permitsPerSecond) {
+        this(scheduler, interval(permitsPerSecond), burst(permitsPerSecond), 0, arguments -> "client",
+                MINUTES.toNanos(10), null, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    private RateLimitPlugin(final ScheduledExecutorService scheduler, final long interval, final long burst,
+            final long maxDelay, final Function<RequestArguments, String> key, final long idleTimeout,
+            @Nullable final RateLimitHeaders headers, final Ticker ticker, final Clock clock) {
+        this.scheduler = scheduler;
+        this.interval = interval;
+        this.burst = burst;
+        this.maxDelay = maxDelay;
+        this.key = key;
+        this.idleTimeout = idleTimeout;
+        this.headers = headers;
+        this.ticker = ticker;
+        this.clock = clock;
+        this.lastEviction = new AtomicLong(ticker.read());
+    }
+
+    private static long interval(final double permitsPerSecond) {
+        checkArgument(permitsPerSecond > 0, "Permits per second must be positive");
+        return Math.max(1, (long) (SECONDS.toNanos(1) / permitsPerSecond));
+    }
+
+    private static long burst(final double permitsPerSecond) {
+        return Math.max(1, (long) permitsPerSecond);
+    }
+
+    /**
+     * @param burst the number of requests that may be sent at once after a quiet period, defaults to one second's
+     * worth of permits
+     * @return a new plugin with the given burst
+     */
+    public RateLimitPlugin withBurst(final long burst) {
+        checkArgument(burst > 0, "Burst must be positive");
+        return new RateLimitPlugin(scheduler, interval, burst, maxDelay, key, idleTimeout, headers, ticker, clock);
+    }
+
+    /**
+     * Delays requests that exceed the rate instead of failing them, unless they would have to wait longer than the
+     * given delay.
+     *
+     * @param maxDelay the longest delay, 0 fails right away
+     * @param unit the unit of the delay
+     * @return a new plugin that delays requests
+     */
+    public RateLimitPlugin withMaxDelay(final long maxDelay, final TimeUnit unit) {
+        checkArgument(maxDelay >= 0, "Max delay must not be negative");
+        return new RateLimitPlugin(scheduler, interval, burst, unit.toNanos(maxDelay), key, idleTimeout, headers,
+                ticker, clock);
+    }
+
+    /**
+     * Limits requests per key, e.g. per host or per tenant, rather than per client. Every key gets its own bucket
+     * with the configured rate and burst, until it's evicted after the {@link #withIdleTimeout(long, TimeUnit) idle
+     * timeout}.
+     *
+     * @param key derives the key of a request
+     * @return a new plugin with one bucket per key
+     */
+    public RateLimitPlugin withKey(final Function<RequestArguments, String> key) {
+        return new RateLimitPlugin(scheduler, interval, burst, maxDelay, key, idleTimeout, headers, ticker, clock);
+    }
+
+    /**
+     * @param idleTimeout how long a full bucket is kept without being used, defaults to 10 minutes
+     * @param unit the unit of the timeout
+     * @return a new plugin that evicts buckets after the given timeout
+     */
+    public RateLimitPlugin withIdleTimeout(final long idleTimeout, final TimeUnit unit) {
+        checkArgument(idleTimeout > 0, "Idle timeout must be positive");
+        return new RateLimitPlugin(scheduler, interval, burst, maxDelay, key, unit.toNanos(idleTimeout), headers,
+                ticker, clock);
+    }
+
+    /**
+     * Follows the limits announced by the server: {@code Retry-After} pauses all requests of the same key, while
+     * {@code RateLimit-Remaining} and {@code RateLimit-Reset} lower the rate to the remaining quota, but never raise
+     * it beyond the configured one.
+     *
+     * @return a new plugin with an adaptive rate
+     */
+    public RateLimitPlugin withAdaptiveRate() {
+        return new RateLimitPlugin(scheduler, interval, burst, maxDelay, key, idleTimeout,
+                new RateLimitHeaders(clock), ticker, clock);
+    }
+
+    @API(status = INTERNAL)
+    RateLimitPlugin withClock(final Ticker ticker, final Clock clock) {
+        return new RateLimitPlugin(scheduler, interval, burst, maxDelay, key, idleTimeout,
+                headers == null ? null : new RateLimitHeaders(clock), ticker, clock);
+    }
+
+    @Override
+    public RequestExecution aroundAsync(final RequestExecution execution) {
+        return arguments -> {
+            final String key = this.key.apply(arguments);
+            final TokenBucket bucket = bucket(key);
+            final long delay = bucket.reserve(maxDelay);
+
+            if (delay < 0) {
+                final CompletableFuture<ClientHttpResponse> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(new RateLimitExceededException(key));
+                return rejected;
+            }
+
+            final RequestArguments limited = headers == null ? arguments : arguments.withAttribute(BUCKET, bucket);
+
+            if (delay == 0) {
+                return execution.execute(limited);
+            }
+
+            // delayed requests are executed by the scheduler, never by the caller
+            return delay(execution, limited.withAttribute(CALLER_RUNS, false), delay);
+        };
+    }
+
+    private TokenBucket bucket(final String key) {
+        evictIdle();
+
+        @Nullable final TokenBucket bucket = buckets.get(key);
+        return bucket == null ?
+                buckets.computeIfAbsent(key, ignored -> new TokenBucket(interval, burst, ticker)) : bucket;
+    }
+
+    /**
+     * Sweeps at most once per idle timeout, on whichever thread gets there first.
+     */
+    private void evictIdle() {
+        final long now = ticker.read();
+        final long last = lastEviction.get();
+
+        if (now - last < idleTimeout || !lastEviction.compareAndSet(last, now)) {
+            return;
+        }
+
+        buckets.values().removeIf(bucket -> bucket.isIdle(idleTimeout));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private CompletableFuture<ClientHttpResponse> delay(final RequestExecution execution,
+            final RequestArguments arguments, final long delay) {
+
+        final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+
+        final Future<?> scheduled = scheduler.schedule(() -> {
+            if (future.isDone()) {
+                return;
+            }
+
+            try {
+                final CompletableFuture<ClientHttpResponse> executed = execution.execute(arguments);
+                executed.whenComplete(forwardTo(future));
+                future.whenComplete((response, throwable) -> executed.cancel(true));
+            } catch (final IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, delay, NANOSECONDS);
+
+        future.whenComplete((response, throwable) -> scheduled.cancel(false));
+
+        return future;
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            final Optional<TokenBucket> bucket = arguments.getAttribute(BUCKET);
+
+            if (headers == null || !bucket.isPresent()) {
+                return execution.execute(arguments);
+            }
+
+            return execution.execute(arguments).whenComplete((response, throwable) -> {
+                if (response != null) {
+                    headers.apply(response.getHeaders(), bucket.get());
+                }
+            });
+        };
+    }
+
+}
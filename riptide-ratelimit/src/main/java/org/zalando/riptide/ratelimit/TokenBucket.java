@@ -0,0 +1,93 @@
+package org.zalando.riptide.ratelimit;
+
+import com.google.common.base.Ticker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A token bucket, implemented as a generic cell rate algorithm: instead of tokens it keeps track of the time at which
+ * the next permit would be available if the bucket was drained at its rate. Up to {@code burst - 1} permits may be
+ * reserved ahead of that time, i.e. the bucket is full as long as it doesn't lie in the future. Reserving a permit is a
+ * single compare-and-set, no lock is ever taken. The bucket starts full.
+ */
+final class TokenBucket {
+
+    private final long minInterval;
+    private final long burst;
+    private final Ticker ticker;
+
+    private volatile long interval;
+    private final AtomicLong next;
+
+    TokenBucket(final long interval, final long burst, final Ticker ticker) {
+        checkArgument(interval > 0, "Interval must be positive");
+        checkArgument(burst > 0, "Burst must be positive");
+        this.minInterval = interval;
+        this.burst = burst;
+        this.ticker = ticker;
+        this.interval = interval;
+        this.next = new AtomicLong(ticker.read());
+    }
+
+    /**
+     * Reserves a permit, unless it wouldn't be available within the given delay.
+     *
+     * @param maxDelay the longest acceptable delay in nanoseconds
+     * @return the nanoseconds until the reserved permit may be used, or {@code -1} if no permit was reserved
+     */
+    long reserve(final long maxDelay) {
+        while (true) {
+            final long now = ticker.read();
+            final long current = next.get();
+            final long interval = this.interval;
+            final long available = Math.max(current, now);
+            final long delay = available - tolerance(interval) - now;
+
+            if (delay > maxDelay) {
+                return -1;
+            }
+
+            if (next.compareAndSet(current, available + interval)) {
+                return Math.max(0, delay);
+            }
+        }
+    }
+
+    /**
+     * Makes sure that no permit will be available within the given time, e.g. as requested by a server.
+     */
+    void pause(final long nanos) {
+        final long until = ticker.read() + nanos + tolerance(interval);
+        next.accumulateAndGet(until, Math::max);
+    }
+
+    /**
+     * Spreads the given number of permits evenly over the given time, but never exceeds the configured rate.
+     */
+    void adapt(final long permits, final long nanos) {
+        if (permits <= 0) {
+            pause(nanos);
+        } else {
+            interval = Math.max(minInterval, nanos / permits);
+        }
+    }
+
+    /**
+     * @param nanos the minimum time without any reservation
+     * @return whether the bucket is full and no permit was reserved within the given time
+     */
+    boolean isIdle(final long nanos) {
+        return ticker.read() - next.get() >= nanos;
+    }
+
+    long getInterval() {
+        return interval;
+    }
+
+    private long tolerance(final long interval) {
+        return interval * (burst - 1);
+    }
+
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.ratelimit;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,96 @@
+package org.zalando.riptide.ratelimit;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Clock;
+import java.time.Instant;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+final class RateLimitHeadersTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final RateLimitHeaders unit = new RateLimitHeaders(
+            Clock.fixed(Instant.parse("2019-03-01T12:00:00Z"), UTC));
+
+    private final TokenBucket bucket = new TokenBucket(SECOND / 10, 1, new Ticker() {
+        @Override
+        public long read() {
+            return 0;
+        }
+    });
+
+    @Test
+    void shouldPauseForRetryAfterSeconds() {
+        unit.apply(headers("Retry-After", "2"), bucket);
+
+        assertThat(bucket.reserve(2 * SECOND - 1), is(-1L));
+        assertThat(bucket.reserve(2 * SECOND), is(2 * SECOND));
+    }
+
+    @Test
+    void shouldPauseForRetryAfterDate() {
+        unit.apply(headers("Retry-After", "Fri, 01 Mar 2019 12:00:05 GMT"), bucket);
+
+        assertThat(bucket.reserve(5 * SECOND - 1), is(-1L));
+        assertThat(bucket.reserve(5 * SECOND), is(5 * SECOND));
+    }
+
+    @Test
+    void shouldNotPauseForRetryAfterDateInThePast() {
+        unit.apply(headers("Retry-After", "Fri, 01 Mar 2019 11:59:00 GMT"), bucket);
+
+        assertThat(bucket.reserve(0), is(0L));
+    }
+
+    @Test
+    void shouldIgnoreMalformedRetryAfter() {
+        unit.apply(headers("Retry-After", "soon"), bucket);
+
+        assertThat(bucket.reserve(0), is(0L));
+    }
+
+    @Test
+    void shouldAdaptToRemainingQuota() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("RateLimit-Remaining", "5");
+        headers.set("RateLimit-Reset", "10");
+
+        unit.apply(headers, bucket);
+
+        assertThat(bucket.getInterval(), is(2 * SECOND));
+    }
+
+    @Test
+    void shouldPauseWithoutRemainingQuota() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("RateLimit-Remaining", "0");
+        headers.set("RateLimit-Reset", "3");
+
+        unit.apply(headers, bucket);
+
+        assertThat(bucket.reserve(3 * SECOND - 1), is(-1L));
+    }
+
+    @Test
+    void shouldIgnoreIncompleteQuota() {
+        unit.apply(headers("RateLimit-Remaining", "0"), bucket);
+        unit.apply(headers("RateLimit-Reset", "3"), bucket);
+        unit.apply(headers("RateLimit-Remaining", "-1"), bucket);
+
+        assertThat(bucket.getInterval(), is(SECOND / 10));
+        assertThat(bucket.reserve(0), is(0L));
+    }
+
+    private static HttpHeaders headers(final String name, final String value) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(name, value);
+        return headers;
+    }
+
+}
@@ -0,0 +1,191 @@
+package org.zalando.riptide.ratelimit;
+
+import com.github.restdriver.clientdriver.ClientDriver;
+import com.github.restdriver.clientdriver.ClientDriverFactory;
+import com.google.common.base.Ticker;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.restdriver.clientdriver.RestClientDriver.giveEmptyResponse;
+import static com.github.restdriver.clientdriver.RestClientDriver.onRequestTo;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class RateLimitPluginTest {
+
+    private final ClientDriver driver = new ClientDriverFactory().createClientDriver();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create().build();
+    private final ExecutorService executor = newFixedThreadPool(2);
+    private final ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        executor.shutdown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void shouldExecuteWithinRate() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        http(new RateLimitPlugin(scheduler, 1)).get("/foo").call(pass()).join();
+    }
+
+    @Test
+    void shouldRejectBeyondRate() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        final Http unit = http(new RateLimitPlugin(scheduler, 1));
+
+        unit.get("/foo").call(pass()).join();
+
+        final CompletionException exception = assertThrows(CompletionException.class,
+                unit.get("/foo").call(pass())::join);
+
+        assertThat(exception.getCause(), is(instanceOf(RateLimitExceededException.class)));
+        assertThat(((RateLimitExceededException) exception.getCause()).getKey(), is("client"));
+    }
+
+    @Test
+    void shouldDelayBeyondRate() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        final Http unit = http(new RateLimitPlugin(scheduler, 5).withBurst(1).withMaxDelay(1, SECONDS));
+
+        final long start = System.nanoTime();
+
+        unit.get("/foo").call(pass()).join();
+        unit.get("/foo").call(pass()).join();
+
+        assertThat(System.nanoTime() - start, is(greaterThanOrEqualTo(MILLISECONDS.toNanos(150))));
+    }
+
+    @Test
+    void shouldNotExecuteCancelledDelayedRequest() throws InterruptedException {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        final Http unit = http(new RateLimitPlugin(scheduler, 10).withBurst(1).withMaxDelay(1, SECONDS));
+
+        unit.get("/foo").call(pass()).join();
+
+        final CompletableFuture<ClientHttpResponse> future = unit.get("/foo").call(pass());
+        future.cancel(true);
+
+        // the driver would fail on an unexpected request
+        Thread.sleep(200);
+        assertThat(future.isCancelled(), is(true));
+    }
+
+    @Test
+    void shouldLimitPerKey() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse());
+
+        final Http unit = http(new RateLimitPlugin(scheduler, 1)
+                .withKey(arguments -> arguments.getRequestUri().getPath()));
+
+        unit.get("/foo").call(pass()).join();
+        unit.get("/bar").call(pass()).join();
+
+        final CompletionException exception = assertThrows(CompletionException.class,
+                unit.get("/foo").call(pass())::join);
+
+        assertThat(((RateLimitExceededException) exception.getCause()).getKey(), is("/foo"));
+    }
+
+    @Test
+    void shouldEvictIdleBuckets() {
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse());
+        driver.addExpectation(onRequestTo("/bar"), giveEmptyResponse());
+
+        final AtomicLong time = new AtomicLong();
+        final RateLimitPlugin plugin = new RateLimitPlugin(scheduler, 1)
+                .withKey(arguments -> arguments.getRequestUri().getPath())
+                .withIdleTimeout(1, MINUTES)
+                .withClock(new Ticker() {
+                    @Override
+                    public long read() {
+                        return time.get();
+                    }
+                }, Clock.systemUTC());
+        final Http unit = http(plugin);
+
+        unit.get("/foo").call(pass()).join();
+        time.addAndGet(SECONDS.toNanos(30));
+        unit.get("/bar").call(pass()).join();
+        assertThat(plugin.size(), is(2));
+
+        time.addAndGet(SECONDS.toNanos(31));
+        unit.get("/bar").call(pass()).join();
+        assertThat(plugin.size(), is(1));
+    }
+
+    @Test
+    void shouldFollowRetryAfter() {
+        driver.addExpectation(onRequestTo("/foo"),
+                giveEmptyResponse().withStatus(429).withHeader("Retry-After", "60"));
+
+        final AtomicLong time = new AtomicLong();
+        final Http unit = http(new RateLimitPlugin(scheduler, 1000)
+                .withMaxDelay(1, SECONDS)
+                .withAdaptiveRate()
+                .withClock(new Ticker() {
+                    @Override
+                    public long read() {
+                        return time.get();
+                    }
+                }, Clock.systemUTC()));
+
+        unit.get("/foo").call(pass()).join();
+
+        assertThrows(CompletionException.class, unit.get("/foo").call(pass())::join);
+    }
+
+    @Test
+    void shouldIgnoreHeadersUnlessAdaptive() {
+        driver.addExpectation(onRequestTo("/foo"),
+                giveEmptyResponse().withStatus(429).withHeader("Retry-After", "60"));
+        driver.addExpectation(onRequestTo("/foo"), giveEmptyResponse());
+
+        final Http unit = http(new RateLimitPlugin(scheduler, 1000));
+
+        unit.get("/foo").call(pass()).join();
+        unit.get("/foo").call(pass()).join();
+    }
+
+    private Http http(final RateLimitPlugin plugin) {
+        return Http.builder()
+                .executor(executor)
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(driver.getBaseUrl())
+                .plugin(plugin)
+                .build();
+    }
+
+}
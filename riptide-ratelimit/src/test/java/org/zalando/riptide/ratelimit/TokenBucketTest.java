@@ -0,0 +1,135 @@
+package org.zalando.riptide.ratelimit;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class TokenBucketTest {
+
+    private final AtomicLong time = new AtomicLong(-1_000_000);
+
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return time.get();
+        }
+    };
+
+    private final TokenBucket unit = new TokenBucket(100, 3, ticker);
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, ticker));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, ticker));
+    }
+
+    @Test
+    void shouldStartFull() {
+        assertThat(unit.reserve(0), is(0L));
+        assertThat(unit.reserve(0), is(0L));
+        assertThat(unit.reserve(0), is(0L));
+        assertThat(unit.reserve(0), is(-1L));
+    }
+
+    @Test
+    void shouldBeIdleIfFullAndUnused() {
+        assertThat(unit.isIdle(0), is(true));
+        assertThat(unit.isIdle(1_000), is(false));
+
+        unit.reserve(0);
+        time.addAndGet(99);
+        assertThat(unit.isIdle(0), is(false));
+
+        time.addAndGet(1);
+        assertThat(unit.isIdle(0), is(true));
+
+        time.addAndGet(1_000);
+        assertThat(unit.isIdle(1_000), is(true));
+    }
+
+    @Test
+    void shouldNotBeIdleWhilePaused() {
+        unit.pause(10_000);
+        time.addAndGet(5_000);
+
+        assertThat(unit.isIdle(0), is(false));
+    }
+
+    @Test
+    void shouldRefillAtRate() {
+        drain();
+
+        time.addAndGet(99);
+        assertThat(unit.reserve(0), is(-1L));
+
+        time.addAndGet(1);
+        assertThat(unit.reserve(0), is(0L));
+        assertThat(unit.reserve(0), is(-1L));
+    }
+
+    @Test
+    void shouldNotRefillBeyondBurst() {
+        time.addAndGet(10_000);
+
+        drain();
+    }
+
+    @Test
+    void shouldReserveDelayedPermits() {
+        drain();
+
+        assertThat(unit.reserve(250), is(100L));
+        assertThat(unit.reserve(250), is(200L));
+        assertThat(unit.reserve(250), is(-1L));
+    }
+
+    @Test
+    void shouldPause() {
+        unit.pause(1000);
+
+        assertThat(unit.reserve(999), is(-1L));
+        assertThat(unit.reserve(1000), is(1000L));
+
+        time.addAndGet(1100);
+        assertThat(unit.reserve(0), is(0L));
+        assertThat(unit.reserve(0), is(-1L));
+    }
+
+    @Test
+    void shouldNotShortenPause() {
+        unit.pause(1000);
+        unit.pause(500);
+
+        assertThat(unit.reserve(999), is(-1L));
+    }
+
+    @Test
+    void shouldAdaptToRemainingPermits() {
+        unit.adapt(10, 10_000);
+        assertThat(unit.getInterval(), is(1000L));
+
+        unit.adapt(1000, 10_000);
+        assertThat(unit.getInterval(), is(100L));
+    }
+
+    @Test
+    void shouldPauseWithoutRemainingPermits() {
+        unit.adapt(0, 1000);
+
+        assertThat(unit.reserve(999), is(-1L));
+    }
+
+    private void drain() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(unit.reserve(0), is(0L));
+        }
+
+        assertThat(unit.reserve(0), is(-1L));
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.zalando.riptide.autoconfigure.RiptideProperties.BackupRequest;
+import org.zalando.riptide.backup.BackupRequestPlugin;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
+@SuppressWarnings("unused")
+final class BackupRequestPluginFactory {
+
+    private BackupRequestPluginFactory() {
+
+    }
+
+    public static BackupRequestPlugin createBackupRequestPlugin(final ScheduledExecutorService scheduler,
+            final Executor executor, final BackupRequest config) {
+
+        BackupRequestPlugin plugin = new BackupRequestPlugin(scheduler,
+                config.getDelay().getAmount(), config.getDelay().getUnit())
+                .withExecutor(executor);
+
+        if (config.getPercentile() != null) {
+            plugin = plugin.withAdaptiveDelay(config.getPercentile());
+        }
+
+        if (config.getMaxExtraLoad() != null) {
+            plugin = plugin.withMaxExtraLoad(config.getMaxExtraLoad());
+        }
+
+        return plugin;
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.zalando.riptide.autoconfigure.RiptideProperties.Buffering;
+import org.zalando.riptide.buffering.BufferPool;
+import org.zalando.riptide.buffering.BufferingPlugin;
+
+@SuppressWarnings("unused")
+final class BufferingPluginFactory {
+
+    private BufferingPluginFactory() {
+
+    }
+
+    public static BufferPool createBufferPool(final Buffering config) {
+        return new BufferPool(config.getChunkSize(), config.getMaxSize());
+    }
+
+    public static BufferingPlugin createBufferingPlugin(final BufferPool pool, final Buffering config) {
+        return new BufferingPlugin(pool)
+                .withThreshold(config.getThreshold());
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.zalando.riptide.autoconfigure.RiptideProperties.ConcurrencyLimit;
+import org.zalando.riptide.concurrency.ConcurrencyLimitListener;
+import org.zalando.riptide.concurrency.ConcurrencyLimitPlugin;
+import org.zalando.riptide.concurrency.Limit;
+import org.zalando.riptide.concurrency.Partitioning;
+
+import java.util.function.Supplier;
+
+@SuppressWarnings("unused")
+final class ConcurrencyLimitPluginFactory {
+
+    private ConcurrencyLimitPluginFactory() {
+
+    }
+
+    public static ConcurrencyLimitPlugin createConcurrencyLimitPlugin(final ConcurrencyLimit config,
+            final ConcurrencyLimitListener listener) {
+
+        return new ConcurrencyLimitPlugin(limit(config))
+                .withPartitioning(partitioning(config))
+                .withMaxQueueSize(config.getMaxQueueSize())
+                .withListener(listener);
+    }
+
+    public static ConcurrencyLimitListener getDefaultConcurrencyLimitListener() {
+        return ConcurrencyLimitListener.DEFAULT;
+    }
+
+    private static Supplier<Limit> limit(final ConcurrencyLimit config) {
+        final int initialLimit = config.getInitialLimit();
+        final int minLimit = config.getMinLimit();
+        final int maxLimit = config.getMaxLimit();
+
+        switch (config.getAlgorithm()) {
+            case AIMD:
+                return () -> Limit.aimd(initialLimit, minLimit, maxLimit);
+            default:
+                return () -> Limit.vegas(initialLimit, minLimit, maxLimit);
+        }
+    }
+
+    private static Partitioning partitioning(final ConcurrencyLimit config) {
+        switch (config.getPartitioning()) {
+            case HOST:
+                return Partitioning.host();
+            default:
+                return Partitioning.client();
+        }
+    }
+
+}
@@ -11,7 +11,10 @@ import net.jodah.failsafe.CircuitBreaker;
 import net.jodah.failsafe.RetryPolicy;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.cache.HttpCacheStorage;
+import org.apache.http.conn.DnsResolver;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.conn.NHttpClientConnectionManager;
 import org.springframework.beans.BeanMetadataElement;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
@@ -24,27 +27,45 @@ import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.AsyncRestTemplate;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.zalando.riptide.HashedWheelTimer;
 import org.zalando.riptide.Http;
 import org.zalando.riptide.OriginalStackTracePlugin;
 import org.zalando.riptide.Plugin;
 import org.zalando.riptide.PluginInterceptor;
+import org.zalando.riptide.ThreadPerTaskExecutor;
 import org.zalando.riptide.auth.AuthorizationPlugin;
 import org.zalando.riptide.auth.AuthorizationProvider;
 import org.zalando.riptide.auth.PlatformCredentialsAuthorizationProvider;
+import org.zalando.riptide.auth.metrics.PlatformCredentialsMetrics;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
 import org.zalando.riptide.autoconfigure.RiptideProperties.OAuth;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Scheduler;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Threads;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Transport;
 import org.zalando.riptide.backup.BackupRequestPlugin;
+import org.zalando.riptide.buffering.BufferPool;
+import org.zalando.riptide.buffering.BufferingPlugin;
+import org.zalando.riptide.buffering.metrics.BufferPoolMetrics;
+import org.zalando.riptide.concurrency.ConcurrencyLimitListener;
+import org.zalando.riptide.concurrency.ConcurrencyLimitPlugin;
 import org.zalando.riptide.failsafe.CircuitBreakerListener;
+import org.zalando.riptide.failsafe.CircuitBreakerRegistry;
 import org.zalando.riptide.failsafe.FailsafePlugin;
+import org.zalando.riptide.failsafe.RetryBudget;
 import org.zalando.riptide.failsafe.RetryListener;
 import org.zalando.riptide.faults.DefaultFaultClassifier;
 import org.zalando.riptide.faults.FaultClassifier;
 import org.zalando.riptide.faults.TransientFaultPlugin;
 import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+import org.zalando.riptide.httpclient.DnsResolverListener;
 import org.zalando.riptide.httpclient.GzipHttpRequestInterceptor;
 import org.zalando.riptide.httpclient.metrics.HttpConnectionPoolMetrics;
-import org.zalando.riptide.idempotency.IdempotencyPredicate;
+import org.zalando.riptide.httpclient.metrics.LiveHttpConnectionPoolMetrics;
+import org.zalando.riptide.httpclient.metrics.TimedHttpClientConnectionManager;
+import org.zalando.riptide.loadbalancer.LoadBalancer;
 import org.zalando.riptide.metrics.MetricsPlugin;
+import org.zalando.riptide.metrics.PhaseMetricsPlugin;
+import org.zalando.riptide.metrics.ThreadPerTaskExecutorMetrics;
 import org.zalando.riptide.soap.SOAPFaultHttpMessageConverter;
 import org.zalando.riptide.soap.SOAPHttpMessageConverter;
 import org.zalando.riptide.stream.Streams;
@@ -54,6 +75,7 @@ import org.zalando.tracer.concurrent.TracingExecutors;
 import javax.annotation.Nullable;
 import javax.xml.soap.SOAPConstants;
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -66,6 +88,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toCollection;
 import static org.springframework.beans.factory.support.BeanDefinitionBuilder.genericBeanDefinition;
 import static org.zalando.riptide.autoconfigure.Dependencies.ifPresent;
@@ -77,35 +100,58 @@ import static org.zalando.riptide.autoconfigure.Registry.ref;
 @AllArgsConstructor
 final class DefaultRiptideRegistrar implements RiptideRegistrar {
 
+    private static final String HTTP2_CLIENT_FACTORY = "org.zalando.riptide.http2.Http2ClientFactory";
+    private static final String HTTP2_REQUEST_FACTORY = "org.zalando.riptide.http2.Http2ClientHttpRequestFactory";
+    private static final String HTTP2_REQUEST_EXECUTION = "org.zalando.riptide.http2.Http2RequestExecution";
+    private static final String HTTP2_CONNECTION_METRICS =
+            "org.zalando.riptide.http2.metrics.Http2ConnectionMetrics";
+
     private final Registry registry;
     private final RiptideProperties properties;
 
     @Override
     public void register() {
         properties.getClients().forEach((id, client) -> {
-            final String factoryId = registerAsyncClientHttpRequestFactory(id, client);
+            // an explicitly provided request factory, e.g. a mocked one, takes precedence over the transport
+            final boolean nonBlocking = client.getTransport() != Transport.BLOCKING &&
+                    !registry.isRegistered(id, ClientHttpRequestFactory.class);
+            // Http doesn't use the request factory then, i.e. the blocking pool is only created if the templates are used
+            final boolean lazy = nonBlocking;
+            final String factoryId = registerAsyncClientHttpRequestFactory(id, client, lazy);
             final BeanDefinition converters = registerHttpMessageConverters(id, client);
             final List<String> plugins = registerPlugins(id, client);
 
-            registerHttp(id, client, factoryId, converters, plugins);
-            registerRestTemplate(id, factoryId, client, converters, plugins);
-            registerAsyncRestTemplate(id, factoryId, client, converters, plugins);
+            registerHttp(id, client, nonBlocking, factoryId, converters, plugins);
+            registerRestTemplate(id, factoryId, client, converters, plugins, lazy);
+            registerAsyncRestTemplate(id, factoryId, client, converters, plugins, lazy);
         });
     }
 
-    private String registerAsyncClientHttpRequestFactory(final String id, final Client client) {
+    private String registerAsyncClientHttpRequestFactory(final String id, final Client client, final boolean lazy) {
         return registry.registerIfAbsent(id, ClientHttpRequestFactory.class, () -> {
+            if (client.getTransport() == Transport.HTTP2) {
+                log.debug("Client [{}]: Registering Http2ClientHttpRequestFactory", id);
+                return genericBeanDefinition(HTTP2_REQUEST_FACTORY)
+                        .addConstructorArgReference(registerHttp2Client(id, client))
+                        .setLazyInit(lazy);
+            }
+
             log.debug("Client [{}]: Registering RestAsyncClientHttpRequestFactory", id);
             return genericBeanDefinition(ApacheClientHttpRequestFactory.class)
-                    .addConstructorArgReference(registerHttpClient(id, client));
+                    .addConstructorArgReference(registerHttpClient(id, client, lazy))
+                    .setLazyInit(lazy);
         });
     }
 
     private BeanMetadataElement registerExecutor(final String id, final Client client) {
+        if (client.getThreads().getMode() == Threads.Mode.VIRTUAL) {
+            return registerVirtualThreadExecutor(id, client);
+        }
+
         final String name = "http-" + id;
 
         final String executorId = registry.registerIfAbsent(id, ExecutorService.class, () -> {
-            final RiptideProperties.Threads threads = client.getThreads();
+            final Threads threads = client.getThreads();
             return genericBeanDefinition(ThreadPoolExecutor.class)
                     .addConstructorArgValue(threads.getMinSize())
                     .addConstructorArgValue(threads.getMaxSize())
@@ -130,6 +176,34 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         return trace(executorId);
     }
 
+    private BeanMetadataElement registerVirtualThreadExecutor(final String id, final Client client) {
+        final String name = "http-" + id;
+
+        final String executorId = registry.registerIfAbsent(id, ExecutorService.class, () -> {
+            log.debug("Client [{}]: Registering virtual thread executor", id);
+
+            return genericBeanDefinition(ThreadPerTaskExecutor.class)
+                    .addConstructorArgValue(genericBeanDefinition(VirtualThreads.class)
+                            .setFactoryMethod("createThreadFactory")
+                            .addConstructorArgValue(VirtualThreads.THREAD)
+                            .addConstructorArgValue(VirtualThreads.BUILDER)
+                            .addConstructorArgValue(name + "-")
+                            .getBeanDefinition())
+                    .addConstructorArgValue(client.getThreads().getMaxSize())
+                    .setDestroyMethodName("shutdown");
+        });
+
+        if (client.getMetrics().getEnabled()) {
+            registry.registerIfAbsent(id, ThreadPerTaskExecutorMetrics.class, () ->
+                    genericBeanDefinition(ThreadPerTaskExecutorMetrics.class)
+                            .addConstructorArgReference(executorId)
+                            .addConstructorArgValue("executor")
+                            .addConstructorArgValue(ImmutableList.of(Tag.of("name", name), clientId(id))));
+        }
+
+        return trace(executorId);
+    }
+
     private static final class HttpMessageConverters {
 
     }
@@ -191,16 +265,26 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
                 .getBeanDefinition();
     }
 
-    private void registerHttp(final String id, final Client client, final String factoryId,
+    private void registerHttp(final String id, final Client client, final boolean nonBlocking, final String factoryId,
             final BeanDefinition converters, final List<String> plugins) {
         registry.registerIfAbsent(id, Http.class, () -> {
             log.debug("Client [{}]: Registering Http", id);
 
-            return genericBeanDefinition(HttpFactory.class)
-                    .setFactoryMethod("create")
-                    .addConstructorArgValue(registerExecutor(id, client))
-                    .addConstructorArgReference(factoryId)
+            final BeanDefinitionBuilder http = genericBeanDefinition(HttpFactory.class)
+                    .addConstructorArgValue(registerExecutor(id, client));
+
+            if (nonBlocking) {
+                http.setFactoryMethod("createNonBlocking")
+                        .addConstructorArgValue(registerNetwork(id, client));
+            } else {
+                http.setFactoryMethod("create")
+                        .addConstructorArgReference(factoryId);
+            }
+
+            return http
                     .addConstructorArgValue(client.getBaseUrl())
+                    .addConstructorArgValue(isLoadBalanced(client) ?
+                            ref(generateBeanName(id, LoadBalancer.class)) : null)
                     .addConstructorArgValue(client.getUrlResolution())
                     .addConstructorArgValue(converters)
                     .addConstructorArgValue(plugins.stream()
@@ -209,33 +293,49 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         });
     }
 
+    private BeanDefinition registerNetwork(final String id, final Client client) {
+        if (client.getTransport() == Transport.HTTP2) {
+            return genericBeanDefinition(HTTP2_REQUEST_EXECUTION)
+                    .addConstructorArgReference(registerHttp2Client(id, client))
+                    .getBeanDefinition();
+        }
+
+        return genericBeanDefinition(HttpClientFactory.class)
+                .setFactoryMethod("createAsyncRequestExecution")
+                .addConstructorArgValue(client)
+                .addConstructorArgReference(registerHttpAsyncClient(id, client))
+                .addConstructorArgValue(registerExecutor(id, client))
+                .getBeanDefinition();
+    }
+
     private void registerRestTemplate(final String id, final String factoryId, final Client client,
-            final BeanDefinition converters, final List<String> plugins) {
+            final BeanDefinition converters, final List<String> plugins, final boolean lazy) {
         registry.registerIfAbsent(id, RestTemplate.class, () -> {
             log.debug("Client [{}]: Registering RestTemplate", id);
 
-            final BeanDefinitionBuilder template = genericBeanDefinition(RestTemplate.class);
+            final BeanDefinitionBuilder template = genericBeanDefinition(RestTemplate.class).setLazyInit(lazy);
             template.addConstructorArgReference(factoryId);
-            configureTemplate(template, client.getBaseUrl(), converters, plugins);
+            configureTemplate(template, getBaseUrl(client), converters, plugins);
 
             return template;
         });
     }
 
     private void registerAsyncRestTemplate(final String id, final String factoryId, final Client client,
-            final BeanDefinition converters, final List<String> plugins) {
+            final BeanDefinition converters, final List<String> plugins, final boolean lazy) {
         registry.registerIfAbsent(id, AsyncRestTemplate.class, () -> {
             log.debug("Client [{}]: Registering AsyncRestTemplate", id);
 
-            final BeanDefinitionBuilder template = genericBeanDefinition(AsyncRestTemplate.class);
+            final BeanDefinitionBuilder template = genericBeanDefinition(AsyncRestTemplate.class).setLazyInit(lazy);
             template.addConstructorArgReference(registry.registerIfAbsent(id, AsyncClientHttpRequestFactory.class, () ->
                     genericBeanDefinition(ConcurrentClientHttpRequestFactory.class)
                             .addConstructorArgReference(factoryId)
                             .addConstructorArgValue(genericBeanDefinition(ConcurrentTaskExecutor.class)
                                     .addConstructorArgValue(registerExecutor(id, client))
-                                    .getBeanDefinition())));
+                                    .getBeanDefinition())
+                            .setLazyInit(lazy)));
             template.addConstructorArgReference(factoryId);
-            configureTemplate(template, client.getBaseUrl(), converters, plugins);
+            configureTemplate(template, getBaseUrl(client), converters, plugins);
 
             return template;
         });
@@ -264,10 +364,14 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
     private List<String> registerPlugins(final String id, final Client client) {
 
         final Stream<Optional<String>> plugins = Stream.of(
+                registerBufferingPlugin(id, client),
                 registerMetricsPlugin(id, client),
+                registerPhaseMetricsPlugin(id, client),
                 registerTransientFaultPlugin(id, client),
                 registerFailsafePlugin(id, client),
                 registerBackupPlugin(id, client),
+                registerConcurrencyLimitPlugin(id, client),
+                registerLoadBalancer(id, client),
                 registerAuthorizationPlugin(id, client),
                 registerTimeoutPlugin(id, client),
                 registerOriginalStackTracePlugin(id, client),
@@ -279,6 +383,36 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
                 .collect(toCollection(Registry::list));
     }
 
+    private Optional<String> registerBufferingPlugin(final String id, final Client client) {
+        if (client.getBuffering().getEnabled()) {
+            log.debug("Client [{}]: Registering [{}]", id, BufferingPlugin.class.getSimpleName());
+            final String pluginId = registry.registerIfAbsent(id, BufferingPlugin.class, () ->
+                    genericBeanDefinition(BufferingPluginFactory.class)
+                            .setFactoryMethod("createBufferingPlugin")
+                            .addConstructorArgReference(registerBufferPool(id, client))
+                            .addConstructorArgValue(client.getBuffering()));
+            return Optional.of(pluginId);
+        }
+        return Optional.empty();
+    }
+
+    private String registerBufferPool(final String id, final Client client) {
+        final String poolId = registry.registerIfAbsent(id, BufferPool.class, () ->
+                genericBeanDefinition(BufferingPluginFactory.class)
+                        .setFactoryMethod("createBufferPool")
+                        .addConstructorArgValue(client.getBuffering()));
+
+        if (client.getMetrics().getEnabled()) {
+            registry.registerIfAbsent(id, BufferPoolMetrics.class, () ->
+                    genericBeanDefinition(BufferPoolMetrics.class)
+                            .addConstructorArgReference(poolId)
+                            .addConstructorArgValue("http.client.buffers")
+                            .addConstructorArgValue(ImmutableList.of(clientId(id))));
+        }
+
+        return poolId;
+    }
+
     private Optional<String> registerMetricsPlugin(final String id, final Client client) {
         if (client.getMetrics().getEnabled()) {
             log.debug("Client [{}]: Registering [{}]", id, MetricsPlugin.class.getSimpleName());
@@ -293,6 +427,24 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         return Optional.empty();
     }
 
+    private Optional<String> registerPhaseMetricsPlugin(final String id, final Client client) {
+        if (recordsPhases(client)) {
+            log.debug("Client [{}]: Registering [{}]", id, PhaseMetricsPlugin.class.getSimpleName());
+            final String pluginId = registry.registerIfAbsent(id, PhaseMetricsPlugin.class, () ->
+                    genericBeanDefinition(MetricsPluginFactory.class)
+                            .setFactoryMethod("createPhaseMetricsPlugin")
+                            .addConstructorArgReference("meterRegistry")
+                            .addConstructorArgValue(ImmutableList.of(clientId(id))));
+
+            return Optional.of(pluginId);
+        }
+        return Optional.empty();
+    }
+
+    private static boolean recordsPhases(final Client client) {
+        return client.getMetrics().getEnabled() && client.getMetrics().getPhases();
+    }
+
     private Optional<String> registerTransientFaultPlugin(final String id, final Client client) {
         if (client.getTransientFaultDetection().getEnabled()) {
             log.debug("Client [{}]: Registering [{}]", id, TransientFaultPlugin.class.getSimpleName());
@@ -310,9 +462,11 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
             final String pluginId = registry.registerIfAbsent(id, FailsafePlugin.class, () ->
                     genericBeanDefinition(FailsafePluginFactory.class)
                             .setFactoryMethod("createFailsafePlugin")
-                            .addConstructorArgValue(registerScheduler(id, client))
+                            .addConstructorArgValue(registerFailsafeScheduler(id, client))
                             .addConstructorArgValue(registerRetryPolicy(id, client))
                             .addConstructorArgValue(registerCircuitBreaker(id, client))
+                            .addConstructorArgValue(registerCircuitBreakerRegistry(id, client))
+                            .addConstructorArgValue(registerRetryBudget(id, client))
                             .addConstructorArgReference(registerRetryListener(id, client)));
             return Optional.of(pluginId);
         }
@@ -323,23 +477,56 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         if (client.getBackupRequest().getEnabled()) {
             log.debug("Client [{}]: Registering [{}]", id, BackupRequestPlugin.class.getSimpleName());
             final String pluginId = registry.registerIfAbsent(id, BackupRequestPlugin.class, () ->
-                    genericBeanDefinition(BackupRequestPlugin.class)
+                    genericBeanDefinition(BackupRequestPluginFactory.class)
+                            .setFactoryMethod("createBackupRequestPlugin")
                             .addConstructorArgValue(registerScheduler(id, client))
-                            .addConstructorArgValue(client.getBackupRequest().getDelay().getAmount())
-                            .addConstructorArgValue(client.getBackupRequest().getDelay().getUnit())
-                            .addConstructorArgValue(new IdempotencyPredicate())
-                            .addConstructorArgValue(registerExecutor(id, client)));
+                            .addConstructorArgValue(registerExecutor(id, client))
+                            .addConstructorArgValue(client.getBackupRequest()));
+            return Optional.of(pluginId);
+        }
+        return Optional.empty();
+    }
+
+    private Optional<String> registerConcurrencyLimitPlugin(final String id, final Client client) {
+        if (client.getConcurrencyLimit().getEnabled()) {
+            log.debug("Client [{}]: Registering [{}]", id, ConcurrencyLimitPlugin.class.getSimpleName());
+            final String pluginId = registry.registerIfAbsent(id, ConcurrencyLimitPlugin.class, () ->
+                    genericBeanDefinition(ConcurrencyLimitPluginFactory.class)
+                            .setFactoryMethod("createConcurrencyLimitPlugin")
+                            .addConstructorArgValue(client.getConcurrencyLimit())
+                            .addConstructorArgReference(registerConcurrencyLimitListener(id, client)));
+            return Optional.of(pluginId);
+        }
+        return Optional.empty();
+    }
+
+    private Optional<String> registerLoadBalancer(final String id, final Client client) {
+        if (isLoadBalanced(client)) {
+            if (client.getBaseUrl() != null) {
+                throw new IllegalStateException(
+                        "Client [" + id + "] must not configure both base-url and base-urls");
+            }
+
+            log.debug("Client [{}]: Registering [{}]", id, LoadBalancer.class.getSimpleName());
+            final String pluginId = registry.registerIfAbsent(id, LoadBalancer.class, () ->
+                    genericBeanDefinition(LoadBalancerFactory.class)
+                            .setFactoryMethod("createLoadBalancer")
+                            .addConstructorArgValue(client.getBaseUrls()));
             return Optional.of(pluginId);
         }
         return Optional.empty();
     }
 
+    private static boolean isLoadBalanced(final Client client) {
+        return client.getBaseUrls() != null && !client.getBaseUrls().isEmpty();
+    }
+
     private Optional<String> registerAuthorizationPlugin(final String id, final Client client) {
         if (client.getOauth().getEnabled()) {
             log.debug("Client [{}]: Registering [{}]", id, AuthorizationPlugin.class.getSimpleName());
             final String pluginId = registry.registerIfAbsent(id, AuthorizationPlugin.class, () ->
                     genericBeanDefinition(AuthorizationPlugin.class)
-                            .addConstructorArgReference(registerAuthorizationProvider(id, client.getOauth())));
+                            .addConstructorArgReference(registerAuthorizationProvider(id, client)));
             return Optional.of(pluginId);
         }
         return Optional.empty();
@@ -391,21 +578,46 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         // we allow users to use their own ScheduledExecutorService, but they don't have to configure tracing
         final String name = "http-" + id + "-scheduler";
 
-        final String executorId = registry.registerIfAbsent(id, ScheduledExecutorService.class, () -> {
-            final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(name + "-");
-            threadFactory.setDaemon(true);
+        final Scheduler scheduler = client.getScheduler();
+
+        if (scheduler.getMode() == Scheduler.Mode.WHEEL) {
+            return trace(registry.registerIfAbsent(id, ScheduledExecutorService.class, () -> {
+                log.debug("Client [{}]: Registering [{}]", id, HashedWheelTimer.class.getSimpleName());
+                return genericBeanDefinition(HashedWheelTimer.class)
+                        .addConstructorArgValue(createThreadFactory(name))
+                        .addConstructorArgValue(scheduler.getTickDuration().getAmount())
+                        .addConstructorArgValue(scheduler.getTickDuration().getUnit())
+                        .addConstructorArgValue(scheduler.getTicksPerWheel())
+                        .setDestroyMethodName("shutdown");
+            }));
+        }
 
-            return genericBeanDefinition(ScheduledThreadPoolExecutor.class)
-                    .addConstructorArgValue(client.getThreads().getMaxSize())
-                    .addConstructorArgValue(threadFactory)
-                    .addPropertyValue("removeOnCancelPolicy", true)
-                    .setDestroyMethodName("shutdown");
-        });
+        return registerScheduledThreadPool(id, client, generateBeanName(id, ScheduledExecutorService.class), name);
+    }
 
-        if (client.getMetrics().getEnabled()) {
-            final String beanName = generateBeanName(id, "ScheduledExecutorServiceMetrics");
+    private BeanMetadataElement registerFailsafeScheduler(final String id, final Client client) {
+        if (client.getScheduler().getMode() == Scheduler.Mode.WHEEL) {
+            // Failsafe executes every attempt on its scheduler, the wheel's single thread would run them one at a time
+            return registerScheduledThreadPool(id, client, generateBeanName(id, "FailsafeScheduledExecutorService"),
+                    "http-" + id + "-failsafe");
+        }
 
-            registry.registerIfAbsent(id, beanName, () ->
+        return registerScheduler(id, client);
+    }
+
+    private BeanMetadataElement registerScheduledThreadPool(final String id, final Client client,
+            final String beanName, final String name) {
+
+        final String executorId = registry.registerIfAbsent(id, beanName, () ->
+                genericBeanDefinition(ScheduledThreadPoolExecutor.class)
+                        .addConstructorArgValue(client.getThreads().getMaxSize())
+                        .addConstructorArgValue(createThreadFactory(name))
+                        .addPropertyValue("removeOnCancelPolicy", true)
+                        .setDestroyMethodName("shutdown"));
+
+        // ExecutorServiceMetrics only supports thread pools
+        if (client.getMetrics().getEnabled()) {
+            registry.registerIfAbsent(id, beanName + "Metrics", () ->
                     genericBeanDefinition(ExecutorServiceMetrics.class)
                             .addConstructorArgReference(executorId)
                             .addConstructorArgValue(name)
@@ -415,6 +627,12 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         return trace(executorId);
     }
 
+    private static CustomizableThreadFactory createThreadFactory(final String name) {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(name + "-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
     private BeanMetadataElement registerRetryPolicy(final String id, final Client client) {
         if (client.getRetry().getEnabled()) {
             return ref(registry.registerIfAbsent(id, RetryPolicy.class, () ->
@@ -426,8 +644,18 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
 
     }
 
+    private BeanMetadataElement registerRetryBudget(final String id, final Client client) {
+        if (client.getRetry().getEnabled() && client.getRetry().getBudget().getEnabled()) {
+            return ref(registry.registerIfAbsent(id, RetryBudget.class, () ->
+                    genericBeanDefinition(FailsafePluginFactory.class)
+                            .setFactoryMethod("createRetryBudget")
+                            .addConstructorArgValue(client.getRetry())));
+        }
+        return null;
+    }
+
     private BeanMetadataElement registerCircuitBreaker(final String id, final Client client) {
-        if (client.getCircuitBreaker().getEnabled()) {
+        if (client.getCircuitBreaker().getEnabled() && !client.getCircuitBreaker().getPerHost()) {
             return ref(registry.registerIfAbsent(id, CircuitBreaker.class, () ->
                     genericBeanDefinition(FailsafePluginFactory.class)
                             .setFactoryMethod("createCircuitBreaker")
@@ -438,6 +666,17 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
 
     }
 
+    private BeanMetadataElement registerCircuitBreakerRegistry(final String id, final Client client) {
+        if (client.getCircuitBreaker().getEnabled() && client.getCircuitBreaker().getPerHost()) {
+            return ref(registry.registerIfAbsent(id, CircuitBreakerRegistry.class, () ->
+                    genericBeanDefinition(FailsafePluginFactory.class)
+                            .setFactoryMethod("createCircuitBreakerRegistry")
+                            .addConstructorArgValue(client)
+                            .addConstructorArgReference(registerCircuitBreakerListener(id, client))));
+        }
+        return null;
+    }
+
     private String registerRetryListener(final String id, final Client client) {
         return registry.registerIfAbsent(id, RetryListener.class, () -> {
             if (client.getMetrics().getEnabled()) {
@@ -466,6 +705,20 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         });
     }
 
+    private String registerConcurrencyLimitListener(final String id, final Client client) {
+        return registry.registerIfAbsent(id, ConcurrencyLimitListener.class, () -> {
+            if (client.getMetrics().getEnabled()) {
+                return genericBeanDefinition(MetricsPluginFactory.class)
+                        .setFactoryMethod("createConcurrencyLimitListener")
+                        .addConstructorArgReference("meterRegistry")
+                        .addConstructorArgValue(ImmutableList.of(clientId(id)));
+            } else {
+                return genericBeanDefinition(ConcurrencyLimitPluginFactory.class)
+                        .setFactoryMethod("getDefaultConcurrencyLimitListener");
+            }
+        });
+    }
+
     private Tag clientId(final String id) {
         return Tag.of("clientId", id);
     }
@@ -475,15 +728,36 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
     }
 
     private Optional<String> getHost(final Client client) {
-        return Optional.ofNullable(client.getBaseUrl())
+        return Optional.ofNullable(getBaseUrl(client))
                 .map(URI::create).map(URI::getHost);
     }
 
-    private String registerAuthorizationProvider(final String id, final OAuth oauth) {
-        return registry.registerIfAbsent(id, AuthorizationProvider.class, () ->
-                genericBeanDefinition(PlatformCredentialsAuthorizationProvider.class)
-                        .addConstructorArgValue(oauth.getCredentialsDirectory())
-                        .addConstructorArgValue(id));
+    /**
+     * Templates don't support load balancing, they always use the first of multiple base URLs.
+     */
+    @Nullable
+    private static String getBaseUrl(final Client client) {
+        return isLoadBalanced(client) ? client.getBaseUrls().get(0) : client.getBaseUrl();
+    }
+
+    private String registerAuthorizationProvider(final String id, final Client client) {
+        return registry.registerIfAbsent(id, AuthorizationProvider.class, () -> {
+            final OAuth oauth = client.getOauth();
+
+            if (client.getMetrics().getEnabled()) {
+                registry.registerIfAbsent(id, PlatformCredentialsMetrics.class, () ->
+                        genericBeanDefinition(PlatformCredentialsMetrics.class)
+                                .addConstructorArgReference(generateBeanName(id, AuthorizationProvider.class))
+                                .addConstructorArgValue("http.client.credentials")
+                                .addConstructorArgValue(ImmutableList.of(clientId(id))));
+            }
+
+            return genericBeanDefinition(PlatformCredentialsAuthorizationProvider.class)
+                    .addConstructorArgValue(oauth.getCredentialsDirectory())
+                    .addConstructorArgValue(id)
+                    .addConstructorArgValue(oauth.getRefreshInterval().getAmount())
+                    .addConstructorArgValue(oauth.getRefreshInterval().getUnit());
+        });
     }
 
     private BeanMetadataElement trace(final String executor) {
@@ -503,16 +777,36 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         return result.orElseGet(() -> ref(executor));
     }
 
-    private String registerHttpClient(final String id, final Client client) {
+    private String registerHttpClient(final String id, final Client client, final boolean lazy) {
         return registry.registerIfAbsent(id, HttpClient.class, () -> {
             log.debug("Client [{}]: Registering HttpClient", id);
 
-            final String connectionManager = registry.registerIfAbsent(id, HttpClientConnectionManager.class, () ->
-                    genericBeanDefinition(HttpClientFactory.class)
+            final boolean poolMetrics = client.getMetrics().getEnabled() && client.getTransport() == Transport.BLOCKING;
+            // live pool metrics need to monitor the pool's connection factory, i.e. not for custom managers
+            final boolean livePoolMetrics = poolMetrics && !registry.isRegistered(id, HttpClientConnectionManager.class);
+
+            final String connectionManager = registry.registerIfAbsent(id, HttpClientConnectionManager.class, () -> {
+                if (livePoolMetrics) {
+                    return genericBeanDefinition(MetricsPluginFactory.class)
                             .setFactoryMethod("createHttpClientConnectionManager")
-                            .addConstructorArgValue(client));
+                            .addConstructorArgValue(client)
+                            .addConstructorArgValue(registerDnsResolver(id, client))
+                            .addConstructorArgReference(registry.registerIfAbsent(id,
+                                    LiveHttpConnectionPoolMetrics.class, () ->
+                                            genericBeanDefinition(LiveHttpConnectionPoolMetrics.class)
+                                                    .addConstructorArgValue("http.client.connections")
+                                                    .addConstructorArgValue(ImmutableList.of(clientId(id)))));
+                }
+
+                return genericBeanDefinition(HttpClientFactory.class)
+                        .setFactoryMethod("createHttpClientConnectionManager")
+                        .addConstructorArgValue(client)
+                        .addConstructorArgValue(registerDnsResolver(id, client))
+                        .addConstructorArgValue(null)
+                        .setLazyInit(lazy);
+            });
 
-            if (client.getMetrics().getEnabled()) {
+            if (poolMetrics && !livePoolMetrics) {
                 registry.registerIfAbsent(id, HttpConnectionPoolMetrics.class, () ->
                         genericBeanDefinition(HttpConnectionPoolMetrics.class)
                                 .addConstructorArgReference(connectionManager)
@@ -524,13 +818,129 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
                     .setFactoryMethod("createHttpClient")
                     .addConstructorArgValue(client)
                     .addConstructorArgValue(configureFirstRequestInterceptors(id, client))
-                    .addConstructorArgValue(configureLastRequestInterceptors(id, client))
+                    .addConstructorArgValue(configureLastRequestInterceptors(id, client, true))
                     .addConstructorArgValue(configureLastResponseInterceptors(id))
-                    .addConstructorArgReference(connectionManager)
+                    .addConstructorArgValue(timeConnectionManager(id, client,
+                            monitorConnectionManager(id, livePoolMetrics, connectionManager)))
                     .addConstructorArgValue(registry.isRegistered(id, HttpClientCustomizer.class) ?
                             ref(generateBeanName(id, HttpClientCustomizer.class)) : null)
                     .addConstructorArgValue(registry.isRegistered(id, HttpCacheStorage.class) ?
                             ref(generateBeanName(id, HttpCacheStorage.class)) : null)
+                    .setDestroyMethodName("close")
+                    .setLazyInit(lazy);
+        });
+    }
+
+    @Nullable
+    private BeanMetadataElement registerDnsResolver(final String id, final Client client) {
+        if (!client.getDns().getEnabled()) {
+            return null;
+        }
+
+        return ref(registry.registerIfAbsent(id, DnsResolver.class, () -> {
+            log.debug("Client [{}]: Registering CachingDnsResolver", id);
+
+            return genericBeanDefinition(HttpClientFactory.class)
+                    .setFactoryMethod("createDnsResolver")
+                    .addConstructorArgValue(client)
+                    .addConstructorArgValue("http-" + id + "-dns")
+                    .addConstructorArgReference(registerDnsResolverListener(id, client));
+        }));
+    }
+
+    private String registerDnsResolverListener(final String id, final Client client) {
+        return registry.registerIfAbsent(id, DnsResolverListener.class, () -> {
+            if (client.getMetrics().getEnabled()) {
+                return genericBeanDefinition(MetricsPluginFactory.class)
+                        .setFactoryMethod("createDnsResolverListener")
+                        .addConstructorArgReference("meterRegistry")
+                        .addConstructorArgValue(ImmutableList.of(clientId(id)));
+            } else {
+                return genericBeanDefinition(HttpClientFactory.class)
+                        .setFactoryMethod("getDefaultDnsResolverListener");
+            }
+        });
+    }
+
+    // the pool itself stays the registered bean, connection pool metrics depend on it, only the client uses wrappers
+    private BeanMetadataElement monitorConnectionManager(final String id, final boolean livePoolMetrics,
+            final String connectionManager) {
+        if (livePoolMetrics) {
+            return genericBeanDefinition(MetricsPluginFactory.class)
+                    .setFactoryMethod("monitorHttpClientConnectionManager")
+                    .addConstructorArgReference(generateBeanName(id, LiveHttpConnectionPoolMetrics.class))
+                    .addConstructorArgReference(connectionManager)
+                    .getBeanDefinition();
+        }
+        return ref(connectionManager);
+    }
+
+    private BeanMetadataElement timeConnectionManager(final String id, final Client client,
+            final BeanMetadataElement connectionManager) {
+        if (recordsPhases(client)) {
+            return genericBeanDefinition(TimedHttpClientConnectionManager.class)
+                    .addConstructorArgValue(connectionManager)
+                    .addConstructorArgReference("meterRegistry")
+                    .addConstructorArgValue("http.client.phases")
+                    .addConstructorArgValue(ImmutableList.of(clientId(id)))
+                    .getBeanDefinition();
+        }
+        return connectionManager;
+    }
+
+    // riptide-http2 requires Java 11, which is why it's only referenced by name
+    private String registerHttp2Client(final String id, final Client client) {
+        return registry.registerIfAbsent(id, generateBeanName(id, "Http2Client"), () ->
+                ifPresent(HTTP2_CLIENT_FACTORY, () -> {
+                    log.debug("Client [{}]: Registering HTTP/2 HttpClient", id);
+
+                    final BeanDefinitionBuilder factory = genericBeanDefinition(HTTP2_CLIENT_FACTORY)
+                            .setFactoryMethod("create")
+                            .addConstructorArgValue(Duration.ofMillis(
+                                    client.getConnections().getConnectTimeout().to(MILLISECONDS)))
+                            .addConstructorArgValue(genericBeanDefinition(HttpClientFactory.class)
+                                    .setFactoryMethod("createSSLContext")
+                                    .addConstructorArgValue(client)
+                                    .getBeanDefinition());
+
+                    if (client.getMetrics().getEnabled()) {
+                        factory.addConstructorArgReference(registry.registerIfAbsent(id,
+                                generateBeanName(id, "Http2ConnectionMetrics"), () ->
+                                        genericBeanDefinition(HTTP2_CONNECTION_METRICS)
+                                                .addConstructorArgValue("http.client.connections")
+                                                .addConstructorArgValue(ImmutableList.of(clientId(id)))));
+                    }
+
+                    return factory;
+                }).orElseThrow(() -> new IllegalStateException(
+                        "Transport http2 of client [" + id + "] requires riptide-http2 and Java 11 or later")));
+    }
+
+    private String registerHttpAsyncClient(final String id, final Client client) {
+        return registry.registerIfAbsent(id, HttpAsyncClient.class, () -> {
+            log.debug("Client [{}]: Registering HttpAsyncClient", id);
+
+            final String connectionManager = registry.registerIfAbsent(id, NHttpClientConnectionManager.class, () ->
+                    genericBeanDefinition(HttpClientFactory.class)
+                            .setFactoryMethod("createNHttpClientConnectionManager")
+                            .addConstructorArgValue(client)
+                            .addConstructorArgValue(registerDnsResolver(id, client)));
+
+            if (client.getMetrics().getEnabled()) {
+                registry.registerIfAbsent(id, HttpConnectionPoolMetrics.class, () ->
+                        genericBeanDefinition(HttpConnectionPoolMetrics.class)
+                                .addConstructorArgReference(connectionManager)
+                                .addConstructorArgValue("http.client.connections")
+                                .addConstructorArgValue(ImmutableList.of(clientId(id))));
+            }
+
+            return genericBeanDefinition(HttpClientFactory.class)
+                    .setFactoryMethod("createHttpAsyncClient")
+                    .addConstructorArgValue(client)
+                    .addConstructorArgValue(configureFirstRequestInterceptors(id, client))
+                    .addConstructorArgValue(configureLastRequestInterceptors(id, client, false))
+                    .addConstructorArgValue(configureLastResponseInterceptors(id))
+                    .addConstructorArgReference(connectionManager)
                     .setDestroyMethodName("close");
         });
     }
@@ -546,7 +956,8 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         return interceptors;
     }
 
-    private List<BeanMetadataElement> configureLastRequestInterceptors(final String id, final Client client) {
+    private List<BeanMetadataElement> configureLastRequestInterceptors(final String id, final Client client,
+            final boolean compression) {
         final List<BeanMetadataElement> interceptors = list();
 
         if (registry.isRegistered("logbookHttpRequestInterceptor")) {
@@ -554,7 +965,8 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
             interceptors.add(ref("logbookHttpRequestInterceptor"));
         }
 
-        if (client.getRequestCompression().getEnabled()) {
+        // the async client compresses in ApacheAsyncRequestExecution instead
+        if (compression && client.getRequestCompression().getEnabled()) {
             log.debug("Client [{}]: Registering GzippingHttpRequestInterceptor", id);
             interceptors.add(genericBeanDefinition(GzipHttpRequestInterceptor.class)
                     .getBeanDefinition());
@@ -2,15 +2,20 @@ package org.zalando.riptide.autoconfigure;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Buffering;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Heuristic;
 import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning;
 import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning.Keystore;
+import org.zalando.riptide.autoconfigure.RiptideProperties.ConcurrencyLimit;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Connections;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Dns;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Metrics;
 import org.zalando.riptide.autoconfigure.RiptideProperties.OAuth;
 import org.zalando.riptide.autoconfigure.RiptideProperties.RequestCompression;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Scheduler;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Backoff;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Budget;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Soap;
 import org.zalando.riptide.autoconfigure.RiptideProperties.StackTracePreservation;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Timeouts;
@@ -50,8 +55,11 @@ final class Defaulting {
 
         return new Defaults(
                 defaults.getUrlResolution(),
+                defaults.getTransport(),
                 connections,
+                defaults.getDns(),
                 merge(defaults.getThreads(), new Threads(connections.getMaxTotal())),
+                defaults.getScheduler(),
                 defaults.getOauth(),
                 defaults.getTransientFaultDetection(),
                 defaults.getStackTracePreservation(),
@@ -59,10 +67,12 @@ final class Defaulting {
                 defaults.getRetry(),
                 defaults.getCircuitBreaker(),
                 defaults.getBackupRequest(),
+                defaults.getConcurrencyLimit(),
                 defaults.getTimeouts(),
                 defaults.getRequestCompression(),
                 defaults.getCertificatePinning(),
                 defaults.getCaching(),
+                defaults.getBuffering(),
                 defaults.getSoap()
         );
     }
@@ -80,11 +90,15 @@ final class Defaulting {
 
         return new Client(
                 base.getBaseUrl(),
+                base.getBaseUrls(),
                 either(base.getUrlResolution(), defaults.getUrlResolution()),
+                either(base.getTransport(), defaults.getTransport()),
                 connections,
+                merge(base.getDns(), defaults.getDns(), Defaulting::merge),
                 merge(base.getThreads(),
                         merge(new Threads(connections.getMaxTotal()), defaults.getThreads()),
                         Defaulting::merge),
+                merge(base.getScheduler(), defaults.getScheduler(), Defaulting::merge),
                 merge(base.getOauth(), defaults.getOauth(), Defaulting::merge),
                 merge(base.getTransientFaultDetection(), defaults.getTransientFaultDetection(), Defaulting::merge),
                 merge(base.getStackTracePreservation(), defaults.getStackTracePreservation(), Defaulting::merge),
@@ -92,10 +106,12 @@ final class Defaulting {
                 merge(base.getRetry(), defaults.getRetry(), Defaulting::merge),
                 merge(base.getCircuitBreaker(), defaults.getCircuitBreaker(), Defaulting::merge),
                 merge(base.getBackupRequest(), defaults.getBackupRequest(), Defaulting::merge),
+                merge(base.getConcurrencyLimit(), defaults.getConcurrencyLimit(), Defaulting::merge),
                 merge(base.getTimeouts(), defaults.getTimeouts(), Defaulting::merge),
                 merge(base.getRequestCompression(), defaults.getRequestCompression(), Defaulting::merge),
                 merge(base.getCertificatePinning(), defaults.getCertificatePinning(), Defaulting::merge),
                 merge(base.getCaching(), defaults.getCaching(), Defaulting::merge),
+                merge(base.getBuffering(), defaults.getBuffering(), Defaulting::merge),
                 merge(base.getSoap(), defaults.getSoap(), Defaulting::merge)
         );
     }
@@ -113,19 +129,37 @@ final class Defaulting {
         );
     }
 
+    private static Dns merge(final Dns base, final Dns defaults) {
+        return new Dns(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getTimeToLive(), defaults.getTimeToLive()),
+                either(base.getMaxStale(), defaults.getMaxStale())
+        );
+    }
+
     private static Threads merge(final Threads base, final Threads defaults) {
         return new Threads(
                 either(base.getMinSize(), defaults.getMinSize()),
                 either(base.getMaxSize(), defaults.getMaxSize()),
                 either(base.getKeepAlive(), defaults.getKeepAlive()),
-                either(base.getQueueSize(), defaults.getQueueSize())
+                either(base.getQueueSize(), defaults.getQueueSize()),
+                either(base.getMode(), defaults.getMode())
+        );
+    }
+
+    private static Scheduler merge(final Scheduler base, final Scheduler defaults) {
+        return new Scheduler(
+                either(base.getMode(), defaults.getMode()),
+                either(base.getTickDuration(), defaults.getTickDuration()),
+                either(base.getTicksPerWheel(), defaults.getTicksPerWheel())
         );
     }
 
     private static OAuth merge(final OAuth base, final OAuth defaults) {
         return new OAuth(
                 either(base.getEnabled(), defaults.getEnabled()),
-                either(base.getCredentialsDirectory(), defaults.getCredentialsDirectory())
+                either(base.getCredentialsDirectory(), defaults.getCredentialsDirectory()),
+                either(base.getRefreshInterval(), defaults.getRefreshInterval())
         );
     }
 
@@ -145,7 +179,8 @@ final class Defaulting {
 
     private static Metrics merge(final Metrics base, final Metrics defaults) {
         return new Metrics(
-                either(base.getEnabled(), defaults.getEnabled())
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getPhases(), defaults.getPhases())
         );
     }
 
@@ -157,7 +192,8 @@ final class Defaulting {
                 either(base.getMaxRetries(), defaults.getMaxRetries()),
                 either(base.getMaxDuration(), defaults.getMaxDuration()),
                 either(base.getJitterFactor(), defaults.getJitterFactor()),
-                either(base.getJitter(), defaults.getJitter())
+                either(base.getJitter(), defaults.getJitter()),
+                merge(base.getBudget(), defaults.getBudget(), Defaulting::merge)
         );
     }
 
@@ -170,19 +206,44 @@ final class Defaulting {
         );
     }
 
+    private static Budget merge(final Budget base, final Budget defaults) {
+        return new Budget(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getRatio(), defaults.getRatio()),
+                either(base.getMinRetries(), defaults.getMinRetries()),
+                either(base.getWindow(), defaults.getWindow())
+        );
+    }
+
     private static CircuitBreaker merge(final CircuitBreaker base, final CircuitBreaker defaults) {
         return new CircuitBreaker(
                 either(base.getEnabled(), defaults.getEnabled()),
                 either(base.getFailureThreshold(), defaults.getFailureThreshold()),
                 either(base.getDelay(), defaults.getDelay()),
-                either(base.getSuccessThreshold(), defaults.getSuccessThreshold())
+                either(base.getSuccessThreshold(), defaults.getSuccessThreshold()),
+                either(base.getPerHost(), defaults.getPerHost()),
+                either(base.getIdleTimeout(), defaults.getIdleTimeout())
         );
     }
 
     private static BackupRequest merge(final BackupRequest base, final BackupRequest defaults) {
         return new BackupRequest(
                 either(base.getEnabled(), defaults.getEnabled()),
-                either(base.getDelay(), defaults.getDelay())
+                either(base.getDelay(), defaults.getDelay()),
+                either(base.getPercentile(), defaults.getPercentile()),
+                either(base.getMaxExtraLoad(), defaults.getMaxExtraLoad())
+        );
+    }
+
+    private static ConcurrencyLimit merge(final ConcurrencyLimit base, final ConcurrencyLimit defaults) {
+        return new ConcurrencyLimit(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getAlgorithm(), defaults.getAlgorithm()),
+                either(base.getInitialLimit(), defaults.getInitialLimit()),
+                either(base.getMinLimit(), defaults.getMinLimit()),
+                either(base.getMaxLimit(), defaults.getMaxLimit()),
+                either(base.getMaxQueueSize(), defaults.getMaxQueueSize()),
+                either(base.getPartitioning(), defaults.getPartitioning())
         );
     }
 
@@ -225,6 +286,15 @@ final class Defaulting {
         );
     }
 
+    private static Buffering merge(final Buffering base, final Buffering defaults) {
+        return new Buffering(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getThreshold(), defaults.getThreshold()),
+                either(base.getChunkSize(), defaults.getChunkSize()),
+                either(base.getMaxSize(), defaults.getMaxSize())
+        );
+    }
+
     private static Heuristic merge(final Heuristic base, final Heuristic defaults) {
         return new Heuristic(
                 either(base.getEnabled(), defaults.getEnabled()),
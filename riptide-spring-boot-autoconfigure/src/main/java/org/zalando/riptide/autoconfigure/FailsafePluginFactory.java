@@ -7,14 +7,18 @@ import net.jodah.failsafe.RetryPolicy;
 import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.riptide.Plugin;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Backoff;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Budget;
 import org.zalando.riptide.failsafe.CircuitBreakerListener;
+import org.zalando.riptide.failsafe.CircuitBreakerRegistry;
 import org.zalando.riptide.failsafe.FailsafePlugin;
 import org.zalando.riptide.failsafe.RetryAfterDelayFunction;
 import org.zalando.riptide.failsafe.RetryException;
+import org.zalando.riptide.failsafe.RetryBudget;
 import org.zalando.riptide.failsafe.RetryListener;
 import org.zalando.riptide.faults.TransientFaultException;
 
 import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -34,6 +38,8 @@ final class FailsafePluginFactory {
             final ScheduledExecutorService scheduler,
             @Nullable final RetryPolicy<ClientHttpResponse> retryPolicy,
             @Nullable final CircuitBreaker<ClientHttpResponse> circuitBreaker,
+            @Nullable final CircuitBreakerRegistry circuitBreakers,
+            @Nullable final RetryBudget budget,
             final RetryListener listener) {
 
         final ImmutableList.Builder<Policy<ClientHttpResponse>> policies = ImmutableList.builder();
@@ -46,8 +52,18 @@ final class FailsafePluginFactory {
             policies.add(circuitBreaker);
         }
 
-        return new FailsafePlugin(policies.build(), scheduler)
+        FailsafePlugin plugin = new FailsafePlugin(policies.build(), scheduler)
                 .withListener(listener);
+
+        if (circuitBreakers != null) {
+            plugin = plugin.withCircuitBreakers(circuitBreakers);
+        }
+
+        if (budget != null) {
+            plugin = plugin.withRetryBudget(budget);
+        }
+
+        return plugin;
     }
 
     public static RetryPolicy<ClientHttpResponse> createRetryPolicy(final RiptideProperties.Retry config) {
@@ -91,6 +107,15 @@ final class FailsafePluginFactory {
         return policy;
     }
 
+    public static RetryBudget createRetryBudget(final RiptideProperties.Retry config) {
+        final Budget budget = config.getBudget();
+
+        return new RetryBudget()
+                .withRatio(budget.getRatio())
+                .withMinRetries(budget.getMinRetries())
+                .withWindow(Duration.ofMillis(budget.getWindow().to(MILLISECONDS)));
+    }
+
     public static CircuitBreaker<ClientHttpResponse> createCircuitBreaker(final RiptideProperties.Client client,
             final CircuitBreakerListener listener) {
         final CircuitBreaker<ClientHttpResponse> breaker = new CircuitBreaker<>();
@@ -117,4 +142,13 @@ final class FailsafePluginFactory {
         return breaker;
     }
 
+    public static CircuitBreakerRegistry createCircuitBreakerRegistry(final RiptideProperties.Client client,
+            final CircuitBreakerListener listener) {
+        final Duration idleTimeout = Duration.ofMillis(client.getCircuitBreaker().getIdleTimeout().to(MILLISECONDS));
+
+        return new CircuitBreakerRegistry(() -> createCircuitBreaker(client, CircuitBreakerListener.DEFAULT))
+                .withListener(listener)
+                .withIdleTimeout(idleTimeout);
+    }
+
 }
@@ -6,7 +6,11 @@ import org.apache.http.HttpResponseInterceptor;
 import org.apache.http.client.cache.HttpCacheStorage;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.DnsResolver;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.HttpConnectionFactory;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
@@ -16,13 +20,29 @@ import org.apache.http.impl.client.cache.CacheConfig;
 import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
 import org.apache.http.impl.client.cache.CachingHttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.conn.NHttpClientConnectionManager;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
 import org.apache.http.ssl.SSLContexts;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Heuristic;
 import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning;
 import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning.Keystore;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Connections;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Dns;
+import org.zalando.riptide.httpclient.ApacheAsyncRequestExecution;
+import org.zalando.riptide.httpclient.CachingDnsResolver;
+import org.zalando.riptide.httpclient.DnsResolverListener;
 
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
@@ -31,13 +51,18 @@ import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.security.GeneralSecurityException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
 
 @SuppressWarnings("unused")
 @Slf4j
@@ -49,6 +74,13 @@ final class HttpClientFactory {
 
     public static HttpClientConnectionManager createHttpClientConnectionManager(final Client client)
             throws GeneralSecurityException, IOException {
+        return createHttpClientConnectionManager(client, null, null);
+    }
+
+    public static HttpClientConnectionManager createHttpClientConnectionManager(final Client client,
+            @Nullable final DnsResolver dnsResolver,
+            @Nullable final HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> connectionFactory)
+            throws GeneralSecurityException, IOException {
 
         final Connections connections = client.getConnections();
 
@@ -57,9 +89,37 @@ final class HttpClientFactory {
                         .register("http", PlainConnectionSocketFactory.getSocketFactory())
                         .register("https", new SSLConnectionSocketFactory(createSSLContext(client)))
                         .build(),
+                connectionFactory,
+                null, // scheme port resolver
+                dnsResolver,
+                connections.getTimeToLive().getAmount(),
+                connections.getTimeToLive().getUnit());
+
+        manager.setMaxTotal(connections.getMaxTotal());
+        manager.setDefaultMaxPerRoute(connections.getMaxPerRoute());
+
+        return manager;
+    }
+
+    public static NHttpClientConnectionManager createNHttpClientConnectionManager(final Client client,
+            @Nullable final DnsResolver dnsResolver) throws GeneralSecurityException, IOException {
+
+        final Connections connections = client.getConnections();
+
+        final IOReactorConfig config = IOReactorConfig.custom()
+                .setConnectTimeout((int) connections.getConnectTimeout().to(MILLISECONDS))
+                .setSoTimeout((int) connections.getSocketTimeout().to(MILLISECONDS))
+                .build();
+
+        final PoolingNHttpClientConnectionManager manager = new PoolingNHttpClientConnectionManager(
+                new DefaultConnectingIOReactor(config),
                 null, // connection factory
+                RegistryBuilder.<SchemeIOSessionStrategy>create()
+                        .register("http", NoopIOSessionStrategy.INSTANCE)
+                        .register("https", new SSLIOSessionStrategy(createSSLContext(client)))
+                        .build(),
                 null, // scheme port resolver
-                null, // dns resolver
+                dnsResolver,
                 connections.getTimeToLive().getAmount(),
                 connections.getTimeToLive().getUnit());
 
@@ -69,6 +129,27 @@ final class HttpClientFactory {
         return manager;
     }
 
+    public static DnsResolver createDnsResolver(final Client client, final String name,
+            final DnsResolverListener listener) {
+        final Dns dns = client.getDns();
+
+        // a single daemon thread that only lives as long as there are refreshes to do, i.e. nothing to shut down
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(name + "-");
+        threadFactory.setDaemon(true);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1, MINUTES,
+                new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+
+        return new CachingDnsResolver(executor)
+                .withTimeToLive(Duration.ofMillis(dns.getTimeToLive().to(MILLISECONDS)))
+                .withMaxStale(Duration.ofMillis(dns.getMaxStale().to(MILLISECONDS)))
+                .withListener(listener);
+    }
+
+    public static DnsResolverListener getDefaultDnsResolverListener() {
+        return DnsResolverListener.DEFAULT;
+    }
+
     public static CloseableHttpClient createHttpClient(final Client client,
             final List<HttpRequestInterceptor> firstRequestInterceptors,
             final List<HttpRequestInterceptor> lastRequestInterceptors,
@@ -101,6 +182,40 @@ final class HttpClientFactory {
         return builder.build();
     }
 
+    public static CloseableHttpAsyncClient createHttpAsyncClient(final Client client,
+            final List<HttpRequestInterceptor> firstRequestInterceptors,
+            final List<HttpRequestInterceptor> lastRequestInterceptors,
+            final List<HttpResponseInterceptor> lastResponseInterceptors,
+            final NHttpClientConnectionManager connectionManager) {
+
+        final HttpAsyncClientBuilder builder = HttpAsyncClients.custom();
+        final RequestConfig.Builder config = RequestConfig.custom();
+
+        firstRequestInterceptors.forEach(builder::addInterceptorFirst);
+        lastRequestInterceptors.forEach(builder::addInterceptorLast);
+        lastResponseInterceptors.forEach(builder::addInterceptorLast);
+
+        final Connections connections = client.getConnections();
+        config.setConnectTimeout((int) connections.getConnectTimeout().to(MILLISECONDS));
+        config.setSocketTimeout((int) connections.getSocketTimeout().to(MILLISECONDS));
+
+        builder.setConnectionManager(connectionManager);
+        builder.setDefaultRequestConfig(config.build());
+
+        final CloseableHttpAsyncClient asyncClient = builder.build();
+        asyncClient.start();
+        return asyncClient;
+    }
+
+    public static ApacheAsyncRequestExecution createAsyncRequestExecution(final Client client,
+            final HttpAsyncClient asyncClient, final Executor executor) {
+
+        final ApacheAsyncRequestExecution execution = new ApacheAsyncRequestExecution(asyncClient, executor);
+
+        // the GzipHttpRequestInterceptor doesn't support the async client's entities
+        return client.getRequestCompression().getEnabled() ? execution.withRequestCompression() : execution;
+    }
+
     private static CachingHttpClientBuilder configureCaching(final Caching caching,
             @Nullable final HttpCacheStorage cacheStorage) {
         final Heuristic heuristic = caching.getHeuristic();
@@ -124,7 +239,7 @@ final class HttpClientFactory {
                         .orElse(null));
     }
 
-    private static SSLContext createSSLContext(final Client client) throws GeneralSecurityException, IOException {
+    public static SSLContext createSSLContext(final Client client) throws GeneralSecurityException, IOException {
         final CertificatePinning pinning = client.getCertificatePinning();
 
         if (pinning.getEnabled()) {
@@ -3,11 +3,16 @@ package org.zalando.riptide.autoconfigure;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.zalando.riptide.Http;
+import org.zalando.riptide.Http.ConfigurationStage;
 import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestExecution;
 import org.zalando.riptide.UrlResolution;
 
+import javax.annotation.Nullable;
+import java.net.URI;
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 @SuppressWarnings("unused")
 final class HttpFactory {
@@ -20,14 +25,39 @@ final class HttpFactory {
             final Executor executor,
             final ClientHttpRequestFactory requestFactory,
             final String baseUrl,
+            @Nullable final Supplier<URI> loadBalancer,
             final UrlResolution urlResolution,
             final List<HttpMessageConverter<?>> converters,
             final List<Plugin> plugins) {
 
-        return Http.builder()
+        return configure(Http.builder()
                 .executor(executor)
-                .requestFactory(requestFactory)
-                .baseUrl(baseUrl)
+                .requestFactory(requestFactory), baseUrl, loadBalancer, urlResolution, converters, plugins);
+    }
+
+    public static Http createNonBlocking(
+            final Executor executor,
+            final RequestExecution network,
+            final String baseUrl,
+            @Nullable final Supplier<URI> loadBalancer,
+            final UrlResolution urlResolution,
+            final List<HttpMessageConverter<?>> converters,
+            final List<Plugin> plugins) {
+
+        return configure(Http.builder()
+                .executor(executor)
+                .network(network), baseUrl, loadBalancer, urlResolution, converters, plugins);
+    }
+
+    private static Http configure(
+            final ConfigurationStage stage,
+            final String baseUrl,
+            @Nullable final Supplier<URI> loadBalancer,
+            final UrlResolution urlResolution,
+            final List<HttpMessageConverter<?>> converters,
+            final List<Plugin> plugins) {
+
+        return (loadBalancer == null ? stage.baseUrl(baseUrl) : stage.baseUrl(loadBalancer))
                 .urlResolution(urlResolution)
                 .converters(converters)
                 .plugins(plugins)
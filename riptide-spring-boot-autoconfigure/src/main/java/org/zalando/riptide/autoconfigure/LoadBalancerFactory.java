@@ -0,0 +1,23 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.zalando.riptide.loadbalancer.LoadBalancer;
+
+import java.net.URI;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+@SuppressWarnings("unused")
+final class LoadBalancerFactory {
+
+    private LoadBalancerFactory() {
+
+    }
+
+    public static LoadBalancer createLoadBalancer(final List<String> baseUrls) {
+        return new LoadBalancer(baseUrls.stream()
+                .map(URI::create)
+                .collect(toList()));
+    }
+
+}
@@ -3,14 +3,27 @@ package org.zalando.riptide.autoconfigure;
 import com.google.common.collect.ImmutableList;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpClientConnectionManager;
 import org.zalando.riptide.Plugin;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
+import org.zalando.riptide.concurrency.ConcurrencyLimitListener;
+import org.zalando.riptide.concurrency.metrics.MetricsConcurrencyLimitListener;
 import org.zalando.riptide.failsafe.CircuitBreakerListener;
 import org.zalando.riptide.failsafe.CompositeRetryListener;
 import org.zalando.riptide.failsafe.LoggingRetryListener;
 import org.zalando.riptide.failsafe.RetryListener;
 import org.zalando.riptide.failsafe.metrics.MetricsCircuitBreakerListener;
 import org.zalando.riptide.failsafe.metrics.MetricsRetryListener;
+import org.zalando.riptide.httpclient.DnsResolverListener;
+import org.zalando.riptide.httpclient.metrics.LiveHttpConnectionPoolMetrics;
+import org.zalando.riptide.httpclient.metrics.MetricsDnsResolverListener;
 import org.zalando.riptide.metrics.MetricsPlugin;
+import org.zalando.riptide.metrics.PhaseMetricsPlugin;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
 
 final class MetricsPluginFactory {
 
@@ -23,6 +36,27 @@ final class MetricsPluginFactory {
         return new MetricsPlugin(registry).withDefaultTags(tags);
     }
 
+    public static Plugin createPhaseMetricsPlugin(final MeterRegistry registry,
+            final ImmutableList<Tag> tags) {
+        return new PhaseMetricsPlugin(registry).withDefaultTags(tags);
+    }
+
+    public static HttpClientConnectionManager createHttpClientConnectionManager(final Client client,
+            @Nullable final DnsResolver dnsResolver, final LiveHttpConnectionPoolMetrics metrics)
+            throws GeneralSecurityException, IOException {
+        return HttpClientFactory.createHttpClientConnectionManager(client, dnsResolver, metrics.monitor());
+    }
+
+    public static HttpClientConnectionManager monitorHttpClientConnectionManager(
+            final LiveHttpConnectionPoolMetrics metrics, final HttpClientConnectionManager manager) {
+        return metrics.monitor(manager);
+    }
+
+    public static DnsResolverListener createDnsResolverListener(final MeterRegistry registry,
+            final ImmutableList<Tag> defaultTags) {
+        return new MetricsDnsResolverListener(registry).withDefaultTags(defaultTags);
+    }
+
     public static CircuitBreakerListener createCircuitBreakerListener(final MeterRegistry registry,
             final ImmutableList<Tag> defaultTags) {
         return new MetricsCircuitBreakerListener(registry).withDefaultTags(defaultTags);
@@ -43,4 +77,9 @@ final class MetricsPluginFactory {
     public static RetryListener getDefaultRetryListener() {
         return new LoggingRetryListener();
     }
+
+    public static ConcurrencyLimitListener createConcurrencyLimitListener(final MeterRegistry registry,
+            final ImmutableList<Tag> defaultTags) {
+        return new MetricsConcurrencyLimitListener(registry).withDefaultTags(defaultTags);
+    }
 }
@@ -12,12 +12,15 @@ import org.zalando.riptide.UrlResolution;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Heuristic;
 import org.zalando.riptide.autoconfigure.RiptideProperties.CertificatePinning.Keystore;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Backoff;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Budget;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apiguardian.api.API.Status.INTERNAL;
@@ -41,6 +44,8 @@ public final class RiptideProperties {
 
         private UrlResolution urlResolution = UrlResolution.RFC;
 
+        private Transport transport = Transport.BLOCKING;
+
         @NestedConfigurationProperty
         private Connections connections = new Connections(
                 TimeSpan.of(5, SECONDS),
@@ -51,10 +56,16 @@ public final class RiptideProperties {
         );
 
         @NestedConfigurationProperty
-        private Threads threads = new Threads(1, null, TimeSpan.of(1, MINUTES), 0);
+        private Dns dns = new Dns(false, TimeSpan.of(1, MINUTES), TimeSpan.of(10, MINUTES));
+
+        @NestedConfigurationProperty
+        private Threads threads = new Threads(1, null, TimeSpan.of(1, MINUTES), 0, Threads.Mode.PLATFORM);
 
         @NestedConfigurationProperty
-        private OAuth oauth = new OAuth(false, Paths.get("/meta/credentials"));
+        private Scheduler scheduler = new Scheduler(Scheduler.Mode.POOL, TimeSpan.of(10, MILLISECONDS), 512);
+
+        @NestedConfigurationProperty
+        private OAuth oauth = new OAuth(false, Paths.get("/meta/credentials"), TimeSpan.of(1, SECONDS));
 
         @NestedConfigurationProperty
         private TransientFaultDetection transientFaultDetection = new TransientFaultDetection(false);
@@ -63,16 +74,29 @@ public final class RiptideProperties {
         private StackTracePreservation stackTracePreservation = new StackTracePreservation(true);
 
         @NestedConfigurationProperty
-        private Metrics metrics = new Metrics(false);
+        private Metrics metrics = new Metrics(false, false);
 
         @NestedConfigurationProperty
-        private Retry retry = new Retry(false, null, new Backoff(false, null, null, null), null, null, null, null);
+        private Retry retry = new Retry(false, null, new Backoff(false, null, null, null), null, null, null, null,
+                new Budget(false, 0.1, 10, TimeSpan.of(10, SECONDS)));
 
         @NestedConfigurationProperty
-        private CircuitBreaker circuitBreaker = new CircuitBreaker(false, null, TimeSpan.of(0, SECONDS), null);
+        private CircuitBreaker circuitBreaker = new CircuitBreaker(false, null, TimeSpan.of(0, SECONDS), null,
+                false, TimeSpan.of(10, MINUTES));
 
         @NestedConfigurationProperty
-        private BackupRequest backupRequest = new BackupRequest(false, null);
+        private BackupRequest backupRequest = new BackupRequest(false, null, null, null);
+
+        @NestedConfigurationProperty
+        private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit(
+                false,
+                ConcurrencyLimit.Algorithm.VEGAS,
+                20,
+                1,
+                200,
+                0,
+                ConcurrencyLimit.Partitioning.CLIENT
+        );
 
         @NestedConfigurationProperty
         private Timeouts timeouts = new Timeouts(false, null);
@@ -97,6 +121,9 @@ public final class RiptideProperties {
                 )
         );
 
+        @NestedConfigurationProperty
+        private Buffering buffering = new Buffering(false, 1024 * 1024, 64 * 1024, 64L * 1024 * 1024);
+
         @NestedConfigurationProperty
         private Soap soap = new Soap(false, "1.1");
 
@@ -109,14 +136,22 @@ public final class RiptideProperties {
     public static final class Client {
 
         private String baseUrl;
+        private List<String> baseUrls;
         private UrlResolution urlResolution;
+        private Transport transport;
 
         @NestedConfigurationProperty
         private Connections connections;
 
+        @NestedConfigurationProperty
+        private Dns dns;
+
         @NestedConfigurationProperty
         private Threads threads;
 
+        @NestedConfigurationProperty
+        private Scheduler scheduler;
+
         @NestedConfigurationProperty
         private OAuth oauth;
 
@@ -138,6 +173,9 @@ public final class RiptideProperties {
         @NestedConfigurationProperty
         private BackupRequest backupRequest;
 
+        @NestedConfigurationProperty
+        private ConcurrencyLimit concurrencyLimit;
+
         @NestedConfigurationProperty
         private Timeouts timeouts;
 
@@ -150,11 +188,34 @@ public final class RiptideProperties {
         @NestedConfigurationProperty
         private Caching caching;
 
+        @NestedConfigurationProperty
+        private Buffering buffering;
+
         @NestedConfigurationProperty
         private Soap soap;
 
     }
 
+    public enum Transport {
+
+        /**
+         * Apache's {@link org.apache.http.client.HttpClient}, one thread per in-flight request
+         */
+        BLOCKING,
+
+        /**
+         * Apache's {@link org.apache.http.nio.client.HttpAsyncClient}, a few I/O threads for all requests
+         */
+        NON_BLOCKING,
+
+        /**
+         * The JDK's {@code java.net.http.HttpClient}, multiplexes requests over HTTP/2 connections, requires
+         * {@code riptide-http2} and Java 11 or later
+         */
+        HTTP2
+
+    }
+
     @Getter
     @Setter
     @NoArgsConstructor
@@ -167,6 +228,16 @@ public final class RiptideProperties {
         private Integer maxTotal;
     }
 
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static final class Dns {
+        private Boolean enabled;
+        private TimeSpan timeToLive;
+        private TimeSpan maxStale;
+    }
+
     @Getter
     @Setter
     @NoArgsConstructor
@@ -176,10 +247,51 @@ public final class RiptideProperties {
         private Integer maxSize;
         private TimeSpan keepAlive;
         private Integer queueSize;
+        private Mode mode;
 
         public Threads(final Integer maxSize) {
             this.maxSize = maxSize;
         }
+
+        public enum Mode {
+
+            /**
+             * A bounded pool of platform threads, see {@code min-size}, {@code max-size}, {@code keep-alive} and
+             * {@code queue-size}
+             */
+            PLATFORM,
+
+            /**
+             * A new virtual thread per request (Java 21 or later), {@code max-size} limits concurrent requests
+             */
+            VIRTUAL
+
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static final class Scheduler {
+        private Mode mode;
+        private TimeSpan tickDuration;
+        private Integer ticksPerWheel;
+
+        public enum Mode {
+
+            /**
+             * A {@link java.util.concurrent.ScheduledThreadPoolExecutor} with {@code threads.max-size} threads
+             */
+            POOL,
+
+            /**
+             * A single-threaded {@link org.zalando.riptide.HashedWheelTimer} with a precision of
+             * {@code tick-duration}, see {@code ticks-per-wheel}
+             */
+            WHEEL
+
+        }
     }
 
     @Getter
@@ -189,6 +301,7 @@ public final class RiptideProperties {
     public static final class OAuth {
         private Boolean enabled;
         private Path credentialsDirectory;
+        private TimeSpan refreshInterval;
     }
 
     @Getter
@@ -213,6 +326,7 @@ public final class RiptideProperties {
     @AllArgsConstructor
     public static final class Metrics {
         private Boolean enabled;
+        private Boolean phases;
     }
 
     @Getter
@@ -227,6 +341,7 @@ public final class RiptideProperties {
         private TimeSpan maxDuration;
         private Double jitterFactor;
         private TimeSpan jitter;
+        private Budget budget;
 
         @Getter
         @Setter
@@ -238,6 +353,26 @@ public final class RiptideProperties {
             private TimeSpan maxDelay;
             private Double delayFactor;
         }
+
+        @Getter
+        @Setter
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static final class Budget {
+            private Boolean enabled;
+
+            /**
+             * Maximum retries, relative to the successful requests within the window.
+             */
+            private Double ratio;
+
+            /**
+             * Retries within the window that are allowed regardless of the ratio.
+             */
+            private Integer minRetries;
+
+            private TimeSpan window;
+        }
     }
 
     @Getter
@@ -249,6 +384,16 @@ public final class RiptideProperties {
         private Ratio failureThreshold;
         private TimeSpan delay;
         private Ratio successThreshold;
+
+        /**
+         * One circuit breaker per host, instead of one per client.
+         */
+        private Boolean perHost;
+
+        /**
+         * How long closed breakers of a host are kept without being used, if {@link #perHost} is enabled.
+         */
+        private TimeSpan idleTimeout;
     }
 
     @Getter
@@ -258,6 +403,50 @@ public final class RiptideProperties {
     public static final class BackupRequest {
         private Boolean enabled;
         private TimeSpan delay;
+        private Double percentile;
+        private Double maxExtraLoad;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static final class ConcurrencyLimit {
+        private Boolean enabled;
+        private Algorithm algorithm;
+        private Integer initialLimit;
+        private Integer minLimit;
+        private Integer maxLimit;
+        private Integer maxQueueSize;
+        private Partitioning partitioning;
+
+        public enum Algorithm {
+
+            /**
+             * Additive increase, multiplicative decrease on failures and overload responses
+             */
+            AIMD,
+
+            /**
+             * Adapts to growing round trip times, before requests start to fail
+             */
+            VEGAS
+
+        }
+
+        public enum Partitioning {
+
+            /**
+             * One limit for all requests of a client
+             */
+            CLIENT,
+
+            /**
+             * One limit per host and port
+             */
+            HOST
+
+        }
     }
 
     @Getter
@@ -318,6 +507,17 @@ public final class RiptideProperties {
         }
     }
 
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static final class Buffering {
+        private Boolean enabled;
+        private Integer threshold;
+        private Integer chunkSize;
+        private Long maxSize;
+    }
+
     @Getter
     @Setter
     @NoArgsConstructor
@@ -0,0 +1,33 @@
+package org.zalando.riptide.autoconfigure;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates {@code Thread.ofVirtual().name(prefix, 0).factory()} reflectively, since Riptide is still compiled against
+ * Java 8. Both types are parameters, so that this can be tested on runtimes without virtual threads.
+ */
+final class VirtualThreads {
+
+    static final String THREAD = "java.lang.Thread";
+    static final String BUILDER = "java.lang.Thread$Builder";
+
+    private VirtualThreads() {
+
+    }
+
+    public static ThreadFactory createThreadFactory(final String threadType, final String builderType,
+            final String prefix) {
+
+        try {
+            final Class<?> builder = Class.forName(builderType);
+            final Object unnamed = Class.forName(threadType).getMethod("ofVirtual").invoke(null);
+            final Object named = builder.getMethod("name", String.class, long.class).invoke(unnamed, prefix, 0L);
+            return (ThreadFactory) builder.getMethod("factory").invoke(named);
+        } catch (final ClassNotFoundException | NoSuchMethodException e) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later", e);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create virtual thread factory", e);
+        }
+    }
+
+}
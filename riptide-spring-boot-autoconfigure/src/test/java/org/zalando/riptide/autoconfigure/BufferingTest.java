@@ -0,0 +1,73 @@
+package org.zalando.riptide.autoconfigure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.zalando.riptide.buffering.BufferPool;
+import org.zalando.riptide.buffering.BufferingPlugin;
+import org.zalando.riptide.buffering.metrics.BufferPoolMetrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+final class BufferingTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    RiptideAutoConfiguration.class,
+                    JacksonAutoConfiguration.class,
+                    MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class,
+                    CompositeMeterRegistryAutoConfiguration.class))
+            .withPropertyValues(
+                    "riptide.clients.example.base-url: https://example.com",
+                    "riptide.clients.example.metrics.enabled: true",
+                    "riptide.clients.example.buffering.enabled: true",
+                    "riptide.clients.example.buffering.chunk-size: 8192",
+                    "riptide.clients.example.buffering.max-size: 1048576",
+                    "riptide.clients.other.base-url: https://example.org",
+                    "riptide.clients.other.buffering.enabled: true",
+                    "riptide.clients.none.base-url: https://example.net");
+
+    @Test
+    void shouldOnlyRegisterPluginIfEnabled() {
+        runner.run(context -> {
+            assertThat(context.getStartupFailure(), is(nullValue()));
+            assertThat(context.getBeansOfType(BufferingPlugin.class).keySet().toString(),
+                    is("[exampleBufferingPlugin, otherBufferingPlugin]"));
+        });
+    }
+
+    @Test
+    void shouldConfigurePoolPerClient() {
+        runner.run(context -> {
+            final BufferPool example = context.getBean("exampleBufferPool", BufferPool.class);
+            final BufferPool other = context.getBean("otherBufferPool", BufferPool.class);
+
+            assertThat(example.getChunkSize(), is(8192));
+            assertThat(example.getMaxSize(), is(1048576L));
+            assertThat(other.getChunkSize(), is(65536));
+            assertThat(other.getMaxSize(), is(67108864L));
+        });
+    }
+
+    @Test
+    void shouldOnlyRecordMetricsIfEnabled() {
+        runner.run(context -> {
+            assertThat(context.getBeansOfType(BufferPoolMetrics.class).keySet().toString(),
+                    is("[exampleBufferPoolMetrics]"));
+
+            final MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            assertThat(registry.get("http.client.buffers.max").tag("clientId", "example").gauge().value(),
+                    is(1048576.0));
+        });
+    }
+
+}
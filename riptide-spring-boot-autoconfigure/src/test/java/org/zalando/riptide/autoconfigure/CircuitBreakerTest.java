@@ -0,0 +1,49 @@
+package org.zalando.riptide.autoconfigure;
+
+import net.jodah.failsafe.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.zalando.riptide.failsafe.CircuitBreakerRegistry;
+import org.zalando.riptide.failsafe.FailsafePlugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+final class CircuitBreakerTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    RiptideAutoConfiguration.class,
+                    JacksonAutoConfiguration.class,
+                    MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class,
+                    CompositeMeterRegistryAutoConfiguration.class))
+            .withPropertyValues(
+                    "riptide.clients.example.base-url: https://example.com",
+                    "riptide.clients.example.metrics.enabled: true",
+                    "riptide.clients.example.circuit-breaker.enabled: true",
+                    "riptide.clients.example.circuit-breaker.per-host: true",
+                    "riptide.clients.example.circuit-breaker.idle-timeout: 5 minutes",
+                    "riptide.clients.other.base-url: https://example.org",
+                    "riptide.clients.other.circuit-breaker.enabled: true");
+
+    @Test
+    void shouldRegisterBreakersPerHostIfEnabled() {
+        runner.run(context -> {
+            assertThat(context.getStartupFailure(), is(nullValue()));
+            assertThat(context.getBeansOfType(FailsafePlugin.class).keySet().toString(),
+                    is("[exampleFailsafePlugin, otherFailsafePlugin]"));
+            assertThat(context.getBeansOfType(CircuitBreakerRegistry.class).keySet().toString(),
+                    is("[exampleCircuitBreakerRegistry]"));
+            assertThat(context.getBeansOfType(CircuitBreaker.class).keySet().toString(),
+                    is("[otherCircuitBreaker]"));
+        });
+    }
+
+}
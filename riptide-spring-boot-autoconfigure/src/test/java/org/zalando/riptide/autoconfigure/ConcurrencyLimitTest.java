@@ -0,0 +1,68 @@
+package org.zalando.riptide.autoconfigure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.zalando.riptide.concurrency.ConcurrencyLimitListener;
+import org.zalando.riptide.concurrency.ConcurrencyLimitPlugin;
+import org.zalando.riptide.concurrency.metrics.MetricsConcurrencyLimitListener;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+final class ConcurrencyLimitTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    RiptideAutoConfiguration.class,
+                    JacksonAutoConfiguration.class,
+                    MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class,
+                    CompositeMeterRegistryAutoConfiguration.class))
+            .withPropertyValues(
+                    "riptide.clients.example.base-url: https://example.com",
+                    "riptide.clients.example.metrics.enabled: true",
+                    "riptide.clients.example.concurrency-limit.enabled: true",
+                    "riptide.clients.example.concurrency-limit.algorithm: aimd",
+                    "riptide.clients.example.concurrency-limit.partitioning: host",
+                    "riptide.clients.example.concurrency-limit.max-queue-size: 10",
+                    "riptide.clients.other.base-url: https://example.org",
+                    "riptide.clients.other.concurrency-limit.enabled: true",
+                    "riptide.clients.none.base-url: https://example.net");
+
+    @Test
+    void shouldOnlyRegisterPluginIfEnabled() {
+        runner.run(context -> {
+            assertThat(context.getStartupFailure(), is(nullValue()));
+            assertThat(context.getBeansOfType(ConcurrencyLimitPlugin.class).keySet().toString(),
+                    is("[exampleConcurrencyLimitPlugin, otherConcurrencyLimitPlugin]"));
+        });
+    }
+
+    @Test
+    void shouldOnlyRecordMetricsIfEnabled() {
+        runner.run(context -> {
+            assertThat(context.getBean("exampleConcurrencyLimitListener"),
+                    is(instanceOf(MetricsConcurrencyLimitListener.class)));
+            assertThat(context.getBean("otherConcurrencyLimitListener"),
+                    is(ConcurrencyLimitListener.DEFAULT));
+        });
+    }
+
+    @Test
+    void shouldNotRecordPartitionsBeforeFirstRequest() {
+        runner.run(context -> {
+            final MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            assertThat(registry.find("http.client.concurrency.limit").gauge(), is(nullValue()));
+        });
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.apache.http.conn.DnsResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.zalando.riptide.httpclient.CachingDnsResolver;
+import org.zalando.riptide.httpclient.DnsResolverListener;
+import org.zalando.riptide.httpclient.metrics.MetricsDnsResolverListener;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+final class DnsResolverTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    RiptideAutoConfiguration.class,
+                    JacksonAutoConfiguration.class,
+                    MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class,
+                    CompositeMeterRegistryAutoConfiguration.class))
+            .withPropertyValues(
+                    "riptide.defaults.dns.time-to-live: 30 seconds",
+                    "riptide.clients.example.base-url: https://example.com",
+                    "riptide.clients.example.metrics.enabled: true",
+                    "riptide.clients.example.dns.enabled: true",
+                    "riptide.clients.example.dns.max-stale: 1 minute",
+                    "riptide.clients.other.base-url: https://example.org",
+                    "riptide.clients.other.transport: non-blocking",
+                    "riptide.clients.other.dns.enabled: true",
+                    "riptide.clients.none.base-url: https://example.net");
+
+    @Test
+    void shouldOnlyRegisterResolverIfEnabled() {
+        runner.run(context -> {
+            assertThat(context.getStartupFailure(), is(nullValue()));
+            assertThat(context.getBeansOfType(DnsResolver.class).keySet().toString(),
+                    is("[exampleDnsResolver, otherDnsResolver]"));
+            assertThat(context.getBean("exampleDnsResolver"), is(instanceOf(CachingDnsResolver.class)));
+        });
+    }
+
+    @Test
+    void shouldOnlyRecordMetricsIfEnabled() {
+        runner.run(context -> {
+            assertThat(context.getBean("exampleDnsResolverListener"),
+                    is(instanceOf(MetricsDnsResolverListener.class)));
+            assertThat(context.getBean("otherDnsResolverListener"),
+                    is(DnsResolverListener.DEFAULT));
+        });
+    }
+
+}
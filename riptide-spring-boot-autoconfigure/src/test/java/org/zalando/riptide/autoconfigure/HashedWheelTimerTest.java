@@ -0,0 +1,71 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.zalando.riptide.HashedWheelTimer;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+final class HashedWheelTimerTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    RiptideAutoConfiguration.class,
+                    JacksonAutoConfiguration.class,
+                    MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class,
+                    CompositeMeterRegistryAutoConfiguration.class))
+            .withPropertyValues(
+                    "riptide.defaults.timeouts.enabled: true",
+                    "riptide.defaults.timeouts.global: 1 second",
+                    "riptide.defaults.retry.enabled: true",
+                    "riptide.clients.example.base-url: https://example.com",
+                    "riptide.clients.example.scheduler.mode: wheel",
+                    "riptide.clients.example.scheduler.tick-duration: 5 milliseconds",
+                    "riptide.clients.example.metrics.enabled: true",
+                    "riptide.clients.other.base-url: https://example.org");
+
+    @Test
+    void shouldUseHashedWheelTimer() {
+        runner.run(context -> {
+            assertThat(context.getStartupFailure(), is(nullValue()));
+
+            final ScheduledExecutorService scheduler =
+                    context.getBean("exampleScheduledExecutorService", ScheduledExecutorService.class);
+            assertThat(scheduler, is(instanceOf(HashedWheelTimer.class)));
+            assertThat(scheduler.schedule(() -> "done", 5, TimeUnit.MILLISECONDS).get(), is("done"));
+
+            assertThat(context.containsBean("exampleScheduledExecutorServiceMetrics"), is(false));
+        });
+    }
+
+    @Test
+    void shouldKeepFailsafeOnThreadPool() {
+        runner.run(context -> {
+            assertThat(context.getBean("exampleFailsafeScheduledExecutorService", ScheduledExecutorService.class),
+                    is(instanceOf(ScheduledThreadPoolExecutor.class)));
+            assertThat(context.containsBean("exampleFailsafeScheduledExecutorServiceMetrics"), is(true));
+            assertThat(context.containsBean("otherFailsafeScheduledExecutorService"), is(false));
+        });
+    }
+
+    @Test
+    void shouldUseThreadPoolByDefault() {
+        runner.run(context ->
+                assertThat(context.getBean("otherScheduledExecutorService", ScheduledExecutorService.class),
+                        is(instanceOf(ScheduledThreadPoolExecutor.class))));
+    }
+
+}
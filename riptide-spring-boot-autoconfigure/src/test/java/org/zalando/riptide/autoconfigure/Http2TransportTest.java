@@ -0,0 +1,35 @@
+package org.zalando.riptide.autoconfigure;
+
+import com.google.common.base.Throwables;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+final class Http2TransportTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    RiptideAutoConfiguration.class,
+                    JacksonAutoConfiguration.class))
+            .withPropertyValues(
+                    "riptide.clients.example.base-url: https://example.com",
+                    "riptide.clients.example.transport: http2");
+
+    @Test
+    void shouldRequireHttp2Module() {
+        // riptide-http2 requires Java 11 and is therefore not on the test classpath
+        runner.run(context -> {
+            final Throwable cause = Throwables.getRootCause(context.getStartupFailure());
+
+            assertThat(cause, is(instanceOf(IllegalStateException.class)));
+            assertThat(cause.getMessage(), containsString("requires riptide-http2"));
+        });
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.loadbalancer.LoadBalancer;
+
+import java.net.URI;
+
+import static com.google.common.base.Throwables.getRootCause;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+final class LoadBalancerTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    RiptideAutoConfiguration.class,
+                    JacksonAutoConfiguration.class))
+            .withPropertyValues(
+                    "riptide.clients.example.base-urls: https://host-1.example.com, https://host-2.example.com",
+                    "riptide.clients.other.base-url: https://example.org");
+
+    @Test
+    void shouldOnlyRegisterLoadBalancerIfConfigured() {
+        runner.run(context -> {
+            assertThat(context.getStartupFailure(), is(nullValue()));
+            assertThat(context.getBeansOfType(LoadBalancer.class).keySet().toString(),
+                    is("[exampleLoadBalancer]"));
+            assertThat(context.getBean("exampleHttp", Http.class), is(notNullValue()));
+        });
+    }
+
+    @Test
+    void shouldBalanceAcrossBaseUrls() {
+        runner.run(context -> {
+            final LoadBalancer balancer = context.getBean(LoadBalancer.class);
+
+            assertThat(balancer.get(), anyOf(
+                    is(URI.create("https://host-1.example.com")),
+                    is(URI.create("https://host-2.example.com"))));
+        });
+    }
+
+    @Test
+    void shouldRejectBaseUrlAndBaseUrls() {
+        runner.withPropertyValues("riptide.clients.example.base-url: https://example.com")
+                .run(context -> {
+                    assertThat(context.getStartupFailure(), is(notNullValue()));
+                    assertThat(getRootCause(context.getStartupFailure()).getMessage(), containsString("base-urls"));
+                });
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.zalando.riptide.autoconfigure;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.zalando.riptide.Http;
+
+import java.net.ConnectException;
+import java.util.concurrent.CompletionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+import static org.zalando.riptide.PassRoute.pass;
+
+@SpringBootTest(classes = DefaultTestConfiguration.class, webEnvironment = NONE)
+@ActiveProfiles("default")
+final class NonBlockingTransportTest {
+
+    @Autowired
+    @Qualifier("nio")
+    private Http unit;
+
+    @Autowired
+    @Qualifier("nio")
+    private HttpAsyncClient client;
+
+    @Autowired
+    private SimpleMeterRegistry registry;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void shouldRegisterHttpAsyncClient() {
+        assertThat(client, is(notNullValue()));
+    }
+
+    @Test
+    void shouldNotCreateBlockingHttpClient() {
+        assertThat(context.getBeanFactory().containsSingleton("nioHttpClient"), is(false));
+    }
+
+    @Test
+    void shouldRecordConnectionPool() {
+        assertThat(registry.find("http.client.connections.max").tag("clientId", "nio").gauge().value(), is(20.0));
+    }
+
+    @Test
+    void shouldUseHttpAsyncClient() {
+        final CompletionException exception = assertThrows(CompletionException.class,
+                unit.get("http://localhost:1/").call(pass())::join);
+
+        assertThat(exception.getCause(), is(instanceOf(ConnectException.class)));
+    }
+
+}
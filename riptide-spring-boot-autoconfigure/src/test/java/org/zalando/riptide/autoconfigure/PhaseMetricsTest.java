@@ -0,0 +1,56 @@
+package org.zalando.riptide.autoconfigure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.zalando.riptide.metrics.PhaseMetricsPlugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+final class PhaseMetricsTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    RiptideAutoConfiguration.class,
+                    JacksonAutoConfiguration.class,
+                    MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class,
+                    CompositeMeterRegistryAutoConfiguration.class))
+            .withPropertyValues(
+                    "riptide.defaults.metrics.enabled: true",
+                    "riptide.clients.example.base-url: https://example.com",
+                    "riptide.clients.example.metrics.phases: true",
+                    "riptide.clients.other.base-url: https://example.org");
+
+    @Test
+    void shouldOnlyRegisterPluginIfPhasesAreEnabled() {
+        runner.run(context -> {
+            assertThat(context.getStartupFailure(), is(nullValue()));
+            assertThat(context.getBeansOfType(PhaseMetricsPlugin.class).keySet().toString(),
+                    is("[examplePhaseMetricsPlugin]"));
+        });
+    }
+
+    @Test
+    void shouldRegisterConnectionTimers() {
+        runner.run(context -> {
+            final MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            assertThat(registry.get("http.client.phases")
+                    .tag("clientId", "example")
+                    .tag("phase", "lease")
+                    .timer().count(), is(0L));
+            assertThat(registry.find("http.client.phases")
+                    .tag("clientId", "other")
+                    .timer(), is(nullValue()));
+        });
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.zalando.riptide.autoconfigure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.zalando.riptide.auth.metrics.PlatformCredentialsMetrics;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+final class PlatformCredentialsMetricsTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    RiptideAutoConfiguration.class,
+                    JacksonAutoConfiguration.class,
+                    MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class,
+                    CompositeMeterRegistryAutoConfiguration.class))
+            .withPropertyValues(
+                    "riptide.defaults.oauth.enabled: true",
+                    "riptide.defaults.oauth.credentials-directory: src/test/resources",
+                    "riptide.clients.example.base-url: https://example.com",
+                    "riptide.clients.example.oauth.refresh-interval: 5 seconds",
+                    "riptide.clients.example.metrics.enabled: true",
+                    "riptide.clients.other.base-url: https://example.org");
+
+    @Test
+    void shouldRecordCredentialRefreshes() {
+        runner.run(context -> {
+            assertThat(context.getStartupFailure(), is(nullValue()));
+
+            final MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertThat(registry.get("http.client.credentials.refreshes")
+                    .tag("clientId", "example")
+                    .functionCounter().count(), is(0.0));
+            assertThat(registry.get("http.client.credentials.staleness")
+                    .tag("clientId", "example")
+                    .timeGauge().value(MINUTES), is(lessThan(1.0)));
+        });
+    }
+
+    @Test
+    void shouldOnlyRecordCredentialRefreshesIfMetricsAreEnabled() {
+        runner.run(context ->
+                assertThat(context.getBeansOfType(PlatformCredentialsMetrics.class).keySet().toString(),
+                        is("[examplePlatformCredentialsMetrics]")));
+    }
+
+}
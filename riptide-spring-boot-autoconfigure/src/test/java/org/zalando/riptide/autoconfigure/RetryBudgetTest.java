@@ -0,0 +1,53 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.zalando.riptide.failsafe.RetryBudget;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+final class RetryBudgetTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    RiptideAutoConfiguration.class,
+                    JacksonAutoConfiguration.class))
+            .withPropertyValues(
+                    "riptide.defaults.retry.budget.ratio: 0.2",
+                    "riptide.clients.example.base-url: https://example.com",
+                    "riptide.clients.example.retry.enabled: true",
+                    "riptide.clients.example.retry.budget.enabled: true",
+                    "riptide.clients.example.retry.budget.min-retries: 0",
+                    "riptide.clients.other.base-url: https://example.org",
+                    "riptide.clients.other.retry.enabled: true");
+
+    @Test
+    void shouldOnlyRegisterBudgetIfEnabled() {
+        runner.run(context -> {
+            assertThat(context.getStartupFailure(), is(nullValue()));
+            assertThat(context.getBeansOfType(RetryBudget.class).keySet().toString(),
+                    is("[exampleRetryBudget]"));
+        });
+    }
+
+    @Test
+    void shouldApplyDefaultsAndClientSettings() {
+        runner.run(context -> {
+            final RetryBudget budget = context.getBean(RetryBudget.class);
+
+            // no successful requests yet and no minimum, i.e. no retries allowed
+            assertThat(budget.getAvailable(), is(0L));
+
+            for (int i = 0; i < 10; i++) {
+                budget.recordSuccess();
+            }
+
+            assertThat(budget.getAvailable(), is(2L));
+        });
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.zalando.riptide.autoconfigure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.zalando.riptide.ThreadPerTaskExecutor;
+
+import java.util.stream.Stream;
+
+import static com.google.common.base.Throwables.getCausalChain;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+final class VirtualThreadExecutorTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    RiptideAutoConfiguration.class,
+                    JacksonAutoConfiguration.class,
+                    MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class,
+                    CompositeMeterRegistryAutoConfiguration.class))
+            .withPropertyValues(
+                    "riptide.defaults.threads.mode: virtual",
+                    "riptide.clients.example.base-url: https://example.com",
+                    "riptide.clients.example.threads.max-size: 5",
+                    "riptide.clients.example.metrics.enabled: true",
+                    "riptide.clients.other.base-url: https://example.org",
+                    "riptide.clients.other.stack-trace-preservation.enabled: true");
+
+    @Test
+    void shouldUseVirtualThreads() {
+        assumeTrue(isSupported());
+
+        runner.run(context -> {
+            assertThat(context.getStartupFailure(), is(nullValue()));
+
+            final ThreadPerTaskExecutor executor =
+                    context.getBean("exampleExecutorService", ThreadPerTaskExecutor.class);
+            assertThat(executor.getConcurrency(), is(5));
+
+            final MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertThat(registry.get("executor.concurrency")
+                    .tag("name", "http-example")
+                    .tag("clientId", "example")
+                    .gauge().value(), is(5.0));
+        });
+    }
+
+    @Test
+    void shouldRequireVirtualThreads() {
+        assumeFalse(isSupported());
+
+        runner.run(context ->
+                assertThat(getCausalChain(context.getStartupFailure()),
+                        hasItem(instanceOf(UnsupportedOperationException.class))));
+    }
+
+    private static boolean isSupported() {
+        return Stream.of(Thread.class.getMethods()).anyMatch(method -> method.getName().equals("ofVirtual"));
+    }
+
+}
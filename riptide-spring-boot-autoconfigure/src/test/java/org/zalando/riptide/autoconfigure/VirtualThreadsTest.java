@@ -0,0 +1,102 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.zalando.riptide.autoconfigure.VirtualThreads.BUILDER;
+import static org.zalando.riptide.autoconfigure.VirtualThreads.THREAD;
+import static org.zalando.riptide.autoconfigure.VirtualThreads.createThreadFactory;
+
+final class VirtualThreadsTest {
+
+    public interface Builder {
+        Builder name(String prefix, long start);
+        ThreadFactory factory();
+    }
+
+    public static final class SupportedThread {
+
+        public static Builder ofVirtual() {
+            return new Builder() {
+                @Override
+                public Builder name(final String prefix, final long start) {
+                    return this;
+                }
+
+                @Override
+                public ThreadFactory factory() {
+                    return runnable -> new Thread(runnable, "virtual");
+                }
+            };
+        }
+
+    }
+
+    public static final class BrokenThread {
+
+        public static Builder ofVirtual() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+    private static final String SUPPORTED = SupportedThread.class.getName();
+    private static final String BROKEN = BrokenThread.class.getName();
+    private static final String FAKE_BUILDER = Builder.class.getName();
+
+    @Test
+    void shouldCreateThreadFactory() {
+        final ThreadFactory factory = createThreadFactory(SUPPORTED, FAKE_BUILDER, "http-example-");
+
+        assertThat(factory.newThread(() -> {
+        }).getName(), is("virtual"));
+    }
+
+    @Test
+    void shouldFailWithoutBuilder() {
+        assertThrows(UnsupportedOperationException.class, () ->
+                createThreadFactory(SUPPORTED, "java.lang.Thread$Unknown", "http-example-"));
+    }
+
+    @Test
+    void shouldFailWithoutVirtualThreads() {
+        assertThrows(UnsupportedOperationException.class, () ->
+                createThreadFactory(THREAD, FAKE_BUILDER, "http-example-"));
+    }
+
+    @Test
+    void shouldFailOnBrokenBuilder() {
+        assertThrows(IllegalStateException.class, () ->
+                createThreadFactory(BROKEN, FAKE_BUILDER, "http-example-"));
+    }
+
+    @Test
+    void shouldSupportVirtualThreadsOnJava21() {
+        assumeTrue(isSupported());
+
+        final Thread thread = createThreadFactory(THREAD, BUILDER, "http-example-").newThread(() -> {
+        });
+
+        assertThat(thread.getName(), is("http-example-0"));
+    }
+
+    @Test
+    void shouldNotSupportVirtualThreadsPriorToJava21() {
+        assumeFalse(isSupported());
+
+        assertThrows(UnsupportedOperationException.class, () ->
+                createThreadFactory(THREAD, BUILDER, "http-example-"));
+    }
+
+    private static boolean isSupported() {
+        return Stream.of(Thread.class.getMethods()).anyMatch(method -> method.getName().equals("ofVirtual"));
+    }
+
+}
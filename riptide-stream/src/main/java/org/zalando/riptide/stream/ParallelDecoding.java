@@ -0,0 +1,72 @@
+package org.zalando.riptide.stream;
+
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+
+import java.util.concurrent.Executor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Settings of a {@link Streams#streamConverter(com.fasterxml.jackson.databind.ObjectMapper, java.util.List,
+ * ParallelDecoding) stream converter} that decodes elements in parallel. An {@link #ParallelDecoding(Executor)
+ * executor} reads the socket in the background, tokenizes the next records and binds them to objects, while the consumer takes
+ * each element as soon as it's decoded. At most {@link #withCapacity(int) capacity} records are tokenized ahead of the
+ * consumer, i.e. a slow consumer or slow databinding stops reading the socket.
+ *
+ * Reading blocks while waiting for the socket, which is why there is no default executor. It should be a dedicated
+ * one, rather than e.g. the common fork-join pool, which is meant for non-blocking tasks.
+ *
+ * <pre>{@code
+ * Streams.streamConverter(mapper, supportedMediaTypes, new ParallelDecoding(executor)
+ *     .withCapacity(256)
+ *     .withOrdered(false));
+ * }</pre>
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class ParallelDecoding {
+
+    private final Executor executor;
+    private final int capacity;
+    private final boolean ordered;
+
+    /**
+     * @param executor the executor that reads and decodes records in the background
+     */
+    public ParallelDecoding(final Executor executor) {
+        this(executor, 64, true);
+    }
+
+    /**
+     * @param capacity the maximum number of records that are tokenized but not yet consumed
+     * @return a copy with the given capacity
+     */
+    public ParallelDecoding withCapacity(final int capacity) {
+        checkArgument(capacity > 0, "Capacity must be positive");
+        return new ParallelDecoding(executor, capacity, ordered);
+    }
+
+    /**
+     * @param ordered whether elements are consumed in the order of the stream or as soon as they are decoded
+     * @return a copy with the given ordering
+     */
+    public ParallelDecoding withOrdered(final boolean ordered) {
+        return new ParallelDecoding(executor, capacity, ordered);
+    }
+
+    Executor getExecutor() {
+        return executor;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    boolean isOrdered() {
+        return ordered;
+    }
+
+}
@@ -0,0 +1,282 @@
+package org.zalando.riptide.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * A {@link Spliterator} that reads ahead: a background task on the {@link ParallelDecoding#getExecutor() executor}
+ * tokenizes the next records into {@link TokenBuffer token buffers} and hands each of them over for databinding as soon
+ * as it was read, i.e. the head element is emitted while later records are still being read. Reading pauses as soon as
+ * {@link ParallelDecoding#getCapacity() capacity} records are in flight and resumes once the consumer caught up, i.e.
+ * the socket is only read as fast as elements are consumed. Not thread-safe, just like any other {@link Spliterator}.
+ *
+ * The parser is owned by whoever holds {@link #reading}: it's closed by {@link #close()}, unless a background read is
+ * running, in which case that read closes it as soon as it finished its current record.
+ */
+final class ParallelStreamSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * Marks the end of the stream in {@link #records} and {@link #decoded}.
+     */
+    private final CompletableFuture<T> end = new CompletableFuture<>();
+
+    private final JavaType type;
+    private final JsonParser parser;
+    private final ParallelDecoding decoding;
+    private final boolean isNotStreamOfArrays;
+
+    /**
+     * Records in stream order, followed by {@link #end}.
+     */
+    private final BlockingQueue<CompletableFuture<T>> records = new LinkedBlockingQueue<>();
+
+    /**
+     * Records in the order they were decoded, followed by {@link #end}. Only used by unordered streams.
+     */
+    private final BlockingQueue<CompletableFuture<T>> decoded = new LinkedBlockingQueue<>();
+
+    private final Queue<CompletableFuture<T>> inFlight = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * The number of records that weren't decoded yet, plus one as long as reading is not exhausted. The last one to
+     * decrement it appends {@link #end} to {@link #decoded}.
+     */
+    private final AtomicInteger pending = new AtomicInteger(1);
+
+    private final AtomicBoolean reading = new AtomicBoolean();
+
+    private volatile boolean exhausted;
+    private volatile boolean closed;
+    private boolean ended;
+
+    ParallelStreamSpliterator(final JavaType type, final JsonParser parser, final ParallelDecoding decoding) {
+        this.type = type;
+        this.parser = parser;
+        this.decoding = decoding;
+        this.isNotStreamOfArrays = !type.isArrayType() && !type.isCollectionLikeType();
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (ended) {
+            return false;
+        }
+
+        try {
+            readAhead();
+
+            final CompletableFuture<T> future = next();
+
+            if (future == end) {
+                ended = true;
+                return false;
+            }
+
+            inFlight.remove(future);
+            size.decrementAndGet();
+            readAhead();
+
+            action.accept(join(future));
+            return true;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Starts reading in the background, unless it's running already, reading is exhausted or capacity is reached.
+     */
+    private void readAhead() {
+        if (isReadable() && reading.compareAndSet(false, true)) {
+            try {
+                decoding.getExecutor().execute(this::read);
+            } catch (final RuntimeException e) {
+                reading.set(false);
+                closeQuietlyIfClosed();
+                throw e;
+            }
+        }
+    }
+
+    private boolean isReadable() {
+        return !exhausted && size.get() < decoding.getCapacity();
+    }
+
+    private void read() {
+        do {
+            while (isReadable()) {
+                readNext();
+            }
+
+            reading.set(false);
+
+            // the consumer might have caught up after the last check, but before reading was reset
+        } while (isReadable() && reading.compareAndSet(false, true));
+
+        closeQuietlyIfClosed();
+    }
+
+    /**
+     * Closes the parser on behalf of {@link #close()}, which couldn't, because reading was running at the time.
+     */
+    private void closeQuietlyIfClosed() {
+        if (closed && reading.compareAndSet(false, true)) {
+            try {
+                parser.close();
+            } catch (final IOException e) {
+                // the stream was closed already, there is no one left to report to
+            }
+        }
+    }
+
+    private void readNext() {
+        final CompletableFuture<T> future;
+
+        try {
+            @Nullable final TokenBuffer record = nextRecord();
+
+            if (record == null) {
+                exhaust();
+                return;
+            }
+
+            future = supplyAsync(() -> decode(record), decoding.getExecutor());
+        } catch (final IOException | RuntimeException e) {
+            // includes a rejected decoding, which would otherwise leave the consumer waiting for the next record
+            final CompletableFuture<T> failure = new CompletableFuture<>();
+            failure.completeExceptionally(e instanceof IOException ? new UncheckedIOException((IOException) e) : e);
+            add(failure);
+            exhaust();
+            return;
+        }
+
+        add(future);
+    }
+
+    private void add(final CompletableFuture<T> future) {
+        size.incrementAndGet();
+        inFlight.add(future);
+
+        if (decoding.isOrdered()) {
+            records.add(future);
+        } else {
+            pending.incrementAndGet();
+            future.whenComplete((value, throwable) -> {
+                decoded.add(future);
+                arrive();
+            });
+        }
+    }
+
+    private void exhaust() {
+        exhausted = true;
+
+        if (decoding.isOrdered()) {
+            records.add(end);
+        } else {
+            arrive();
+        }
+    }
+
+    private void arrive() {
+        if (pending.decrementAndGet() == 0) {
+            decoded.add(end);
+        }
+    }
+
+    @Nullable
+    private TokenBuffer nextRecord() throws IOException {
+        if (!StreamSpliterator.nextRecord(parser, isNotStreamOfArrays)) {
+            return null;
+        }
+
+        final TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.copyCurrentStructure(parser);
+        return buffer;
+    }
+
+    private T decode(final TokenBuffer record) {
+        final ObjectCodec codec = parser.getCodec();
+
+        try (final JsonParser tokens = record.asParser(codec)) {
+            return codec.readValue(tokens, type);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CompletableFuture<T> next() throws InterruptedIOException {
+        try {
+            return decoding.isOrdered() ? records.take() : decoded.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the next element");
+        }
+    }
+
+    private T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Stops reading ahead, cancels all records that were read, but not consumed yet, and closes the parser. If a
+     * background read is running, the parser is closed as soon as it finished, rather than under its feet.
+     */
+    void close() throws IOException {
+        exhausted = true;
+        closed = true;
+        inFlight.forEach(future -> future.cancel(false));
+        inFlight.clear();
+
+        if (reading.compareAndSet(false, true)) {
+            parser.close();
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        // decoding is parallel already, consumption is sequential
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return decoding.isOrdered() ? ORDERED | IMMUTABLE : IMMUTABLE;
+    }
+
+}
@@ -27,9 +27,18 @@ final class StreamConverter<T> implements GenericHttpMessageConverter<Stream<T>>
     private final ObjectMapper mapper;
     private final List<MediaType> supportedMediaTypes;
 
+    @Nullable
+    private final ParallelDecoding decoding;
+
     StreamConverter(final ObjectMapper mapper, final List<MediaType> supportedMediaTypes) {
+        this(mapper, supportedMediaTypes, null);
+    }
+
+    StreamConverter(final ObjectMapper mapper, final List<MediaType> supportedMediaTypes,
+            @Nullable final ParallelDecoding decoding) {
         this.mapper = mapper;
         this.supportedMediaTypes = supportedMediaTypes;
+        this.decoding = decoding;
     }
 
     @Override
@@ -99,8 +108,15 @@ final class StreamConverter<T> implements GenericHttpMessageConverter<Stream<T>>
 
     private Stream<T> stream(final JavaType elementType, final InputStream stream) throws IOException {
         final JsonParser parser = mapper.getFactory().createParser(stream);
-        final StreamSpliterator<T> split = new StreamSpliterator<>(elementType, parser);
-        return StreamSupport.stream(split, false).onClose(throwingRunnable(parser::close));
+
+        if (decoding == null) {
+            final StreamSpliterator<T> split = new StreamSpliterator<>(elementType, parser);
+            return StreamSupport.stream(split, false).onClose(throwingRunnable(parser::close));
+        }
+
+        final ParallelStreamSpliterator<T> split = new ParallelStreamSpliterator<>(elementType, parser, decoding);
+        return StreamSupport.stream(split, false)
+                .onClose(throwingRunnable(split::close));
     }
 
     @Override
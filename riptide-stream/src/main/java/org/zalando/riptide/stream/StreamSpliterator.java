@@ -24,13 +24,7 @@ final class StreamSpliterator<T> implements Spliterator<T> {
     @Override
     public boolean tryAdvance(final Consumer<? super T> action) {
         try {
-            final JsonToken token = parser.nextToken();
-
-            if (token == null) {
-                return false;
-            }
-
-            if (isNotStreamOfArrays && skipArrayTokens(token)) {
+            if (!nextRecord(parser, isNotStreamOfArrays)) {
                 return false;
             }
 
@@ -42,7 +36,22 @@ final class StreamSpliterator<T> implements Spliterator<T> {
         }
     }
 
-    private boolean skipArrayTokens(final JsonToken token) throws IOException {
+    /**
+     * Moves the given parser to the start of the next record, skipping the enclosing array, if any.
+     *
+     * @return false if there are no more records
+     */
+    static boolean nextRecord(final JsonParser parser, final boolean isNotStreamOfArrays) throws IOException {
+        final JsonToken token = parser.nextToken();
+
+        if (token == null) {
+            return false;
+        }
+
+        return !(isNotStreamOfArrays && skipArrayTokens(parser, token));
+    }
+
+    private static boolean skipArrayTokens(final JsonParser parser, final JsonToken token) throws IOException {
         switch (token) {
             case START_ARRAY:
                 parser.nextToken();
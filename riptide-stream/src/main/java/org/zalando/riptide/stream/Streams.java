@@ -11,6 +11,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
 /**
@@ -149,4 +150,22 @@ public final class Streams {
             final List<MediaType> supportedMediaTypes) {
         return new StreamConverter(mapper, supportedMediaTypes);
     }
+
+    /**
+     * Create stream converter with custom {@link ObjectMapper object mapper}, custom list of
+     * {@link MediaType supported media types} and {@link ParallelDecoding parallel decoding}. The returned streams are
+     * still consumed sequentially, but elements are bound to objects in parallel, ahead of the consumer.
+     *
+     * @param <T> generic stream element type
+     * @param mapper custom {@link ObjectMapper object mapper}.
+     * @param supportedMediaTypes custom list of {@link MediaType media types}.
+     * @param decoding executor, capacity and ordering of the parallel decoding.
+     * @return stream converter that decodes in parallel.
+     */
+    @API(status = EXPERIMENTAL)
+    @SuppressWarnings("unchecked")
+    public static <T> StreamConverter<T> streamConverter(final ObjectMapper mapper,
+            final List<MediaType> supportedMediaTypes, final ParallelDecoding decoding) {
+        return new StreamConverter(mapper, supportedMediaTypes, decoding);
+    }
 }
@@ -0,0 +1,213 @@
+package org.zalando.riptide.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.fauxpas.FauxPas.throwingRunnable;
+
+final class ParallelStreamSpliteratorTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    private final JavaType type = mapper.constructType(AccountBody.class);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldPreserveOrder() throws IOException {
+        final List<String> ids = stream(accounts(1000), new ParallelDecoding(executor).withCapacity(16))
+                .map(AccountBody::getId)
+                .collect(toList());
+
+        assertThat(ids, contains(ids(1000)));
+    }
+
+    @Test
+    void shouldDecodeAllUnordered() throws IOException {
+        final List<String> ids = stream(accounts(1000), new ParallelDecoding(executor)
+                .withCapacity(16)
+                .withOrdered(false))
+                .map(AccountBody::getId)
+                .collect(toList());
+
+        assertThat(ids, containsInAnyOrder(ids(1000)));
+    }
+
+    @Test
+    void shouldSkipEnclosingArray() throws IOException {
+        final String json = "[" + IntStream.range(0, 3)
+                .mapToObj(ParallelStreamSpliteratorTest::account)
+                .collect(joining(",")) + "]";
+
+        final List<String> ids = stream(json, new ParallelDecoding(executor))
+                .map(AccountBody::getId)
+                .collect(toList());
+
+        assertThat(ids, contains(ids(3)));
+    }
+
+    @Test
+    void shouldOnlyReadAheadUpToCapacity() throws IOException {
+        final AtomicInteger decoded = new AtomicInteger();
+
+        final ObjectMapper counted = mapper.copy().registerModule(new SimpleModule()
+                .addDeserializer(AccountBody.class, new StdDeserializer<AccountBody>(AccountBody.class) {
+                    @Override
+                    public AccountBody deserialize(final JsonParser parser, final DeserializationContext context)
+                            throws IOException {
+                        decoded.incrementAndGet();
+                        final JsonNode node = parser.readValueAsTree();
+                        return new AccountBody(node.get("id").asText(), node.get("name").asText());
+                    }
+                }));
+
+        final JsonParser parser = counted.getFactory().createParser(accounts(100));
+        final Iterator<AccountBody> iterator = StreamSupport.stream(new ParallelStreamSpliterator<AccountBody>(
+                type, parser, new ParallelDecoding(Runnable::run).withCapacity(3)), false).iterator();
+
+        // reading resumes as soon as the head was taken
+        assertThat(iterator.next().getId(), is("0"));
+        assertThat(decoded.get(), is(4));
+
+        assertThat(iterator.next().getId(), is("1"));
+        assertThat(decoded.get(), is(5));
+    }
+
+    @Test
+    void shouldEmitHeadBeforeReadingAhead() throws Exception {
+        final PipedOutputStream output = new PipedOutputStream();
+        final PipedInputStream input = new PipedInputStream(output, 64 * 1024);
+
+        output.write((account(0) + "\n").getBytes(UTF_8));
+        output.flush();
+
+        final JsonParser parser = mapper.getFactory().createParser(input);
+        final ParallelStreamSpliterator<AccountBody> split = new ParallelStreamSpliterator<>(type, parser,
+                new ParallelDecoding(executor).withCapacity(16));
+        final Iterator<AccountBody> iterator = StreamSupport.stream(split, false).iterator();
+
+        // the remaining records are not available yet, i.e. reading ahead blocks
+        final Future<String> head = executor.submit(() -> iterator.next().getId());
+        assertThat(head.get(5, SECONDS), is("0"));
+
+        output.write((account(1) + "\n").getBytes(UTF_8));
+        output.close();
+
+        assertThat(iterator.next().getId(), is("1"));
+        assertThat(iterator.hasNext(), is(false));
+        split.close();
+    }
+
+    @Test
+    void shouldCloseParserIfNotReading() throws IOException {
+        final JsonParser parser = mapper.getFactory().createParser(accounts(3));
+        final ParallelStreamSpliterator<AccountBody> split = new ParallelStreamSpliterator<>(type, parser,
+                new ParallelDecoding(executor));
+
+        split.close();
+
+        assertThat(parser.isClosed(), is(true));
+    }
+
+    @Test
+    void shouldCloseParserOnceRunningReadFinished() throws Exception {
+        final PipedOutputStream output = new PipedOutputStream();
+        final PipedInputStream input = new PipedInputStream(output, 64 * 1024);
+
+        output.write((account(0) + "\n").getBytes(UTF_8));
+        output.flush();
+
+        final JsonParser parser = mapper.getFactory().createParser(input);
+        final ParallelStreamSpliterator<AccountBody> split = new ParallelStreamSpliterator<>(type, parser,
+                new ParallelDecoding(executor).withCapacity(16));
+        final Iterator<AccountBody> iterator = StreamSupport.stream(split, false).iterator();
+
+        // reading ahead now blocks until the next record arrives
+        assertThat(iterator.next().getId(), is("0"));
+
+        split.close();
+        assertThat(parser.isClosed(), is(false));
+
+        output.write((account(1) + "\n").getBytes(UTF_8));
+        output.close();
+
+        final long deadline = System.nanoTime() + SECONDS.toNanos(5);
+
+        while (!parser.isClosed() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(parser.isClosed(), is(true));
+    }
+
+    @Test
+    void shouldPropagateDecodingFailure() throws IOException {
+        final Stream<AccountBody> stream = stream("{\"id\":[]}", new ParallelDecoding(executor));
+
+        assertThrows(UncheckedIOException.class, () -> stream.forEach(account -> {
+        }));
+    }
+
+    @Test
+    void shouldNotSplit() throws IOException {
+        final JsonParser parser = mapper.getFactory().createParser("{}");
+        assertNull(new ParallelStreamSpliterator<>(type, parser, new ParallelDecoding(executor)).trySplit());
+    }
+
+    private Stream<AccountBody> stream(final String json, final ParallelDecoding decoding) throws IOException {
+        final JsonParser parser = mapper.getFactory().createParser(json);
+        final ParallelStreamSpliterator<AccountBody> split = new ParallelStreamSpliterator<>(type, parser, decoding);
+        return StreamSupport.stream(split, false).onClose(throwingRunnable(split::close));
+    }
+
+    private static String accounts(final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(ParallelStreamSpliteratorTest::account)
+                .collect(joining("\n"));
+    }
+
+    private static String account(final int id) {
+        return "{\"id\":\"" + id + "\",\"name\":\"Acme " + id + "\"}";
+    }
+
+    private static String[] ids(final int count) {
+        return IntStream.range(0, count).mapToObj(String::valueOf).toArray(String[]::new);
+    }
+
+}
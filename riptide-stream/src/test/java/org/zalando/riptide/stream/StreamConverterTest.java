@@ -20,7 +20,9 @@ import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
@@ -159,6 +161,20 @@ final class StreamConverterTest {
         verify(verifier, times(4)).accept(any(AccountBody.class));
     }
 
+    @Test
+    void shouldSupportParallelReadSequence() throws Exception {
+        final Type type = Streams.streamOf(AccountBody.class).getType();
+        final StreamConverter<AccountBody> unit = streamConverter(new ObjectMapper().findAndRegisterModules(),
+                singletonList(APPLICATION_JSON_SEQ), new ParallelDecoding(Runnable::run).withCapacity(2));
+        final HttpInputMessage input = mockWithContentType(APPLICATION_JSON_SEQ);
+        when(input.getBody()).thenReturn(new ClassPathResource("account-sequence.json").getInputStream());
+
+        try (final Stream<AccountBody> stream = unit.read(type, null, input)) {
+            final List<String> names = stream.map(AccountBody::getName).collect(toList());
+            assertThat(names, contains("Acme Corporation", "Acme Company", "Acme GmbH", "Acme SE"));
+        }
+    }
+
     @Test
     void shouldThrowIOExceptionOnClose() throws Exception {
         final ObjectMapper mapper = spy(new ObjectMapper().findAndRegisterModules());
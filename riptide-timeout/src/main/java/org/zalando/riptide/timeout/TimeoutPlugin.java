@@ -41,7 +41,9 @@ public final class TimeoutPlugin implements Plugin {
     @Override
     public RequestExecution aroundAsync(final RequestExecution execution) {
         return arguments -> {
-            final CompletableFuture<ClientHttpResponse> upstream = execution.execute(arguments);
+            // a request can't be timed out if the caller blocks on it
+            final CompletableFuture<ClientHttpResponse> upstream =
+                    execution.execute(arguments.withAttribute(CALLER_RUNS, false));
 
             final CompletableFuture<ClientHttpResponse> downstream = preserveCancelability(upstream);
             upstream.whenCompleteAsync(forwardTo(downstream), executor);
@@ -82,4 +82,16 @@ final class TimeoutPluginTest {
         assertThat(exception.getCause(), is(instanceOf(TimeoutException.class)));
     }
 
+    @Test
+    void shouldTimeoutWhenCallerBlocks() {
+        driver.addExpectation(onRequestTo("/foo"),
+                giveEmptyResponse().after(2, TimeUnit.SECONDS));
+
+        final CompletionException exception = assertThrows(CompletionException.class, () ->
+                unit.get("/foo")
+                        .callSync(pass()));
+
+        assertThat(exception.getCause(), is(instanceOf(TimeoutException.class)));
+    }
+
 }